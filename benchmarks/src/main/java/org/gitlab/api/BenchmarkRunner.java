@@ -0,0 +1,29 @@
+package org.gitlab.api;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options, always with the GC
+ * profiler so that gc.alloc.rate.norm (bytes allocated per operation) is
+ * reported next to the throughput.
+ *
+ * e.g. {@code java -jar target/benchmarks.jar ComponentListBenchmark -p component=issue}
+ */
+public final class BenchmarkRunner {
+    /**
+     * This class is not instantiatable
+     */
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,72 @@
+package org.gitlab.api;
+
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fetching all the issues of a local mock Gitlab server end to end,
+ * i.e. the requests, the pagination and the parsing, with a simulated network
+ * latency and error rate.
+ *
+ * e.g. {@code java -jar target/benchmarks.jar ClientBenchmark -p latency=20 -p errorRate=0.05}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientBenchmark {
+    @Param({"0", "20"})
+    public int latency;
+
+    @Param({"0"})
+    public double errorRate;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private MockGitlabServer server;
+    private GitlabAPIClient client;
+
+    @Setup
+    public void setUp() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder()
+                        .withProjects(10)
+                        .withIssuesPerProject(100)
+                        .build())
+                .withLatency(latency)
+                .withJitter(latency / 2)
+                .withErrorRate(errorRate)
+                .build();
+        client = server.newClientBuilder()
+                .withRetryPolicy(errorRate > 0 ? new RetryPolicy.Builder().withMaxRetries(10).withBaseDelay(1)
+                        .build() : RetryPolicy.none())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public long issues() {
+        return client.getIssuesQuery().withPagination(Pagination.of(1, 100)).queryAllParallel(concurrency).count();
+    }
+}
@@ -0,0 +1,82 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Does the work of a short-lived job once, in a fresh JVM or native image: it
+ * builds a client and binds a page of every component from the recorded
+ * payloads, then prints how long that took. Run the whole process with
+ * {@code time} to include the startup of the JVM, e.g.
+ * {@code time java -cp target/benchmarks.jar org.gitlab.api.ColdStart} against
+ * {@code time target/cold-start} built with {@code mvn package -Pnative}.
+ */
+public final class ColdStart {
+    /**
+     * The payload names of the components.
+     */
+    private static final List<String> COMPONENTS = Arrays.asList(
+            "issue", "merge_request", "project", "commit", "branch", "user");
+    /**
+     * The number of items in the page of each component.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * This class is not instantiatable
+     */
+    private ColdStart() {
+    }
+
+    /**
+     * Returns a page of every component, which is not part of the work being measured.
+     *
+     * @return the JSON payloads by payload name
+     */
+    static Map<String, byte[]> payloads() {
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        for (String component : COMPONENTS) {
+            payloads.put(component, Payloads.page(component, PAGE_SIZE));
+        }
+        return payloads;
+    }
+
+    /**
+     * Builds a client, binds every payload and serializes the first component of each,
+     * as the first responses and requests of a job would.
+     *
+     * @param payloads the JSON payloads by payload name
+     * @return the number of bound components
+     * @throws IOException if a payload cannot be read
+     */
+    static int run(Map<String, byte[]> payloads) throws IOException {
+        HttpClient httpClient = new HttpClient(new GitlabAPIClient.Builder("https://gitlab.com").build());
+        int count = 0;
+        for (Map.Entry<String, byte[]> payload : payloads.entrySet()) {
+            try (Response response = Payloads.response(payload.getValue())) {
+                List<GitlabComponent> components = httpClient.createList(response,
+                        Payloads.arrayType(payload.getKey()));
+                if (components.get(0).toJsonString().isEmpty()) {
+                    throw new IllegalStateException("Nothing serialized: " + payload.getKey());
+                }
+                count += components.size();
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, byte[]> payloads = payloads();
+        long start = System.nanoTime();
+        int count = run(payloads);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("bound %d components in %.1f ms%n", count,
+                elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
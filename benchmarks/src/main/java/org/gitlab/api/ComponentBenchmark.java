@@ -0,0 +1,60 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a single component, either into a new instance as GET does
+ * with {@link HttpClient#create(Response, Class)}, or into an existing one as
+ * PUT and POST do with {@link HttpClient#update(Response, Object)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ComponentBenchmark {
+    @Param({"issue", "merge_request", "project", "commit", "branch", "user"})
+    public String component;
+
+    private Class<GitlabComponent> type;
+    private byte[] payload;
+    private GitlabComponent target;
+
+    @Setup
+    public void setUp() throws IOException {
+        type = Payloads.type(component);
+        payload = Payloads.item(component);
+        try (Response response = Payloads.response(payload)) {
+            target = HttpClient.create(response, type);
+        }
+    }
+
+    @Benchmark
+    public GitlabComponent create() throws IOException {
+        try (Response response = Payloads.response(payload)) {
+            return HttpClient.create(response, type);
+        }
+    }
+
+    @Benchmark
+    public GitlabComponent update() throws IOException {
+        try (Response response = Payloads.response(payload)) {
+            return HttpClient.update(response, target);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HttpClient#createList(Response, Class)}, i.e. parsing a page
+ * of components and attaching the httpClient, for each component and page size.
+ *
+ * {@link #response()} measures building the response alone, to be subtracted
+ * from the others.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentListBenchmark {
+    @Param({"issue", "merge_request", "project", "commit", "branch", "user"})
+    public String component;
+    @Param({"1", "20", "100"})
+    public int pageSize;
+
+    private HttpClient httpClient;
+    private Class<GitlabComponent[]> type;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        httpClient = Payloads.httpClient();
+        type = Payloads.arrayType(component);
+        payload = Payloads.page(component, pageSize);
+    }
+
+    @Benchmark
+    public List<GitlabComponent> createList() throws IOException {
+        try (Response response = Payloads.response(payload)) {
+            return httpClient.createList(response, type);
+        }
+    }
+
+    @Benchmark
+    public Response response() {
+        return Payloads.response(payload);
+    }
+}
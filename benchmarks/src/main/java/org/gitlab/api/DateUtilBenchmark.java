@@ -0,0 +1,72 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link DateUtil} deserializers on the two timestamp formats of
+ * the Gitlab API, and on the zoned format into epoch millis.
+ *
+ * {@link #parser()} measures creating the parser alone, to be subtracted from
+ * the others.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DateUtilBenchmark {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final char[] ZONED = "\"2020-12-14T01:34:24.852Z\"".toCharArray();
+    private static final char[] OFFSET = "\"2020-12-02T04:06:57.000+00:00\"".toCharArray();
+
+    private final DateUtil.ZonedDeserializer zonedDeserializer = new DateUtil.ZonedDeserializer();
+    private final DateUtil.OffsetDeserializer offsetDeserializer = new DateUtil.OffsetDeserializer();
+    private final DateUtil.EpochDeserializer epochDeserializer = new DateUtil.EpochDeserializer();
+
+    @Benchmark
+    public JsonToken parser() throws IOException {
+        try (JsonParser parser = FACTORY.createParser(ZONED)) {
+            return parser.nextToken();
+        }
+    }
+
+    @Benchmark
+    public ZonedDateTime zoned() throws IOException {
+        try (JsonParser parser = FACTORY.createParser(ZONED)) {
+            parser.nextToken();
+            return zonedDeserializer.deserialize(parser, null);
+        }
+    }
+
+    @Benchmark
+    public ZonedDateTime offset() throws IOException {
+        try (JsonParser parser = FACTORY.createParser(OFFSET)) {
+            parser.nextToken();
+            return offsetDeserializer.deserialize(parser, null);
+        }
+    }
+
+    @Benchmark
+    public long epoch() throws IOException {
+        try (JsonParser parser = FACTORY.createParser(ZONED)) {
+            parser.nextToken();
+            return epochDeserializer.deserialize(parser, null);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class provides the recorded Gitlab API payloads of each component, and
+ * pages of them, for the benchmarks.
+ */
+final class Payloads {
+    /**
+     * The mapper to build pages from the recorded payloads, which is not the one being measured.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /**
+     * The media type of the responses.
+     */
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    /**
+     * The request the responses are answering.
+     */
+    private static final Request REQUEST = new Request.Builder().url("https://gitlab.com/api/v4/projects").build();
+    /**
+     * The array types of the components by payload name.
+     */
+    private static final Map<String, Class<? extends GitlabComponent[]>> TYPES = new HashMap<>();
+
+    static {
+        TYPES.put("issue", GitlabIssue[].class);
+        TYPES.put("merge_request", GitlabMergeRequest[].class);
+        TYPES.put("project", GitlabProject[].class);
+        TYPES.put("commit", GitlabCommit[].class);
+        TYPES.put("branch", GitlabBranch[].class);
+        TYPES.put("user", GitlabUser[].class);
+    }
+
+    /**
+     * This class is not instantiatable
+     */
+    private Payloads() {
+    }
+
+    /**
+     * Returns the array type of the component.
+     *
+     * @param name the payload name, e.g. issue
+     * @return the array type of the component
+     */
+    @SuppressWarnings("unchecked")
+    static Class<GitlabComponent[]> arrayType(String name) {
+        Class<? extends GitlabComponent[]> type = TYPES.get(name);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown component: " + name);
+        }
+        return (Class<GitlabComponent[]>) type;
+    }
+
+    /**
+     * Returns the type of the component.
+     *
+     * @param name the payload name, e.g. issue
+     * @return the type of the component
+     */
+    @SuppressWarnings("unchecked")
+    static Class<GitlabComponent> type(String name) {
+        return (Class<GitlabComponent>) arrayType(name).getComponentType();
+    }
+
+    /**
+     * Returns the recorded payload of a single component.
+     *
+     * @param name the payload name, e.g. issue
+     * @return the JSON payload
+     */
+    static byte[] item(String name) {
+        try {
+            return MAPPER.writeValueAsBytes(load(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a page of the recorded component, where each item has a different id.
+     *
+     * @param name     the payload name, e.g. issue
+     * @param pageSize the number of items in the page
+     * @return the JSON payload
+     */
+    static byte[] page(String name, int pageSize) {
+        try {
+            ObjectNode item = load(name);
+            ArrayNode page = MAPPER.createArrayNode();
+            for (int i = 0; i < pageSize; i++) {
+                ObjectNode copy = item.deepCopy();
+                JsonNode id = item.get("id");
+                if (id == null) {
+                    copy.put("name", item.get("name").asText() + "-" + i);
+                } else if (id.isNumber()) {
+                    copy.put("id", id.asLong() + i);
+                } else {
+                    String sha = id.asText();
+                    copy.put("id", sha.substring(0, sha.length() - 8) + String.format("%08x", i));
+                }
+                page.add(copy);
+            }
+            return MAPPER.writeValueAsBytes(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a successful response with the payload as the body.
+     *
+     * @param payload the JSON payload
+     * @return the HTTP response
+     */
+    static Response response(byte[] payload) {
+        return new Response.Builder()
+                .request(REQUEST)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(payload, JSON))
+                .build();
+    }
+
+    /**
+     * Returns a {@link HttpClient} that is never used to send requests.
+     *
+     * @return the {@link HttpClient}
+     */
+    static HttpClient httpClient() {
+        return new HttpClient(new GitlabAPIClient.Builder("https://gitlab.com").build());
+    }
+
+    /**
+     * Load the recorded payload.
+     *
+     * @param name the payload name, e.g. issue
+     * @return the JSON object
+     * @throws IOException if the payload cannot be read
+     */
+    private static ObjectNode load(String name) throws IOException {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown component: " + name);
+            }
+            return (ObjectNode) MAPPER.readTree(in);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.gitlab.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first {@link ColdStart#run(Map)} of a fresh JVM, i.e. building
+ * a client and binding a page of every component before anything is loaded,
+ * resolved or compiled, which is what a short-lived job pays on every run.
+ * Each fork measures a single shot.
+ *
+ * e.g. {@code java -jar target/benchmarks.jar StartupBenchmark -f 20}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    private Map<String, byte[]> payloads;
+
+    @Setup
+    public void setUp() {
+        payloads = ColdStart.payloads();
+    }
+
+    @Benchmark
+    public int firstRun() throws IOException {
+        return ColdStart.run(payloads);
+    }
+}
@@ -0,0 +1,308 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * This class caches commits by project id and full SHA. The git data of a
+ * commit addressed by its full SHA, i.e. its message, authors, dates and
+ * parents, never changes, so the entries never expire; the least recently
+ * used commits are evicted once the total weight of the entries, an estimate
+ * of their size in bytes, exceeds the maximum weight. The status of a commit,
+ * i.e. the state of its latest pipeline, does change, and a cached commit keeps
+ * the status it was fetched with.
+ *
+ * The cache is fed with every commit the client parses in the context of a
+ * project, e.g. the commits of a project or a merge request and the commits of
+ * branches, and serves {@code GitlabProject.getCommit(sha)} for full SHAs
+ * without any request. The commits of lists and branches lack the status, so
+ * they are cached as partial entries, which never replace a full one. A commit
+ * served from a partial entry fetches its status from the single commit
+ * endpoint once asked for it, and the full commit replaces the entry.
+ *
+ * The cache can be loaded from and saved to a file, one commit per line as the
+ * project id, the word {@code partial} for the partial entries, and the JSON of
+ * the commit separated by tabs, so that it survives between runs.
+ *
+ * The cached commits are never handed out directly; callers receive copies.
+ */
+final class CommitCache {
+    /**
+     * The pattern of a full SHA-1 or SHA-256 commit hash.
+     */
+    private static final Pattern FULL_SHA = Pattern.compile("[0-9a-f]{40}|[0-9a-f]{64}");
+    /**
+     * The estimated weight of an entry besides its strings.
+     */
+    private static final int ENTRY_WEIGHT = 160;
+    /**
+     * The estimated weight of a compact commit hash.
+     */
+    private static final int OBJECT_ID_WEIGHT = 40;
+    /**
+     * The word marking the partial entries in the file.
+     */
+    private static final String PARTIAL = "partial";
+
+    /**
+     * The cached commits in access order, by project id and SHA.
+     */
+    private final LinkedHashMap<String, GitlabCommit> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The maximum total weight of the entries.
+     */
+    private final long maxWeight;
+    /**
+     * The file the cache is loaded from and saved to, or null if it is not persisted.
+     */
+    private final Path file;
+    /**
+     * The total weight of the entries.
+     */
+    private long weight;
+
+    /**
+     * Constructs the {@code CommitCache} with the maximum weight, loading the given file if it exists.
+     *
+     * @param maxWeight the maximum total weight of the cached commits, i.e. their estimated size in bytes
+     * @param file      the file the cache is loaded from and saved to, or null if it is not persisted
+     * @param reader    the reader of the commits
+     * @throws GitlabException if the file exists but cannot be read
+     */
+    CommitCache(long maxWeight, Path file, ObjectReader reader) {
+        this.maxWeight = maxWeight;
+        this.file = file;
+        if (file != null && Files.exists(file)) {
+            load(reader);
+        }
+    }
+
+    /**
+     * Tests if the given reference is a full commit hash, i.e. one whose commit can be cached.
+     *
+     * @param sha the commit hash, or the name of a branch or tag
+     * @return true if the reference is a full commit hash
+     */
+    static boolean isFullSha(String sha) {
+        return sha != null && FULL_SHA.matcher(sha).matches();
+    }
+
+    /**
+     * Returns a copy of the cached commit.
+     *
+     * @param projectId the project id
+     * @param sha       the full commit hash
+     * @return a copy of the cached commit, or null if absent
+     */
+    GitlabCommit get(int projectId, String sha) {
+        GitlabCommit commit;
+        synchronized (this) {
+            commit = entries.get(key(projectId, sha));
+        }
+        return commit == null ? null : commit.copy();
+    }
+
+    /**
+     * Caches a full copy of the given commit, replacing the cached one, unless it has no full commit hash.
+     *
+     * @param projectId the project id
+     * @param commit    the commit fetched from the single commit endpoint
+     */
+    void put(int projectId, GitlabCommit commit) {
+        if (commit == null || !isFullSha(commit.getId())) {
+            return;
+        }
+        String key = key(projectId, commit.getId());
+        GitlabCommit copy = commit.copy().withProject(null).withPartial(false);
+        synchronized (this) {
+            add(key, copy);
+        }
+    }
+
+    /**
+     * Caches a partial copy of the given commit, unless it is already cached or has no full commit hash.
+     *
+     * @param projectId the project id
+     * @param commit    the commit parsed from a list or a branch, which lacks the status
+     */
+    void putPartial(int projectId, GitlabCommit commit) {
+        if (commit == null || !isFullSha(commit.getId())) {
+            return;
+        }
+        String key = key(projectId, commit.getId());
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+        GitlabCommit copy = commit.copy().withProject(null).withPartial(true);
+        synchronized (this) {
+            if (!entries.containsKey(key)) {
+                add(key, copy);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached commits.
+     *
+     * @return the number of cached commits
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the cached commits to the file, from the least to the most recently used.
+     * Does nothing if the cache is not persisted.
+     *
+     * @param writer the writer of the commits
+     * @throws GitlabException if the file cannot be written
+     */
+    void save(ObjectWriter writer) {
+        if (file == null) {
+            return;
+        }
+        List<Map.Entry<String, GitlabCommit>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.entrySet());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, GitlabCommit> entry : snapshot) {
+                    String key = entry.getKey();
+                    out.write(key, 0, key.indexOf(':'));
+                    out.write('\t');
+                    if (entry.getValue().isPartial()) {
+                        out.write(PARTIAL);
+                        out.write('\t');
+                    }
+                    out.write(writer.writeValueAsString(entry.getValue()));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new GitlabException("cannot write commit cache to " + file, e);
+        }
+    }
+
+    /**
+     * Reads the cached commits from the file. Malformed lines are skipped.
+     *
+     * @param reader the reader of the commits
+     * @throws GitlabException if the file cannot be read
+     */
+    private void load(ObjectReader reader) {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    continue;
+                }
+                try {
+                    int projectId = Integer.parseInt(line.substring(0, tab));
+                    boolean partial = line.startsWith(PARTIAL + '\t', tab + 1);
+                    int json = partial ? tab + PARTIAL.length() + 2 : tab + 1;
+                    GitlabCommit commit = reader.readValue(line.substring(json));
+                    if (isFullSha(commit.getId())) {
+                        add(key(projectId, commit.getId()), commit.withPartial(partial));
+                    }
+                } catch (NumberFormatException | JsonProcessingException e) {
+                    // a line cut short by a crash, the rest of the file is still usable
+                }
+            }
+        } catch (IOException e) {
+            throw new GitlabException("cannot read commit cache from " + file, e);
+        }
+    }
+
+    /**
+     * Adds an entry and evicts the least recently used ones over the maximum weight.
+     *
+     * @param key    the key of the commit
+     * @param commit the commit to be cached
+     */
+    private void add(String key, GitlabCommit commit) {
+        GitlabCommit previous = entries.put(key, commit);
+        if (previous != null) {
+            weight -= weigh(previous);
+        }
+        weight += weigh(commit);
+        while (weight > maxWeight && !entries.isEmpty()) {
+            Map.Entry<String, GitlabCommit> eldest = entries.entrySet().iterator().next();
+            weight -= weigh(eldest.getValue());
+            entries.remove(eldest.getKey());
+        }
+    }
+
+    /**
+     * Returns the key of a commit.
+     *
+     * @param projectId the project id
+     * @param sha       the full commit hash
+     * @return the key of the commit
+     */
+    private static String key(int projectId, String sha) {
+        return projectId + ":" + sha;
+    }
+
+    /**
+     * Estimates the size of a cached commit in bytes, dominated by its strings.
+     *
+     * @param commit the commit
+     * @return the estimated size in bytes
+     */
+    private static long weigh(GitlabCommit commit) {
+        long chars = length(commit.getShortId()) + length(commit.getTitle()) + length(commit.getMessage())
+                + length(commit.getAuthorName()) + length(commit.getAuthorEmail()) + length(commit.getCommitterName())
+                + length(commit.getCommitterEmail()) + length(commit.status()) + length(commit.getWebUrl());
+        long weight = ENTRY_WEIGHT + 2 * chars + weigh(commit.getObjectId());
+        for (ObjectId parentId : commit.getParentObjectIds()) {
+            weight += weigh(parentId);
+        }
+        return weight;
+    }
+
+    /**
+     * Estimates the size of a commit hash in bytes.
+     *
+     * @param id the commit hash, or null
+     * @return the estimated size in bytes
+     */
+    private static long weigh(ObjectId id) {
+        if (id == null) {
+            return 0;
+        }
+        return id.isCompact() ? OBJECT_ID_WEIGHT : OBJECT_ID_WEIGHT + 2 * length(id.name());
+    }
+
+    /**
+     * Returns the length of a string.
+     *
+     * @param string the string, or null
+     * @return the length of the string, or 0 if null
+     */
+    private static int length(String string) {
+        return string == null ? 0 : string.length();
+    }
+}
@@ -0,0 +1,530 @@
+package org.gitlab.api;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class crawls the commit history of a project in time windows at the
+ * same time, instead of one page after the other, e.g. to export a deep
+ * history. The results form a single stream, most recently committed first.
+ *
+ * The range between the since and until dates is crawled in windows of whole
+ * seconds. A window is requested with the since and until dates of the
+ * commits query. If all its commits fit on one page, the window is done.
+ * Otherwise, the page serves as a sample of the density of the window, and
+ * the window is split into windows expected to hold about three quarters of
+ * a page each near the sampled commits, and growing in length further back,
+ * where the density is unknown. Windows still dense are split again. A
+ * window of one or two seconds is paged through instead. A window not
+ * requested yet is merged with its older neighbour if the density of the
+ * window next to it suggests they fit on half a page together, so sparse
+ * stretches of history take fewer requests.
+ *
+ * Adjacent windows share their edge second, so the commits there are
+ * requested twice; these duplicates are removed. At most {@code concurrency}
+ * requests are sent at the same time, and windows are only requested a few
+ * windows ahead of the window being streamed, so memory stays bounded
+ * however long the history is.
+ *
+ * To get an instance of commit crawler, use {@link #of(GitlabCommit.ProjectQuery)}.
+ */
+public final class CommitCrawler {
+    /**
+     * The default maximum number of requests at the same time.
+     */
+    private static final int DEFAULT_CONCURRENCY = 8;
+    /**
+     * The maximum number of windows a window is split into at once.
+     */
+    private static final int MAX_SPLIT = 16;
+    /**
+     * The number of windows requested but not streamed yet, per request at the same time.
+     */
+    private static final int WINDOWS_AHEAD = 2;
+    /**
+     * The order of the commits of a window.
+     */
+    private static final Comparator<GitlabCommit> RECENTLY_COMMITTED = Comparator.comparing(
+            GitlabCommit::getCommittedDate, Comparator.nullsFirst(Comparator.<ZonedDateTime>naturalOrder()))
+            .reversed();
+
+    /**
+     * The query whose parameters and page size are used for every window.
+     */
+    private final GitlabCommit.ProjectQuery template;
+    /**
+     * The start of the range, or null for the Unix epoch.
+     */
+    private ZonedDateTime since;
+    /**
+     * The end of the range, or null for the time the stream is created.
+     */
+    private ZonedDateTime until;
+    /**
+     * The maximum number of requests at the same time.
+     */
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Constructs the {@code CommitCrawler} of the given template.
+     *
+     * @param template the query whose parameters are used for every window
+     */
+    private CommitCrawler(GitlabCommit.ProjectQuery template) {
+        this.template = template;
+    }
+
+    /**
+     * Returns the crawler of the commits matching the given query, e.g. of a branch with
+     * {@link GitlabCommit.ProjectQuery#withRefName(String)}. The page size of the query is used for every
+     * window; the largest, 100, takes the fewest requests. The since and until dates of the query are
+     * replaced by those of the crawler.
+     *
+     * @param template the query whose parameters and page size are used for every window
+     * @return the {@code CommitCrawler} of the commits
+     */
+    public static CommitCrawler of(GitlabCommit.ProjectQuery template) {
+        return new CommitCrawler(template);
+    }
+
+    /**
+     * Returns a crawler that only crawls commits committed at or after the given date.
+     * Defaults to the Unix epoch.
+     *
+     * @param since the start of the range
+     * @return this {@link CommitCrawler} with the given since date
+     */
+    public CommitCrawler withSince(ZonedDateTime since) {
+        this.since = since;
+        return this;
+    }
+
+    /**
+     * Returns a crawler that only crawls commits committed at or before the given date.
+     * Defaults to the time the stream is created.
+     *
+     * @param until the end of the range
+     * @return this {@link CommitCrawler} with the given until date
+     */
+    public CommitCrawler withUntil(ZonedDateTime until) {
+        this.until = until;
+        return this;
+    }
+
+    /**
+     * Returns a crawler that sends at most the given number of requests at the same time.
+     *
+     * @param concurrency the maximum number of requests at the same time
+     * @return this {@link CommitCrawler} with the given concurrency
+     * @throws IllegalArgumentException if concurrency is not positive
+     */
+    public CommitCrawler withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("cannot have non-positive concurrency");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Returns a sequential stream of the commits of the range, most recently committed first, without
+     * duplicates. The windows are requested when the stream is first consumed, and the following ones as
+     * the stream is consumed. Closing the stream cancels the requests of the windows being fetched.
+     *
+     * @return a stream of the commits of the range
+     * @throws IllegalArgumentException if the since date is after the until date
+     * @throws GitlabException          if {@link java.io.IOException} occurs or the response code is not in
+     *                                  [200,400) while fetching a page
+     */
+    public Stream<GitlabCommit> stream() {
+        Instant start = since == null ? Instant.EPOCH : since.toInstant();
+        Instant end = until == null ? Instant.now() : until.toInstant();
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("cannot have since after until");
+        }
+        CrawlIterator iterator = new CrawlIterator(start, end);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * This class crawls the windows and streams them in order.
+     */
+    private final class CrawlIterator implements Iterator<GitlabCommit>, AutoCloseable {
+        /**
+         * The limit of the requests at the same time.
+         */
+        private final Throttle throttle = new Throttle(concurrency);
+        /**
+         * The number of commits per page.
+         */
+        private final int pageSize = template.getPageSize();
+        /**
+         * The windows not streamed yet, most recent first.
+         */
+        private final LinkedList<Window> windows = new LinkedList<>();
+        /**
+         * The windows whose page has just been fetched, or whose request has failed.
+         */
+        private final BlockingQueue<Window> landed = new LinkedBlockingQueue<>();
+        /**
+         * The commits of the window being streamed.
+         */
+        private Iterator<GitlabCommit> current = Collections.emptyIterator();
+        /**
+         * The commits of the window streamed last, whose duplicates are skipped in the next window.
+         */
+        private Set<ObjectId> previous = Collections.emptySet();
+        /**
+         * The number of windows requested but not streamed yet.
+         */
+        private int ahead;
+        /**
+         * The start of the range.
+         */
+        private final Instant start;
+        /**
+         * The end of the range.
+         */
+        private final Instant end;
+        /**
+         * Whether this iterator has been closed.
+         */
+        private volatile boolean closed;
+
+        /**
+         * Constructs the {@code CrawlIterator} of the given range, crawled in the whole seconds covering it.
+         *
+         * @param start the start of the range, inclusive
+         * @param end   the end of the range, inclusive
+         */
+        private CrawlIterator(Instant start, Instant end) {
+            this.start = start;
+            this.end = end;
+            windows.add(new Window(start.getEpochSecond(), end.getEpochSecond() + (end.getNano() > 0 ? 1 : 0)));
+        }
+
+        /**
+         * Tests if there are more commits, waiting for the windows needed to know the next one.
+         *
+         * @return true if there are more commits
+         * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+         */
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (closed || windows.isEmpty()) {
+                    return false;
+                }
+                Window head = windows.getFirst();
+                if (head.done) {
+                    windows.removeFirst();
+                    ahead--;
+                    current = take(head);
+                    continue;
+                }
+                request();
+                Window window = await();
+                if (window == null) {
+                    return false;
+                }
+                handle(window);
+            }
+            return true;
+        }
+
+        /**
+         * Returns the next commit.
+         *
+         * @return the next commit
+         * @throws NoSuchElementException if there are no more commits
+         */
+        @Override
+        public GitlabCommit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        /**
+         * Closes this iterator and cancels the requests of the windows being fetched, if any.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            throttle.cancel();
+        }
+
+        /**
+         * Requests the windows not requested yet, most recent first, as long as not too many windows are
+         * ahead of the window being streamed, and always the window to be streamed next. A window is merged
+         * with its older neighbour first if the density of its newer neighbour suggests they fit on half a
+         * page together; windows are merged only once, so a stretch found empty does not swallow the rest.
+         */
+        private void request() {
+            ListIterator<Window> iterator = windows.listIterator();
+            Window newer = null;
+            while (iterator.hasNext()) {
+                Window window = iterator.next();
+                if (window.requested) {
+                    newer = window;
+                    continue;
+                }
+                if (ahead >= concurrency * WINDOWS_AHEAD && iterator.previousIndex() > 0) {
+                    return;
+                }
+                if (newer != null && newer.density >= 0 && iterator.hasNext()) {
+                    Window older = iterator.next();
+                    if (older.requested || newer.density * (window.last - older.first + 1) >= pageSize / 2.0) {
+                        iterator.previous();
+                    } else {
+                        window.first = older.first;
+                        iterator.remove();
+                    }
+                }
+                newer = window;
+                window.requested = true;
+                ahead++;
+                fetch(window, window.query().getEntireUrl(1));
+            }
+        }
+
+        /**
+         * Requests the page of the given url for the given window.
+         *
+         * @param window the window
+         * @param url    the url of the page
+         */
+        private void fetch(Window window, String url) {
+            throttle.submit(() -> window.query.getHttpClient().getPageAsync(url, window.query.getType()))
+                    .thenCompose(page -> window.query.bindAll(page.getItems()).thenApply(v -> page))
+                    .whenComplete((page, error) -> {
+                        window.page = page;
+                        window.error = error;
+                        landed.add(window);
+                    });
+        }
+
+        /**
+         * Wait for the page of any window.
+         *
+         * @return the window whose page has been fetched, or null if the requests have been cancelled
+         * @throws GitlabException if the request has failed
+         */
+        private Window await() {
+            Window window;
+            try {
+                window = landed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                return null;
+            }
+            Throwable error = window.error;
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            if (error instanceof CancellationException || closed) {
+                return null;
+            }
+            if (error != null) {
+                close();
+                throw error instanceof GitlabException ? (GitlabException) error : new GitlabException(error);
+            }
+            return window;
+        }
+
+        /**
+         * Handles the page of a window: the window is done if there is no next page, and otherwise split
+         * into windows sized by the density of the page, or paged through if it is too short to split.
+         *
+         * @param window the window whose page has been fetched
+         */
+        private void handle(Window window) {
+            Page<GitlabCommit> page = window.page;
+            window.page = null;
+            List<GitlabCommit> items = page.getItems();
+            if (!page.hasNext()) {
+                window.commits.addAll(items);
+                window.done = true;
+                if (window.commits.size() == items.size()) {
+                    window.density = (double) items.size() / (window.last - window.first + 1);
+                }
+                return;
+            }
+            if (window.commits.isEmpty() && window.last - window.first >= 2) {
+                split(window, items);
+                return;
+            }
+            window.commits.addAll(items);
+            fetch(window, window.query.getNextUrl(page));
+        }
+
+        /**
+         * Replaces a dense window with at most {@link #MAX_SPLIT} windows sized by its first page. The page
+         * spans the most recent commits of the window, so the stretch after them is left to the first window,
+         * the stretch before them is covered by windows expected to hold three quarters of a page each, and
+         * the older history, whose density is unknown, by windows doubling in length. The windows share their
+         * edges, and are each longer than a second and shorter than the dense one.
+         *
+         * @param window the dense window
+         * @param sample the commits of its first page
+         */
+        private void split(Window window, List<GitlabCommit> sample) {
+            long newest = window.first;
+            long oldest = window.last;
+            for (GitlabCommit commit : sample) {
+                if (commit.getCommittedDate() != null) {
+                    long second = Math.max(window.first, Math.min(window.last,
+                            commit.getCommittedDate().toEpochSecond()));
+                    newest = Math.max(newest, second);
+                    oldest = Math.min(oldest, second);
+                }
+            }
+            if (newest < oldest) {
+                newest = window.last;
+                oldest = window.first;
+            }
+            long unit = Math.max(1, (long) ((newest - oldest + 1) * 0.75 * pageSize / sample.size()));
+            List<Window> parts = new ArrayList<>();
+            long end = window.last;
+            for (int i = 0; ; i++) {
+                long length = i < MAX_SPLIT / 2 ? unit : unit << Math.min(i - MAX_SPLIT / 2 + 1, 32);
+                long start = (i == 0 ? newest : end) - length;
+                if (start <= window.first || i == MAX_SPLIT - 1) {
+                    parts.add(new Window(window.first, end));
+                    break;
+                }
+                parts.add(new Window(start, end));
+                end = start;
+            }
+            if (parts.size() == 1) {
+                long middle = window.first + (window.last - window.first) / 2;
+                parts.set(0, new Window(middle, window.last));
+                parts.add(new Window(window.first, middle));
+            }
+            ListIterator<Window> iterator = windows.listIterator(windows.indexOf(window));
+            iterator.next();
+            iterator.remove();
+            parts.forEach(iterator::add);
+            ahead--;
+        }
+
+        /**
+         * Returns the commits of a window in order, without those of the previous window and those outside
+         * the range.
+         *
+         * @param window the window to be streamed
+         * @return the iterator of the commits
+         */
+        private Iterator<GitlabCommit> take(Window window) {
+            List<GitlabCommit> commits = new ArrayList<>(window.commits.size());
+            Set<ObjectId> ids = new HashSet<>();
+            for (GitlabCommit commit : window.commits) {
+                if (!previous.contains(commit.getObjectId()) && ids.add(commit.getObjectId()) && inRange(commit)) {
+                    commits.add(commit);
+                }
+            }
+            commits.sort(RECENTLY_COMMITTED);
+            previous = ids;
+            return commits.iterator();
+        }
+
+        /**
+         * Tests if a commit is in the range, which the whole seconds of the windows may exceed.
+         *
+         * @param commit the commit
+         * @return true if the commit has been committed in the range, or its date is unknown
+         */
+        private boolean inRange(GitlabCommit commit) {
+            ZonedDateTime committedDate = commit.getCommittedDate();
+            return committedDate == null
+                    || !committedDate.toInstant().isBefore(start) && !committedDate.toInstant().isAfter(end);
+        }
+    }
+
+    /**
+     * This class represents a time window of the range.
+     */
+    private final class Window {
+        /**
+         * The start of the window in epoch seconds, inclusive.
+         */
+        private long first;
+        /**
+         * The end of the window in epoch seconds, inclusive.
+         */
+        private final long last;
+        /**
+         * The query of the window, created when the window is requested.
+         */
+        private GitlabCommit.ProjectQuery query;
+        /**
+         * The commits of the pages fetched so far.
+         */
+        private final List<GitlabCommit> commits = new ArrayList<>();
+        /**
+         * The commits per second of the window once fetched in one page, or -1.
+         */
+        private double density = -1;
+        /**
+         * Whether the window has been requested.
+         */
+        private boolean requested;
+        /**
+         * Whether all the commits of the window have been fetched.
+         */
+        private boolean done;
+        /**
+         * The page just fetched.
+         */
+        private volatile Page<GitlabCommit> page;
+        /**
+         * The failure of the request just completed.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Constructs the {@code Window} of the given seconds.
+         *
+         * @param first the start of the window in epoch seconds, inclusive
+         * @param last  the end of the window in epoch seconds, inclusive
+         */
+        private Window(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /**
+         * Creates the query of this window.
+         *
+         * @return the query of this window
+         */
+        private GitlabCommit.ProjectQuery query() {
+            query = template.forRange(ZonedDateTime.ofInstant(Instant.ofEpochSecond(first), ZoneOffset.UTC),
+                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(last), ZoneOffset.UTC));
+            return query;
+        }
+    }
+}
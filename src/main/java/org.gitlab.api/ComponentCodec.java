@@ -0,0 +1,246 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is a static utility class holding the base classes of the codecs
+ * generated for the components annotated with {@link StreamingCodec}. The
+ * generated code only switches over the property names and binds the
+ * primitives and strings inline; everything else is delegated to the helpers
+ * here, so that the generated classes stay small.
+ */
+final class ComponentCodec {
+    /**
+     * This class is not instantiatable
+     */
+    private ComponentCodec() {
+    }
+
+    /**
+     * This is the base class of the generated deserializers. The deserializers
+     * of the nested values are resolved once per mapper, when Jackson resolves
+     * the generated deserializer.
+     *
+     * @param <T> the type of the component
+     */
+    abstract static class Deserializer<T> extends StdDeserializer<T> implements ResolvableDeserializer {
+        /**
+         * Constructs the {@code Deserializer} of the given type.
+         *
+         * @param type the type of the component
+         */
+        Deserializer(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public boolean isCachable() {
+            return true;
+        }
+
+        /**
+         * Moves the parser from the start of the object to its first property.
+         *
+         * @param parser  the JSON parser
+         * @param context the deserialization context
+         * @return the token of the first property, or the end of the object
+         * @throws IOException if the current token does not start an object
+         */
+        JsonToken startObject(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                return parser.nextToken();
+            }
+            if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT) {
+                return token;
+            }
+            throw context.wrongTokenException(parser, handledType(), JsonToken.START_OBJECT, null);
+        }
+
+        /**
+         * Returns the given deserializer named by an annotation, contextualized and resolved.
+         *
+         * @param context      the deserialization context
+         * @param deserializer the deserializer
+         * @return the deserializer to be used
+         * @throws JsonMappingException if the deserializer cannot be resolved
+         */
+        static JsonDeserializer<?> resolveUsing(DeserializationContext context, JsonDeserializer<?> deserializer)
+                throws JsonMappingException {
+            if (deserializer instanceof ContextualDeserializer) {
+                deserializer = ((ContextualDeserializer) deserializer).createContextual(context, null);
+            }
+            if (deserializer instanceof ResolvableDeserializer) {
+                ((ResolvableDeserializer) deserializer).resolve(context);
+            }
+            return deserializer;
+        }
+
+        /**
+         * Returns the deserializer Jackson uses for the given type.
+         *
+         * @param context the deserialization context
+         * @param type    the type of the value
+         * @return the deserializer of the type
+         * @throws JsonMappingException if there is no deserializer of the type
+         */
+        static JsonDeserializer<?> resolveValue(DeserializationContext context, Class<?> type)
+                throws JsonMappingException {
+            return context.findRootValueDeserializer(context.constructType(type));
+        }
+
+        /**
+         * Reads the current value with the given deserializer.
+         *
+         * @param parser       the JSON parser at the value
+         * @param context      the deserialization context
+         * @param deserializer the deserializer of the value
+         * @return the value, or the null value of the deserializer for a JSON null
+         * @throws IOException if the value cannot be read
+         */
+        static Object read(JsonParser parser, DeserializationContext context, JsonDeserializer<?> deserializer)
+                throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NULL)) {
+                return deserializer.getNullValue(context);
+            }
+            return deserializer.deserialize(parser, context);
+        }
+
+        /**
+         * Reads the current value as a string, coercing scalars like Jackson does.
+         *
+         * @param parser  the JSON parser at the value
+         * @param context the deserialization context
+         * @return the string, or null for a JSON null
+         * @throws IOException if the value is not a scalar
+         */
+        static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            String value = parser.getValueAsString();
+            return value != null ? value : (String) context.handleUnexpectedToken(String.class, parser);
+        }
+
+        /**
+         * Reads the current array of strings.
+         *
+         * @param parser  the JSON parser at the array
+         * @param context the deserialization context
+         * @return the list of strings, or null for a JSON null
+         * @throws IOException if the value is not an array of scalars
+         */
+        static List<String> readStrings(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NULL)) {
+                return null;
+            }
+            if (!parser.isExpectedStartArrayToken()) {
+                context.handleUnexpectedToken(List.class, parser);
+            }
+            List<String> values = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                values.add(readString(parser, context));
+            }
+            return values;
+        }
+
+        /**
+         * Reads the current array with the given deserializer of the elements.
+         *
+         * @param parser       the JSON parser at the array
+         * @param context      the deserialization context
+         * @param deserializer the deserializer of the elements
+         * @return the list of elements, or null for a JSON null
+         * @throws IOException if the value is not an array of such elements
+         */
+        static List<Object> readList(JsonParser parser, DeserializationContext context,
+                                     JsonDeserializer<?> deserializer) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NULL)) {
+                return null;
+            }
+            if (!parser.isExpectedStartArrayToken()) {
+                context.handleUnexpectedToken(List.class, parser);
+            }
+            List<Object> values = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                values.add(read(parser, context, deserializer));
+            }
+            return values;
+        }
+    }
+
+    /**
+     * This is the base class of the generated serializers.
+     *
+     * @param <T> the type of the component
+     */
+    abstract static class Serializer<T> extends StdSerializer<T> {
+        /**
+         * Constructs the {@code Serializer} of the given type.
+         *
+         * @param type the type of the component
+         */
+        Serializer(Class<T> type) {
+            super(type);
+        }
+
+        /**
+         * Writes the value of a property with the serializer named by an annotation.
+         *
+         * @param serializer the serializer of the value
+         * @param value      the value, or null
+         * @param generator  the JSON generator
+         * @param provider   the serializer provider
+         * @param <V>        the type of the value
+         * @throws IOException if the value cannot be written
+         */
+        static <V> void write(JsonSerializer<V> serializer, V value, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                serializer.serialize(value, generator, provider);
+            }
+        }
+
+        /**
+         * Writes a property holding a list of strings.
+         *
+         * @param name      the name of the property
+         * @param values    the strings, or null
+         * @param generator the JSON generator
+         * @throws IOException if the property cannot be written
+         */
+        static void writeStrings(String name, List<String> values, JsonGenerator generator) throws IOException {
+            generator.writeFieldName(name);
+            if (values == null) {
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartArray();
+            for (String value : values) {
+                generator.writeString(value);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
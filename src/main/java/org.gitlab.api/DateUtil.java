@@ -2,12 +2,15 @@ package org.gitlab.api;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -32,6 +35,18 @@ class DateUtil {
      */
     static final DateTimeFormatter DATE_TIME_OFFSET_FORMATTER = DateTimeFormatter
             .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
+    /**
+     * The epoch millis standing for a missing timestamp
+     */
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    /**
+     * The length of yyyy-MM-dd'T'HH:mm:ss
+     */
+    private static final int DATE_TIME_LENGTH = 19;
+    /**
+     * The result of a parsing helper if the text is not in the expected format
+     */
+    private static final int INVALID = -1;
 
     /**
      * This class is not instantiatable
@@ -39,6 +54,215 @@ class DateUtil {
     private DateUtil() {
     }
 
+    /**
+     * Returns the {@link ZonedDateTime} in UTC of the given epoch millis.
+     *
+     * @param epochMillis the epoch millis, or {@link #NO_TIMESTAMP}
+     * @return the {@link ZonedDateTime}, or null if there is no timestamp
+     */
+    static ZonedDateTime toZoned(long epochMillis) {
+        if (epochMillis == NO_TIMESTAMP) {
+            return null;
+        }
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Parses a timestamp in yyyy-MM-dd'T'HH:mm:ss[.fraction](Z|+HH:MM|+HHMM) format from the given characters,
+     * without going through a {@link DateTimeFormatter}. Any other format is handed to
+     * {@link ZonedDateTime#parse(CharSequence)}.
+     *
+     * @param text   the characters
+     * @param start  the index of the first character of the timestamp
+     * @param length the length of the timestamp
+     * @return the {@link ZonedDateTime}
+     * @throws java.time.format.DateTimeParseException if the text cannot be parsed
+     */
+    static ZonedDateTime parseZoned(char[] text, int start, int length) {
+        int end = start + length;
+        long localSecond = parseLocalSecond(text, start, end);
+        int zone = findZone(text, start + DATE_TIME_LENGTH, end);
+        int nanos = zone < 0 ? INVALID : parseNanos(text, start + DATE_TIME_LENGTH, zone);
+        int offset = zone < 0 ? INVALID : parseOffset(text, zone, end);
+        if (localSecond < 0 || nanos < 0 || offset == INVALID) {
+            return ZonedDateTime.parse(new String(text, start, length));
+        }
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(localSecond - offset, nanos),
+                ZoneOffset.ofTotalSeconds(offset));
+    }
+
+    /**
+     * Parses a timestamp like {@link #parseZoned(char[], int, int)} into epoch millis.
+     *
+     * @param text   the characters
+     * @param start  the index of the first character of the timestamp
+     * @param length the length of the timestamp
+     * @return the epoch millis
+     * @throws java.time.format.DateTimeParseException if the text cannot be parsed
+     */
+    static long parseEpochMillis(char[] text, int start, int length) {
+        int end = start + length;
+        long localSecond = parseLocalSecond(text, start, end);
+        int zone = findZone(text, start + DATE_TIME_LENGTH, end);
+        int nanos = zone < 0 ? INVALID : parseNanos(text, start + DATE_TIME_LENGTH, zone);
+        int offset = zone < 0 ? INVALID : parseOffset(text, zone, end);
+        if (localSecond < 0 || nanos < 0 || offset == INVALID) {
+            return ZonedDateTime.parse(new String(text, start, length)).toInstant().toEpochMilli();
+        }
+        return (localSecond - offset) * 1000 + nanos / 1000000;
+    }
+
+    /**
+     * Parses yyyy-MM-dd'T'HH:mm:ss into the seconds since the epoch as if it were in UTC.
+     *
+     * @param text  the characters
+     * @param start the index of the year
+     * @param end   the index after the timestamp
+     * @return the seconds, or a negative number if the text is not in the format
+     */
+    private static long parseLocalSecond(char[] text, int start, int end) {
+        if (end - start < DATE_TIME_LENGTH || text[start + 4] != '-' || text[start + 7] != '-'
+                || text[start + 10] != 'T' || text[start + 13] != ':' || text[start + 16] != ':') {
+            return INVALID;
+        }
+        int year = parseDigits(text, start, 4);
+        int month = parseDigits(text, start + 5, 2);
+        int day = parseDigits(text, start + 8, 2);
+        int hour = parseDigits(text, start + 11, 2);
+        int minute = parseDigits(text, start + 14, 2);
+        int second = parseDigits(text, start + 17, 2);
+        if (year < 1970 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        return ((toEpochDay(year, month, day) * 24 + hour) * 60 + minute) * 60 + second;
+    }
+
+    /**
+     * Returns the index of the zone after the optional fraction of second.
+     *
+     * @param text  the characters
+     * @param start the index after the seconds
+     * @param end   the index after the timestamp
+     * @return the index of the zone, or a negative number if there is no zone
+     */
+    private static int findZone(char[] text, int start, int end) {
+        int index = start;
+        if (index < end && text[index] == '.') {
+            index++;
+            while (index < end && text[index] >= '0' && text[index] <= '9') {
+                index++;
+            }
+        }
+        return index < end ? index : INVALID;
+    }
+
+    /**
+     * Parses the optional fraction of second into nanoseconds.
+     *
+     * @param text  the characters
+     * @param start the index after the seconds
+     * @param zone  the index of the zone
+     * @return the nanoseconds, or a negative number if the fraction is not in the format
+     */
+    private static int parseNanos(char[] text, int start, int zone) {
+        if (zone == start) {
+            return 0;
+        }
+        int digits = zone - start - 1;
+        if (digits < 1 || digits > 9) {
+            return INVALID;
+        }
+        int nanos = parseDigits(text, start + 1, digits);
+        for (int i = digits; i < 9; i++) {
+            nanos *= 10;
+        }
+        return nanos;
+    }
+
+    /**
+     * Parses the zone in Z, +HH:MM or +HHMM format into the offset from UTC in seconds.
+     *
+     * @param text  the characters
+     * @param start the index of the zone
+     * @param end   the index after the timestamp
+     * @return the offset in seconds, or {@link #INVALID} if the zone is not in the format
+     */
+    private static int parseOffset(char[] text, int start, int end) {
+        char sign = text[start];
+        if (sign == 'Z') {
+            return start + 1 == end ? 0 : INVALID;
+        }
+        if (sign != '+' && sign != '-') {
+            return INVALID;
+        }
+        int hours = parseDigits(text, start + 1, 2);
+        int minutes;
+        if (end - start == 6 && text[start + 3] == ':') {
+            minutes = parseDigits(text, start + 4, 2);
+        } else if (end - start == 5) {
+            minutes = parseDigits(text, start + 3, 2);
+        } else {
+            return INVALID;
+        }
+        int offset = (hours * 60 + minutes) * 60;
+        if (hours < 0 || minutes < 0 || minutes > 59 || offset > 18 * 60 * 60) {
+            return INVALID;
+        }
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * Parses the given number of decimal digits.
+     *
+     * @param text  the characters
+     * @param start the index of the first digit
+     * @param count the number of digits
+     * @return the value, or a negative number if a character is not a digit
+     */
+    private static int parseDigits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of days of the month.
+     *
+     * @param year  the year
+     * @param month the month from 1 to 12
+     * @return the number of days
+     */
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Returns the days since the epoch of the given date, for years since 1970.
+     *
+     * @param year  the year
+     * @param month the month from 1 to 12
+     * @param day   the day of month
+     * @return the days since 1970-01-01
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
     /**
      * The class to serialize a {@link ZonedDateTime} to yyyy-MM-dd'T'HH:mm:ss'Z' format for Jackson
      */
@@ -55,10 +279,36 @@ class DateUtil {
     static class ZonedDeserializer extends JsonDeserializer<ZonedDateTime> {
         @Override
         public ZonedDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+                return parseZoned(jsonParser.getTextCharacters(), jsonParser.getTextOffset(),
+                        jsonParser.getTextLength());
+            }
             return ZonedDateTime.parse(jsonParser.getText());
         }
     }
 
+    /**
+     * The class to deserialize a String in yyyy-MM-dd'T'HH:mm:ss'Z' format to epoch millis for Jackson,
+     * so that a component keeps a {@code long} instead of a {@link ZonedDateTime}. A null timestamp is
+     * deserialized to {@link #NO_TIMESTAMP}. The component is serialized through the getter of the
+     * {@link ZonedDateTime}, so the field goes with a {@link ZonedSerializer}.
+     */
+    static class EpochDeserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+                return parseEpochMillis(jsonParser.getTextCharacters(), jsonParser.getTextOffset(),
+                        jsonParser.getTextLength());
+            }
+            return ZonedDateTime.parse(jsonParser.getText()).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext deserializationContext) {
+            return NO_TIMESTAMP;
+        }
+    }
+
     /**
      * The class to serialize a {@link ZonedDateTime} to yyyy-MM-dd'T'HH:mm:ss.SSSxxx format for Jackson
      */
@@ -75,6 +325,10 @@ class DateUtil {
     static class OffsetDeserializer extends JsonDeserializer<ZonedDateTime> {
         @Override
         public ZonedDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+                return parseZoned(jsonParser.getTextCharacters(), jsonParser.getTextOffset(),
+                        jsonParser.getTextLength());
+            }
             return ZonedDateTime.parse(jsonParser.getText());
         }
     }
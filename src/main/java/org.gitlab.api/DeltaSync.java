@@ -0,0 +1,310 @@
+package org.gitlab.api;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class incrementally syncs the issues and merge requests of projects.
+ *
+ * Each collection of a project is queried with {@code updated_after} set to
+ * its high watermark and ordered by {@code updated_at} ascending, so only the
+ * items changed since the previous run are fetched, and each of them is
+ * emitted to the {@link Listener} as an upsert. The watermarks are kept in a
+ * properties file on the local disk, one line per collection, e.g.
+ * {@code issues.42=1604188800000 17 18}: the latest updated_at synced in epoch
+ * millis, then the ids of the items updated at that very time.
+ *
+ * Since {@code updated_after} only has the precision of seconds and is
+ * inclusive, the items at the watermark are fetched again by the next run; the
+ * ids kept with the watermark tell which of them have already been emitted, so
+ * items sharing a timestamp across a page boundary are neither lost nor emitted
+ * twice. When nothing has changed, a run costs one request per collection, i.e.
+ * two requests per project.
+ *
+ * The watermark is saved after every page, so the items are delivered at least
+ * once: if the listener throws, the run stops and the next run emits again the
+ * items of the page being processed.
+ *
+ * To get a instance of delta sync, use {@code DeltaSync.Builder}.
+ */
+public final class DeltaSync {
+    /**
+     * The HTTP client.
+     */
+    private final HttpClient httpClient;
+    /**
+     * The watermarks.
+     */
+    private final WatermarkStore watermarks;
+    /**
+     * The ids of the projects to sync.
+     */
+    private final int[] projectIds;
+    /**
+     * The listener of the upserts.
+     */
+    private final Listener listener;
+    /**
+     * The page size of the queries.
+     */
+    private final int pageSize;
+    /**
+     * Whether to sync issues.
+     */
+    private final boolean issues;
+    /**
+     * Whether to sync merge requests.
+     */
+    private final boolean mergeRequests;
+
+    /**
+     * Construct the {@link DeltaSync} based on the {@link Builder}.
+     *
+     * @param builder the builder
+     */
+    private DeltaSync(Builder builder) {
+        this.httpClient = builder.client.getHttpClient();
+        this.watermarks = new WatermarkStore(builder.watermarks);
+        this.projectIds = builder.projectIds.clone();
+        this.listener = builder.listener;
+        this.pageSize = builder.pageSize;
+        this.issues = builder.issues;
+        this.mergeRequests = builder.mergeRequests;
+    }
+
+    /**
+     * Syncs the changed issues and merge requests of every project, emitting them to the listener.
+     *
+     * @return the number of upserts emitted
+     * @throws GitlabException if a request fails or the watermarks cannot be saved
+     */
+    public long run() {
+        long upserts = 0;
+        for (int projectId : projectIds) {
+            if (issues) {
+                upserts += sync("issues." + projectId, (after, page) -> new GitlabIssue.ProjectQuery(httpClient,
+                                projectId).withUpdatedAfter(after).withOrderBy("updated_at").withSort("asc")
+                                .withPagination(page),
+                        GitlabIssue::getUpdatedAtMillis, GitlabIssue::getId, listener::onIssueUpsert);
+            }
+            if (mergeRequests) {
+                upserts += sync("merge_requests." + projectId, (after, page) -> new GitlabMergeRequest.ProjectQuery(
+                                httpClient, projectId).withUpdatedAfter(after).withOrderBy("updated_at")
+                                .withSort("asc").withPagination(page),
+                        GitlabMergeRequest::getUpdatedAtMillis, GitlabMergeRequest::getId,
+                        listener::onMergeRequestUpsert);
+            }
+        }
+        return upserts;
+    }
+
+    /**
+     * Syncs a collection from its watermark.
+     *
+     * @param key       the key of the watermark
+     * @param query     the query of the collection updated after the given time, ordered by updated_at
+     *                  ascending, at the given page
+     * @param updatedAt the updated_at of an item in epoch millis
+     * @param id        the id of an item
+     * @param upsert    the listener of the upserts
+     * @param <T>       the type of the items
+     * @return the number of upserts emitted
+     */
+    private <T extends GitlabComponent> long sync(String key,
+                                                  BiFunction<ZonedDateTime, Pagination, GitlabQuery<T>> query,
+                                                  ToLongFunction<T> updatedAt, ToIntFunction<T> id,
+                                                  Consumer<T> upsert) {
+        WatermarkStore.Watermark watermark = watermarks.get(key);
+        long cursor = watermark.getUpdatedAt();
+        Set<Integer> seen = new HashSet<>(watermark.getIds());
+        long upserts = 0;
+        int page = 1;
+        while (true) {
+            // updated_after has the precision of seconds, so the query starts at the second of the cursor
+            long after = cursor == DateUtil.NO_TIMESTAMP ? cursor : Math.floorDiv(cursor, 1000L) * 1000L;
+            List<T> items = query.apply(DateUtil.toZoned(after), Pagination.of(page, pageSize)).query();
+            boolean changed = false;
+            for (T item : items) {
+                long time = updatedAt.applyAsLong(item);
+                if (time < cursor || time == cursor && !seen.add(id.applyAsInt(item))) {
+                    continue;
+                }
+                if (time > cursor) {
+                    cursor = time;
+                    seen.clear();
+                    seen.add(id.applyAsInt(item));
+                }
+                upsert.accept(item);
+                upserts++;
+                changed = true;
+            }
+            if (changed) {
+                watermarks.put(key, new WatermarkStore.Watermark(cursor, seen));
+            }
+            if (items.size() < pageSize) {
+                return upserts;
+            }
+            // a full page within the second of the query is skipped by offset, otherwise the query moves on
+            page = Math.floorDiv(cursor, 1000L) * 1000L == after ? page + 1 : 1;
+        }
+    }
+
+    /**
+     * This interface represents the listener of the upserts emitted by {@link DeltaSync}.
+     * An item is emitted once for every change, whether it has been created or updated.
+     */
+    public interface Listener {
+        /**
+         * Called when an issue has been created or updated.
+         *
+         * @param issue the issue
+         */
+        default void onIssueUpsert(GitlabIssue issue) {
+        }
+
+        /**
+         * Called when a merge request has been created or updated.
+         *
+         * @param mergeRequest the merge request
+         */
+        default void onMergeRequestUpsert(GitlabMergeRequest mergeRequest) {
+        }
+    }
+
+    /**
+     * This {@code Builder} is used to build {@link DeltaSync} instance.
+     */
+    public static final class Builder {
+        /**
+         * The default page size of the queries.
+         */
+        private static final int DEFAULT_PAGE_SIZE = 100;
+        /**
+         * The maximum page size of Gitlab API.
+         */
+        private static final int MAX_PAGE_SIZE = 100;
+
+        /**
+         * The client.
+         */
+        private final GitlabAPIClient client;
+        /**
+         * The file of the watermarks.
+         */
+        private final Path watermarks;
+        /**
+         * The ids of the projects to sync.
+         */
+        private int[] projectIds = new int[0];
+        /**
+         * The listener of the upserts.
+         */
+        private Listener listener = new Listener() {
+        };
+        /**
+         * The page size of the queries.
+         */
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        /**
+         * Whether to sync issues.
+         */
+        private boolean issues = true;
+        /**
+         * Whether to sync merge requests.
+         */
+        private boolean mergeRequests = true;
+
+        /**
+         * Constructs the {@code Builder} of the sync using the given client and
+         * keeping the watermarks in the given file, which is created if absent.
+         *
+         * @param client     the client
+         * @param watermarks the file of the watermarks
+         */
+        public Builder(GitlabAPIClient client, Path watermarks) {
+            this.client = client;
+            this.watermarks = watermarks;
+        }
+
+        /**
+         * Sets the ids of the projects to sync to the builder.
+         *
+         * @param projectIds the project ids
+         * @return {@code Builder} with projectIds
+         * @throws IllegalArgumentException if a project id is not positive
+         */
+        public Builder withProjects(int... projectIds) {
+            if (Arrays.stream(projectIds).anyMatch(projectId -> projectId < 1)) {
+                throw new IllegalArgumentException("cannot have non-positive project id");
+            }
+            this.projectIds = projectIds.clone();
+            return this;
+        }
+
+        /**
+         * Sets the listener of the upserts to the builder.
+         *
+         * @param listener the listener
+         * @return {@code Builder} with listener
+         */
+        public Builder withListener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the page size of the queries to the builder.
+         *
+         * @param pageSize the page size
+         * @return {@code Builder} with pageSize
+         * @throws IllegalArgumentException if pageSize is not positive or greater than 100
+         */
+        public Builder withPageSize(int pageSize) {
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("cannot have non-positive page size or greater than 100");
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets whether to sync issues to the builder.
+         *
+         * @param issues whether to sync issues
+         * @return {@code Builder} with issues
+         */
+        public Builder withIssues(boolean issues) {
+            this.issues = issues;
+            return this;
+        }
+
+        /**
+         * Sets whether to sync merge requests to the builder.
+         *
+         * @param mergeRequests whether to sync merge requests
+         * @return {@code Builder} with mergeRequests
+         */
+        public Builder withMergeRequests(boolean mergeRequests) {
+            this.mergeRequests = mergeRequests;
+            return this;
+        }
+
+        /**
+         * Returns the {@link DeltaSync} instance built from this builder.
+         *
+         * @return a {@link DeltaSync} instance
+         * @throws GitlabException if the watermarks exist but cannot be read
+         */
+        public DeltaSync build() {
+            return new DeltaSync(this);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.gitlab.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class runs a {@code ProjectQuery} against many projects at the same time
+ * and merges the results into a single sorted stream, e.g. the open merge
+ * requests of every project of a group, most recently updated first.
+ *
+ * Each project's results must already be sorted by the server in the order of
+ * the comparator given to this query, e.g. {@code order_by=updated_at} and
+ * {@code sort=desc} for the comparator by {@code getUpdatedAt()} reversed. The
+ * first page of every project is requested up front, at most
+ * {@code concurrency} at the same time, and the heads of the projects are then
+ * merged with a heap. The next page of a project is only requested once its
+ * current page has been consumed by the merge, so taking the first N results
+ * with {@link #top(int)} only fetches the pages those N results come from.
+ *
+ * To get a instance of fan-out query, use {@link #of(Collection, GitlabIssue.ProjectQuery, Comparator)}
+ * or {@link #of(Collection, GitlabMergeRequest.ProjectQuery, Comparator)}.
+ *
+ * @param <T> the type of the {@link GitlabComponent}s to query
+ */
+public final class FanOutQuery<T extends GitlabComponent> {
+    /**
+     * The default maximum number of requests at the same time.
+     */
+    private static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * The queries of every project, in the order of the projects.
+     */
+    private final List<GitlabQuery<T>> queries;
+    /**
+     * The order of the results.
+     */
+    private final Comparator<? super T> order;
+    /**
+     * The maximum number of requests at the same time.
+     */
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Constructs the {@code FanOutQuery} of the given queries.
+     *
+     * @param queries the queries of every project
+     * @param order   the order of the results of every query
+     */
+    private FanOutQuery(List<GitlabQuery<T>> queries, Comparator<? super T> order) {
+        this.queries = queries;
+        this.order = order;
+    }
+
+    /**
+     * Returns the query of the issues of the given projects matching the given template, i.e. a
+     * {@link GitlabIssue.ProjectQuery} of any project whose parameters and pagination are used for every project.
+     *
+     * @param projects the projects
+     * @param template the query whose parameters are used for every project
+     * @param order    the order the issues of each project are sorted in by the template
+     * @return the {@code FanOutQuery} of the issues
+     */
+    public static FanOutQuery<GitlabIssue> of(Collection<GitlabProject> projects, GitlabIssue.ProjectQuery template,
+                                              Comparator<? super GitlabIssue> order) {
+        return new FanOutQuery<>(projects.stream().map(template::forProject).collect(Collectors.toList()), order);
+    }
+
+    /**
+     * Returns the query of the merge requests of the given projects matching the given template, i.e. a
+     * {@link GitlabMergeRequest.ProjectQuery} of any project whose parameters and pagination are used for every
+     * project.
+     *
+     * @param projects the projects
+     * @param template the query whose parameters are used for every project
+     * @param order    the order the merge requests of each project are sorted in by the template
+     * @return the {@code FanOutQuery} of the merge requests
+     */
+    public static FanOutQuery<GitlabMergeRequest> of(Collection<GitlabProject> projects,
+                                                     GitlabMergeRequest.ProjectQuery template,
+                                                     Comparator<? super GitlabMergeRequest> order) {
+        return new FanOutQuery<>(projects.stream().map(template::forProject).collect(Collectors.toList()), order);
+    }
+
+    /**
+     * Returns a query that sends at most the given number of requests at the same time.
+     *
+     * @param concurrency the maximum number of requests at the same time
+     * @return this {@link FanOutQuery} with the given concurrency
+     * @throws IllegalArgumentException if concurrency is not positive
+     */
+    public FanOutQuery<T> withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("cannot have non-positive concurrency");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Returns the first results of the merged projects.
+     *
+     * @param limit the maximum number of results
+     * @return the list of the first results, in order
+     * @throws IllegalArgumentException if limit is negative
+     * @throws GitlabException          if {@link java.io.IOException} occurs or the response code is not in
+     *                                  [200,400) while fetching a page
+     */
+    public List<T> top(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("cannot have negative limit");
+        }
+        try (Stream<T> stream = stream()) {
+            return stream.limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns a sequential stream of the results of all the projects, in order. The first pages are
+     * requested when the stream is first consumed, and the following ones as the stream is consumed.
+     * Closing the stream cancels the requests of the pages being fetched.
+     *
+     * @return a stream of the results of all the projects
+     * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+     *                         while fetching a page
+     */
+    public Stream<T> stream() {
+        MergeIterator iterator = new MergeIterator();
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * This class merges the pages of every project with a heap of the projects by their next result.
+     */
+    private final class MergeIterator implements Iterator<T>, AutoCloseable {
+        /**
+         * The limit of the requests at the same time.
+         */
+        private final Throttle throttle = new Throttle(concurrency);
+        /**
+         * The projects with results left, by their next result, then by their position.
+         */
+        private final PriorityQueue<Source> heap = new PriorityQueue<>(Math.max(1, queries.size()),
+                Comparator.<Source, T>comparing(Source::peek, order).thenComparingInt(source -> source.index));
+        /**
+         * The project of the last result, which is put back into the heap only when the next result is needed.
+         */
+        private Source last;
+        /**
+         * Whether the first pages have been requested.
+         */
+        private boolean started;
+        /**
+         * Whether this iterator has been closed.
+         */
+        private volatile boolean closed;
+
+        /**
+         * Tests if there are more results, waiting for the pages needed to know the next one.
+         *
+         * @return true if there are more results
+         * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+         */
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                started = true;
+                List<Source> sources = new ArrayList<>(queries.size());
+                for (int i = 0; i < queries.size(); i++) {
+                    Source source = new Source(i, queries.get(i));
+                    source.request(source.query.getEntireUrl());
+                    sources.add(source);
+                }
+                for (Source source : sources) {
+                    if (source.advance()) {
+                        heap.add(source);
+                    }
+                }
+            } else if (last != null && last.advance()) {
+                heap.add(last);
+            }
+            last = null;
+            return !closed && !heap.isEmpty();
+        }
+
+        /**
+         * Returns the next result.
+         *
+         * @return the next result
+         * @throws NoSuchElementException if there are no more results
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = heap.poll();
+            return last.take();
+        }
+
+        /**
+         * Closes this iterator and cancels the requests of the pages being fetched, if any.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            throttle.cancel();
+        }
+
+        /**
+         * This class represents the pages of a project being merged.
+         */
+        private final class Source {
+            /**
+             * The position of the project, which breaks the ties between the results of different projects.
+             */
+            private final int index;
+            /**
+             * The query of the project.
+             */
+            private final GitlabQuery<T> query;
+            /**
+             * The results of the current page.
+             */
+            private List<T> items = Collections.emptyList();
+            /**
+             * The position of the next result in the current page.
+             */
+            private int position;
+            /**
+             * The url of the next page not requested yet, or null if there is none.
+             */
+            private String nextUrl;
+            /**
+             * The request of the next page, or null if there is none.
+             */
+            private CompletableFuture<Page<T>> pending;
+
+            /**
+             * Constructs the {@code Source} of a project.
+             *
+             * @param index the position of the project
+             * @param query the query of the project
+             */
+            private Source(int index, GitlabQuery<T> query) {
+                this.index = index;
+                this.query = query;
+            }
+
+            /**
+             * Returns the next result of the project.
+             *
+             * @return the next result
+             */
+            private T peek() {
+                return items.get(position);
+            }
+
+            /**
+             * Returns the next result of the project and moves past it.
+             *
+             * @return the next result
+             */
+            private T take() {
+                return items.get(position++);
+            }
+
+            /**
+             * Requests the page of the given url.
+             *
+             * @param url the url of the page
+             */
+            private void request(String url) {
+                pending = throttle.submit(() -> query.getHttpClient().getPageAsync(url, query.getType()))
+                        .thenCompose(page -> query.bindAll(page.getItems()).thenApply(v -> page));
+            }
+
+            /**
+             * Makes sure the project has a next result, requesting and waiting for the next page if the
+             * current one has been consumed.
+             *
+             * @return true if the project has a next result
+             * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+             */
+            private boolean advance() {
+                while (position == items.size()) {
+                    if (closed) {
+                        return false;
+                    }
+                    if (pending == null) {
+                        if (nextUrl == null) {
+                            return false;
+                        }
+                        request(nextUrl);
+                        nextUrl = null;
+                    }
+                    Page<T> page = await(pending);
+                    pending = null;
+                    if (page == null) {
+                        return false;
+                    }
+                    items = page.getItems();
+                    position = 0;
+                    nextUrl = query.getNextUrl(page);
+                }
+                return true;
+            }
+
+            /**
+             * Wait for the given page.
+             *
+             * @param future the request of the page
+             * @return the page, or null if the request has been cancelled
+             */
+            private Page<T> await(CompletableFuture<Page<T>> future) {
+                try {
+                    return future.join();
+                } catch (CancellationException e) {
+                    return null;
+                } catch (CompletionException e) {
+                    close();
+                    if (e.getCause() instanceof GitlabException) {
+                        throw (GitlabException) e.getCause();
+                    }
+                    throw new GitlabException(e.getCause());
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,12 @@ package org.gitlab.api;
 import java.io.UnsupportedEncodingException;
 import java.net.Proxy;
 import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class implements Gitlab API client that keeps endpoint, HTTP request
@@ -15,6 +21,10 @@ import java.net.URLEncoder;
  * current user who is using the API. This can also get query builder for
  * issues, users, projects, merge-requests, and projected owned by current
  * user.
+ *
+ * Every blocking call has an asynchronous variant suffixed with
+ * {@code Async} that returns a {@link CompletableFuture} without tying up the
+ * calling thread for the round trip.
  */
 public final class GitlabAPIClient {
     /**
@@ -50,6 +60,54 @@ public final class GitlabAPIClient {
      * The proxy for API calls.
      */
     private final Proxy proxy;
+    /**
+     * The executor to parse responses of asynchronous requests.
+     */
+    private final Executor executor;
+    /**
+     * The policy to retry failed requests.
+     */
+    private final RetryPolicy retryPolicy;
+    /**
+     * Whether requests are paced according to the rate limit headers.
+     */
+    private final boolean rateLimited;
+    /**
+     * The maximum number of cached GET responses.
+     */
+    private final int responseCacheSize;
+    /**
+     * Whether identical GET requests in flight at the same time are coalesced.
+     */
+    private final boolean requestCoalescing;
+    /**
+     * The maximum number of users in the identity map of embedded users.
+     */
+    private final int userIdentityMapSize;
+    /**
+     * The maximum number of cached projects.
+     */
+    private final int projectCacheSize;
+    /**
+     * The time to live of the cached projects in milliseconds.
+     */
+    private final long projectCacheTimeToLive;
+    /**
+     * The maximum total weight of the cached commits.
+     */
+    private final long commitCacheWeight;
+    /**
+     * The file the cached commits are persisted to, or null if they are not persisted.
+     */
+    private final Path commitCacheFile;
+    /**
+     * Whether components are bound through bytecode accessors.
+     */
+    private final boolean bytecodeAccessors;
+    /**
+     * The transport shared with other clients, or null if this client has its own.
+     */
+    private final GitlabTransport transport;
     /**
      * The HTTP client helper.
      */
@@ -69,7 +127,22 @@ public final class GitlabAPIClient {
         this.readTimeout = builder.readTimeout;
         this.writeTimeout = builder.writeTimeout;
         this.proxy = builder.proxy;
+        this.executor = builder.executor;
+        this.retryPolicy = builder.retryPolicy;
+        this.rateLimited = builder.rateLimited;
+        this.responseCacheSize = builder.responseCacheSize;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.userIdentityMapSize = builder.userIdentityMapSize;
+        this.projectCacheSize = builder.projectCacheSize;
+        this.projectCacheTimeToLive = builder.projectCacheTimeToLive;
+        this.commitCacheWeight = builder.commitCacheWeight;
+        this.commitCacheFile = builder.commitCacheFile;
+        this.bytecodeAccessors = builder.bytecodeAccessors;
+        this.transport = builder.transport;
         httpClient = new HttpClient(this);
+        if (builder.warmedUp) {
+            httpClient.warmUp();
+        }
     }
 
     /**
@@ -144,6 +217,157 @@ public final class GitlabAPIClient {
         return connectionTimeout;
     }
 
+    /**
+     * Returns the executor to parse responses of asynchronous requests.
+     *
+     * @return the executor
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns current {@link RetryPolicy}.
+     *
+     * @return the {@link RetryPolicy}
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Returns whether requests are paced according to the rate limit headers.
+     *
+     * @return true if requests are rate limited
+     */
+    boolean isRateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * Returns the maximum number of cached GET responses.
+     *
+     * @return the maximum number of cached GET responses, or 0 if responses are not cached
+     */
+    int getResponseCacheSize() {
+        return responseCacheSize;
+    }
+
+    /**
+     * Returns whether identical GET requests in flight at the same time are coalesced.
+     *
+     * @return true if requests are coalesced
+     */
+    boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Returns the maximum number of users in the identity map of embedded users.
+     *
+     * @return the maximum number of users, or 0 if embedded users are not interned
+     */
+    int getUserIdentityMapSize() {
+        return userIdentityMapSize;
+    }
+
+    /**
+     * Returns the maximum number of cached projects.
+     *
+     * @return the maximum number of cached projects, or 0 if projects are not cached
+     */
+    int getProjectCacheSize() {
+        return projectCacheSize;
+    }
+
+    /**
+     * Returns the time to live of the cached projects.
+     *
+     * @return the time to live of the cached projects in milliseconds
+     */
+    long getProjectCacheTimeToLive() {
+        return projectCacheTimeToLive;
+    }
+
+    /**
+     * Returns the maximum total weight of the cached commits.
+     *
+     * @return the maximum total weight in estimated bytes, or 0 if commits are not cached
+     */
+    long getCommitCacheWeight() {
+        return commitCacheWeight;
+    }
+
+    /**
+     * Returns the file the cached commits are persisted to.
+     *
+     * @return the file, or null if the cached commits are not persisted
+     */
+    Path getCommitCacheFile() {
+        return commitCacheFile;
+    }
+
+    /**
+     * Returns whether components are bound through bytecode accessors.
+     *
+     * @return true if a module generating bytecode accessors is used when on the classpath
+     */
+    boolean isBytecodeAccessors() {
+        return bytecodeAccessors;
+    }
+
+    /**
+     * Returns the {@link GitlabTransport} shared with other clients.
+     *
+     * @return the {@link GitlabTransport}, or null if this client has its own
+     */
+    public GitlabTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Returns the number of retries so far per endpoint, e.g.
+     * {@code GET /projects/:id/issues}, where numeric path segments are
+     * replaced by {@code :id}.
+     *
+     * @return a snapshot of the number of retries per endpoint
+     */
+    public Map<String, Long> getRetryCounts() {
+        return httpClient.getRetryCounts();
+    }
+
+    /**
+     * Returns the number of GET requests that have been served by an
+     * identical request in flight at the same time instead of being sent,
+     * see {@link Builder#withRequestCoalescing(boolean)}.
+     *
+     * @return the number of coalesced requests
+     */
+    public long getCoalescedRequestCount() {
+        return httpClient.getCoalescedCount();
+    }
+
+    /**
+     * Writes the cached commits to the file given to
+     * {@link Builder#withCommitCache(long, Path)}, so that the next client
+     * built with the same file starts with them. Does nothing if commits are
+     * not cached or not persisted.
+     *
+     * @throws GitlabException if the file cannot be written
+     */
+    public void saveCommitCache() {
+        httpClient.saveCommitCache();
+    }
+
+    /**
+     * Returns the HTTP client helper of this client, e.g. for {@link DeltaSync} to build its queries.
+     *
+     * @return the HTTP client helper
+     */
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
     /**
      * Returns a {@link GitlabIssue.Query} that can build query options and
      * execute query for issues related to current authenticated user.
@@ -234,7 +458,17 @@ public final class GitlabAPIClient {
      * @return the {@link GitlabProject} of given projectId
      */
     public GitlabProject getProject(int projectId) {
-        return httpClient.get("/projects/" + projectId, GitlabProject.class);
+        return httpClient.getProject(projectId);
+    }
+
+    /**
+     * Asynchronous version of {@link #getProject(int)}.
+     *
+     * @param projectId the project Id
+     * @return a future of the {@link GitlabProject} of given projectId
+     */
+    public CompletableFuture<GitlabProject> getProjectAsync(int projectId) {
+        return httpClient.getProjectAsync(projectId);
     }
 
     /**
@@ -250,9 +484,30 @@ public final class GitlabAPIClient {
      * @return the {@link GitlabProject} of given namespace and path
      */
     public GitlabProject getProject(String namespace, String projectPath) {
+        return httpClient.get(getProjectTailUrl(namespace, projectPath), GitlabProject.class);
+    }
+
+    /**
+     * Asynchronous version of {@link #getProject(String, String)}.
+     *
+     * @param namespace   the project namespace
+     * @param projectPath the project path
+     * @return a future of the {@link GitlabProject} of given namespace and path
+     */
+    public CompletableFuture<GitlabProject> getProjectAsync(String namespace, String projectPath) {
+        return httpClient.getAsync(getProjectTailUrl(namespace, projectPath), GitlabProject.class);
+    }
+
+    /**
+     * Returns the tail url of the project specified by namespace and projectPath.
+     *
+     * @param namespace   the project namespace
+     * @param projectPath the project path
+     * @return the tail url, e.g. /projects/api%2Fteam4
+     */
+    private static String getProjectTailUrl(String namespace, String projectPath) {
         try {
-            return httpClient.get("/projects/" + URLEncoder.encode(
-                    namespace + "/" + projectPath, "UTF-8"), GitlabProject.class);
+            return "/projects/" + URLEncoder.encode(namespace + "/" + projectPath, "UTF-8");
         } catch (UnsupportedEncodingException e) {
             throw new GitlabException(e);
         }
@@ -285,6 +540,16 @@ public final class GitlabAPIClient {
         return httpClient.get("/users/" + userId, GitlabUser.class);
     }
 
+    /**
+     * Asynchronous version of {@link #getUser(int)}.
+     *
+     * @param userId the user id
+     * @return a future of the {@link GitlabUser} with the given userId
+     */
+    public CompletableFuture<GitlabUser> getUserAsync(int userId) {
+        return httpClient.getAsync("/users/" + userId, GitlabUser.class);
+    }
+
     /**
      * Returns the current authenticated user.
      *
@@ -299,6 +564,15 @@ public final class GitlabAPIClient {
         return httpClient.get("/user", GitlabUser.class);
     }
 
+    /**
+     * Asynchronous version of {@link #getCurrentUser()}.
+     *
+     * @return a future of the {@link GitlabUser} of current authenticated user
+     */
+    public CompletableFuture<GitlabUser> getCurrentUserAsync() {
+        return httpClient.getAsync("/user", GitlabUser.class);
+    }
+
     /**
      * This {@code Builder} is used to build {@link GitlabAPIClient} instance.
      */
@@ -346,6 +620,58 @@ public final class GitlabAPIClient {
          * The proxy.
          */
         private Proxy proxy;
+        /**
+         * The executor to parse responses of asynchronous requests.
+         */
+        private Executor executor = ForkJoinPool.commonPool();
+        /**
+         * The policy to retry failed requests.
+         */
+        private RetryPolicy retryPolicy = RetryPolicy.none();
+        /**
+         * Whether requests are paced according to the rate limit headers.
+         */
+        private boolean rateLimited;
+        /**
+         * The maximum number of cached GET responses.
+         */
+        private int responseCacheSize;
+        /**
+         * Whether identical GET requests in flight at the same time are coalesced.
+         */
+        private boolean requestCoalescing;
+        /**
+         * The maximum number of users in the identity map of embedded users.
+         */
+        private int userIdentityMapSize;
+        /**
+         * The maximum number of cached projects.
+         */
+        private int projectCacheSize;
+        /**
+         * The time to live of the cached projects in milliseconds.
+         */
+        private long projectCacheTimeToLive;
+        /**
+         * The maximum total weight of the cached commits.
+         */
+        private long commitCacheWeight;
+        /**
+         * The file the cached commits are persisted to.
+         */
+        private Path commitCacheFile;
+        /**
+         * Whether components are bound through bytecode accessors.
+         */
+        private boolean bytecodeAccessors;
+        /**
+         * Whether the JSON binding is warmed up when the client is built.
+         */
+        private boolean warmedUp;
+        /**
+         * The transport shared with other clients.
+         */
+        private GitlabTransport transport;
 
         /**
          * Constructs the {@code GitlabAPIClient.Builder} instance.
@@ -435,6 +761,213 @@ public final class GitlabAPIClient {
             return this;
         }
 
+        /**
+         * Sets the executor to parse responses of asynchronous requests to the
+         * builder. Defaults to {@link ForkJoinPool#commonPool()}.
+         *
+         * @param executor executor for parsing asynchronous responses
+         * @return {@code Builder} with executor
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets the policy to retry failed requests to the builder. Defaults to
+         * {@link RetryPolicy#none()}.
+         *
+         * @param retryPolicy policy to retry failed requests
+         * @return {@code Builder} with retryPolicy
+         */
+        public Builder withRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Sets whether requests are paced according to the RateLimit-Limit,
+         * RateLimit-Remaining and RateLimit-Reset headers of the responses to
+         * the builder, so that they slow down before the quota runs out.
+         * Blocking requests then sleep in the calling thread while they wait
+         * for the quota, and asynchronous ones are delayed without blocking.
+         * Defaults to false.
+         *
+         * @param rateLimited whether requests are rate limited
+         * @return {@code Builder} with rateLimited
+         */
+        public Builder withRateLimited(boolean rateLimited) {
+            this.rateLimited = rateLimited;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of GET responses cached by ETag to the
+         * builder. Later GET requests to a cached url are sent with
+         * If-None-Match, and a copy of the cached result is returned if the
+         * response is 304 Not Modified. Defaults to 0, i.e. no caching.
+         *
+         * @param maxEntries maximum number of cached responses
+         * @return {@code Builder} with the response cache
+         * @throws IllegalArgumentException if maxEntries is negative
+         */
+        public Builder withResponseCache(int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("cannot have negative max entries");
+            }
+            this.responseCacheSize = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets whether identical GET requests in flight at the same time are
+         * coalesced to the builder. The callers of a url that is already
+         * being requested, e.g. many threads getting the same project at once,
+         * then wait for that request instead of sending their own, and each
+         * of them receives its own copy of the result. Defaults to false.
+         *
+         * @param requestCoalescing whether requests are coalesced
+         * @return {@code Builder} with requestCoalescing
+         */
+        public Builder withRequestCoalescing(boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of users in the identity map of the client
+         * to the builder. The users embedded in the parsed components, e.g.
+         * the authors and assignees of issues, are then shared by all the
+         * components with the same user, instead of one copy per occurrence.
+         * Defaults to 0, i.e. no interning.
+         *
+         * @param maxEntries maximum number of users in the identity map
+         * @return {@code Builder} with the user identity map
+         * @throws IllegalArgumentException if maxEntries is negative
+         */
+        public Builder withUserIdentityMap(int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("cannot have negative max entries");
+            }
+            this.userIdentityMapSize = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of projects cached by id and their time to
+         * live to the builder. {@link #getProject(int)} and the projects of
+         * issues and merge requests are then served from the cache, so that
+         * the components of the same project share one request. Defaults to
+         * 0, i.e. no caching.
+         *
+         * @param maxEntries maximum number of cached projects
+         * @param timeToLive time to live of the cached projects in milliseconds
+         * @return {@code Builder} with the project cache
+         * @throws IllegalArgumentException if maxEntries is negative or timeToLive is not positive
+         */
+        public Builder withProjectCache(int maxEntries, long timeToLive) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("cannot have negative max entries");
+            }
+            if (timeToLive <= 0) {
+                throw new IllegalArgumentException("cannot have non-positive time to live");
+            }
+            this.projectCacheSize = maxEntries;
+            this.projectCacheTimeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the commits cached by project id
+         * and full SHA to the builder. The weight of a commit is an estimate
+         * of its size in bytes. The git data of a commit addressed by its
+         * full SHA never changes, so the commits never expire; the least
+         * recently used ones are evicted once the maximum weight is reached.
+         * Every commit parsed in the context of a project, e.g. by
+         * {@link GitlabProject#getCommitsQuery()}, {@link GitlabMergeRequest#getAllCommits()},
+         * {@link GitlabProject#getCommit(String)} or with a {@link GitlabBranch},
+         * is cached, and {@link GitlabProject#getCommit(String)} of a full SHA
+         * is served from the cache. The commits of lists and branches lack
+         * the status: a commit served from one of them fetches the status
+         * once {@link GitlabCommit#getStatus()} is called. A cached commit
+         * keeps the status it was fetched with, even if a later pipeline
+         * changed it. Defaults to 0, i.e. no caching.
+         *
+         * @param maxWeight maximum total weight of the cached commits in estimated bytes
+         * @return {@code Builder} with the commit cache
+         * @throws IllegalArgumentException if maxWeight is negative
+         */
+        public Builder withCommitCache(long maxWeight) {
+            if (maxWeight < 0) {
+                throw new IllegalArgumentException("cannot have negative max weight");
+            }
+            this.commitCacheWeight = maxWeight;
+            this.commitCacheFile = null;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the cached commits and the file
+         * they are persisted to between runs to the builder. The file is
+         * loaded when the client is built if it exists, and written by
+         * {@link GitlabAPIClient#saveCommitCache()}. See
+         * {@link #withCommitCache(long)}.
+         *
+         * @param maxWeight maximum total weight of the cached commits in estimated bytes
+         * @param file      file the cached commits are persisted to
+         * @return {@code Builder} with the persisted commit cache
+         * @throws IllegalArgumentException if maxWeight is negative
+         */
+        public Builder withCommitCache(long maxWeight, Path file) {
+            withCommitCache(maxWeight);
+            this.commitCacheFile = Objects.requireNonNull(file);
+            return this;
+        }
+
+        /**
+         * Sets whether components are bound through bytecode accessors to the
+         * builder. If set, JSON responses are bound with the Jackson Blackbird
+         * module on Java 11+, or the Afterburner module, whichever is found
+         * first on the classpath, instead of reflection. Neither module is a
+         * dependency of this library; without them this setting has no effect.
+         * Defaults to false.
+         *
+         * @param bytecodeAccessors whether components are bound through bytecode accessors
+         * @return {@code Builder} with bytecodeAccessors
+         */
+        public Builder withBytecodeAccessors(boolean bytecodeAccessors) {
+            this.bytecodeAccessors = bytecodeAccessors;
+            return this;
+        }
+
+        /**
+         * Sets whether the JSON binding of all the components is resolved when
+         * the client is built to the builder, so that the first response does
+         * not pay for introspecting the component classes. This only happens
+         * once per process. Defaults to false.
+         *
+         * @param warmedUp whether the JSON binding is warmed up by {@link #build()}
+         * @return {@code Builder} with warmedUp
+         */
+        public Builder withWarmUp(boolean warmedUp) {
+            this.warmedUp = warmedUp;
+            return this;
+        }
+
+        /**
+         * Sets the transport to the builder, so that the connection pool and
+         * the dispatcher are shared with the other clients built with the same
+         * transport, while this client keeps its own authentication, timeouts
+         * and proxy. Defaults to a connection pool and a dispatcher of its own.
+         *
+         * @param transport transport shared across clients
+         * @return {@code Builder} with transport
+         */
+        public Builder withTransport(GitlabTransport transport) {
+            this.transport = Objects.requireNonNull(transport);
+            return this;
+        }
+
         /**
          * Returns the {@link GitlabAPIClient} instance built from this builder
          * (with fields specified in this builder).
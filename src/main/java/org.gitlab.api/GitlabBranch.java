@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -20,6 +21,7 @@ import java.util.Objects;
  *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/branches.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabBranch extends GitlabComponent {
     @JsonProperty("name")
@@ -112,6 +114,19 @@ public final class GitlabBranch extends GitlabComponent {
                 .post(String.format("/projects/%d/repository/branches", project.getId()), body, this);
     }
 
+    /**
+     * Asynchronous version of {@link #create()}.
+     *
+     * @return a future of the created {@link GitlabBranch} instance
+     */
+    public CompletableFuture<GitlabBranch> createAsync() {
+        Body body = new Body()
+                .putString("branch", name)
+                .putString("ref", ref);
+        return httpClient
+                .postAsync(String.format("/projects/%d/repository/branches", project.getId()), body, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to delete this
      * {@link GitlabBranch} from its belonged project based on branch name.
@@ -125,6 +140,16 @@ public final class GitlabBranch extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Asynchronous version of {@link #delete()}.
+     *
+     * @return a future of the {@link GitlabBranch} instance before deleted
+     */
+    public CompletableFuture<GitlabBranch> deleteAsync() {
+        return httpClient.deleteAsync(String.format("/projects/%d/repository/branches/%s", project.getId(), name))
+                         .thenApply(ignored -> this);
+    }
+
     /**
      * Returns the project that this {@link GitlabBranch} belongs to.
      *
@@ -152,6 +177,15 @@ public final class GitlabBranch extends GitlabComponent {
         return merged;
     }
 
+    /**
+     * Sets whether this branch has been merged.
+     *
+     * @param merged true if this branch has been merged; otherwise, false
+     */
+    void setMerged(boolean merged) {
+        this.merged = merged;
+    }
+
     /**
      * Tests if this branch is being protected.
      *
@@ -161,6 +195,15 @@ public final class GitlabBranch extends GitlabComponent {
         return isProtected;
     }
 
+    /**
+     * Sets whether this branch is being protected.
+     *
+     * @param isProtected true if this branch is being protected; otherwise, false
+     */
+    void setIsProtected(boolean isProtected) {
+        this.isProtected = isProtected;
+    }
+
     /**
      * Tests if this branch is a default branch.
      *
@@ -170,6 +213,15 @@ public final class GitlabBranch extends GitlabComponent {
         return isDefault;
     }
 
+    /**
+     * Sets whether this branch is a default branch.
+     *
+     * @param isDefault true if this branch is default; otherwise, false
+     */
+    void setIsDefault(boolean isDefault) {
+        this.isDefault = isDefault;
+    }
+
     /**
      * Tests if new commit can be pushed to this branch.
      *
@@ -179,6 +231,15 @@ public final class GitlabBranch extends GitlabComponent {
         return canPush;
     }
 
+    /**
+     * Sets whether new commit can be pushed to this branch.
+     *
+     * @param canPush true if new commit can be pushed to this branch; otherwise, false
+     */
+    void setCanPush(boolean canPush) {
+        this.canPush = canPush;
+    }
+
     /**
      * Returns the web url of the this branch
      *
@@ -188,6 +249,15 @@ public final class GitlabBranch extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url of the this branch
+     *
+     * @param webUrl web url string of the this branch
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Returns the top level commit of this branch.
      *
@@ -197,6 +267,15 @@ public final class GitlabBranch extends GitlabComponent {
         return commit;
     }
 
+    /**
+     * Sets the top level commit of this branch.
+     *
+     * @param commit a {@link GitlabCommit} that represent the top level commit
+     */
+    void setCommit(GitlabCommit commit) {
+        this.commit = commit;
+    }
+
     /**
      * Returns the ref branch when this {@link GitlabBranch} was created.
      *
@@ -217,6 +296,9 @@ public final class GitlabBranch extends GitlabComponent {
         this.project = project;
         if (this.commit != null) {
             commit.withProject(project);
+            if (httpClient != null) {
+                httpClient.cachePartialCommit(project.getId(), commit);
+            }
         }
         return this;
     }
@@ -233,6 +315,18 @@ public final class GitlabBranch extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this {@link GitlabBranch} bound to the same httpClient.
+     *
+     * @return the copy of this {@link GitlabBranch}
+     */
+    @Override
+    GitlabBranch copy() {
+        GitlabBranch copy = (GitlabBranch) super.copy();
+        copy.commit = commit == null ? null : commit.copy();
+        return copy;
+    }
+
     /**
      * This extends {@link GitlabQuery} and supports query for
      * {@link GitlabBranch}es within a {@link GitlabProject} with searching
@@ -22,12 +22,15 @@ import java.util.Objects;
  *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/commits.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabCommit extends GitlabComponent {
     @JsonProperty("id")
-    private final String id;
+    @JsonDeserialize(using = ObjectId.Deserializer.class)
+    private final ObjectId id;
     @JsonProperty("parent_ids")
-    private final List<String> parentIds = new ArrayList<>();
+    @JsonDeserialize(contentUsing = ObjectId.Deserializer.class)
+    private final List<ObjectId> parentIds;
     @JsonProperty("short_id")
     private String shortId;
     @JsonProperty("title")
@@ -60,14 +63,18 @@ public final class GitlabCommit extends GitlabComponent {
     private String webUrl;
     @JsonIgnore
     private GitlabProject project;
+    @JsonIgnore
+    private boolean partial;
 
     /**
-     * Constructs the {@link GitlabCommit} instance with SHA.
+     * Constructs the {@link GitlabCommit} instance with SHA and parent SHAs.
      *
-     * @param id sha of the commit
+     * @param id        sha of the commit, held compactly
+     * @param parentIds sha of the parent commits, held compactly, or null if there are none
      */
-    GitlabCommit(@JsonProperty("id") String id) {
+    GitlabCommit(@JsonProperty("id") ObjectId id, @JsonProperty("parent_ids") List<ObjectId> parentIds) {
         this.id = id;
+        this.parentIds = parentIds == null ? new ArrayList<>() : parentIds;
     }
 
     /**
@@ -121,6 +128,15 @@ public final class GitlabCommit extends GitlabComponent {
      * @return the commit hash of this commit
      */
     public String getId() {
+        return id == null ? null : id.name();
+    }
+
+    /**
+     * Returns the full commit hash of this commit, held compactly.
+     *
+     * @return the id of this commit
+     */
+    ObjectId getObjectId() {
         return id;
     }
 
@@ -133,6 +149,15 @@ public final class GitlabCommit extends GitlabComponent {
         return title;
     }
 
+    /**
+     * Sets title of this commit.
+     *
+     * @param title the title string of this commit.
+     */
+    void setTitle(String title) {
+        this.title = title;
+    }
+
     /**
      * Returns the short version of the commit hash.
      *
@@ -142,6 +167,15 @@ public final class GitlabCommit extends GitlabComponent {
         return shortId;
     }
 
+    /**
+     * Sets the short version of the commit hash.
+     *
+     * @param shortId the short version of the commit hash of this commit
+     */
+    void setShortId(String shortId) {
+        this.shortId = shortId;
+    }
+
     /**
      * Returns the name of the commit author.
      *
@@ -151,6 +185,15 @@ public final class GitlabCommit extends GitlabComponent {
         return authorName;
     }
 
+    /**
+     * Sets the name of the commit author.
+     *
+     * @param authorName author name string
+     */
+    void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
     /**
      * Returns the email of the commit author.
      *
@@ -160,6 +203,15 @@ public final class GitlabCommit extends GitlabComponent {
         return authorEmail;
     }
 
+    /**
+     * Sets the email of the commit author.
+     *
+     * @param authorEmail author email string
+     */
+    void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
     /**
      * Returns the name of the committer.
      *
@@ -169,6 +221,15 @@ public final class GitlabCommit extends GitlabComponent {
         return committerName;
     }
 
+    /**
+     * Sets the name of the committer.
+     *
+     * @param committerName name of the committer
+     */
+    void setCommitterName(String committerName) {
+        this.committerName = committerName;
+    }
+
     /**
      * Returns the email of the committer.
      *
@@ -178,6 +239,15 @@ public final class GitlabCommit extends GitlabComponent {
         return committerEmail;
     }
 
+    /**
+     * Sets the email of the committer.
+     *
+     * @param committerEmail email of the committer
+     */
+    void setCommitterEmail(String committerEmail) {
+        this.committerEmail = committerEmail;
+    }
+
     /**
      * Returns the date when the commit is created.
      *
@@ -187,6 +257,15 @@ public final class GitlabCommit extends GitlabComponent {
         return createdAt;
     }
 
+    /**
+     * Sets the date when the commit is created.
+     *
+     * @param createdAt the date when the commit is created
+     */
+    void setCreatedAt(ZonedDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     /**
      * Returns the commit message of the commit.
      *
@@ -196,6 +275,15 @@ public final class GitlabCommit extends GitlabComponent {
         return message;
     }
 
+    /**
+     * Sets the commit message of the commit.
+     *
+     * @param message commit message of this commit
+     */
+    void setMessage(String message) {
+        this.message = message;
+    }
+
     /**
      * Returns the committed date of this commit.
      *
@@ -205,6 +293,15 @@ public final class GitlabCommit extends GitlabComponent {
         return committedDate;
     }
 
+    /**
+     * Sets the committed date of this commit.
+     *
+     * @param committedDate the committed date
+     */
+    void setCommittedDate(ZonedDateTime committedDate) {
+        this.committedDate = committedDate;
+    }
+
     /**
      * Returns the authored date of this commit.
      *
@@ -214,24 +311,69 @@ public final class GitlabCommit extends GitlabComponent {
         return authoredDate;
     }
 
+    /**
+     * Sets the authored date of this commit.
+     *
+     * @param authoredDate the authored date
+     */
+    void setAuthoredDate(ZonedDateTime authoredDate) {
+        this.authoredDate = authoredDate;
+    }
+
     /**
      * Returns the list SHA of the parent commits.
      *
-     * @return a list of commit SHA
+     * @return a new list of commit SHA, whose changes do not affect this commit
      */
     public List<String> getParentIds() {
+        return ObjectId.names(parentIds);
+    }
+
+    /**
+     * Returns the SHA of the parent commits, held compactly.
+     *
+     * @return the unmodified list of the ids of the parent commits
+     */
+    List<ObjectId> getParentObjectIds() {
         return parentIds;
     }
 
     /**
-     * Returns the status of the commit.
+     * Returns the status of the commit. A commit served by the commit cache
+     * from a list or a branch lacks the status, which is then fetched from
+     * the single commit endpoint on the first call.
      *
      * @return the status string of the commit
+     * @throws GitlabException if the status has to be fetched and {@link java.io.IOException} occurs or the
+     *                         response code is not in [200,400)
      */
+    @JsonIgnore
     public String getStatus() {
+        if (partial && httpClient != null && project != null) {
+            status = httpClient.fetchCommit(project.getId(), getId()).status;
+            partial = false;
+        }
+        return status;
+    }
+
+    /**
+     * Returns the status this commit holds, without fetching a missing one.
+     *
+     * @return the status string of the commit, or null if it lacks the status
+     */
+    String status() {
         return status;
     }
 
+    /**
+     * Sets the status of the commit.
+     *
+     * @param status the status string of the commit
+     */
+    void setStatus(String status) {
+        this.status = status;
+    }
+
     /**
      * Returns the web url of the commit.
      *
@@ -241,6 +383,15 @@ public final class GitlabCommit extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url of the commit.
+     *
+     * @param webUrl the web url of the commit
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Returns the project that current commit belongs to.
      *
@@ -262,6 +413,38 @@ public final class GitlabCommit extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this {@link GitlabCommit} bound to the same httpClient.
+     * The parent ids never change once the commit is constructed, so the copy
+     * shares them.
+     *
+     * @return the copy of this {@link GitlabCommit}
+     */
+    @Override
+    GitlabCommit copy() {
+        return (GitlabCommit) super.copy();
+    }
+
+    /**
+     * Tests if this commit comes from a list or a branch, which lack the status.
+     *
+     * @return true if the status of this commit is missing
+     */
+    boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Marks this {@link GitlabCommit} as coming from a list or a branch, which lack the status.
+     *
+     * @param partial whether the status of this commit is missing
+     * @return this {@link GitlabCommit}
+     */
+    GitlabCommit withPartial(boolean partial) {
+        this.partial = partial;
+        return this;
+    }
+
     /**
      * Attaches a project to this {@link GitlabCommit}.
      *
@@ -402,6 +585,20 @@ public final class GitlabCommit extends GitlabComponent {
             return String.format("/projects/%d/repository/commits", project.getId());
         }
 
+        /**
+         * Returns a copy of this query restricted to the commits committed in the given time range,
+         * replacing the since and until dates of this query if any.
+         *
+         * @param since the start of the range, inclusive
+         * @param until the end of the range, inclusive
+         * @return the {@link ProjectQuery} of the range
+         */
+        ProjectQuery forRange(ZonedDateTime since, ZonedDateTime until) {
+            ProjectQuery query = new ProjectQuery(getHttpClient(), project);
+            query.withParametersOf(this).withoutParameter("since").withoutParameter("until");
+            return query.withSince(since).withUntil(until);
+        }
+
         /**
          * Binds the commit with the given {@link GitlabProject} after the response is parsed
          *
@@ -410,6 +607,7 @@ public final class GitlabCommit extends GitlabComponent {
         @Override
         void bind(GitlabCommit component) {
             component.withProject(project);
+            getHttpClient().cachePartialCommit(project.getId(), component);
         }
     }
 }
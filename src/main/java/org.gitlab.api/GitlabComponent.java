@@ -2,9 +2,9 @@ package org.gitlab.api;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This is an abstract class that Gitlab component classes must extend from.
@@ -12,10 +12,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
  * converts component attributes into JSON format. This is made abstract
  * because it should not be instantiated.
  */
-abstract class GitlabComponent {
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+abstract class GitlabComponent implements Cloneable {
     @JsonIgnore
     protected HttpClient httpClient;
 
@@ -30,6 +27,33 @@ abstract class GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this component bound to the same HTTP client helper.
+     * Subclasses copy their mutable lists and components, so that changing
+     * the copy never changes this component.
+     *
+     * @return the copy of this component
+     */
+    GitlabComponent copy() {
+        try {
+            return (GitlabComponent) clone();
+        } catch (CloneNotSupportedException e) {
+            // should never happen
+            throw new GitlabException(e);
+        }
+    }
+
+    /**
+     * Returns a mutable copy of the given list.
+     *
+     * @param list the list to be copied
+     * @param <E>  the type of the elements
+     * @return the copy of the list, or null if the list is null
+     */
+    static <E> List<E> copyOf(List<E> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
     /**
      * Returns the serialized attributes of this {@code GitlabComponent} in
      * JSON format string.
@@ -38,7 +62,7 @@ abstract class GitlabComponent {
      */
     public String toJsonString() {
         try {
-            return MAPPER.writeValueAsString(this);
+            return JsonRegistry.DEFAULT.writer(getClass()).writeValueAsString(this);
         } catch (JsonProcessingException e) {
             // should never happen
             throw new GitlabException(e);
@@ -14,6 +14,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * This class serves as instance of Gitlab component Issue.
@@ -26,6 +28,7 @@ import java.util.Objects;
  *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/issues.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabIssue extends GitlabComponent {
     @JsonIgnore
@@ -37,12 +40,14 @@ public final class GitlabIssue extends GitlabComponent {
     @JsonProperty("project_id")
     private int projectId;
     @JsonProperty("author")
+    @JsonDeserialize(using = UserIdentityMap.Deserializer.class)
     private GitlabUser author;
     @JsonProperty("description")
     private String description;
     @JsonProperty("state")
     private String state;
     @JsonProperty("assignees")
+    @JsonDeserialize(contentUsing = UserIdentityMap.Deserializer.class)
     private List<GitlabUser> assignees = new ArrayList<>();
     @JsonProperty("upvotes")
     private int upvotes;
@@ -54,19 +59,20 @@ public final class GitlabIssue extends GitlabComponent {
     @JsonProperty("labels")
     private List<String> labels = new ArrayList<>();
     @JsonProperty("updated_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime updatedAt;
+    private long updatedAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("created_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime createdAt;
+    private long createdAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("closed_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime closedAt;
+    private long closedAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("closed_by")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    @JsonDeserialize(using = UserIdentityMap.Deserializer.class)
     private GitlabUser closedBy;
     @JsonProperty("subscribed")
     private boolean subscribed;
@@ -142,13 +148,16 @@ public final class GitlabIssue extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabIssue create() {
-        Body body = new Body()
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putStringArray("labels", labels)
-                .putString("description", description)
-                .putDate("due_date", dueDate);
-        return httpClient.post(String.format("/projects/%d/issues", projectId), body, this);
+        return httpClient.post(String.format("/projects/%d/issues", projectId), getCreateBody(), this);
+    }
+
+    /**
+     * Asynchronous version of {@link #create()}.
+     *
+     * @return a future of the created {@link GitlabIssue} instance
+     */
+    public CompletableFuture<GitlabIssue> createAsync() {
+        return httpClient.postAsync(String.format("/projects/%d/issues", projectId), getCreateBody(), this);
     }
 
     /**
@@ -164,6 +173,16 @@ public final class GitlabIssue extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Asynchronous version of {@link #delete()}.
+     *
+     * @return a future of the {@link GitlabIssue} instance before deleted
+     */
+    public CompletableFuture<GitlabIssue> deleteAsync() {
+        return httpClient.deleteAsync(String.format("/projects/%d/issues/%d", projectId, iid))
+                         .thenApply(ignored -> this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
      * {@link GitlabIssue} based on its current fields.
@@ -173,13 +192,16 @@ public final class GitlabIssue extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabIssue update() {
-        Body body = new Body()
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels)
-                .putDate("due_date", dueDate);
-        return httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+        return httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), getUpdateBody(), this);
+    }
+
+    /**
+     * Asynchronous version of {@link #update()}.
+     *
+     * @return a future of the updated {@link GitlabIssue} instance
+     */
+    public CompletableFuture<GitlabIssue> updateAsync() {
+        return httpClient.putAsync(String.format("/projects/%d/issues/%d", projectId, iid), getUpdateBody(), this);
     }
 
     /**
@@ -197,6 +219,16 @@ public final class GitlabIssue extends GitlabComponent {
         return httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
     }
 
+    /**
+     * Asynchronous version of {@link #close()}.
+     *
+     * @return a future of the {@link GitlabIssue} after it is closed
+     */
+    public CompletableFuture<GitlabIssue> closeAsync() {
+        Body body = new Body().putString("state_event", "close");
+        return httpClient.putAsync(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to reopen this
      * {@link GitlabIssue}.
@@ -213,6 +245,16 @@ public final class GitlabIssue extends GitlabComponent {
                 this);
     }
 
+    /**
+     * Asynchronous version of {@link #reopen()}.
+     *
+     * @return a future of the {@link GitlabIssue} after it is reopened
+     */
+    public CompletableFuture<GitlabIssue> reopenAsync() {
+        Body body = new Body().putString("state_event", "reopen");
+        return httpClient.putAsync(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to get all related
      * {@link GitlabMergeRequest} within this {@link GitlabIssue}.
@@ -222,6 +264,7 @@ public final class GitlabIssue extends GitlabComponent {
      * @return list of {@link GitlabMergeRequest} thats related to current issue
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
+    @JsonIgnore
     public List<GitlabMergeRequest> getRelatedMergeRequests() {
         List<GitlabMergeRequest> mergeRequests = httpClient.getList(
                 String.format("/projects/%d/issues/%d/related_merge_requests", projectId, iid),
@@ -230,6 +273,18 @@ public final class GitlabIssue extends GitlabComponent {
         return mergeRequests;
     }
 
+    /**
+     * Asynchronous version of {@link #getRelatedMergeRequests()}.
+     *
+     * @return a future of the list of {@link GitlabMergeRequest} thats related to current issue
+     */
+    @JsonIgnore
+    public CompletableFuture<List<GitlabMergeRequest>> getRelatedMergeRequestsAsync() {
+        return httpClient.getListAsync(
+                String.format("/projects/%d/issues/%d/related_merge_requests", projectId, iid),
+                GitlabMergeRequest[].class).thenApply(this::withThisProject);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to get all related
      * {@link GitlabMergeRequest} that will be close by this
@@ -240,6 +295,7 @@ public final class GitlabIssue extends GitlabComponent {
      * @return list of {@link GitlabMergeRequest} that will close this {@link GitlabIssue} on merge
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
+    @JsonIgnore
     public List<GitlabMergeRequest> getMergeRequestsClosedOnMerge() {
         List<GitlabMergeRequest> mergeRequests = httpClient
                 .getList(String.format("/projects/%d/issues/%d/closed_by", projectId, iid),
@@ -248,6 +304,56 @@ public final class GitlabIssue extends GitlabComponent {
         return mergeRequests;
     }
 
+    /**
+     * Asynchronous version of {@link #getMergeRequestsClosedOnMerge()}.
+     *
+     * @return a future of the list of {@link GitlabMergeRequest} that will close this {@link GitlabIssue} on merge
+     */
+    @JsonIgnore
+    public CompletableFuture<List<GitlabMergeRequest>> getMergeRequestsClosedOnMergeAsync() {
+        return httpClient.getListAsync(String.format("/projects/%d/issues/%d/closed_by", projectId, iid),
+                GitlabMergeRequest[].class).thenApply(this::withThisProject);
+    }
+
+    /**
+     * Returns the body to create this issue.
+     *
+     * @return the body to create this issue
+     */
+    private Body getCreateBody() {
+        return new Body()
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putStringArray("labels", labels)
+                .putString("description", description)
+                .putDate("due_date", dueDate);
+    }
+
+    /**
+     * Returns the body to update this issue.
+     *
+     * @return the body to update this issue
+     */
+    private Body getUpdateBody() {
+        return new Body()
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putString("description", description)
+                .putStringArray("labels", labels)
+                .putDate("due_date", dueDate);
+    }
+
+    /**
+     * Attaches the project of this issue to the given merge requests.
+     *
+     * @param mergeRequests the merge requests related to this issue
+     * @return the given merge requests
+     */
+    private List<GitlabMergeRequest> withThisProject(List<GitlabMergeRequest> mergeRequests) {
+        mergeRequests.forEach(mergeRequest -> mergeRequest.withProject(getProject()));
+        return mergeRequests;
+    }
+
     /**
      * Returns the project that this issue belongs to.
      *
@@ -269,6 +375,15 @@ public final class GitlabIssue extends GitlabComponent {
         return iid;
     }
 
+    /**
+     * Sets the internal id of this issue.
+     *
+     * @param iid the internal id of this issue
+     */
+    void setIid(int iid) {
+        this.iid = iid;
+    }
+
     /**
      * Returns the author of this issue.
      *
@@ -278,6 +393,15 @@ public final class GitlabIssue extends GitlabComponent {
         return author;
     }
 
+    /**
+     * Sets the author of this issue.
+     *
+     * @param author author of this issue
+     */
+    void setAuthor(GitlabUser author) {
+        this.author = author;
+    }
+
     /**
      * Returns the description of this issue.
      *
@@ -287,6 +411,15 @@ public final class GitlabIssue extends GitlabComponent {
         return description;
     }
 
+    /**
+     * Sets the description of this issue.
+     *
+     * @param description description of this issue
+     */
+    void setDescription(String description) {
+        this.description = description;
+    }
+
     /**
      * Returns the state of this issue.
      *
@@ -296,6 +429,15 @@ public final class GitlabIssue extends GitlabComponent {
         return state;
     }
 
+    /**
+     * Sets the state of this issue.
+     *
+     * @param state the state string of this issue
+     */
+    void setState(String state) {
+        this.state = state;
+    }
+
     /**
      * Returns a list of assignees of this issue.
      *
@@ -305,6 +447,15 @@ public final class GitlabIssue extends GitlabComponent {
         return assignees;
     }
 
+    /**
+     * Sets a list of assignees of this issue.
+     *
+     * @param assignees a list of assignees
+     */
+    void setAssignees(List<GitlabUser> assignees) {
+        this.assignees = assignees;
+    }
+
     /**
      * Returns the number of up votes of this issue.
      *
@@ -314,6 +465,15 @@ public final class GitlabIssue extends GitlabComponent {
         return upvotes;
     }
 
+    /**
+     * Sets the number of up votes of this issue.
+     *
+     * @param upvotes the number of up votes of this issue
+     */
+    void setUpvotes(int upvotes) {
+        this.upvotes = upvotes;
+    }
+
     /**
      * Returns the number of down votes of this issue.
      *
@@ -323,6 +483,15 @@ public final class GitlabIssue extends GitlabComponent {
         return downvotes;
     }
 
+    /**
+     * Sets the number of down votes of this issue.
+     *
+     * @param downvotes the number of down votes of this issue
+     */
+    void setDownvotes(int downvotes) {
+        this.downvotes = downvotes;
+    }
+
     /**
      * Returns the number of merge requests in this issue.
      *
@@ -332,6 +501,15 @@ public final class GitlabIssue extends GitlabComponent {
         return mergeRequestCount;
     }
 
+    /**
+     * Sets the number of merge requests in this issue.
+     *
+     * @param mergeRequestCount the number of merge requests in this issue
+     */
+    void setMergeRequestCount(int mergeRequestCount) {
+        this.mergeRequestCount = mergeRequestCount;
+    }
+
     /**
      * Returns the title of this issue.
      *
@@ -341,12 +519,39 @@ public final class GitlabIssue extends GitlabComponent {
         return title;
     }
 
+    /**
+     * Sets the title of this issue.
+     *
+     * @param title title of this issue
+     */
+    void setTitle(String title) {
+        this.title = title;
+    }
+
     /**
      * Returns the date when this issue was updated.
      *
      * @return the date when this issue was updated
      */
     public ZonedDateTime getUpdatedAt() {
+        return DateUtil.toZoned(updatedAt);
+    }
+
+    /**
+     * Sets the date when this issue was updated.
+     *
+     * @param updatedAt the date when this issue was updated, in epoch millis
+     */
+    void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Returns the time when this issue was updated, without converting it.
+     *
+     * @return the update time in epoch millis, or {@link DateUtil#NO_TIMESTAMP}
+     */
+    long getUpdatedAtMillis() {
         return updatedAt;
     }
 
@@ -356,7 +561,16 @@ public final class GitlabIssue extends GitlabComponent {
      * @return the date when this issue was created
      */
     public ZonedDateTime getCreatedAt() {
-        return createdAt;
+        return DateUtil.toZoned(createdAt);
+    }
+
+    /**
+     * Sets the date when this issue was created.
+     *
+     * @param createdAt the date when this issue was created, in epoch millis
+     */
+    void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
     }
 
     /**
@@ -365,7 +579,16 @@ public final class GitlabIssue extends GitlabComponent {
      * @return the date when issue was closed
      */
     public ZonedDateTime getClosedAt() {
-        return closedAt;
+        return DateUtil.toZoned(closedAt);
+    }
+
+    /**
+     * Sets the date when this issue was closed.
+     *
+     * @param closedAt the date when issue was closed, in epoch millis
+     */
+    void setClosedAt(long closedAt) {
+        this.closedAt = closedAt;
     }
 
     /**
@@ -377,6 +600,15 @@ public final class GitlabIssue extends GitlabComponent {
         return closedBy;
     }
 
+    /**
+     * Sets the user who closed this issue.
+     *
+     * @param closedBy {@link GitlabUser} who closed this issue
+     */
+    void setClosedBy(GitlabUser closedBy) {
+        this.closedBy = closedBy;
+    }
+
     /**
      * Tests if current user has subscribed to this issue.
      *
@@ -386,6 +618,15 @@ public final class GitlabIssue extends GitlabComponent {
         return subscribed;
     }
 
+    /**
+     * Sets whether current user has subscribed to this issue.
+     *
+     * @param subscribed true if current user has subscribed to this issue
+     */
+    void setSubscribed(boolean subscribed) {
+        this.subscribed = subscribed;
+    }
+
     /**
      * Returns the due date of this issue.
      *
@@ -395,6 +636,15 @@ public final class GitlabIssue extends GitlabComponent {
         return dueDate;
     }
 
+    /**
+     * Sets the due date of this issue.
+     *
+     * @param dueDate due date of this issue
+     */
+    void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
     /**
      * Returns the web url of this issue.
      *
@@ -404,6 +654,15 @@ public final class GitlabIssue extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url of this issue.
+     *
+     * @param webUrl web url of this issue
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Tests if this issue has tasks
      *
@@ -413,6 +672,15 @@ public final class GitlabIssue extends GitlabComponent {
         return hasTasks;
     }
 
+    /**
+     * Sets whether this issue has tasks.
+     *
+     * @param hasTasks true if this issue has tasks
+     */
+    void setHasTasks(boolean hasTasks) {
+        this.hasTasks = hasTasks;
+    }
+
     /**
      * Returns the epic id of this issue.
      *
@@ -422,6 +690,15 @@ public final class GitlabIssue extends GitlabComponent {
         return epicId;
     }
 
+    /**
+     * Sets the epic id of this issue.
+     *
+     * @param epicId epic id of this issue
+     */
+    void setEpicId(int epicId) {
+        this.epicId = epicId;
+    }
+
     /**
      * Returns the project id of this issue.
      *
@@ -431,6 +708,15 @@ public final class GitlabIssue extends GitlabComponent {
         return projectId;
     }
 
+    /**
+     * Sets the project id of this issue.
+     *
+     * @param projectId project id of this issue
+     */
+    void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
     /**
      * Returns the list of labels of this issue.
      *
@@ -440,6 +726,15 @@ public final class GitlabIssue extends GitlabComponent {
         return labels;
     }
 
+    /**
+     * Sets the list of labels of this issue.
+     *
+     * @param labels a list of labels of this issue
+     */
+    void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+
     /**
      * Returns the id of this issue.
      *
@@ -449,6 +744,15 @@ public final class GitlabIssue extends GitlabComponent {
         return id;
     }
 
+    /**
+     * Sets the id of this issue.
+     *
+     * @param id id of this issue
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Attaches a project to this {@link GitlabIssue}.
      *
@@ -536,6 +840,19 @@ public final class GitlabIssue extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this {@link GitlabIssue} bound to the same httpClient.
+     *
+     * @return the copy of this {@link GitlabIssue}
+     */
+    @Override
+    GitlabIssue copy() {
+        GitlabIssue copy = (GitlabIssue) super.copy();
+        copy.assignees = copyOf(assignees);
+        copy.labels = copyOf(labels);
+        return copy;
+    }
+
     /**
      * This extends {@link GitlabQuery} and supports query issues within a
      * {@link GitlabProject} with searching scope and range.
@@ -549,13 +866,40 @@ public final class GitlabIssue extends GitlabComponent {
      */
     @JsonIgnoreType
     public static class ProjectQuery extends GitlabQuery<GitlabIssue> {
+        private final int projectId;
         private final GitlabProject project;
 
         ProjectQuery(HttpClient httpClient, GitlabProject project) {
             super(httpClient, GitlabIssue[].class);
+            this.projectId = project.getId();
             this.project = project;
         }
 
+        /**
+         * Constructs the query of the project with the given id without fetching the project,
+         * which the components then load lazily.
+         *
+         * @param httpClient the HTTP client
+         * @param projectId  the project id
+         */
+        ProjectQuery(HttpClient httpClient, int projectId) {
+            super(httpClient, GitlabIssue[].class);
+            this.projectId = projectId;
+            this.project = null;
+        }
+
+        /**
+         * Returns a copy of this query for the given project, with the same parameters and pagination.
+         *
+         * @param project the project
+         * @return the query of the given project
+         */
+        ProjectQuery forProject(GitlabProject project) {
+            ProjectQuery query = new ProjectQuery(getHttpClient(), project);
+            query.withParametersOf(this);
+            return query;
+        }
+
         /**
          * Returns a query that returns issues assigned to the given user id.
          *
@@ -879,7 +1223,7 @@ public final class GitlabIssue extends GitlabComponent {
          */
         @Override
         String getTailUrl() {
-            return String.format("/projects/%d/issues", project.getId());
+            return String.format("/projects/%d/issues", projectId);
         }
 
         /**
@@ -890,7 +1234,9 @@ public final class GitlabIssue extends GitlabComponent {
          */
         @Override
         void bind(GitlabIssue component) {
-            component.withProject(project);
+            if (project != null) {
+                component.withProject(project);
+            }
         }
 
     }
@@ -909,10 +1255,30 @@ public final class GitlabIssue extends GitlabComponent {
     @JsonIgnoreType
     public static class Query extends GitlabQuery<GitlabIssue> {
 
+        /**
+         * Whether the projects of each page are fetched before the page is handed out.
+         */
+        private boolean projectsResolved;
+
         Query(HttpClient httpClient) {
             super(httpClient, GitlabIssue[].class);
         }
 
+        /**
+         * Returns a query that fetches the projects of the issues in each page
+         * at the same time, one request per distinct project, before handing
+         * the page out, instead of one request per issue on the first call to
+         * {@code getProject()}. The requests go through the project cache of
+         * the client if it has one.
+         *
+         * @param projectsResolved whether the projects are fetched with each page
+         * @return this {@link Query} with the projects resolved or not
+         */
+        public Query withProjectsResolved(boolean projectsResolved) {
+            this.projectsResolved = projectsResolved;
+            return this;
+        }
+
         /**
          * Returns a query that returns issues assigned to the given user id.
          *
@@ -1294,5 +1660,16 @@ public final class GitlabIssue extends GitlabComponent {
 
         @Override
         void bind(GitlabIssue component) {}
+
+        @Override
+        CompletableFuture<Void> bindAll(List<GitlabIssue> components) {
+            if (!projectsResolved) {
+                return super.bindAll(components);
+            }
+            List<Integer> projectIds = components.stream().map(component -> component.projectId)
+                    .collect(Collectors.toList());
+            return getHttpClient().getProjectsAsync(projectIds).thenAccept(projects ->
+                    components.forEach(component -> component.withProject(projects.get(component.projectId))));
+        }
     }
 }
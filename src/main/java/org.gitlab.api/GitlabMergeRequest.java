@@ -13,6 +13,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * This class serves as instance of Gitlab component Merge Request.
@@ -26,6 +28,7 @@ import java.util.Objects;
  *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/merge_requests.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabMergeRequest extends GitlabComponent {
     @JsonProperty("source_branch")
@@ -37,12 +40,14 @@ public final class GitlabMergeRequest extends GitlabComponent {
     @JsonProperty("project_id")
     private int projectId;
     @JsonProperty("author")
+    @JsonDeserialize(using = UserIdentityMap.Deserializer.class)
     private GitlabUser author;
     @JsonProperty("description")
     private String description;
     @JsonProperty("state")
     private String state;
     @JsonProperty("assignees")
+    @JsonDeserialize(contentUsing = UserIdentityMap.Deserializer.class)
     private List<GitlabUser> assignees = new ArrayList<>();
     @JsonProperty("upvotes")
     private int upvotes;
@@ -52,18 +57,19 @@ public final class GitlabMergeRequest extends GitlabComponent {
     private int mergeRequestCount;
     private String title; // required
     @JsonProperty("updated_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime updatedAt;
+    private long updatedAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("created_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime createdAt;
+    private long createdAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("closed_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime closedAt;
+    private long closedAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("closed_by")
+    @JsonDeserialize(using = UserIdentityMap.Deserializer.class)
     private GitlabUser closedBy;
     @JsonProperty("subscribed")
     private boolean subscribed;
@@ -148,19 +154,21 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabMergeRequest create() {
-        Body body = new Body()
-                .putString("source_branch", sourceBranch)
-                .putString("target_branch", targetBranch)
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels);
-
         return httpClient
-                .post(String.format("/projects/%d/merge_requests", projectId), body,
+                .post(String.format("/projects/%d/merge_requests", projectId), getCreateBody(),
                         this);
     }
 
+    /**
+     * Asynchronous version of {@link #create()}.
+     *
+     * @return a future of the created {@link GitlabMergeRequest} instance
+     */
+    public CompletableFuture<GitlabMergeRequest> createAsync() {
+        return httpClient
+                .postAsync(String.format("/projects/%d/merge_requests", projectId), getCreateBody(), this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to delete this
      * {@link GitlabMergeRequest} based on internal id.
@@ -174,6 +182,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Asynchronous version of {@link #delete()}.
+     *
+     * @return a future of the {@link GitlabMergeRequest} instance before deleted
+     */
+    public CompletableFuture<GitlabMergeRequest> deleteAsync() {
+        return httpClient.deleteAsync(String.format("/projects/%d/merge_requests/%d", projectId, iid))
+                         .thenApply(ignored -> this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
      * {@link GitlabMergeRequest} based on its current fields.
@@ -183,14 +201,18 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabMergeRequest update() {
-        Body body = new Body()
-                .putString("target_branch", targetBranch)
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels);
         return httpClient
-                .put(String.format("/projects/%d/merge_requests/%d", projectId, iid), body, this);
+                .put(String.format("/projects/%d/merge_requests/%d", projectId, iid), getUpdateBody(), this);
+    }
+
+    /**
+     * Asynchronous version of {@link #update()}.
+     *
+     * @return a future of the updated {@link GitlabMergeRequest} component
+     */
+    public CompletableFuture<GitlabMergeRequest> updateAsync() {
+        return httpClient
+                .putAsync(String.format("/projects/%d/merge_requests/%d", projectId, iid), getUpdateBody(), this);
     }
 
     /**
@@ -200,11 +222,23 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return a list of {@link GitlabUser} that participated in this merge request
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
+    @JsonIgnore
     public List<GitlabUser> getAllParticipants() {
         return httpClient.getList(
                 String.format("/projects/%d/merge_requests/%d/participants", projectId, iid), GitlabUser[].class);
     }
 
+    /**
+     * Asynchronous version of {@link #getAllParticipants()}.
+     *
+     * @return a future of the list of {@link GitlabUser} that participated in this merge request
+     */
+    @JsonIgnore
+    public CompletableFuture<List<GitlabUser>> getAllParticipantsAsync() {
+        return httpClient.getListAsync(
+                String.format("/projects/%d/merge_requests/%d/participants", projectId, iid), GitlabUser[].class);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to get commits within this
      * {@link GitlabMergeRequest}.
@@ -212,9 +246,27 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return a list of {@link GitlabCommit} in this merge request
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
+    @JsonIgnore
     public List<GitlabCommit> getAllCommits() {
-        return httpClient.getList(String
+        List<GitlabCommit> commits = httpClient.getList(String
                 .format("/projects/%d/merge_requests/%d/commits", projectId, iid), GitlabCommit[].class);
+        commits.forEach(commit -> httpClient.cachePartialCommit(projectId, commit));
+        return commits;
+    }
+
+    /**
+     * Asynchronous version of {@link #getAllCommits()}.
+     *
+     * @return a future of the list of {@link GitlabCommit} in this merge request
+     */
+    @JsonIgnore
+    public CompletableFuture<List<GitlabCommit>> getAllCommitsAsync() {
+        return httpClient.getListAsync(String
+                .format("/projects/%d/merge_requests/%d/commits", projectId, iid), GitlabCommit[].class)
+                .thenApply(commits -> {
+                    commits.forEach(commit -> httpClient.cachePartialCommit(projectId, commit));
+                    return commits;
+                });
     }
 
     /**
@@ -224,11 +276,23 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return a list of {@link GitlabIssue} that will be closed after commit is merged
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
+    @JsonIgnore
     public List<GitlabIssue> getAllIssuesClosedByMerge() {
         return httpClient.getList(String
                 .format("/projects/%d/merge_requests/%d/closes_issues", projectId, iid), GitlabIssue[].class);
     }
 
+    /**
+     * Asynchronous version of {@link #getAllIssuesClosedByMerge()}.
+     *
+     * @return a future of the list of {@link GitlabIssue} that will be closed after commit is merged
+     */
+    @JsonIgnore
+    public CompletableFuture<List<GitlabIssue>> getAllIssuesClosedByMergeAsync() {
+        return httpClient.getListAsync(String
+                .format("/projects/%d/merge_requests/%d/closes_issues", projectId, iid), GitlabIssue[].class);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to accept this
      * {@link GitlabMergeRequest}.
@@ -241,6 +305,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
                 .format("/projects/%d/merge_requests/%d/merge", projectId, iid), null, this);
     }
 
+    /**
+     * Asynchronous version of {@link #accept()}.
+     *
+     * @return a future of the {@link GitlabMergeRequest} after merge request has been accepted
+     */
+    public CompletableFuture<GitlabMergeRequest> acceptAsync() {
+        return httpClient.putAsync(String
+                .format("/projects/%d/merge_requests/%d/merge", projectId, iid), null, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to approve this
      * {@link GitlabMergeRequest}
@@ -253,6 +327,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
                 .format("/projects/%d/merge_requests/%d/approve", projectId, iid), null, this);
     }
 
+    /**
+     * Asynchronous version of {@link #approve()}.
+     *
+     * @return a future of the {@link GitlabMergeRequest} after merge request has been approved
+     */
+    public CompletableFuture<GitlabMergeRequest> approveAsync() {
+        return httpClient.postAsync(String
+                .format("/projects/%d/merge_requests/%d/approve", projectId, iid), null, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to decline this
      * {@link GitlabMergeRequest}.
@@ -265,6 +349,45 @@ public final class GitlabMergeRequest extends GitlabComponent {
                 .format("/projects/%d/merge_requests/%d/unapprove", projectId, iid), null, this);
     }
 
+    /**
+     * Asynchronous version of {@link #decline()}.
+     *
+     * @return a future of the {@link GitlabMergeRequest} after merge request has been declined
+     */
+    public CompletableFuture<GitlabMergeRequest> declineAsync() {
+        return httpClient.postAsync(String
+                .format("/projects/%d/merge_requests/%d/unapprove", projectId, iid), null, this);
+    }
+
+    /**
+     * Returns the body to create this merge request.
+     *
+     * @return the body to create this merge request
+     */
+    private Body getCreateBody() {
+        return new Body()
+                .putString("source_branch", sourceBranch)
+                .putString("target_branch", targetBranch)
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putString("description", description)
+                .putStringArray("labels", labels);
+    }
+
+    /**
+     * Returns the body to update this merge request.
+     *
+     * @return the body to update this merge request
+     */
+    private Body getUpdateBody() {
+        return new Body()
+                .putString("target_branch", targetBranch)
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putString("description", description)
+                .putStringArray("labels", labels);
+    }
+
     /**
      * Returns the project id that this merge request belongs to.
      *
@@ -274,6 +397,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return projectId;
     }
 
+    /**
+     * Sets the project id that this merge request belongs to.
+     *
+     * @param projectId project id
+     */
+    void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
     /**
      * Returns the author of the merge request.
      *
@@ -283,6 +415,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return author;
     }
 
+    /**
+     * Sets the author of the merge request.
+     *
+     * @param author {@link GitlabUser} of this merge request
+     */
+    void setAuthor(GitlabUser author) {
+        this.author = author;
+    }
+
     /**
      * Returns the description of this merge request.
      *
@@ -292,6 +433,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return description;
     }
 
+    /**
+     * Sets the description of this merge request.
+     *
+     * @param description description of the merge request
+     */
+    void setDescription(String description) {
+        this.description = description;
+    }
+
     /**
      * Returns the current state of the merge request.
      *
@@ -301,6 +451,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return state;
     }
 
+    /**
+     * Sets the current state of the merge request.
+     *
+     * @param state current state of the merge request
+     */
+    void setState(String state) {
+        this.state = state;
+    }
+
     /**
      * Returns users that are assigned to the merge request.
      *
@@ -310,6 +469,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return assignees;
     }
 
+    /**
+     * Sets users that are assigned to the merge request.
+     *
+     * @param assignees a list of {@link GitlabUser} that are assigned to the merge request
+     */
+    void setAssignees(List<GitlabUser> assignees) {
+        this.assignees = assignees;
+    }
+
     /**
      * Returns the number of up votes that this merge request contain.
      *
@@ -319,6 +487,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return upvotes;
     }
 
+    /**
+     * Sets the number of up votes that this merge request contain.
+     *
+     * @param upvotes number of up votes
+     */
+    void setUpvotes(int upvotes) {
+        this.upvotes = upvotes;
+    }
+
     /**
      * Returns the number of down votes that this merge request contain.
      *
@@ -328,6 +505,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return downvotes;
     }
 
+    /**
+     * Sets the number of down votes that this merge request contain.
+     *
+     * @param downvotes number of down votes
+     */
+    void setDownvotes(int downvotes) {
+        this.downvotes = downvotes;
+    }
+
     /**
      * Returns the number of merge request count.
      *
@@ -337,6 +523,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return mergeRequestCount;
     }
 
+    /**
+     * Sets the number of merge request count.
+     *
+     * @param mergeRequestCount number of merge request count
+     */
+    void setMergeRequestCount(int mergeRequestCount) {
+        this.mergeRequestCount = mergeRequestCount;
+    }
+
     /**
      * Returns the title of the merge request.
      *
@@ -346,12 +541,39 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return title;
     }
 
+    /**
+     * Sets the title of the merge request.
+     *
+     * @param title Title of this merge request
+     */
+    void setTitle(String title) {
+        this.title = title;
+    }
+
     /**
      * Returns the time when the merge request is updated.
      *
      * @return time when the merge request is updated
      */
     public ZonedDateTime getUpdatedAt() {
+        return DateUtil.toZoned(updatedAt);
+    }
+
+    /**
+     * Sets the time when the merge request is updated.
+     *
+     * @param updatedAt time when the merge request is updated, in epoch millis
+     */
+    void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Returns the time when the merge request is updated, without converting it.
+     *
+     * @return the update time in epoch millis, or {@link DateUtil#NO_TIMESTAMP}
+     */
+    long getUpdatedAtMillis() {
         return updatedAt;
     }
 
@@ -361,7 +583,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return time when the merge request is created
      */
     public ZonedDateTime getCreatedAt() {
-        return createdAt;
+        return DateUtil.toZoned(createdAt);
+    }
+
+    /**
+     * Sets the time when the merge request is created.
+     *
+     * @param createdAt time when the merge request is created, in epoch millis
+     */
+    void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
     }
 
     /**
@@ -370,7 +601,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return time when the merge request is closed
      */
     public ZonedDateTime getClosedAt() {
-        return closedAt;
+        return DateUtil.toZoned(closedAt);
+    }
+
+    /**
+     * Sets the time when the merge request is closed.
+     *
+     * @param closedAt time when the merge request is closed, in epoch millis
+     */
+    void setClosedAt(long closedAt) {
+        this.closedAt = closedAt;
     }
 
     /**
@@ -382,6 +622,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return closedBy;
     }
 
+    /**
+     * Sets the {@link GitlabUser} who closed the merge request
+     *
+     * @param closedBy {@link GitlabUser} who closed the merge request
+     */
+    void setClosedBy(GitlabUser closedBy) {
+        this.closedBy = closedBy;
+    }
+
     /**
      * Tests if this merge request has been subscribed by current user.
      *
@@ -391,6 +640,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return subscribed;
     }
 
+    /**
+     * Sets whether this merge request has been subscribed by current user.
+     *
+     * @param subscribed true if this merge request has been subscribed by current user
+     */
+    void setSubscribed(boolean subscribed) {
+        this.subscribed = subscribed;
+    }
+
     /**
      * Returns the web url to this merge request.
      *
@@ -400,6 +658,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url to this merge request.
+     *
+     * @param webUrl web url to this merge request
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Returns the target branch that this merge request has.
      *
@@ -409,6 +676,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return targetBranch;
     }
 
+    /**
+     * Sets the target branch that this merge request has.
+     *
+     * @param targetBranch target branch in the merge request
+     */
+    void setTargetBranch(String targetBranch) {
+        this.targetBranch = targetBranch;
+    }
+
     /**
      * Returns the source branch that this merge request has.
      *
@@ -439,6 +715,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return id;
     }
 
+    /**
+     * Sets the id of this merge request.
+     *
+     * @param id the id of this merge request
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the internal id of this merge request
      *
@@ -448,6 +733,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return iid;
     }
 
+    /**
+     * Sets the internal id of this merge request
+     *
+     * @param iid the internal id of this merge request
+     */
+    void setIid(int iid) {
+        this.iid = iid;
+    }
+
     /**
      * Attaches a project to this {@link GitlabMergeRequest}.
      *
@@ -470,6 +764,15 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return labels;
     }
 
+    /**
+     * Sets all of the labels within this merge request.
+     *
+     * @param labels a list of labels
+     */
+    void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+
     /**
      * Sets the title to this merge request.
      *
@@ -526,6 +829,19 @@ public final class GitlabMergeRequest extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this {@link GitlabMergeRequest} bound to the same httpClient.
+     *
+     * @return the copy of this {@link GitlabMergeRequest}
+     */
+    @Override
+    GitlabMergeRequest copy() {
+        GitlabMergeRequest copy = (GitlabMergeRequest) super.copy();
+        copy.assignees = copyOf(assignees);
+        copy.labels = copyOf(labels);
+        return copy;
+    }
+
     /**
      * This extends {@link GitlabQuery} and supports query merge requests
      * within a {@link GitlabProject} with searching scope and range.
@@ -537,13 +853,40 @@ public final class GitlabMergeRequest extends GitlabComponent {
      */
     @JsonIgnoreType
     public static class ProjectQuery extends GitlabQuery<GitlabMergeRequest> {
+        private final int projectId;
         private final GitlabProject project;
 
         ProjectQuery(HttpClient httpClient, GitlabProject project) {
             super(httpClient, GitlabMergeRequest[].class);
+            this.projectId = project.getId();
             this.project = project;
         }
 
+        /**
+         * Constructs the query of the project with the given id without fetching the project,
+         * which the components then load lazily.
+         *
+         * @param httpClient the HTTP client
+         * @param projectId  the project id
+         */
+        ProjectQuery(HttpClient httpClient, int projectId) {
+            super(httpClient, GitlabMergeRequest[].class);
+            this.projectId = projectId;
+            this.project = null;
+        }
+
+        /**
+         * Returns a copy of this query for the given project, with the same parameters and pagination.
+         *
+         * @param project the project
+         * @return the query of the given project
+         */
+        ProjectQuery forProject(GitlabProject project) {
+            ProjectQuery query = new ProjectQuery(getHttpClient(), project);
+            query.withParametersOf(this);
+            return query;
+        }
+
         /**
          * Returns a query that specifies page number and size to return based
          * on given pagination.
@@ -889,7 +1232,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
          */
         @Override
         String getTailUrl() {
-            return String.format("/projects/%d/merge_requests", project.getId());
+            return String.format("/projects/%d/merge_requests", projectId);
         }
 
         /**
@@ -900,7 +1243,9 @@ public final class GitlabMergeRequest extends GitlabComponent {
          */
         @Override
         void bind(GitlabMergeRequest component) {
-            component.withProject(project);
+            if (project != null) {
+                component.withProject(project);
+            }
         }
     }
 
@@ -918,10 +1263,30 @@ public final class GitlabMergeRequest extends GitlabComponent {
     @JsonIgnoreType
     public static class Query extends GitlabQuery<GitlabMergeRequest> {
 
+        /**
+         * Whether the projects of each page are fetched before the page is handed out.
+         */
+        private boolean projectsResolved;
+
         Query(HttpClient httpClient) {
             super(httpClient, GitlabMergeRequest[].class);
         }
 
+        /**
+         * Returns a query that fetches the projects of the merge requests in each page
+         * at the same time, one request per distinct project, before handing
+         * the page out, instead of one request per merge request on the first call to
+         * {@code getProject()}. The requests go through the project cache of
+         * the client if it has one.
+         *
+         * @param projectsResolved whether the projects are fetched with each page
+         * @return this {@link Query} with the projects resolved or not
+         */
+        public Query withProjectsResolved(boolean projectsResolved) {
+            this.projectsResolved = projectsResolved;
+            return this;
+        }
+
         /**
          * Returns a query that specifies page number and size to return based
          * on given pagination.
@@ -1315,5 +1680,16 @@ public final class GitlabMergeRequest extends GitlabComponent {
 
         @Override
         void bind(GitlabMergeRequest component) {}
+
+        @Override
+        CompletableFuture<Void> bindAll(List<GitlabMergeRequest> components) {
+            if (!projectsResolved) {
+                return super.bindAll(components);
+            }
+            List<Integer> projectIds = components.stream().map(component -> component.projectId)
+                    .collect(Collectors.toList());
+            return getHttpClient().getProjectsAsync(projectIds).thenAccept(projects ->
+                    components.forEach(component -> component.withProject(projects.get(component.projectId))));
+        }
     }
 }
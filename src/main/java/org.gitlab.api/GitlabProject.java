@@ -11,6 +11,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class serves as instance of Gitlab component Project.
@@ -24,6 +25,7 @@ import java.util.Objects;
  * <p>
  * Gitlab Web API: https://docs.gitlab.com/ee/api/projects.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabProject extends GitlabComponent {
     @JsonProperty("id")
@@ -47,6 +49,7 @@ public final class GitlabProject extends GitlabComponent {
     @JsonProperty("tag_list")
     private List<String> tagList = new ArrayList<>();
     @JsonProperty("owner")
+    @JsonDeserialize(using = UserIdentityMap.Deserializer.class)
     private GitlabUser owner;
     @JsonProperty("name")
     private String name; // required
@@ -63,13 +66,13 @@ public final class GitlabProject extends GitlabComponent {
     @JsonProperty("wiki_enabled")
     private boolean wikiEnabled;
     @JsonProperty("created_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime createdAt;
+    private long createdAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("last_activity_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime lastActivityAt;
+    private long lastActivityAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty("creator_id")
     private int creatorId;
     @JsonProperty("archived")
@@ -91,7 +94,7 @@ public final class GitlabProject extends GitlabComponent {
     }
 
     static GitlabProject fromId(HttpClient httpClient, int id) {
-        return httpClient.get("/projects/" + id, GitlabProject.class);
+        return httpClient.getProject(id);
     }
 
     /**
@@ -156,6 +159,17 @@ public final class GitlabProject extends GitlabComponent {
                          .withProject(this);
     }
 
+    /**
+     * Asynchronous version of {@link #getIssue(int)}.
+     *
+     * @param issueIId - the given issueIId
+     * @return a future of the {@link GitlabIssue} of the given issueIId
+     */
+    public CompletableFuture<GitlabIssue> getIssueAsync(int issueIId) {
+        return httpClient.getAsync(String.format("/projects/%d/issues/%d", id, issueIId), GitlabIssue.class)
+                         .thenApply(issue -> issue.withProject(this));
+    }
+
     /**
      * Returns a newly created {@link GitlabIssue} with given issue title that
      * can build parameters for the new issue and remember to call
@@ -185,8 +199,17 @@ public final class GitlabProject extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabCommit getCommit(String sha) {
-        return httpClient.get(String.format("/projects/%d/repository/commits/%s", id, sha), GitlabCommit.class)
-                         .withProject(this);
+        return httpClient.getCommit(id, sha).withProject(this);
+    }
+
+    /**
+     * Asynchronous version of {@link #getCommit(String)}.
+     *
+     * @param sha - commit hash or name of a repository branch or tag
+     * @return a future of the {@link GitlabCommit} of the sha
+     */
+    public CompletableFuture<GitlabCommit> getCommitAsync(String sha) {
+        return httpClient.getCommitAsync(id, sha).thenApply(commit -> commit.withProject(this));
     }
 
 
@@ -209,6 +232,18 @@ public final class GitlabProject extends GitlabComponent {
                          .withProject(this);
     }
 
+    /**
+     * Asynchronous version of {@link #getBranch(String)}.
+     *
+     * @param name - the name of the branch
+     * @return a future of the {@link GitlabBranch} of given branch name
+     */
+    public CompletableFuture<GitlabBranch> getBranchAsync(String name) {
+        return httpClient
+                .getAsync(String.format("/projects/%d/repository/branches/%s", id, name), GitlabBranch.class)
+                .thenApply(branch -> branch.withProject(this));
+    }
+
     /**
      * Returns a newly created {@link GitlabBranch} with given branch name and
      * ref that can build parameters for the new branch and remember to call
@@ -259,6 +294,18 @@ public final class GitlabProject extends GitlabComponent {
                          .withProject(this);
     }
 
+    /**
+     * Asynchronous version of {@link #getMergeRequest(int)}.
+     *
+     * @param mergeRequestIId - internal id of the merge request
+     * @return a future of the {@link GitlabMergeRequest} of the given internal id
+     */
+    public CompletableFuture<GitlabMergeRequest> getMergeRequestAsync(int mergeRequestIId) {
+        return httpClient.getAsync(
+                String.format("/projects/%d/merge_requests/%d", id, mergeRequestIId), GitlabMergeRequest.class)
+                         .thenApply(mergeRequest -> mergeRequest.withProject(this));
+    }
+
     /**
      * Returns a {@link GitlabUser.ProjectQuery} that can be used to query
      * users that belong to this project.
@@ -349,6 +396,15 @@ public final class GitlabProject extends GitlabComponent {
         return httpClient.get(String.format("/projects/%d/fork", id), GitlabProject.class);
     }
 
+    /**
+     * Asynchronous version of {@link #fork()}.
+     *
+     * @return a future of the new GitlabProject which is the result of forking this project
+     */
+    public CompletableFuture<GitlabProject> forkAsync() {
+        return httpClient.getAsync(String.format("/projects/%d/fork", id), GitlabProject.class);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to create a project based
      * on this {@link GitlabProject}.
@@ -361,6 +417,15 @@ public final class GitlabProject extends GitlabComponent {
         return httpClient.post("/projects", new Body().putString("name", name), this);
     }
 
+    /**
+     * Asynchronous version of {@link #create()}.
+     *
+     * @return a future of the created {@link GitlabProject} instance
+     */
+    public CompletableFuture<GitlabProject> createAsync() {
+        return httpClient.postAsync("/projects", new Body().putString("name", name), this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to delete a project
      * based on this project id of this {@link GitlabProject}.
@@ -374,6 +439,15 @@ public final class GitlabProject extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Asynchronous version of {@link #delete()}.
+     *
+     * @return a future of the {@link GitlabProject} instance before deleted
+     */
+    public CompletableFuture<GitlabProject> deleteAsync() {
+        return httpClient.deleteAsync("/projects/" + id).thenApply(ignored -> this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
      * {@link GitlabProject} based on its current fields.
@@ -383,7 +457,25 @@ public final class GitlabProject extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabProject update() {
-        Body body = new Body()
+        return httpClient.put("/projects/" + id, getUpdateBody(), this);
+    }
+
+    /**
+     * Asynchronous version of {@link #update()}.
+     *
+     * @return a future of the updated {@link GitlabProject} instance
+     */
+    public CompletableFuture<GitlabProject> updateAsync() {
+        return httpClient.putAsync("/projects/" + id, getUpdateBody(), this);
+    }
+
+    /**
+     * Returns the body to update this project.
+     *
+     * @return the body to update this project
+     */
+    private Body getUpdateBody() {
+        return new Body()
                 .putString("name", name)
                 .putString("path", path)
                 .putString("description", description)
@@ -393,7 +485,6 @@ public final class GitlabProject extends GitlabComponent {
                 .putBoolean("issues_enabled", issuesEnabled)
                 .putBoolean("jobs_enabled", jobsEnabled)
                 .putBoolean("wiki_enabled", wikiEnabled);
-        return httpClient.put("/projects/" + id, body, this);
     }
 
 
@@ -406,6 +497,15 @@ public final class GitlabProject extends GitlabComponent {
         return id;
     }
 
+    /**
+     * Sets the ID of this project.
+     *
+     * @param id id of this project
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the description of this project.
      *
@@ -415,6 +515,15 @@ public final class GitlabProject extends GitlabComponent {
         return description;
     }
 
+    /**
+     * Sets the description of this project.
+     *
+     * @param description description of this project
+     */
+    void setDescription(String description) {
+        this.description = description;
+    }
+
     /**
      * Returns the name along with namespace.
      *
@@ -424,6 +533,15 @@ public final class GitlabProject extends GitlabComponent {
         return nameWithNamespace;
     }
 
+    /**
+     * Sets the name along with namespace.
+     *
+     * @param nameWithNamespace name along with namespace
+     */
+    void setNameWithNamespace(String nameWithNamespace) {
+        this.nameWithNamespace = nameWithNamespace;
+    }
+
     /**
      * Returns the path along with namespace.
      *
@@ -433,6 +551,15 @@ public final class GitlabProject extends GitlabComponent {
         return pathWithNamespace;
     }
 
+    /**
+     * Sets the path along with namespace.
+     *
+     * @param pathWithNamespace path with namespace
+     */
+    void setPathWithNamespace(String pathWithNamespace) {
+        this.pathWithNamespace = pathWithNamespace;
+    }
+
     /**
      * Returns the default branch of this project.
      *
@@ -442,6 +569,15 @@ public final class GitlabProject extends GitlabComponent {
         return defaultBranch;
     }
 
+    /**
+     * Sets the default branch of this project.
+     *
+     * @param defaultBranch default branch of this project
+     */
+    void setDefaultBranch(String defaultBranch) {
+        this.defaultBranch = defaultBranch;
+    }
+
     /**
      * Returns the current visibility of this project.
      *
@@ -451,6 +587,15 @@ public final class GitlabProject extends GitlabComponent {
         return visibility;
     }
 
+    /**
+     * Sets the current visibility of this project.
+     *
+     * @param visibility current visibility of this project
+     */
+    void setVisibility(String visibility) {
+        this.visibility = visibility;
+    }
+
     /**
      * Returns the current ssh url to repo.
      *
@@ -460,6 +605,15 @@ public final class GitlabProject extends GitlabComponent {
         return sshUrlToRepo;
     }
 
+    /**
+     * Sets the current ssh url to repo.
+     *
+     * @param sshUrlToRepo ssh url to repo
+     */
+    void setSshUrlToRepo(String sshUrlToRepo) {
+        this.sshUrlToRepo = sshUrlToRepo;
+    }
+
     /**
      * Returns the current http url to repo.
      *
@@ -469,6 +623,15 @@ public final class GitlabProject extends GitlabComponent {
         return httpUrlToRepo;
     }
 
+    /**
+     * Sets the current http url to repo.
+     *
+     * @param httpUrlToRepo http url to repo
+     */
+    void setHttpUrlToRepo(String httpUrlToRepo) {
+        this.httpUrlToRepo = httpUrlToRepo;
+    }
+
     /**
      * Returns the web url of this project.
      *
@@ -478,6 +641,15 @@ public final class GitlabProject extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url of this project.
+     *
+     * @param webUrl web url of this project
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Returns the web url of the README.
      *
@@ -487,6 +659,15 @@ public final class GitlabProject extends GitlabComponent {
         return readmeUrl;
     }
 
+    /**
+     * Sets the web url of the README.
+     *
+     * @param readmeUrl web url of the README
+     */
+    void setReadmeUrl(String readmeUrl) {
+        this.readmeUrl = readmeUrl;
+    }
+
     /**
      * Returns tags of this project.
      *
@@ -496,6 +677,15 @@ public final class GitlabProject extends GitlabComponent {
         return tagList;
     }
 
+    /**
+     * Sets tags of this project.
+     *
+     * @param tagList a list of tags of the project
+     */
+    void setTagList(List<String> tagList) {
+        this.tagList = tagList;
+    }
+
     /**
      * Returns the owner of this project.
      *
@@ -505,6 +695,15 @@ public final class GitlabProject extends GitlabComponent {
         return owner;
     }
 
+    /**
+     * Sets the owner of this project.
+     *
+     * @param owner owner of the project
+     */
+    void setOwner(GitlabUser owner) {
+        this.owner = owner;
+    }
+
     /**
      * Returns the name of this project.
      *
@@ -514,6 +713,15 @@ public final class GitlabProject extends GitlabComponent {
         return name;
     }
 
+    /**
+     * Sets the name of this project.
+     *
+     * @param name name of this project
+     */
+    void setName(String name) {
+        this.name = name;
+    }
+
     /**
      * Returns the path of this project.
      *
@@ -523,6 +731,15 @@ public final class GitlabProject extends GitlabComponent {
         return path;
     }
 
+    /**
+     * Sets the path of this project.
+     *
+     * @param path path of this project
+     */
+    void setPath(String path) {
+        this.path = path;
+    }
+
     /**
      * Tests if issues are enabled for this project.
      *
@@ -532,6 +749,15 @@ public final class GitlabProject extends GitlabComponent {
         return issuesEnabled;
     }
 
+    /**
+     * Sets whether issues are enabled for this project.
+     *
+     * @param issuesEnabled true if issues are enabled for this project
+     */
+    void setIssuesEnabled(boolean issuesEnabled) {
+        this.issuesEnabled = issuesEnabled;
+    }
+
     /**
      * Returns the number of open issue counts.
      *
@@ -541,6 +767,15 @@ public final class GitlabProject extends GitlabComponent {
         return openIssuesCount;
     }
 
+    /**
+     * Sets the number of open issue counts.
+     *
+     * @param openIssuesCount number of open issue counts
+     */
+    void setOpenIssuesCount(int openIssuesCount) {
+        this.openIssuesCount = openIssuesCount;
+    }
+
     /**
      * Tests if merge requests are enabled for this project.
      *
@@ -550,6 +785,15 @@ public final class GitlabProject extends GitlabComponent {
         return mergeRequestsEnabled;
     }
 
+    /**
+     * Sets whether merge requests are enabled for this project.
+     *
+     * @param mergeRequestsEnabled true if merge requests are enabled for this project
+     */
+    void setMergeRequestsEnabled(boolean mergeRequestsEnabled) {
+        this.mergeRequestsEnabled = mergeRequestsEnabled;
+    }
+
     /**
      * Tests if jobs are enabled for this project.
      *
@@ -559,6 +803,15 @@ public final class GitlabProject extends GitlabComponent {
         return jobsEnabled;
     }
 
+    /**
+     * Sets whether jobs are enabled for this project.
+     *
+     * @param jobsEnabled true if jobs are enabled for this project
+     */
+    void setJobsEnabled(boolean jobsEnabled) {
+        this.jobsEnabled = jobsEnabled;
+    }
+
     /**
      * Tests if wiki is enabled for this project.
      *
@@ -568,13 +821,31 @@ public final class GitlabProject extends GitlabComponent {
         return wikiEnabled;
     }
 
+    /**
+     * Sets whether wiki is enabled for this project.
+     *
+     * @param wikiEnabled if wiki is enabled for this project
+     */
+    void setWikiEnabled(boolean wikiEnabled) {
+        this.wikiEnabled = wikiEnabled;
+    }
+
     /**
      * Returns the created date of project.
      *
      * @return created date
      */
     public ZonedDateTime getCreatedAt() {
-        return createdAt;
+        return DateUtil.toZoned(createdAt);
+    }
+
+    /**
+     * Sets the created date of project.
+     *
+     * @param createdAt created date, in epoch millis
+     */
+    void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
     }
 
     /**
@@ -583,7 +854,16 @@ public final class GitlabProject extends GitlabComponent {
      * @return date of last activity
      */
     public ZonedDateTime getLastActivityAt() {
-        return lastActivityAt;
+        return DateUtil.toZoned(lastActivityAt);
+    }
+
+    /**
+     * Sets the date of last activity.
+     *
+     * @param lastActivityAt date of last activity, in epoch millis
+     */
+    void setLastActivityAt(long lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
     }
 
     /**
@@ -595,6 +875,15 @@ public final class GitlabProject extends GitlabComponent {
         return creatorId;
     }
 
+    /**
+     * Sets the id of the creator.
+     *
+     * @param creatorId id of the creator
+     */
+    void setCreatorId(int creatorId) {
+        this.creatorId = creatorId;
+    }
+
     /**
      * Tests if this project has been archived.
      *
@@ -604,6 +893,15 @@ public final class GitlabProject extends GitlabComponent {
         return archived;
     }
 
+    /**
+     * Sets whether this project has been archived.
+     *
+     * @param archived true if this project has been archived
+     */
+    void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
     /**
      * Returns the number of forked counts of this project.
      *
@@ -613,6 +911,15 @@ public final class GitlabProject extends GitlabComponent {
         return forksCount;
     }
 
+    /**
+     * Sets the number of forked counts of this project.
+     *
+     * @param forksCount the number of forked counts
+     */
+    void setForksCount(int forksCount) {
+        this.forksCount = forksCount;
+    }
+
     /**
      * Returns the number of star count of this project.
      *
@@ -622,6 +929,15 @@ public final class GitlabProject extends GitlabComponent {
         return starCount;
     }
 
+    /**
+     * Sets the number of star count of this project.
+     *
+     * @param starCount the number of star counts
+     */
+    void setStarCount(int starCount) {
+        this.starCount = starCount;
+    }
+
     /**
      * Tests if this project is a public job.
      *
@@ -631,6 +947,15 @@ public final class GitlabProject extends GitlabComponent {
         return publicJobs;
     }
 
+    /**
+     * Sets whether this project is a public job.
+     *
+     * @param publicJobs true if this project is a public job
+     */
+    void setPublicJobs(boolean publicJobs) {
+        this.publicJobs = publicJobs;
+    }
+
 
     /*
      * Note that there will be no setters for id, nameWithNamespace,
@@ -755,6 +1080,18 @@ public final class GitlabProject extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Returns a copy of this {@link GitlabProject} bound to the same httpClient.
+     *
+     * @return the copy of this {@link GitlabProject}
+     */
+    @Override
+    GitlabProject copy() {
+        GitlabProject copy = (GitlabProject) super.copy();
+        copy.tagList = copyOf(tagList);
+        return copy;
+    }
+
     /**
      * This extends {@link GitlabQuery} and supports query global projects.
      *
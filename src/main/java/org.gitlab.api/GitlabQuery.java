@@ -7,16 +7,26 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An abstract class to query subclasses of {@link GitlabComponent}s based on
  * query conditions and parameters specified by users.
  *
+ * {@link #query()} returns a single page of results, while {@link #iterator()}
+ * and {@link #stream()} follow the pagination headers and lazily fetch the
+ * following pages as they are consumed.
+ *
  * @param <T> the expected {@link GitlabComponent} as the query result
  */
-abstract class GitlabQuery<T extends GitlabComponent> {
+abstract class GitlabQuery<T extends GitlabComponent> implements Iterable<T> {
     /**
      * The date formatter specifically for the Gitlab API.
      */
@@ -37,6 +47,10 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      * Tuple<name, Pair<value, URLEncoder.encode(value, "UTF-8")>>
      */
     private final List<Pair<String, Pair<String, String>>> params = new ArrayList<Pair<String, Pair<String, String>>>();
+    /**
+     * The pagination of the query, or null to use the default pagination of Gitlab.
+     */
+    private Pagination pagination;
 
     /**
      * Construct the query by the Gitlab httpClienturation and the expected type for the query response
@@ -63,6 +77,18 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      */
     abstract void bind(T component);
 
+    /**
+     * For the components of a page to bind with their parent components after they are parsed,
+     * which binds them one by one unless overridden
+     *
+     * @param components components to be bound
+     * @return a future completing once all the components are bound
+     */
+    CompletableFuture<Void> bindAll(List<T> components) {
+        components.forEach(this::bind);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Add pagination on top of the query
      *
@@ -80,10 +106,89 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      */
     public List<T> query() {
         List<T> components = httpClient.getList(getEntireUrl(), type);
-        components.forEach(this::bind);
+        HttpClient.join(bindAll(components));
         return components;
     }
 
+    /**
+     * Asynchronous version of {@link #query()}.
+     *
+     * @return a future of the list of component retrieved from the query, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    public CompletableFuture<List<T>> queryAsync() {
+        return httpClient.getListAsync(getEntireUrl(), type)
+                .thenCompose(components -> bindAll(components).thenApply(v -> components));
+    }
+
+    /**
+     * Returns an iterator over all the components matching the query. The
+     * iterator starts from the page of the pagination of this query, and only
+     * fetches the next page when the current one has been consumed.
+     *
+     * @return an iterator over all the components matching the query
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     * while fetching a page
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator<>(this);
+    }
+
+    /**
+     * Returns a sequential stream of all the components matching the query.
+     * Pages are fetched lazily as the stream is consumed, so only one page is
+     * held in memory at a time. Closing the stream cancels the request of the
+     * page being fetched, if any.
+     *
+     * @return a stream of all the components matching the query
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     * while fetching a page
+     */
+    public Stream<T> stream() {
+        return stream(new PageIterator<>(this));
+    }
+
+    /**
+     * Returns a sequential stream of all the components matching the query,
+     * fetching up to {@code concurrency} pages at the same time.
+     *
+     * The first page is fetched on its own. If it reports the number of total
+     * pages (Gitlab omits it for more than 10,000 results), the following
+     * pages are requested concurrently, and their components are handed out
+     * in page order as soon as the next page in sequence is ready. Otherwise,
+     * pages are fetched one by one as in {@link #stream()}. Closing the stream
+     * cancels the requests of the pages being fetched.
+     *
+     * Requests share the connection pool and dispatcher of the client, which
+     * also limit how many of them are sent at the same time.
+     *
+     * @param concurrency the maximum number of pages being fetched at the same time
+     * @return a stream of all the components matching the query
+     * @throws IllegalArgumentException if concurrency is not positive
+     * @throws GitlabException          if {@link IOException} occurs or the response code is not in [200,400)
+     *                                  while fetching a page
+     */
+    public Stream<T> queryAllParallel(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("cannot have non-positive concurrency");
+        }
+        return stream(new PageIterator<>(this, concurrency));
+    }
+
+    /**
+     * Returns a sequential stream over the given iterator which closes the iterator when closed.
+     *
+     * @param iterator the iterator over the components
+     * @param <T>      the type of the components
+     * @return a stream of the components
+     */
+    private static <T extends GitlabComponent> Stream<T> stream(PageIterator<T> iterator) {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
     /**
      * Get the entire url of the query
      *
@@ -93,6 +198,48 @@ abstract class GitlabQuery<T extends GitlabComponent> {
         return getTailUrl() + toString();
     }
 
+    /**
+     * Get the entire url of the given page of the query
+     *
+     * @param pageNumber the page number
+     * @return entire url, e.g. {@code /projects?owned=true&per_page=20&page=2}
+     */
+    String getEntireUrl(int pageNumber) {
+        return getTailUrl() + toString(Pagination.of(pageNumber, getPageSize()));
+    }
+
+    /**
+     * Get the number of results per page of this query
+     *
+     * @return the page size of the pagination, or of the default pagination if none is set
+     */
+    int getPageSize() {
+        return (pagination == null ? Pagination.getDefaultPagination() : pagination).getPageSize();
+    }
+
+    /**
+     * Get the url of the page after the given one, following the X-Next-Page
+     * header or else the Link header of keyset pagination
+     *
+     * @param page the page just fetched
+     * @return the url of the next page, or null if there is no more page
+     */
+    String getNextUrl(Page<T> page) {
+        if (page.getNextPage() > 0) {
+            return getEntireUrl(page.getNextPage());
+        }
+        return page.getNextLink();
+    }
+
+    /**
+     * Get the {@link HttpClient} to be used by the query
+     *
+     * @return the {@link HttpClient} to be used by the query
+     */
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
     protected Class<T[]> getType() {
         return type;
     }
@@ -106,15 +253,26 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      */
     protected GitlabQuery<T> appendString(String name, String value) {
         if (value != null) {
-            try {
-                params.add(new Pair<>(name, new Pair<>(value, URLEncoder.encode(value, "UTF-8"))));
-            } catch (UnsupportedEncodingException e) {
-                e.printStackTrace();
-            }
+            params.add(new Pair<>(name, new Pair<>(value, encode(value))));
         }
         return this;
     }
 
+    /**
+     * Encodes a parameter value for the URL
+     *
+     * @param value Parameter value
+     * @return the encoded value
+     */
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            // should never happen
+            throw new GitlabException(e);
+        }
+    }
+
     /**
      * add a integer type parameter to the query
      *
@@ -188,14 +346,38 @@ abstract class GitlabQuery<T extends GitlabComponent> {
     }
 
     /**
-     * add a pagination to the query
+     * Removes the parameters of the given name from this query, e.g. before replacing them
+     *
+     * @param name the name of the parameters
+     * @return GitlabQuery without the parameters
+     */
+    GitlabQuery<T> withoutParameter(String name) {
+        params.removeIf(param -> param.first.equals(name));
+        return this;
+    }
+
+    /**
+     * Copies the parameters and the pagination of the given query to this query
+     *
+     * @param template the query to copy from
+     * @return GitlabQuery with the parameters of the template added
+     */
+    GitlabQuery<T> withParametersOf(GitlabQuery<T> template) {
+        params.addAll(template.params);
+        pagination = template.pagination;
+        return this;
+    }
+
+    /**
+     * add a pagination to the query, which replaces the previous one if any.
+     * A keyset-based pagination overrides the order_by parameter of the query
+     * if it specifies one.
      *
      * @param pagination name of the parameter
      * @return GitlabQuery with the new pagination added
      */
     protected GitlabQuery<T> appendPagination(Pagination pagination) {
-        appendInt("per_page", pagination.getPageSize());
-        appendInt("page", pagination.getPageNumber());
+        this.pagination = pagination;
         return this;
     }
 
@@ -207,22 +389,55 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      */
     @Override
     public String toString() {
+        return toString(pagination);
+    }
+
+    /**
+     * Returns the string in the format URL query parameters with the given pagination
+     * e.g. {@code ?key1=value1&key2=value2&per_page=20&page=1}
+     *
+     * @param pagination the pagination, or null to use the default pagination of Gitlab
+     * @return the string in the format URL query parameters
+     */
+    private String toString(Pagination pagination) {
         StringBuilder builder = new StringBuilder();
 
+        boolean keysetOrder = pagination != null && pagination.isKeyset() && pagination.getOrderBy() != null;
         for (Pair<String, Pair<String, String>> param : params) {
-            if (builder.length() == 0) {
-                builder.append('?');
-            } else {
-                builder.append('&');
+            if (keysetOrder && param.first.equals("order_by")) {
+                continue;
+            }
+            appendParam(builder, param.first, param.second.second);
+        }
+        if (pagination != null && pagination.isKeyset()) {
+            // the following pages are requested through the cursor in the Link header
+            appendParam(builder, "pagination", "keyset");
+            appendParam(builder, "per_page", String.valueOf(pagination.getPageSize()));
+            if (pagination.getOrderBy() != null) {
+                appendParam(builder, "order_by", encode(pagination.getOrderBy()));
             }
-            builder.append(param.first);
-            builder.append('=');
-            builder.append(param.second.second);
+        } else if (pagination != null) {
+            appendParam(builder, "per_page", String.valueOf(pagination.getPageSize()));
+            appendParam(builder, "page", String.valueOf(pagination.getPageNumber()));
         }
 
         return builder.toString();
     }
 
+    /**
+     * Appends an encoded parameter to URL query parameters
+     *
+     * @param builder the URL query parameters built so far
+     * @param name    the parameter name
+     * @param value   the encoded parameter value
+     */
+    private static void appendParam(StringBuilder builder, String name, String value) {
+        builder.append(builder.length() == 0 ? '?' : '&');
+        builder.append(name);
+        builder.append('=');
+        builder.append(value);
+    }
+
     /**
      * The class representing a pair
      *
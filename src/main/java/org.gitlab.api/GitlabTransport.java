@@ -0,0 +1,234 @@
+package org.gitlab.api;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the HTTP transport, i.e. the connection pool and the
+ * dispatcher of asynchronous requests, which can be shared across
+ * {@link GitlabAPIClient} instances.
+ *
+ * Clients built with the same transport reuse the pooled sockets and TLS
+ * sessions and the dispatcher threads of each other, while each client keeps
+ * its own authentication, timeouts and proxy. Without a transport, each
+ * client has a connection pool and a dispatcher of its own.
+ *
+ * To get a instance of transport, use {@code GitlabTransport.Builder}.
+ */
+public final class GitlabTransport {
+    /**
+     * The maximum number of idle connections in the pool.
+     */
+    private final int maxIdleConnections;
+    /**
+     * The time to keep an idle connection in the pool in milliseconds.
+     */
+    private final long keepAlive;
+    /**
+     * The maximum number of asynchronous requests being executed at the same time.
+     */
+    private final int maxRequests;
+    /**
+     * The maximum number of asynchronous requests being executed at the same time for each host.
+     */
+    private final int maxRequestsPerHost;
+    /**
+     * The OkHttpClient that all the clients of this transport are derived from.
+     */
+    private final OkHttpClient client;
+
+    /**
+     * Construct the {@link GitlabTransport} based on the {@link Builder}.
+     *
+     * @param builder the builder
+     */
+    private GitlabTransport(Builder builder) {
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAlive = builder.keepAlive;
+        this.maxRequests = builder.maxRequests;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .build();
+    }
+
+    /**
+     * Returns the maximum number of idle connections in the pool.
+     *
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Returns the time to keep an idle connection in the pool in milliseconds.
+     *
+     * @return the keep-alive duration in milliseconds
+     */
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Returns the maximum number of asynchronous requests being executed at the same time.
+     *
+     * @return the maximum number of requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Returns the maximum number of asynchronous requests being executed at the same time for each host.
+     *
+     * @return the maximum number of requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Returns the number of open connections in the pool.
+     *
+     * @return the number of open connections
+     */
+    public int getConnectionCount() {
+        return client.connectionPool().connectionCount();
+    }
+
+    /**
+     * Returns a new {@link OkHttpClient.Builder} that shares the connection pool and the dispatcher of this transport.
+     *
+     * @return the {@link OkHttpClient.Builder}
+     */
+    OkHttpClient.Builder newClientBuilder() {
+        return client.newBuilder();
+    }
+
+    /**
+     * Closes the idle connections and stops the dispatcher threads of this
+     * transport. The clients using this transport cannot send asynchronous
+     * requests any more.
+     */
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    /**
+     * This {@code Builder} is used to build {@link GitlabTransport} instance.
+     */
+    public static final class Builder {
+        /**
+         * The default maximum number of idle connections.
+         */
+        private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+        /**
+         * The default keep-alive duration in milliseconds.
+         */
+        private static final long DEFAULT_KEEP_ALIVE = TimeUnit.MINUTES.toMillis(5);
+        /**
+         * The default maximum number of requests.
+         */
+        private static final int DEFAULT_MAX_REQUESTS = 64;
+        /**
+         * The default maximum number of requests per host.
+         */
+        private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+        /**
+         * The maximum number of idle connections.
+         */
+        private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        /**
+         * The keep-alive duration in milliseconds.
+         */
+        private long keepAlive = DEFAULT_KEEP_ALIVE;
+        /**
+         * The maximum number of requests.
+         */
+        private int maxRequests = DEFAULT_MAX_REQUESTS;
+        /**
+         * The maximum number of requests per host.
+         */
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+        /**
+         * Sets the maximum number of idle connections in the pool to the builder.
+         *
+         * @param maxIdleConnections the maximum number of idle connections
+         * @return {@code Builder} with maxIdleConnections
+         * @throws IllegalArgumentException if maxIdleConnections is negative
+         */
+        public Builder withMaxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("cannot have negative max idle connections");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Sets the time to keep an idle connection in the pool to the builder.
+         *
+         * @param keepAlive the keep-alive duration in milliseconds
+         * @return {@code Builder} with keepAlive
+         * @throws IllegalArgumentException if keepAlive is not positive
+         */
+        public Builder withKeepAlive(long keepAlive) {
+            if (keepAlive < 1) {
+                throw new IllegalArgumentException("cannot have non-positive keep alive");
+            }
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous requests being executed at the same time to the builder.
+         *
+         * @param maxRequests the maximum number of requests
+         * @return {@code Builder} with maxRequests
+         * @throws IllegalArgumentException if maxRequests is not positive
+         */
+        public Builder withMaxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("cannot have non-positive max requests");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous requests being executed at the same time for each host to the
+         * builder.
+         *
+         * @param maxRequestsPerHost the maximum number of requests per host
+         * @return {@code Builder} with maxRequestsPerHost
+         * @throws IllegalArgumentException if maxRequestsPerHost is not positive
+         */
+        public Builder withMaxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("cannot have non-positive max requests per host");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Returns the {@link GitlabTransport} instance built from this builder.
+         *
+         * @return a {@link GitlabTransport} instance
+         */
+        public GitlabTransport build() {
+            return new GitlabTransport(this);
+        }
+    }
+}
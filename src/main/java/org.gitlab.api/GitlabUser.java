@@ -21,6 +21,7 @@ import java.util.Objects;
  * <p>
  * Gitlab Web API: https://docs.gitlab.com/ee/api/users.html
  */
+@StreamingCodec
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public final class GitlabUser extends GitlabComponent {
     @JsonProperty(value = "id")
@@ -36,9 +37,9 @@ public final class GitlabUser extends GitlabComponent {
     @JsonProperty(value = "web_url")
     private String webUrl;
     @JsonProperty(value = "created_at")
-    @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+    @JsonDeserialize(using = DateUtil.EpochDeserializer.class)
     @JsonSerialize(using = DateUtil.ZonedSerializer.class)
-    private ZonedDateTime createdAt;
+    private long createdAt = DateUtil.NO_TIMESTAMP;
     @JsonProperty(value = "bio")
     private String bio;
     @JsonProperty(value = "bio_html")
@@ -144,6 +145,15 @@ public final class GitlabUser extends GitlabComponent {
         return username;
     }
 
+    /**
+     * Sets the username of this user.
+     *
+     * @param username username of this user
+     */
+    void setUsername(String username) {
+        this.username = username;
+    }
+
     /**
      * Returns the name of this user.
      *
@@ -153,6 +163,15 @@ public final class GitlabUser extends GitlabComponent {
         return name;
     }
 
+    /**
+     * Sets the name of this user.
+     *
+     * @param name name of this user
+     */
+    void setName(String name) {
+        this.name = name;
+    }
+
     /**
      * Returns the state of this user.
      *
@@ -162,6 +181,15 @@ public final class GitlabUser extends GitlabComponent {
         return state;
     }
 
+    /**
+     * Sets the state of this user.
+     *
+     * @param state state of this user
+     */
+    void setState(String state) {
+        this.state = state;
+    }
+
     /**
      * Returns the avatar url of this user.
      *
@@ -171,6 +199,15 @@ public final class GitlabUser extends GitlabComponent {
         return avatarUrl;
     }
 
+    /**
+     * Sets the avatar url of this user.
+     *
+     * @param avatarUrl avatar url of this user
+     */
+    void setAvatarUrl(String avatarUrl) {
+        this.avatarUrl = avatarUrl;
+    }
+
     /**
      * Returns the web url of this user.
      *
@@ -180,13 +217,31 @@ public final class GitlabUser extends GitlabComponent {
         return webUrl;
     }
 
+    /**
+     * Sets the web url of this user.
+     *
+     * @param webUrl web url of this user
+     */
+    void setWebUrl(String webUrl) {
+        this.webUrl = webUrl;
+    }
+
     /**
      * Get created date of this user.
      *
      * @return created date of this user
      */
     public ZonedDateTime getCreatedAt() {
-        return createdAt;
+        return DateUtil.toZoned(createdAt);
+    }
+
+    /**
+     * Sets the created date of this user.
+     *
+     * @param createdAt created date of this user, in epoch millis
+     */
+    void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
     }
 
     /**
@@ -198,6 +253,15 @@ public final class GitlabUser extends GitlabComponent {
         return bio;
     }
 
+    /**
+     * Sets the bio of this user.
+     *
+     * @param bio the bio of this user
+     */
+    void setBio(String bio) {
+        this.bio = bio;
+    }
+
     /**
      * Returns the bio in html of this user.
      *
@@ -207,6 +271,15 @@ public final class GitlabUser extends GitlabComponent {
         return bioHtml;
     }
 
+    /**
+     * Sets the bio in html of this user.
+     *
+     * @param bioHtml bio in html of this user
+     */
+    void setBioHtml(String bioHtml) {
+        this.bioHtml = bioHtml;
+    }
+
     /**
      * Returns the public email of this user.
      *
@@ -216,6 +289,15 @@ public final class GitlabUser extends GitlabComponent {
         return publicEmail;
     }
 
+    /**
+     * Sets the public email of this user.
+     *
+     * @param publicEmail public email of this user
+     */
+    void setPublicEmail(String publicEmail) {
+        this.publicEmail = publicEmail;
+    }
+
     /**
      * Returns the skype id of this user.
      *
@@ -225,6 +307,15 @@ public final class GitlabUser extends GitlabComponent {
         return skype;
     }
 
+    /**
+     * Sets the skype id of this user.
+     *
+     * @param skype skype id of this user
+     */
+    void setSkype(String skype) {
+        this.skype = skype;
+    }
+
     /**
      * Returns the linkedin account of this user.
      *
@@ -234,6 +325,15 @@ public final class GitlabUser extends GitlabComponent {
         return linkedin;
     }
 
+    /**
+     * Sets the linkedin account of this user.
+     *
+     * @param linkedin linkedin account of this user
+     */
+    void setLinkedin(String linkedin) {
+        this.linkedin = linkedin;
+    }
+
     /**
      * Returns the twitter account of this user.
      *
@@ -243,6 +343,15 @@ public final class GitlabUser extends GitlabComponent {
         return twitter;
     }
 
+    /**
+     * Sets the twitter account of this user.
+     *
+     * @param twitter twitter account of this user
+     */
+    void setTwitter(String twitter) {
+        this.twitter = twitter;
+    }
+
     /**
      * Returns the website url of this user.
      *
@@ -252,6 +361,15 @@ public final class GitlabUser extends GitlabComponent {
         return websiteUrl;
     }
 
+    /**
+     * Sets the website url of this user.
+     *
+     * @param websiteUrl the website url of this user
+     */
+    void setWebsiteUrl(String websiteUrl) {
+        this.websiteUrl = websiteUrl;
+    }
+
     /**
      * Returns the organization of this user.
      *
@@ -261,6 +379,15 @@ public final class GitlabUser extends GitlabComponent {
         return organization;
     }
 
+    /**
+     * Sets the organization of this user.
+     *
+     * @param organization organization of this user
+     */
+    void setOrganization(String organization) {
+        this.organization = organization;
+    }
+
     /**
      * Returns the job title of this user.
      *
@@ -270,6 +397,15 @@ public final class GitlabUser extends GitlabComponent {
         return jobTitle;
     }
 
+    /**
+     * Sets the job title of this user.
+     *
+     * @param jobTitle job title of this user
+     */
+    void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
     /**
      * Sets a httpClient to the current {@link GitlabAPIClient}.
      *
@@ -282,6 +418,32 @@ public final class GitlabUser extends GitlabComponent {
         return this;
     }
 
+    /**
+     * Tests if the given {@link GitlabUser} has the same attributes as this one,
+     * unlike {@link #equals(Object)} which only compares the user id.
+     *
+     * @param that the user to be compared
+     * @return true if all the attributes are equal
+     */
+    boolean hasSameAttributes(GitlabUser that) {
+        return id == that.id
+                && Objects.equals(username, that.username)
+                && Objects.equals(name, that.name)
+                && Objects.equals(state, that.state)
+                && Objects.equals(avatarUrl, that.avatarUrl)
+                && Objects.equals(webUrl, that.webUrl)
+                && createdAt == that.createdAt
+                && Objects.equals(bio, that.bio)
+                && Objects.equals(bioHtml, that.bioHtml)
+                && Objects.equals(publicEmail, that.publicEmail)
+                && Objects.equals(skype, that.skype)
+                && Objects.equals(linkedin, that.linkedin)
+                && Objects.equals(twitter, that.twitter)
+                && Objects.equals(websiteUrl, that.websiteUrl)
+                && Objects.equals(organization, that.organization)
+                && Objects.equals(jobTitle, that.jobTitle);
+    }
+
      /**
      * This extends {@link GitlabQuery} and supports query global users.
      *
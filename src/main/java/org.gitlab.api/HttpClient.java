@@ -1,9 +1,13 @@
 package org.gitlab.api;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -11,22 +15,31 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
 /**
  * This class is used to send HTTP request to the with the given Gitlab httpClient,
  * and then deserialize the JSON response to the corresponding {@link GitlabComponent} class.
  */
 class HttpClient {
-    /**
-     * The Jackson Mapper
-     */
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     /**
      * The default media type to be sent in PUT and POST
      */
@@ -35,27 +48,104 @@ class HttpClient {
      * The empty body to be used for PUT and POST
      */
     private static final RequestBody EMPTY_BODY = RequestBody.create("", null);
+    /**
+     * The response code when the cached response has not been modified
+     */
+    private static final int HTTP_NOT_MODIFIED = 304;
+    /**
+     * The numeric path segments to be normalized in the endpoint of the retry counts
+     */
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    /**
+     * The scheduler that delays the retries and the rate limited asynchronous
+     * requests, so that no thread is blocked while waiting
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "gitlab-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
     /**
      * The internal OkHttpClient
      */
     private final OkHttpClient client;
+    /**
+     * The executor that parses responses of asynchronous requests, so that
+     * the OkHttp dispatcher threads are only used for I/O
+     */
+    private final Executor executor;
+    /**
+     * The policy to retry failed requests
+     */
+    private final RetryPolicy retryPolicy;
+    /**
+     * The number of retries per endpoint
+     */
+    private final Map<String, LongAdder> retryCounts = new ConcurrentHashMap<>();
+    /**
+     * The limiter that paces requests according to the rate limit headers
+     */
+    private final RateLimiter rateLimiter;
+    /**
+     * The cache of GET responses by ETag, or null if responses are not cached
+     */
+    private final ResponseCache responseCache;
+    /**
+     * The cache of projects by id, or null if projects are not cached
+     */
+    private final ProjectCache projectCache;
+    /**
+     * The cache of commits by project id and full SHA, or null if commits are not cached
+     */
+    private final CommitCache commitCache;
+    /**
+     * The coalescing of identical GET requests in flight, or null if they are not coalesced
+     */
+    private final SingleFlight singleFlight;
+    /**
+     * The registry of the Jackson readers and writers
+     */
+    private final JsonRegistry registry;
+    /**
+     * The identity map of the users embedded in components, or null if they are not interned
+     */
+    private final UserIdentityMap userIdentityMap;
     private final String apiPrefix;
+    private final String apiNamespace;
     private final String authHeaderName;
     private final String authHeaderValue;
 
     /**
      * Initialize the {@link HttpClient} based on timeouts, proxy, api endpoint namespace as well as the authentication.
+     * The connection pool and the dispatcher of the transport are shared if the client has one.
      *
      * @param gitlabAPIClient the {@link GitlabAPIClient} for creating this {@link HttpClient}
      */
     HttpClient(GitlabAPIClient gitlabAPIClient) {
-        client = new OkHttpClient.Builder()
+        GitlabTransport transport = gitlabAPIClient.getTransport();
+        client = (transport == null ? new OkHttpClient.Builder() : transport.newClientBuilder())
                 .connectTimeout(gitlabAPIClient.getConnectionTimeout(), TimeUnit.MILLISECONDS)
                 .readTimeout(gitlabAPIClient.getReadTimeout(), TimeUnit.MILLISECONDS)
                 .writeTimeout(gitlabAPIClient.getReadTimeout(), TimeUnit.MILLISECONDS)
                 .proxy(gitlabAPIClient.getProxy())
                 .build();
+        executor = gitlabAPIClient.getExecutor();
+        retryPolicy = gitlabAPIClient.getRetryPolicy();
+        rateLimiter = new RateLimiter(gitlabAPIClient.isRateLimited(), SCHEDULER);
+        responseCache = gitlabAPIClient.getResponseCacheSize() > 0
+                ? new ResponseCache(gitlabAPIClient.getResponseCacheSize()) : null;
+        projectCache = gitlabAPIClient.getProjectCacheSize() > 0
+                ? new ProjectCache(gitlabAPIClient.getProjectCacheSize(), gitlabAPIClient.getProjectCacheTimeToLive())
+                : null;
+        singleFlight = gitlabAPIClient.isRequestCoalescing() ? new SingleFlight() : null;
+        registry = gitlabAPIClient.isBytecodeAccessors() ? JsonRegistry.accelerated() : JsonRegistry.DEFAULT;
+        commitCache = gitlabAPIClient.getCommitCacheWeight() > 0 ? new CommitCache(
+                gitlabAPIClient.getCommitCacheWeight(), gitlabAPIClient.getCommitCacheFile(),
+                registry.reader(GitlabCommit.class)) : null;
+        userIdentityMap = gitlabAPIClient.getUserIdentityMapSize() > 0
+                ? new UserIdentityMap(gitlabAPIClient.getUserIdentityMapSize()) : null;
         apiPrefix = gitlabAPIClient.getEndpoint() + gitlabAPIClient.getApiNamespace();
+        apiNamespace = gitlabAPIClient.getApiNamespace();
         if (gitlabAPIClient.getAuthMethod() != null) {
             authHeaderName = gitlabAPIClient.getAuthMethod().getHeaderName();
             authHeaderValue = String.format(gitlabAPIClient.getAuthMethod().getHeaderFormat(), gitlabAPIClient.getToken());
@@ -67,49 +157,101 @@ class HttpClient {
     }
 
     /**
-     * Create a new object of the given type from the JSON response
+     * Create a new object of the given type by parsing the JSON response body as it streams in
      *
-     * @param response the JSON response
+     * @param response the HTTP response
      * @param type     the type for deserialization
      * @param <T>      the type
      * @return the newly created {@link GitlabComponent}
-     * @throws GitlabException if {@link IOException} occurs
+     * @throws IOException     if the body cannot be read
+     * @throws GitlabException if the body cannot be parsed
      */
-    private static <T> T create(String response, Class<T> type) {
-        try {
-            return MAPPER.readValue(response, type);
-        } catch (IOException e) {
-            throw new GitlabException("Response cannot be parsed", e);
-        }
+    static <T> T create(Response response, Class<T> type) throws IOException {
+        return read(JsonRegistry.DEFAULT.reader(type), response);
     }
 
     /**
-     * Update a given object from the JSON response
+     * Update a given object by parsing the JSON response body as it streams in
      *
-     * @param response the JSON response
+     * @param response the HTTP response
      * @param object   the object to be updated
      * @param <T>      the type
      * @return the updated object
-     * @throws GitlabException if {@link IOException} occurs
+     * @throws IOException     if the body cannot be read
+     * @throws GitlabException if the body cannot be parsed
      */
-    private static <T> T update(String response, T object) {
+    static <T> T update(Response response, T object) throws IOException {
+        return read(JsonRegistry.DEFAULT.updatingReader(object), response);
+    }
+
+    /**
+     * Parse the JSON response body with the given reader as it streams in
+     *
+     * @param reader   the reader of the expected type
+     * @param response the HTTP response
+     * @param <T>      the type
+     * @return the parsed object
+     * @throws IOException     if the body cannot be read
+     * @throws GitlabException if the body cannot be parsed
+     */
+    private static <T> T read(ObjectReader reader, Response response) throws IOException {
         try {
-            return MAPPER.readerForUpdating(object).readValue(response);
-        } catch (IOException e) {
+            return reader.readValue(response.body().byteStream());
+        } catch (JsonProcessingException e) {
             throw new GitlabException("Response cannot be parsed", e);
         }
     }
 
+    /**
+     * Returns the reader of the given type, carrying the {@link #userIdentityMap} if there is one
+     *
+     * @param type the type to be read
+     * @return the reader of the type
+     */
+    private ObjectReader reader(Class<?> type) {
+        ObjectReader reader = registry.reader(type);
+        return userIdentityMap == null ? reader : reader.withAttribute(UserIdentityMap.ATTRIBUTE, userIdentityMap);
+    }
+
+    /**
+     * Returns the reader updating the given component in place, carrying the {@link #userIdentityMap} if there is one
+     *
+     * @param component the component to be updated
+     * @return the reader updating the component
+     */
+    private ObjectReader updatingReader(GitlabComponent component) {
+        return reader(component.getClass()).withValueToUpdate(component);
+    }
+
+    /**
+     * Resolve the readers and writers of all the components ahead of the first response
+     */
+    void warmUp() {
+        registry.warmUp();
+    }
+
     /**
      * Given the tailUrl, e.g. /projects/1234,
      * return the entire API url based on {@link #apiPrefix}
      * e.g. https://gitlab.com/api/v4/projects/1234
+     * An entire API url, e.g. the next page from a Link header, is rebased
+     * on {@link #apiPrefix} in case Gitlab reports a different external url.
      *
      * @param tailUrl the API tail Url, e.g.  /projects/1234
      * @return the entire API url based on apiPrefix
      * e.g. https://gitlab.com/api/v4/projects/1234
      */
     private String getAPIUrl(String tailUrl) {
+        if (tailUrl.startsWith(apiPrefix)) {
+            return tailUrl;
+        }
+        if (tailUrl.startsWith("http://") || tailUrl.startsWith("https://")) {
+            int index = tailUrl.indexOf(apiNamespace + "/", tailUrl.indexOf("//") + 2);
+            if (index < 0) {
+                throw new GitlabException("Not a Gitlab API url: " + tailUrl);
+            }
+            tailUrl = tailUrl.substring(index + apiNamespace.length());
+        }
         if (!tailUrl.startsWith("/")) {
             tailUrl = "/" + tailUrl;
         }
@@ -139,7 +281,22 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T get(String tailUrl, Class<T> type) {
-        return attachHttpClient(create(request(tailUrl, Method.GET, null), type));
+        return requestCached(tailUrl, type, response -> attachHttpClient(read(reader(type), response)),
+                HttpClient::copy);
+    }
+
+    /**
+     * Asynchronous version of {@link #get(String, Class)}.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param type    the class of the expected result
+     * @param <T>     the type
+     * @return a future of the {@link GitlabComponent} with the given type, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> CompletableFuture<T> getAsync(String tailUrl, Class<T> type) {
+        return requestCachedAsync(tailUrl, type, response -> attachHttpClient(read(reader(type), response)),
+                HttpClient::copy);
     }
 
     /**
@@ -153,7 +310,227 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> List<T> getList(String tailUrl, Class<T[]> type) {
-        return createList(request(tailUrl, Method.GET, null), type);
+        if (responseCache == null && singleFlight == null) {
+            return request(tailUrl, Method.GET, null, response -> createList(response, type));
+        }
+        return getPage(tailUrl, type).getItems();
+    }
+
+    /**
+     * Asynchronous version of {@link #getList(String, Class)}.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param type    the class of the expected result
+     * @param <T>     the type
+     * @return a future of the list of {@link GitlabComponent} with the given type, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> CompletableFuture<List<T>> getListAsync(String tailUrl, Class<T[]> type) {
+        if (responseCache == null && singleFlight == null) {
+            return requestAsync(tailUrl, Method.GET, null, response -> createList(response, type));
+        }
+        return getPageAsync(tailUrl, type).thenApply(Page::getItems);
+    }
+
+    /**
+     * Given the endpoint tail url or an entire API url of a paginated list and the expected return type,
+     * issue a GET request to the endpoint and deserialize the JSON response to a {@link Page} with the given type
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param <T>     the type
+     * @return a page of {@link GitlabComponent} with the given type
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> Page<T> getPage(String tailUrl, Class<T[]> type) {
+        return requestCached(tailUrl, type, response -> new Page<>(createList(response, type), response),
+                Page::copy);
+    }
+
+    /**
+     * Asynchronous version of {@link #getPage(String, Class)}.
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param <T>     the type
+     * @return a future of the page of {@link GitlabComponent} with the given type, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> CompletableFuture<Page<T>> getPageAsync(String tailUrl, Class<T[]> type) {
+        return requestCachedAsync(tailUrl, type, response -> new Page<>(createList(response, type), response),
+                Page::copy);
+    }
+
+    /**
+     * Issue a GET request for the project of the given id, served by the {@link #projectCache} if there is one
+     *
+     * @param id the project id
+     * @return the {@link GitlabProject} of the given id
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    GitlabProject getProject(int id) {
+        if (projectCache == null) {
+            return get("/projects/" + id, GitlabProject.class);
+        }
+        return join(getProjectAsync(id));
+    }
+
+    /**
+     * Asynchronous version of {@link #getProject(int)}.
+     *
+     * @param id the project id
+     * @return a future of the {@link GitlabProject} of the given id, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    CompletableFuture<GitlabProject> getProjectAsync(int id) {
+        if (projectCache == null) {
+            return getAsync("/projects/" + id, GitlabProject.class);
+        }
+        return projectCache.get(id, projectId -> getAsync("/projects/" + projectId, GitlabProject.class))
+                .thenApply(HttpClient::copy);
+    }
+
+    /**
+     * Issue a GET request for the commit of the given project and SHA, served by the {@link #commitCache} if there
+     * is one and the SHA is a full commit hash. A commit cached from a list or a branch lacks the status, which it
+     * fetches once asked for it.
+     *
+     * @param projectId the project id
+     * @param sha       the commit hash or the name of a branch or tag
+     * @return the {@link GitlabCommit} of the SHA
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    GitlabCommit getCommit(int projectId, String sha) {
+        GitlabCommit cached = getCachedCommit(projectId, sha);
+        if (cached != null) {
+            return cached;
+        }
+        return fetchCommit(projectId, sha);
+    }
+
+    /**
+     * Issue a GET request for the commit of the given project and SHA, bypassing the {@link #commitCache} but
+     * replacing the commit it holds
+     *
+     * @param projectId the project id
+     * @param sha       the commit hash or the name of a branch or tag
+     * @return the {@link GitlabCommit} of the SHA
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    GitlabCommit fetchCommit(int projectId, String sha) {
+        GitlabCommit commit = get(String.format("/projects/%d/repository/commits/%s", projectId, sha),
+                GitlabCommit.class);
+        cacheCommit(projectId, commit);
+        return commit;
+    }
+
+    /**
+     * Asynchronous version of {@link #getCommit(int, String)}.
+     *
+     * @param projectId the project id
+     * @param sha       the commit hash or the name of a branch or tag
+     * @return a future of the {@link GitlabCommit} of the SHA, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    CompletableFuture<GitlabCommit> getCommitAsync(int projectId, String sha) {
+        GitlabCommit cached = getCachedCommit(projectId, sha);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return getAsync(String.format("/projects/%d/repository/commits/%s", projectId, sha), GitlabCommit.class)
+                .thenApply(commit -> {
+                    cacheCommit(projectId, commit);
+                    return commit;
+                });
+    }
+
+    /**
+     * Returns a copy of the commit of the given project and SHA cached by the {@link #commitCache}
+     *
+     * @param projectId the project id
+     * @param sha       the commit hash or the name of a branch or tag
+     * @return the cached {@link GitlabCommit}, or null if absent
+     */
+    private GitlabCommit getCachedCommit(int projectId, String sha) {
+        if (commitCache == null || !CommitCache.isFullSha(sha)) {
+            return null;
+        }
+        GitlabCommit commit = commitCache.get(projectId, sha);
+        return commit == null ? null : commit.withHttpClient(this);
+    }
+
+    /**
+     * Cache the commit of the given project in the {@link #commitCache} if there is one
+     *
+     * @param projectId the project id
+     * @param commit    the commit fetched from the single commit endpoint
+     */
+    private void cacheCommit(int projectId, GitlabCommit commit) {
+        if (commitCache != null) {
+            commitCache.put(projectId, commit);
+        }
+    }
+
+    /**
+     * Cache the commit of the given project listed or attached to a branch in the {@link #commitCache} if there is
+     * one, unless it already holds the commit
+     *
+     * @param projectId the project id
+     * @param commit    the commit parsed from a list or a branch, which lacks the status
+     */
+    void cachePartialCommit(int projectId, GitlabCommit commit) {
+        if (commitCache != null) {
+            commitCache.putPartial(projectId, commit);
+        }
+    }
+
+    /**
+     * Write the commits cached by the {@link #commitCache} to its file, if it has one
+     *
+     * @throws GitlabException if the file cannot be written
+     */
+    void saveCommitCache() {
+        if (commitCache != null) {
+            commitCache.save(registry.writer(GitlabCommit.class));
+        }
+    }
+
+    /**
+     * Issue GET requests for the projects of the given ids at the same time, one per distinct id.
+     *
+     * @param ids the project ids
+     * @return a future of the {@link GitlabProject}s by id, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    CompletableFuture<Map<Integer, GitlabProject>> getProjectsAsync(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<GitlabProject>> futures = new HashMap<>();
+        for (int id : ids) {
+            futures.computeIfAbsent(id, this::getProjectAsync);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Map<Integer, GitlabProject> projects = new HashMap<>();
+            futures.forEach((id, future) -> projects.put(id, future.join()));
+            return projects;
+        });
+    }
+
+    /**
+     * Wait for the given future, rethrowing its failure as a {@link GitlabException}
+     *
+     * @param future the future to wait for
+     * @param <T>    the type of the result
+     * @return the result of the future
+     * @throws GitlabException if the future completes exceptionally
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GitlabException) {
+                throw (GitlabException) e.getCause();
+            }
+            throw new GitlabException(e.getCause());
+        }
     }
 
     /**
@@ -168,7 +545,23 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T put(String tailUrl, Body body, T component) {
-        return attachHttpClient(update(request(tailUrl, Method.PUT, body), component));
+        return request(tailUrl, Method.PUT, body,
+                response -> attachHttpClient(read(updatingReader(component), response)));
+    }
+
+    /**
+     * Asynchronous version of {@link #put(String, Body, GitlabComponent)}.
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param body      the body of the PUT request
+     * @param component the component to be updated in place
+     * @param <T>       the type
+     * @return a future of the {@code component} after being updated, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> CompletableFuture<T> putAsync(String tailUrl, Body body, T component) {
+        return requestAsync(tailUrl, Method.PUT, body,
+                response -> attachHttpClient(read(updatingReader(component), response)));
     }
 
     /**
@@ -183,7 +576,23 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T post(String tailUrl, Body body, T component) {
-        return attachHttpClient(update(request(tailUrl, Method.POST, body), component));
+        return request(tailUrl, Method.POST, body,
+                response -> attachHttpClient(read(updatingReader(component), response)));
+    }
+
+    /**
+     * Asynchronous version of {@link #post(String, Body, GitlabComponent)}.
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param body      the body of the POST request
+     * @param component the component to be updated in place
+     * @param <T>       the type
+     * @return a future of the {@code component} after being updated, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> CompletableFuture<T> postAsync(String tailUrl, Body body, T component) {
+        return requestAsync(tailUrl, Method.POST, body,
+                response -> attachHttpClient(read(updatingReader(component), response)));
     }
 
     /**
@@ -194,69 +603,537 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     void delete(String tailUrl) {
-        request(tailUrl, Method.DELETE, null);
+        request(tailUrl, Method.DELETE, null, response -> null);
+    }
+
+    /**
+     * Asynchronous version of {@link #delete(String)}.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @return a future which completes when the component is deleted, or completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    CompletableFuture<Void> deleteAsync(String tailUrl) {
+        return requestAsync(tailUrl, Method.DELETE, null, response -> null);
     }
 
     /**
      * Create a list based of {@link GitlabComponent} based on the JSON response, and array type and attach the httpClient
+     * The JSON array is parsed one element at a time as the body streams in, without buffering the entire body.
+     * Null elements are skipped.
      *
-     * @param response the JSON response
+     * @param response the HTTP response
      * @param type     the array type for deserialization
      * @param <T>      the type
      * @return the list of {@link GitlabComponent} with httpClient attached
-     * @throws GitlabException if {@link IOException} occurs
+     * @throws IOException     if the body cannot be read
+     * @throws GitlabException if the body cannot be parsed
      */
-    <T extends GitlabComponent> List<T> createList(String response, Class<T[]> type) {
-        try {
-            T[] array = MAPPER.readValue(response, type);
-            if (array == null) {
+    <T extends GitlabComponent> List<T> createList(Response response, Class<T[]> type) throws IOException {
+        ObjectReader elementReader = reader(type.getComponentType());
+        try (JsonParser parser = registry.getMapper().getFactory().createParser(response.body().byteStream())) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
                 return Collections.emptyList();
             }
-            List<T> instances = Arrays.asList(array);
-            instances.forEach(instance -> instance.withHttpClient(this));
+            if (token != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, type, "Expected a JSON array but got " + token);
+            }
+            List<T> instances = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                T instance = elementReader.readValue(parser);
+                // a null element is skipped, the streams of the queries never hand out null
+                if (instance != null) {
+                    instance.withHttpClient(this);
+                    instances.add(instance);
+                }
+            }
             return instances;
-        } catch (IOException e) {
+        } catch (JsonProcessingException e) {
             throw new GitlabException("Response cannot be parsed", e);
         }
     }
 
     /**
-     * Issue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method the the body data
+     * Build a HTTP request to the Gitlab endpoint from the given tail url, HTTP method the the body data
      *
      * @param tailUrl the tail url of the endpoint
      * @param method  method he HTTP method to be used in this request
      * @param body    the body to be used
-     * @return the JSON response
-     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     * @return the HTTP request
+     * @throws GitlabException if the body cannot be serialized
      */
-    private String request(String tailUrl, Method method, Body body) {
-        Request request;
+    private Request buildRequest(String tailUrl, Method method, Body body) {
         try {
+            ObjectWriter writer = registry.writer(Map.class);
             Request.Builder builder = new Request.Builder()
                     .url(getAPIUrl(tailUrl))
                     .method(method.name(),
                             body == null ?
                                     // send empty body for post and put if no body is provided
                                     method.equals(Method.POST) || method.equals(Method.PUT) ? EMPTY_BODY : null :
-                                    RequestBody.create(MAPPER.writeValueAsString(body.getMap()), JSON));
+                                    RequestBody.create(writer.writeValueAsString(body.getMap()), JSON));
             if (authHeaderName != null) {
                 builder.addHeader(authHeaderName, authHeaderValue);
             }
-            request = builder.build();
+            return builder.build();
         } catch (JsonProcessingException e) {
             // should never happen
             throw new GitlabException("Cannot serialize", e);
         }
-        try (Response response = client.newCall(request).execute()) {
-            String responseBody = response.body().string();
-            if (response.isSuccessful()) {
-                return responseBody;
+    }
+
+    /**
+     * Issue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method the the body data.
+     * The request is paced by the {@link #rateLimiter} and retried according to the {@link #retryPolicy}.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param method  method he HTTP method to be used in this request
+     * @param body    the body to be used
+     * @param handler the handler to convert the successful response
+     * @param <R>     the type of the converted response
+     * @return the converted response
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> R request(String tailUrl, Method method, Body body, ResponseHandler<R> handler) {
+        return request(buildRequest(tailUrl, method, body), method, handler);
+    }
+
+    /**
+     * Issue the HTTP request to the Gitlab endpoint.
+     * The request is paced by the {@link #rateLimiter} and retried according to the {@link #retryPolicy}.
+     *
+     * @param request the HTTP request
+     * @param method  the HTTP method of the request
+     * @param handler the handler to convert the successful response
+     * @param <R>     the type of the converted response
+     * @return the converted response
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> R request(Request request, Method method, ResponseHandler<R> handler) {
+        RetryPolicy.Backoff backoff = retryPolicy.newBackoff(method.isIdempotent());
+        while (true) {
+            long delay;
+            rateLimiter.acquire();
+            try (Response response = client.newCall(request).execute()) {
+                rateLimiter.update(response);
+                delay = response.isSuccessful() ? -1
+                        : backoff.nextDelay(response.code(), response.header("Retry-After"));
+                if (delay < 0) {
+                    return handle(response, handler);
+                }
+            } catch (IOException e) {
+                delay = backoff.nextDelay(e);
+                if (delay < 0) {
+                    throw new GitlabException(e);
+                }
+            }
+            countRetry(method, request);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitlabException(e);
             }
+        }
+    }
+
+    /**
+     * Enqueue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method the the body
+     * data. The calling thread is not blocked; the response is converted by the {@link #executor} once it arrives.
+     * The request is paced by the {@link #rateLimiter} and retried according to the {@link #retryPolicy}
+     * without blocking any thread while waiting.
+     * Cancelling the returned future cancels the underlying call.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param method  method he HTTP method to be used in this request
+     * @param body    the body to be used
+     * @param handler the handler to convert the successful response
+     * @param <R>     the type of the converted response
+     * @return a future of the converted response, which completes exceptionally with {@link GitlabException}
+     * if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> CompletableFuture<R> requestAsync(String tailUrl, Method method, Body body,
+                                                  ResponseHandler<R> handler) {
+        Request request;
+        try {
+            request = buildRequest(tailUrl, method, body);
+        } catch (GitlabException e) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return requestAsync(request, method, handler);
+    }
+
+    /**
+     * Enqueue the HTTP request to the Gitlab endpoint. The calling thread is not blocked; the response is
+     * converted by the {@link #executor} once it arrives. The request is paced by the {@link #rateLimiter} and
+     * retried according to the {@link #retryPolicy} without blocking any thread while waiting.
+     * Cancelling the returned future cancels the underlying call.
+     *
+     * @param request the HTTP request
+     * @param method  the HTTP method of the request
+     * @param handler the handler to convert the successful response
+     * @param <R>     the type of the converted response
+     * @return a future of the converted response, which completes exceptionally with {@link GitlabException}
+     * if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> CompletableFuture<R> requestAsync(Request request, Method method, ResponseHandler<R> handler) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        AtomicReference<Call> call = new AtomicReference<>();
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled() && call.get() != null) {
+                call.get().cancel();
+            }
+        });
+        enqueue(request, method, retryPolicy.newBackoff(method.isIdempotent()), call, handler, future);
+        return future;
+    }
+
+    /**
+     * Enqueue one attempt of an asynchronous request once the {@link #rateLimiter} permits.
+     *
+     * @param request the HTTP request
+     * @param method  the HTTP method of the request
+     * @param backoff the retries of the request so far
+     * @param call    the call of the current attempt, to be cancelled with the future
+     * @param handler the handler to convert the successful response
+     * @param future  the future of the converted response
+     * @param <R>     the type of the converted response
+     */
+    private <R> void enqueue(Request request, Method method, RetryPolicy.Backoff backoff, AtomicReference<Call> call,
+                             ResponseHandler<R> handler, CompletableFuture<R> future) {
+        if (future.isDone()) {
+            return;
+        }
+        rateLimiter.acquireAsync().thenRun(() -> send(request, method, backoff, call, handler, future));
+    }
+
+    /**
+     * Send one attempt of an asynchronous request, and schedule another attempt if it fails and can be retried.
+     *
+     * @param request the HTTP request
+     * @param method  the HTTP method of the request
+     * @param backoff the retries of the request so far
+     * @param call    the call of the current attempt, to be cancelled with the future
+     * @param handler the handler to convert the successful response
+     * @param future  the future of the converted response
+     * @param <R>     the type of the converted response
+     */
+    private <R> void send(Request request, Method method, RetryPolicy.Backoff backoff, AtomicReference<Call> call,
+                          ResponseHandler<R> handler, CompletableFuture<R> future) {
+        Call attempt = client.newCall(request);
+        call.set(attempt);
+        if (future.isDone()) {
+            // cancelled while waiting for the retry
+            return;
+        }
+        attempt.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call c, IOException e) {
+                long delay = future.isDone() ? -1 : backoff.nextDelay(e);
+                if (delay < 0 || !retry(delay, () -> enqueue(request, method, backoff, call, handler, future))) {
+                    future.completeExceptionally(new GitlabException(e));
+                }
+            }
+
+            @Override
+            public void onResponse(Call c, Response response) {
+                rateLimiter.update(response);
+                if (!response.isSuccessful()) {
+                    long delay = backoff.nextDelay(response.code(), response.header("Retry-After"));
+                    if (delay >= 0 && retry(delay, () -> enqueue(request, method, backoff, call, handler, future))) {
+                        response.close();
+                        return;
+                    }
+                }
+                try {
+                    executor.execute(() -> {
+                        try (Response r = response) {
+                            future.complete(handle(r, handler));
+                        } catch (IOException e) {
+                            future.completeExceptionally(new GitlabException(e));
+                        } catch (RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    response.close();
+                    future.completeExceptionally(new GitlabException(e));
+                }
+            }
+
+            /**
+             * Schedule the retry of the request after the delay.
+             *
+             * @param delay the delay in milliseconds
+             * @param retry the retry
+             * @return true if the retry is scheduled
+             */
+            private boolean retry(long delay, Runnable retry) {
+                try {
+                    SCHEDULER.schedule(retry, delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    return false;
+                }
+                countRetry(method, request);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Issue a GET request to the Gitlab endpoint, revalidating the response cached by the {@link #responseCache}
+     * if any. A copy of the cached response is returned when it has not been modified. The request is coalesced
+     * with an identical one in flight by the {@link #singleFlight} if any. Both are keyed by the url together with
+     * the type of the result, so that a url read both as a single component and as a page never mixes them up.
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param handler the handler to convert the successful response
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return the converted response
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> R requestCached(String tailUrl, Class<?> type, ResponseHandler<R> handler, UnaryOperator<R> copier) {
+        if (singleFlight != null) {
+            return singleFlight.execute(key(getAPIUrl(tailUrl), type), () -> revalidate(tailUrl, type, handler, copier),
+                    copier);
+        }
+        return revalidate(tailUrl, type, handler, copier);
+    }
+
+    /**
+     * Issue a GET request to the Gitlab endpoint, revalidating the response cached by the {@link #responseCache}
+     * if any, without coalescing it with identical requests in flight.
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param handler the handler to convert the successful response
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return the converted response
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> R revalidate(String tailUrl, Class<?> type, ResponseHandler<R> handler, UnaryOperator<R> copier) {
+        if (responseCache == null) {
+            return request(tailUrl, Method.GET, null, handler);
+        }
+        String url = getAPIUrl(tailUrl);
+        String key = key(url, type);
+        ResponseCache.Entry cached = responseCache.get(key);
+        return request(buildConditionalRequest(url, cached), Method.GET, cachingHandler(key, cached, handler, copier));
+    }
+
+    /**
+     * Asynchronous version of {@link #requestCached(String, Class, ResponseHandler, UnaryOperator)}.
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param handler the handler to convert the successful response
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return a future of the converted response, which completes exceptionally with {@link GitlabException}
+     * if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> CompletableFuture<R> requestCachedAsync(String tailUrl, Class<?> type, ResponseHandler<R> handler,
+                                                        UnaryOperator<R> copier) {
+        if (singleFlight != null) {
+            String url;
+            try {
+                url = getAPIUrl(tailUrl);
+            } catch (GitlabException e) {
+                CompletableFuture<R> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+            return singleFlight.executeAsync(key(url, type), () -> revalidateAsync(tailUrl, type, handler, copier),
+                    copier);
+        }
+        return revalidateAsync(tailUrl, type, handler, copier);
+    }
+
+    /**
+     * Asynchronous version of {@link #revalidate(String, Class, ResponseHandler, UnaryOperator)}.
+     *
+     * @param tailUrl the tail url or the entire API url of the endpoint
+     * @param type    the class of the expected result
+     * @param handler the handler to convert the successful response
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return a future of the converted response, which completes exceptionally with {@link GitlabException}
+     * if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> CompletableFuture<R> revalidateAsync(String tailUrl, Class<?> type, ResponseHandler<R> handler,
+                                                     UnaryOperator<R> copier) {
+        if (responseCache == null) {
+            return requestAsync(tailUrl, Method.GET, null, handler);
+        }
+        String key;
+        Request request;
+        ResponseCache.Entry cached;
+        try {
+            String url = getAPIUrl(tailUrl);
+            key = key(url, type);
+            cached = responseCache.get(key);
+            request = buildConditionalRequest(url, cached);
+        } catch (GitlabException e) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return requestAsync(request, Method.GET, cachingHandler(key, cached, handler, copier));
+    }
+
+    /**
+     * Build a GET request to the entire API url, with the ETag of the cached response as If-None-Match if any
+     *
+     * @param url    the entire API url
+     * @param cached the cached response of the url and the expected type, or null if absent
+     * @return the HTTP request
+     */
+    private Request buildConditionalRequest(String url, ResponseCache.Entry cached) {
+        Request request = buildRequest(url, Method.GET, null);
+        if (cached == null) {
+            return request;
+        }
+        return request.newBuilder().header("If-None-Match", cached.getETag()).build();
+    }
+
+    /**
+     * Wrap the handler to return a copy of the cached response on 304 Not Modified, and to cache the converted
+     * response if it has an ETag.
+     *
+     * @param key     the key of the url and the type of the result
+     * @param cached  the cached response of the key, or null if absent
+     * @param handler the handler to convert the successful response
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return the caching handler
+     */
+    @SuppressWarnings("unchecked")
+    private <R> ResponseHandler<R> cachingHandler(String key, ResponseCache.Entry cached, ResponseHandler<R> handler,
+                                                  UnaryOperator<R> copier) {
+        return response -> {
+            if (response.code() == HTTP_NOT_MODIFIED && cached != null) {
+                return copier.apply((R) cached.getValue());
+            }
+            R value = handler.handle(response);
+            String etag = response.header("ETag");
+            if (etag == null) {
+                return value;
+            }
+            responseCache.put(key, etag, value);
+            return copier.apply(value);
+        };
+    }
+
+    /**
+     * Returns the key of the response cache and the coalesced requests, so that the result of a url is only
+     * shared with callers expecting the same type.
+     *
+     * @param url  the entire API url
+     * @param type the class of the expected result
+     * @return the key of the url and the type
+     */
+    private static String key(String url, Class<?> type) {
+        return type.getName() + " " + url;
+    }
+
+    /**
+     * Returns a copy of the component
+     *
+     * @param component the component to be copied
+     * @param <T>       the type of the component
+     * @return the copy of the component
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends GitlabComponent> T copy(T component) {
+        return (T) component.copy();
+    }
+
+    /**
+     * Count a retry of the endpoint of the request, where numeric path segments are replaced by {@code :id}.
+     *
+     * @param method  the HTTP method of the request
+     * @param request the HTTP request
+     */
+    private void countRetry(Method method, Request request) {
+        String path = request.url().encodedPath();
+        if (path.startsWith(apiNamespace)) {
+            path = path.substring(apiNamespace.length());
+        }
+        String endpoint = method.name() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/:id");
+        retryCounts.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the number of GET requests served by an identical request in flight so far.
+     *
+     * @return the number of coalesced requests, or 0 if requests are not coalesced
+     */
+    long getCoalescedCount() {
+        return singleFlight == null ? 0 : singleFlight.getCoalescedCount();
+    }
+
+    /**
+     * Returns the number of retries so far per endpoint.
+     *
+     * @return a snapshot of the number of retries per endpoint
+     */
+    Map<String, Long> getRetryCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        retryCounts.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Convert the response with the given handler if it is successful
+     *
+     * @param response the HTTP response
+     * @param handler  the handler to convert the successful response
+     * @param <R>      the type of the converted response
+     * @return the converted response
+     * @throws IOException     if the response cannot be read
+     * @throws GitlabException if the response code is not in [200,400)
+     */
+    private static <R> R handle(Response response, ResponseHandler<R> handler) throws IOException {
+        if (!response.isSuccessful() && response.code() != HTTP_NOT_MODIFIED) {
             throw new GitlabException(String
-                    .format("Response code %d: %s\n%s", response.code(), response.message(), responseBody));
-        } catch (IOException e) {
-            throw new GitlabException(e);
+                    .format("Response code %d: %s\n%s", response.code(), response.message(), readBody(response)));
         }
+        return handler.handle(response);
+    }
+
+    /**
+     * Read the entire body of the response as a String, which is only needed for the error message of a failed
+     * response
+     *
+     * @param response the HTTP response
+     * @return the JSON response
+     * @throws IOException if the body cannot be read
+     */
+    private static String readBody(Response response) throws IOException {
+        return response.body().string();
+    }
+
+    /**
+     * Converts a successful HTTP response to the expected result
+     *
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    private interface ResponseHandler<R> {
+        /**
+         * Convert the response
+         *
+         * @param response the successful HTTP response
+         * @return the converted result
+         * @throws IOException if the response cannot be read
+         */
+        R handle(Response response) throws IOException;
     }
 
     /**
@@ -264,6 +1141,15 @@ class HttpClient {
      */
     private enum Method {
         GET, PUT, POST, DELETE;
+
+        /**
+         * Tests if the request can be safely repeated
+         *
+         * @return true if the method is idempotent
+         */
+        boolean isIdempotent() {
+            return this != POST;
+        }
     }
 
 }
\ No newline at end of file
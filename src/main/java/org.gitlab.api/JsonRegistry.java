@@ -0,0 +1,177 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class holds the Jackson mapper of the library together with an
+ * {@link ObjectReader} and an {@link ObjectWriter} per type, so that the type
+ * metadata and the (de)serializers are looked up once per type instead of once
+ * per response. Readers for updating a component in place are derived from
+ * the reader of its type, which keeps the deserializer already resolved.
+ *
+ * Both registries bind the components with the streaming codecs generated at
+ * compile time for the classes annotated with {@link StreamingCodec}. The
+ * {@link #accelerated()} registry additionally registers a module generating
+ * bytecode accessors if one is on the classpath, i.e. Blackbird on Java 11+
+ * or Afterburner, for any other type bound through reflection. Neither module
+ * is a dependency of this library.
+ */
+final class JsonRegistry {
+    /**
+     * The registry binding any type other than the components through reflection.
+     */
+    static final JsonRegistry DEFAULT = new JsonRegistry(null);
+    /**
+     * The class names of the modules generating bytecode accessors, in order of preference.
+     */
+    private static final List<String> ACCESSOR_MODULES = Arrays.asList(
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule");
+    /**
+     * The component types to be warmed up, and their array types.
+     */
+    private static final List<Class<?>> COMPONENT_TYPES = Arrays.asList(
+            GitlabUser.class, GitlabProject.class, GitlabIssue.class, GitlabMergeRequest.class,
+            GitlabBranch.class, GitlabCommit.class);
+    /**
+     * The Jackson mapper.
+     */
+    private final ObjectMapper mapper;
+    /**
+     * The readers by type.
+     */
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    /**
+     * The writers by type.
+     */
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    /**
+     * Whether all the component types have been warmed up.
+     */
+    private volatile boolean warmedUp;
+
+    /**
+     * Constructs the {@code JsonRegistry} with an optional module.
+     *
+     * @param module the module generating bytecode accessors, or null
+     */
+    private JsonRegistry(Module module) {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new ComponentCodecs())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (module != null) {
+            mapper.registerModule(module);
+        }
+    }
+
+    /**
+     * Returns the registry generating bytecode accessors if a module for them is on the classpath.
+     *
+     * @return the accelerated registry, or {@link #DEFAULT} if no such module is found
+     */
+    static JsonRegistry accelerated() {
+        return Accelerated.INSTANCE;
+    }
+
+    /**
+     * Returns the Jackson mapper, e.g. to create parsers.
+     *
+     * @return the Jackson mapper
+     */
+    ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns the reader of the given type.
+     *
+     * @param type the type to be read
+     * @return the cached reader of the type
+     */
+    ObjectReader reader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        return reader != null ? reader : readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Returns the reader updating the given object in place.
+     *
+     * @param object the object to be updated
+     * @return the reader updating the object
+     */
+    ObjectReader updatingReader(Object object) {
+        return reader(object.getClass()).withValueToUpdate(object);
+    }
+
+    /**
+     * Returns the writer of the given type.
+     *
+     * @param type the type to be written
+     * @return the cached writer of the type
+     */
+    ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        return writer != null ? writer : writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * Resolves the readers and writers of all the components and their arrays
+     * ahead of the first response, which only happens once per registry.
+     */
+    void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+        for (Class<?> type : COMPONENT_TYPES) {
+            reader(type);
+            reader(Array.newInstance(type, 0).getClass());
+            writer(type);
+        }
+        warmedUp = true;
+    }
+
+    /**
+     * Returns the first module generating bytecode accessors found on the classpath.
+     * Blackbird is only tried on Java 11+, where it replaces Afterburner.
+     *
+     * @return the module, or null if none is found
+     */
+    private static Module findAccessorModule() {
+        boolean java8 = System.getProperty("java.specification.version").startsWith("1.");
+        for (String className : ACCESSOR_MODULES) {
+            if (java8 && className.contains("blackbird")) {
+                continue;
+            }
+            try {
+                return (Module) Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // try the next one
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This class creates the accelerated registry on first use.
+     */
+    private static final class Accelerated {
+        private static final JsonRegistry INSTANCE;
+
+        static {
+            Module module = findAccessorModule();
+            INSTANCE = module == null ? DEFAULT : new JsonRegistry(module);
+        }
+    }
+}
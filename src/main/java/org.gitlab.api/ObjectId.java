@@ -0,0 +1,277 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class holds a commit hash compactly. A SHA-1 hash in its usual form of
+ * 40 lowercase hex digits is kept as its 20 bytes in two longs and an int,
+ * with the hash code computed once, instead of as a 40 character string. Any
+ * other form, e.g. a SHA-256 hash, is kept as the text itself.
+ *
+ * The text is formatted again on each call of {@link #name()}, so callers
+ * holding many ids should keep the {@code ObjectId}s rather than the names.
+ * Equality and ordering compare the bytes without formatting.
+ */
+final class ObjectId implements Comparable<ObjectId> {
+    /**
+     * The number of hex digits of a SHA-1 hash.
+     */
+    private static final int SHA1_LENGTH = 40;
+    /**
+     * The lowercase hex digits.
+     */
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Bytes 0-7 of the SHA-1 hash.
+     */
+    private final long w1;
+    /**
+     * Bytes 8-15 of the SHA-1 hash.
+     */
+    private final long w2;
+    /**
+     * Bytes 16-19 of the SHA-1 hash.
+     */
+    private final int w3;
+    /**
+     * The hash code.
+     */
+    private final int hash;
+    /**
+     * The hash if it is not a SHA-1 hash in lowercase hex, or null.
+     */
+    private final String text;
+
+    private ObjectId(long w1, long w2, int w3) {
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+        // the bytes of a hash are uniformly distributed already
+        this.hash = (int) (w1 >>> 32);
+        this.text = null;
+    }
+
+    private ObjectId(String text) {
+        this.w1 = 0;
+        this.w2 = 0;
+        this.w3 = 0;
+        this.hash = text.hashCode();
+        this.text = text;
+    }
+
+    /**
+     * Returns the {@code ObjectId} of the given commit hash.
+     *
+     * @param name the commit hash, or null
+     * @return the {@code ObjectId}, or null if name is null
+     */
+    static ObjectId of(String name) {
+        if (name == null) {
+            return null;
+        }
+        ObjectId id = parse(name, 0, name.length());
+        return id != null ? id : new ObjectId(name);
+    }
+
+    /**
+     * Returns the {@code ObjectId} of the commit hash in the given characters.
+     *
+     * @param chars  the characters
+     * @param offset the offset of the hash
+     * @param length the length of the hash
+     * @return the {@code ObjectId}
+     */
+    static ObjectId of(char[] chars, int offset, int length) {
+        ObjectId id = parse(chars, offset, length);
+        return id != null ? id : new ObjectId(new String(chars, offset, length));
+    }
+
+    /**
+     * Returns the commit hashes of the given ids as strings.
+     *
+     * @param ids the ids, or null
+     * @return a new list of the ids as strings, or null if ids is null
+     */
+    static List<String> names(List<ObjectId> ids) {
+        if (ids == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(ids.size());
+        for (ObjectId id : ids) {
+            names.add(id == null ? null : id.name());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the commit hash of this id.
+     *
+     * @return the commit hash in lowercase hex, or as it was given if it is not a SHA-1 hash
+     */
+    String name() {
+        if (text != null) {
+            return text;
+        }
+        char[] chars = new char[SHA1_LENGTH];
+        format(w1, chars, 0, 16);
+        format(w2, chars, 16, 16);
+        format(w3, chars, 32, 8);
+        return new String(chars);
+    }
+
+    /**
+     * Tests if this id is held in its compact form.
+     *
+     * @return true if the hash is a SHA-1 hash in lowercase hex
+     */
+    boolean isCompact() {
+        return text == null;
+    }
+
+    /**
+     * Returns the hash code of this id.
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Compares the specified {@code Object} with this id for equality.
+     *
+     * @param o object to be compared for equality with this id
+     * @return true if the specified Object is the same commit hash
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ObjectId)) {
+            return false;
+        }
+        ObjectId id = (ObjectId) o;
+        if (text != null || id.text != null) {
+            return text != null && text.equals(id.text);
+        }
+        return w1 == id.w1 && w2 == id.w2 && w3 == id.w3;
+    }
+
+    /**
+     * Compares this id with the specified id for order, i.e. the order of their commit hashes.
+     * Compact ids come before the others.
+     *
+     * @param id the id to be compared
+     * @return a negative integer, zero, or a positive integer as this id is less than, equal to,
+     * or greater than the specified id
+     */
+    @Override
+    public int compareTo(ObjectId id) {
+        if (text != null || id.text != null) {
+            if (text == null) {
+                return -1;
+            }
+            return id.text == null ? 1 : text.compareTo(id.text);
+        }
+        int c = Long.compareUnsigned(w1, id.w1);
+        if (c == 0) {
+            c = Long.compareUnsigned(w2, id.w2);
+        }
+        return c != 0 ? c : Integer.compareUnsigned(w3, id.w3);
+    }
+
+    /**
+     * Returns the commit hash of this id.
+     *
+     * @return the commit hash
+     */
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    /**
+     * Parses a SHA-1 hash in lowercase hex.
+     *
+     * @return the compact {@code ObjectId}, or null if the characters are not such a hash
+     */
+    private static ObjectId parse(CharSequence chars, int offset, int length) {
+        if (length != SHA1_LENGTH) {
+            return null;
+        }
+        long w1 = 0;
+        long w2 = 0;
+        int w3 = 0;
+        for (int i = 0; i < SHA1_LENGTH; i++) {
+            int digit = digit(chars.charAt(offset + i));
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 16) {
+                w1 = w1 << 4 | digit;
+            } else if (i < 32) {
+                w2 = w2 << 4 | digit;
+            } else {
+                w3 = w3 << 4 | digit;
+            }
+        }
+        return new ObjectId(w1, w2, w3);
+    }
+
+    /**
+     * Parses a SHA-1 hash in lowercase hex, reading the characters in place.
+     *
+     * @return the compact {@code ObjectId}, or null if the characters are not such a hash
+     */
+    private static ObjectId parse(char[] chars, int offset, int length) {
+        return parse(CharBuffer.wrap(chars), offset, length);
+    }
+
+    /**
+     * Returns the value of a lowercase hex digit, or -1.
+     */
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the given number of the low hex digits of a value.
+     */
+    private static void format(long value, char[] chars, int offset, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = DIGITS[(int) value & 0xf];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * This class deserializes a commit hash, without creating a string for a SHA-1 hash.
+     */
+    static class Deserializer extends JsonDeserializer<ObjectId> {
+        @Override
+        public ObjectId deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                return of(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            String name = parser.getValueAsString();
+            return name != null ? of(name) : (ObjectId) context.handleUnexpectedToken(ObjectId.class, parser);
+        }
+    }
+}
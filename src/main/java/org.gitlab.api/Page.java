@@ -0,0 +1,156 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class represents one page of a paginated Gitlab API response, with the
+ * pagination information found in the response headers.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/api/#pagination
+ *
+ * @param <T> the type of the {@link GitlabComponent}s in this page
+ */
+final class Page<T extends GitlabComponent> {
+    /**
+     * The pattern of the next link in the Link header,
+     * e.g. {@code <https://gitlab.com/api/v4/projects?page=2>; rel="next"}
+     */
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"next\"");
+    /**
+     * The components in this page.
+     */
+    private final List<T> items;
+    /**
+     * The absolute url of the next page from the Link header, or null if absent.
+     */
+    private final String nextLink;
+    /**
+     * The number of the next page from the X-Next-Page header, or 0 if absent.
+     */
+    private final int nextPage;
+    /**
+     * The number of total pages from the X-Total-Pages header, or -1 if absent.
+     */
+    private final int totalPages;
+
+    /**
+     * Constructs the {@code Page} from the items and the response they were parsed from.
+     *
+     * @param items    the components in this page
+     * @param response the response of this page
+     */
+    Page(List<T> items, Response response) {
+        this.items = items;
+        this.nextLink = parseNextLink(response.header("Link"));
+        this.nextPage = parseInt(response.header("X-Next-Page"), 0);
+        this.totalPages = parseInt(response.header("X-Total-Pages"), -1);
+    }
+
+    /**
+     * Constructs the {@code Page} from the items and the pagination information of another page.
+     *
+     * @param items the components in this page
+     * @param page  the page to take the pagination information from
+     */
+    private Page(List<T> items, Page<T> page) {
+        this.items = items;
+        this.nextLink = page.nextLink;
+        this.nextPage = page.nextPage;
+        this.totalPages = page.totalPages;
+    }
+
+    /**
+     * Returns a copy of this page with copies of the components.
+     *
+     * @return the copy of this page
+     */
+    @SuppressWarnings("unchecked")
+    Page<T> copy() {
+        List<T> copies = new ArrayList<>(items.size());
+        items.forEach(item -> copies.add((T) item.copy()));
+        return new Page<>(copies, this);
+    }
+
+    /**
+     * Returns the components in this page.
+     *
+     * @return the components in this page
+     */
+    List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the absolute url of the next page from the Link header.
+     *
+     * @return the url of the next page, or null if absent
+     */
+    String getNextLink() {
+        return nextLink;
+    }
+
+    /**
+     * Returns the number of the next page from the X-Next-Page header.
+     *
+     * @return the number of the next page, or 0 if absent
+     */
+    int getNextPage() {
+        return nextPage;
+    }
+
+    /**
+     * Returns the number of total pages from the X-Total-Pages header. Gitlab
+     * omits this header for large collections.
+     *
+     * @return the number of total pages, or -1 if absent
+     */
+    int getTotalPages() {
+        return totalPages;
+    }
+
+    /**
+     * Tests if there is a page after this one.
+     *
+     * @return true if there is a page after this one
+     */
+    boolean hasNext() {
+        return nextLink != null || nextPage > 0;
+    }
+
+    /**
+     * Extract the url with rel="next" from a Link header.
+     *
+     * @param link the Link header
+     * @return the url of the next page, or null if absent
+     */
+    private static String parseNextLink(String link) {
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK.matcher(link);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Parse a numeric header value.
+     *
+     * @param value        the header value
+     * @param defaultValue the value if the header is absent or blank
+     * @return the parsed value
+     */
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
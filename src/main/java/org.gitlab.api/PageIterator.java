@@ -0,0 +1,182 @@
+package org.gitlab.api;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * This class iterates over all the components matching a {@link GitlabQuery}
+ * by following the pagination headers of the responses.
+ *
+ * By default, the next page is only requested when the current page has been
+ * consumed. With a concurrency greater than 1, once the first page reports the
+ * number of total pages, up to that many of the following pages are requested
+ * at the same time and handed out in order as soon as the next one in sequence
+ * is ready. The requests of the pages being fetched are cancelled when this
+ * iterator is closed.
+ *
+ * @param <T> the type of the {@link GitlabComponent}s to iterate over
+ */
+final class PageIterator<T extends GitlabComponent> implements Iterator<T>, AutoCloseable {
+    /**
+     * The query to iterate over.
+     */
+    private final GitlabQuery<T> query;
+    /**
+     * The maximum number of pages being fetched at the same time.
+     */
+    private final int concurrency;
+    /**
+     * The requests of the pages being fetched, in page order.
+     */
+    private final Deque<CompletableFuture<Page<T>>> pending = new ConcurrentLinkedDeque<>();
+    /**
+     * The components of the current page that are not consumed yet.
+     */
+    private Iterator<T> current = Collections.emptyIterator();
+    /**
+     * The url of the next page to be fetched when pages are fetched one by one,
+     * or null if there is no more page.
+     */
+    private String nextUrl;
+    /**
+     * The number of the next page to be requested when pages are fetched concurrently.
+     */
+    private int nextPage;
+    /**
+     * The number of the last page when pages are fetched concurrently, or 0 if
+     * pages are fetched one by one.
+     */
+    private int lastPage;
+    /**
+     * Whether this iterator has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs the {@code PageIterator} starting from the page of the query's
+     * pagination, which fetches pages one by one.
+     *
+     * @param query the query to iterate over
+     */
+    PageIterator(GitlabQuery<T> query) {
+        this(query, 1);
+    }
+
+    /**
+     * Constructs the {@code PageIterator} starting from the page of the query's
+     * pagination, which fetches up to {@code concurrency} pages at the same time.
+     *
+     * @param query       the query to iterate over
+     * @param concurrency the maximum number of pages being fetched at the same time
+     */
+    PageIterator(GitlabQuery<T> query, int concurrency) {
+        this.query = query;
+        this.concurrency = concurrency;
+        this.nextUrl = query.getEntireUrl();
+    }
+
+    /**
+     * Tests if there are more components, waiting for the next page if the current one has been consumed.
+     *
+     * @return true if there are more components
+     * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+     */
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (pending.isEmpty()) {
+                if (nextUrl == null) {
+                    return false;
+                }
+                request(nextUrl);
+                nextUrl = null;
+            }
+            Page<T> page = await(pending.peekFirst());
+            pending.pollFirst();
+            if (page == null) {
+                return false;
+            }
+            await(query.bindAll(page.getItems()));
+            current = page.getItems().iterator();
+            if (lastPage == 0 && concurrency > 1 && page.getTotalPages() > 0 && page.getNextPage() > 0) {
+                // the remaining pages do not depend on each other from now on
+                nextPage = page.getNextPage();
+                lastPage = page.getTotalPages();
+            }
+            if (lastPage > 0) {
+                while (pending.size() < concurrency && nextPage <= lastPage) {
+                    request(query.getEntireUrl(nextPage++));
+                }
+            } else {
+                nextUrl = query.getNextUrl(page);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the next component.
+     *
+     * @return the next component
+     * @throws NoSuchElementException if there are no more components
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Closes this iterator and cancels the requests of the pages being fetched, if any.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pending.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * Request the page of the given url.
+     *
+     * @param url the url of the page
+     */
+    private void request(String url) {
+        CompletableFuture<Page<T>> future = query.getHttpClient().getPageAsync(url, query.getType());
+        pending.addLast(future);
+        if (closed) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Wait for the given page, or for its components to be bound.
+     *
+     * @param future the request of the page
+     * @param <R>    the type of the result
+     * @return the result, or null if the request has been cancelled
+     */
+    private <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            return null;
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof GitlabException) {
+                throw (GitlabException) e.getCause();
+            }
+            throw new GitlabException(e.getCause());
+        }
+    }
+}
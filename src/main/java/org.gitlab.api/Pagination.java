@@ -4,6 +4,12 @@ package org.gitlab.api;
  * This is the class that represents a pagination with page number and page
  * size.
  *
+ * Besides the offset-based pagination of {@link #of(int, int)}, Gitlab
+ * supports keyset-based pagination for some resources (e.g. projects ordered
+ * by id), see {@link #keyset(String, int)}. With keyset pagination, the
+ * following pages are requested through the cursor in the Link header, so
+ * each page costs the same no matter how deep it is.
+ *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/#pagination
  */
 public final class Pagination {
@@ -27,6 +33,15 @@ public final class Pagination {
      * The results per pages to be retrieved.
      */
     private final int pageSize;
+    /**
+     * Whether this is a keyset-based pagination.
+     */
+    private final boolean keyset;
+    /**
+     * The attribute to order the results by in keyset-based pagination, or
+     * null to keep the order of the query.
+     */
+    private final String orderBy;
 
     /**
      * Constructs the {@code Pagination} with page number and size.
@@ -35,8 +50,22 @@ public final class Pagination {
      * @param pageSize   the results per pages to be retrieved
      */
     private Pagination(int pageNumber, int pageSize) {
+        this(pageNumber, pageSize, false, null);
+    }
+
+    /**
+     * Constructs the {@code Pagination} with page number, size and keyset ordering.
+     *
+     * @param pageNumber the page number to be retrieved
+     * @param pageSize   the results per pages to be retrieved
+     * @param keyset     whether this is a keyset-based pagination
+     * @param orderBy    the attribute to order the results by in keyset-based pagination
+     */
+    private Pagination(int pageNumber, int pageSize, boolean keyset, String orderBy) {
         this.pageNumber = pageNumber;
         this.pageSize = pageSize;
+        this.keyset = keyset;
+        this.orderBy = orderBy;
     }
 
     /**
@@ -66,6 +95,26 @@ public final class Pagination {
         return new Pagination(pageNumber, pageSize);
     }
 
+    /**
+     * Returns keyset-based {@code Pagination} with specified ordering and items
+     * per page, which starts from the first page.
+     *
+     * Only some resources and orderings support keyset-based pagination, e.g.
+     * projects ordered by {@code id}. See
+     * https://docs.gitlab.com/ee/api/#supported-resources
+     *
+     * @param orderBy  the attribute to order the results by, e.g. id, or null to keep the order of the query
+     * @param pageSize items per page (can be any integer between 1 and 100, both inclusive)
+     * @return a keyset-based {@code Pagination} object
+     * @throws IllegalArgumentException if specified page size out of valid range
+     */
+    public static Pagination keyset(String orderBy, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("cannot have non-positive page size or greater than " + MAX_PAGE_SIZE);
+        }
+        return new Pagination(1, pageSize, true, orderBy);
+    }
+
     /**
      * Returns page number of this {@code Pagination}.
      *
@@ -83,4 +132,23 @@ public final class Pagination {
     public int getPageSize() {
         return pageSize;
     }
+
+    /**
+     * Tests if this {@code Pagination} is keyset-based.
+     *
+     * @return true if this {@code Pagination} is keyset-based
+     */
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Returns the attribute to order the results by in keyset-based
+     * pagination.
+     *
+     * @return the attribute to order the results by, or null to keep the order of the query
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package org.gitlab.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * This class caches the projects fetched by id, so that the issues and merge
+ * requests of the same project share one request to {@code /projects/:id}
+ * instead of one per component. A project is cached from the moment it is
+ * requested, so concurrent lookups of the same id wait for the same request.
+ * Entries expire once they are older than the time to live, and the least
+ * recently used projects are evicted once the maximum number of entries is
+ * reached. Failed requests are not cached.
+ *
+ * The cached projects are never handed out directly; callers receive copies.
+ */
+final class ProjectCache {
+    /**
+     * The cached projects in access order.
+     */
+    private final Map<Integer, Entry> entries;
+    /**
+     * The time to live of the entries in nanoseconds.
+     */
+    private final long timeToLive;
+
+    /**
+     * Constructs the {@code ProjectCache} with the maximum number of entries and their time to live.
+     *
+     * @param maxEntries the maximum number of cached projects
+     * @param timeToLive the time to live of the cached projects in milliseconds
+     */
+    ProjectCache(int maxEntries, long timeToLive) {
+        this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+        entries = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached project of the id, or loads it if it is absent or expired.
+     *
+     * @param id     the project id
+     * @param loader the function requesting the project of an id
+     * @return a future of the cached project
+     */
+    synchronized CompletableFuture<GitlabProject> get(int id, IntFunction<CompletableFuture<GitlabProject>> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(id);
+        if (entry == null || now - entry.loadedAt > timeToLive) {
+            Entry loading = new Entry(loader.apply(id), now);
+            entries.put(id, loading);
+            loading.project.whenComplete((project, e) -> {
+                if (e != null) {
+                    remove(id, loading);
+                }
+            });
+            return loading.project;
+        }
+        return entry.project;
+    }
+
+    /**
+     * Removes the entry of the id if it is still the given one.
+     *
+     * @param id    the project id
+     * @param entry the entry to be removed
+     */
+    private synchronized void remove(int id, Entry entry) {
+        entries.remove(id, entry);
+    }
+
+    /**
+     * This class represents a cached project.
+     */
+    private static final class Entry {
+        /**
+         * The request of the project.
+         */
+        private final CompletableFuture<GitlabProject> project;
+        /**
+         * The time of the request in nanoseconds.
+         */
+        private final long loadedAt;
+
+        /**
+         * Constructs the {@code Entry}.
+         *
+         * @param project  the request of the project
+         * @param loadedAt the time of the request in nanoseconds
+         */
+        private Entry(CompletableFuture<GitlabProject> project, long loadedAt) {
+            this.project = project;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class paces the requests to Gitlab API with a token bucket driven by the
+ * rate limit headers of the responses, so that the requests slow down smoothly
+ * before the quota runs out instead of all being rejected with 429 at once.
+ *
+ * Each response with {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} headers refills the bucket at the rate that spreads
+ * the remaining requests evenly until the reset, and allows a burst of a tenth
+ * of the limit. Until such a response is received, or once the reset time has
+ * passed, requests are not paced at all.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/user/admin_area/settings/user_and_ip_rate_limits.html
+ */
+final class RateLimiter {
+    /**
+     * The fraction of the limit that can be sent in a burst.
+     */
+    private static final double BURST_FRACTION = 0.1;
+    /**
+     * RateLimit-Reset values below this are a number of seconds rather than an epoch time.
+     */
+    private static final long MIN_EPOCH_SECONDS = 1000000000L;
+    /**
+     * Whether the rate limit headers are respected.
+     */
+    private final boolean enabled;
+    /**
+     * The scheduler to complete the asynchronous acquisitions.
+     */
+    private final ScheduledExecutorService scheduler;
+    /**
+     * Whether the requests are being paced, i.e. the rate limit of the current window is known.
+     */
+    private boolean limited;
+    /**
+     * The available permits, which is negative when permits have been reserved in advance.
+     */
+    private double permits;
+    /**
+     * The maximum number of available permits.
+     */
+    private double capacity;
+    /**
+     * The number of permits refilled per nanosecond.
+     */
+    private double permitsPerNano;
+    /**
+     * The {@link System#nanoTime()} of the last refill.
+     */
+    private long lastRefill;
+    /**
+     * The {@link System#nanoTime()} when the rate limit window resets.
+     */
+    private long resetAt;
+
+    /**
+     * Constructs the {@code RateLimiter}.
+     *
+     * @param enabled   whether the rate limit headers are respected
+     * @param scheduler the scheduler to complete the asynchronous acquisitions
+     */
+    RateLimiter(boolean enabled, ScheduledExecutorService scheduler) {
+        this.enabled = enabled;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Update the rate from the rate limit headers of the response, if present.
+     *
+     * @param response the HTTP response
+     */
+    void update(Response response) {
+        if (!enabled) {
+            return;
+        }
+        long limit = parseLong(response.header("RateLimit-Limit"));
+        long remaining = parseLong(response.header("RateLimit-Remaining"));
+        long reset = parseLong(response.header("RateLimit-Reset"));
+        if (limit <= 0 || remaining < 0 || reset < 0) {
+            return;
+        }
+        long untilReset = reset >= MIN_EPOCH_SECONDS
+                ? TimeUnit.MILLISECONDS.toNanos(reset * 1000 - System.currentTimeMillis())
+                : TimeUnit.SECONDS.toNanos(reset);
+        update(limit, remaining, Math.max(untilReset, TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Update the rate so that the remaining permits are spread evenly until the reset.
+     *
+     * @param limit      the number of requests allowed in a window
+     * @param remaining  the number of requests remaining in the current window
+     * @param untilReset the nanoseconds until the current window resets
+     */
+    private synchronized void update(long limit, long remaining, long untilReset) {
+        long now = System.nanoTime();
+        refill(now);
+        capacity = Math.max(1, limit * BURST_FRACTION);
+        permits = limited ? Math.min(permits, Math.min(capacity, remaining)) : Math.min(capacity, remaining);
+        permitsPerNano = (double) remaining / untilReset;
+        resetAt = now + untilReset;
+        limited = true;
+    }
+
+    /**
+     * Acquire a permit, blocking until it is available.
+     *
+     * @throws GitlabException if interrupted while waiting
+     */
+    void acquire() {
+        long wait = reserve();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitlabException(e);
+            }
+        }
+    }
+
+    /**
+     * Acquire a permit without blocking.
+     *
+     * @return a future which completes when the permit is available
+     */
+    CompletableFuture<Void> acquireAsync() {
+        long wait = reserve();
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            scheduler.schedule(() -> future.complete(null), wait, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            future.complete(null);
+        }
+        return future;
+    }
+
+    /**
+     * Reserve a permit.
+     *
+     * @return the nanoseconds to wait until the reserved permit is available
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        if (!limited) {
+            return 0;
+        }
+        permits -= 1;
+        if (permits >= 0) {
+            return 0;
+        }
+        long untilReset = resetAt - now;
+        if (permitsPerNano <= 0) {
+            return untilReset;
+        }
+        // the quota is restored at the reset anyway
+        return Math.min((long) (-permits / permitsPerNano), untilReset);
+    }
+
+    /**
+     * Refill the permits for the time elapsed since the last refill.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    private void refill(long now) {
+        if (limited && now - resetAt >= 0) {
+            // the window is over, wait for the headers of the next one
+            limited = false;
+        }
+        if (limited) {
+            permits = Math.min(capacity, permits + (now - lastRefill) * permitsPerNano);
+        }
+        lastRefill = now;
+    }
+
+    /**
+     * Parse a numeric header value.
+     *
+     * @param value the header value
+     * @return the parsed value, or -1 if absent or invalid
+     */
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.gitlab.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class caches the parsed responses of GET requests together with their
+ * ETag, keyed by the entire API url and the type of the parsed response, so
+ * that later requests to the same url can be sent with If-None-Match and a 304
+ * Not Modified response does not need to be transferred and parsed again. A
+ * url read both as a single component and as a page is cached once per type.
+ * The least recently used responses are evicted once the maximum number of
+ * entries is reached.
+ *
+ * The cached values are never handed out directly; callers receive copies.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/api/#etags
+ */
+final class ResponseCache {
+    /**
+     * The cached responses in access order.
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * Constructs the {@code ResponseCache} with the maximum number of entries.
+     *
+     * @param maxEntries the maximum number of cached responses
+     */
+    ResponseCache(int maxEntries) {
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached response of the key.
+     *
+     * @param key the entire API url together with the type of the parsed response
+     * @return the cached response, or null if absent
+     */
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Cache the response of the key.
+     *
+     * @param key   the entire API url together with the type of the parsed response
+     * @param etag  the ETag of the response
+     * @param value the parsed response
+     */
+    synchronized void put(String key, String etag, Object value) {
+        entries.put(key, new Entry(etag, value));
+    }
+
+    /**
+     * This class represents a cached response.
+     */
+    static final class Entry {
+        /**
+         * The ETag of the response.
+         */
+        private final String etag;
+        /**
+         * The parsed response.
+         */
+        private final Object value;
+
+        /**
+         * Constructs the {@code Entry}.
+         *
+         * @param etag  the ETag of the response
+         * @param value the parsed response
+         */
+        private Entry(String etag, Object value) {
+            this.etag = etag;
+            this.value = value;
+        }
+
+        /**
+         * Returns the ETag of the response.
+         *
+         * @return the ETag
+         */
+        String getETag() {
+            return etag;
+        }
+
+        /**
+         * Returns the parsed response.
+         *
+         * @return the parsed response
+         */
+        Object getValue() {
+            return value;
+        }
+    }
+}
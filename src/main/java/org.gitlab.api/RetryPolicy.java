@@ -0,0 +1,328 @@
+package org.gitlab.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class represents how failed requests to Gitlab API are retried.
+ *
+ * Only idempotent requests (GET, PUT and DELETE) are retried, when the
+ * response code is 429 (Too Many Requests) or 5xx, or when an
+ * {@link IOException} occurs. The delay before each retry follows the
+ * decorrelated jitter backoff, i.e. a random delay between the base delay and
+ * three times the previous delay, capped by the maximum delay. A Retry-After
+ * header in the response is respected as the minimum delay. A request is not
+ * retried any more once the retries exceed the maximum number of retries, or
+ * the total delay would exceed the retry budget.
+ *
+ * To get a instance of retry policy, use {@code RetryPolicy.Builder}. By
+ * default, requests are not retried, see {@link #none()}.
+ */
+public final class RetryPolicy {
+    /**
+     * The policy that never retries.
+     */
+    private static final RetryPolicy NONE = new Builder().withMaxRetries(0).build();
+    /**
+     * The maximum number of retries of a request.
+     */
+    private final int maxRetries;
+    /**
+     * The minimum delay before a retry in milliseconds.
+     */
+    private final int baseDelay;
+    /**
+     * The maximum delay before a retry in milliseconds.
+     */
+    private final int maxDelay;
+    /**
+     * The maximum total delay of all retries of a request in milliseconds.
+     */
+    private final int maxTotalDelay;
+
+    /**
+     * Construct the {@link RetryPolicy} based on the {@link Builder}.
+     *
+     * @param builder the builder
+     */
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.maxTotalDelay = builder.maxTotalDelay;
+    }
+
+    /**
+     * Returns the {@code RetryPolicy} that never retries.
+     *
+     * @return the {@code RetryPolicy} that never retries
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the maximum number of retries of a request.
+     *
+     * @return the maximum number of retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns the minimum delay before a retry in milliseconds.
+     *
+     * @return the base delay in milliseconds
+     */
+    public int getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * Returns the maximum delay before a retry in milliseconds.
+     *
+     * @return the maximum delay in milliseconds
+     */
+    public int getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Returns the maximum total delay of all retries of a request in milliseconds.
+     *
+     * @return the retry budget in milliseconds
+     */
+    public int getMaxTotalDelay() {
+        return maxTotalDelay;
+    }
+
+    /**
+     * Returns the {@link Backoff} to track the retries of a new request.
+     *
+     * @param idempotent whether the request is idempotent
+     * @return the {@link Backoff} of the request
+     */
+    Backoff newBackoff(boolean idempotent) {
+        return new Backoff(idempotent && maxRetries > 0);
+    }
+
+    /**
+     * Parse the Retry-After header, which is either a number of seconds or a
+     * HTTP date.
+     *
+     * @param retryAfter the Retry-After header
+     * @return the delay in milliseconds, or 0 if absent or invalid
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * This class tracks the retries of a single request and computes the delay
+     * before the next retry.
+     */
+    final class Backoff {
+        /**
+         * Whether the request can be retried at all.
+         */
+        private final boolean retryable;
+        /**
+         * The number of retries so far.
+         */
+        private int retries;
+        /**
+         * The previous delay in milliseconds.
+         */
+        private long previousDelay = baseDelay;
+        /**
+         * The total delay so far in milliseconds.
+         */
+        private long totalDelay;
+
+        /**
+         * Constructs the {@code Backoff} of a request.
+         *
+         * @param retryable whether the request can be retried at all
+         */
+        private Backoff(boolean retryable) {
+            this.retryable = retryable;
+        }
+
+        /**
+         * Returns the delay before retrying a request that received the given response.
+         *
+         * @param code       the response code
+         * @param retryAfter the Retry-After header of the response, or null if absent
+         * @return the delay in milliseconds, or -1 if the request should not be retried
+         */
+        long nextDelay(int code, String retryAfter) {
+            if (code != 429 && code < 500) {
+                return -1;
+            }
+            return nextDelay(parseRetryAfter(retryAfter));
+        }
+
+        /**
+         * Returns the delay before retrying a request that failed with an {@link IOException}.
+         *
+         * @param e the exception
+         * @return the delay in milliseconds, or -1 if the request should not be retried
+         */
+        long nextDelay(IOException e) {
+            return nextDelay(0);
+        }
+
+        /**
+         * Returns the delay before the next retry, which is at least the given minimum delay.
+         *
+         * @param minDelay the minimum delay in milliseconds
+         * @return the delay in milliseconds, or -1 if the request should not be retried
+         */
+        private synchronized long nextDelay(long minDelay) {
+            if (!retryable || retries >= maxRetries) {
+                return -1;
+            }
+            // decorrelated jitter: random between the base delay and three times the previous delay
+            long upper = Math.max(baseDelay, previousDelay * 3);
+            long delay = Math.min(maxDelay, baseDelay + (long) (ThreadLocalRandom.current().nextDouble()
+                    * (upper - baseDelay)));
+            previousDelay = delay;
+            delay = Math.max(delay, minDelay);
+            if (totalDelay + delay > maxTotalDelay) {
+                return -1;
+            }
+            retries++;
+            totalDelay += delay;
+            return delay;
+        }
+    }
+
+    /**
+     * This {@code Builder} is used to build {@link RetryPolicy} instance.
+     */
+    public static final class Builder {
+        /**
+         * The default maximum number of retries.
+         */
+        private static final int DEFAULT_MAX_RETRIES = 3;
+        /**
+         * The default base delay in milliseconds.
+         */
+        private static final int DEFAULT_BASE_DELAY = 200;
+        /**
+         * The default maximum delay in milliseconds.
+         */
+        private static final int DEFAULT_MAX_DELAY = 10000;
+        /**
+         * The default retry budget in milliseconds.
+         */
+        private static final int DEFAULT_MAX_TOTAL_DELAY = 30000;
+
+        /**
+         * The maximum number of retries.
+         */
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        /**
+         * The base delay in milliseconds.
+         */
+        private int baseDelay = DEFAULT_BASE_DELAY;
+        /**
+         * The maximum delay in milliseconds.
+         */
+        private int maxDelay = DEFAULT_MAX_DELAY;
+        /**
+         * The retry budget in milliseconds.
+         */
+        private int maxTotalDelay = DEFAULT_MAX_TOTAL_DELAY;
+
+        /**
+         * Sets the maximum number of retries of a request to the builder.
+         *
+         * @param maxRetries the maximum number of retries
+         * @return {@code Builder} with maxRetries
+         * @throws IllegalArgumentException if maxRetries is negative
+         */
+        public Builder withMaxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("cannot have negative max retries");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the minimum delay before a retry to the builder.
+         *
+         * @param baseDelay the base delay in milliseconds
+         * @return {@code Builder} with baseDelay
+         * @throws IllegalArgumentException if baseDelay is not positive
+         */
+        public Builder withBaseDelay(int baseDelay) {
+            if (baseDelay < 1) {
+                throw new IllegalArgumentException("cannot have non-positive base delay");
+            }
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay before a retry to the builder.
+         *
+         * @param maxDelay the maximum delay in milliseconds
+         * @return {@code Builder} with maxDelay
+         * @throws IllegalArgumentException if maxDelay is not positive
+         */
+        public Builder withMaxDelay(int maxDelay) {
+            if (maxDelay < 1) {
+                throw new IllegalArgumentException("cannot have non-positive max delay");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total delay of all retries of a request to the builder.
+         *
+         * @param maxTotalDelay the retry budget in milliseconds
+         * @return {@code Builder} with maxTotalDelay
+         * @throws IllegalArgumentException if maxTotalDelay is negative
+         */
+        public Builder withMaxTotalDelay(int maxTotalDelay) {
+            if (maxTotalDelay < 0) {
+                throw new IllegalArgumentException("cannot have negative max total delay");
+            }
+            this.maxTotalDelay = maxTotalDelay;
+            return this;
+        }
+
+        /**
+         * Returns the {@link RetryPolicy} instance built from this builder.
+         *
+         * @return a {@link RetryPolicy} instance
+         * @throws IllegalArgumentException if the base delay is greater than the max delay
+         */
+        public RetryPolicy build() {
+            if (baseDelay > maxDelay) {
+                throw new IllegalArgumentException("cannot have base delay greater than max delay");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
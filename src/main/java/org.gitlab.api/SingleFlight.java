@@ -0,0 +1,211 @@
+package org.gitlab.api;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class coalesces identical GET requests in flight at the same time, keyed
+ * by the entire API url and the type of the result: the first caller sends the
+ * request, and the callers arriving before its response is converted wait for
+ * the same response instead of sending their own. The keys are only shared by
+ * the callers of one client, and so of one authentication.
+ *
+ * The converted response is never handed out directly once another caller has
+ * joined: every caller receives its own copy, so the components stay mutable.
+ * A caller alone keeps the response without copying.
+ */
+final class SingleFlight {
+    /**
+     * The requests in flight by key.
+     */
+    private final Map<String, Flight<?>> flights = new ConcurrentHashMap<>();
+    /**
+     * The number of callers served by the request of another caller.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Sends the request of the given key unless the same key is already in flight, waiting for the response.
+     *
+     * @param key     the entire API url together with the type of the result
+     * @param request the request to send
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return the converted response, or a copy of it
+     * @throws GitlabException if {@link java.io.IOException} occurs or the response code is not in [200,400)
+     */
+    <R> R execute(String key, Supplier<R> request, UnaryOperator<R> copier) {
+        Flight<R> flight = new Flight<>(key);
+        CompletableFuture<R> joined = join(flight, copier);
+        if (joined != null) {
+            return HttpClient.join(joined);
+        }
+        R value;
+        try {
+            value = request.get();
+        } catch (RuntimeException e) {
+            flight.land(null, e);
+            throw e;
+        }
+        return flight.land(value, null) && value != null ? copier.apply(value) : value;
+    }
+
+    /**
+     * Asynchronous version of {@link #execute(String, Supplier, UnaryOperator)}. Cancelling the returned future
+     * cancels the request only if no other caller is waiting for it.
+     *
+     * @param key     the entire API url together with the type of the result
+     * @param request the request to send
+     * @param copier  the function to copy the converted response
+     * @param <R>     the type of the converted response
+     * @return a future of the converted response, or of a copy of it
+     */
+    <R> CompletableFuture<R> executeAsync(String key, Supplier<CompletableFuture<R>> request,
+                                          UnaryOperator<R> copier) {
+        Flight<R> flight = new Flight<>(key);
+        CompletableFuture<R> joined = join(flight, copier);
+        if (joined != null) {
+            return joined;
+        }
+        CompletableFuture<R> sent = request.get();
+        CompletableFuture<R> future = sent.handle((value, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                flight.land(null, cause);
+                throw new CompletionException(cause);
+            }
+            return flight.land(value, null) && value != null ? copier.apply(value) : value;
+        });
+        future.whenComplete((value, e) -> {
+            if (future.isCancelled() && flight.abandon()) {
+                sent.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the number of callers served by the request of another caller so far.
+     *
+     * @return the number of coalesced requests
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Joins the request in flight of the key of the given flight, or registers the given flight if there is none.
+     *
+     * @param flight the flight of the caller
+     * @param copier the function to copy the converted response
+     * @param <R>    the type of the converted response
+     * @return a future of a copy of the response in flight, or null if the caller has to send the request
+     */
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> join(Flight<R> flight, UnaryOperator<R> copier) {
+        while (true) {
+            Flight<R> current = (Flight<R>) flights.putIfAbsent(flight.key, flight);
+            if (current == null) {
+                return null;
+            }
+            CompletableFuture<R> joined = current.follow(copier);
+            if (joined != null) {
+                coalesced.increment();
+                return joined;
+            }
+            // the flight has just landed, so it is about to be removed
+            Thread.yield();
+        }
+    }
+
+    /**
+     * This class represents a request in flight and the callers waiting for it.
+     *
+     * @param <R> the type of the converted response
+     */
+    private final class Flight<R> {
+        /**
+         * The entire API url together with the type of the result.
+         */
+        private final String key;
+        /**
+         * The converted response, which is only completed once no more callers can join.
+         */
+        private final CompletableFuture<R> response = new CompletableFuture<>();
+        /**
+         * The number of callers waiting for the response besides the one who sent the request.
+         */
+        private int followers;
+        /**
+         * Whether no more callers can join.
+         */
+        private boolean landed;
+
+        /**
+         * Constructs the {@code Flight} of the key.
+         *
+         * @param key the entire API url together with the type of the result
+         */
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Joins this flight unless it has landed.
+         *
+         * @param copier the function to copy the converted response
+         * @return a future of a copy of the response, or null if this flight has landed
+         */
+        private synchronized CompletableFuture<R> follow(UnaryOperator<R> copier) {
+            if (landed) {
+                return null;
+            }
+            followers++;
+            return response.thenApply(value -> value == null ? null : copier.apply(value));
+        }
+
+        /**
+         * Lands this flight with the response, handing a copy of it to every follower.
+         *
+         * @param value the converted response, or null if the request failed
+         * @param error the failure of the request, or null if it succeeded
+         * @return true if the caller who sent the request has to copy the response as well
+         */
+        private boolean land(R value, Throwable error) {
+            int joined;
+            synchronized (this) {
+                landed = true;
+                joined = followers;
+            }
+            flights.remove(key, this);
+            if (error != null) {
+                response.completeExceptionally(error);
+                return false;
+            }
+            // the copies of the followers are taken before the response is returned to anyone
+            response.complete(value);
+            return joined > 0;
+        }
+
+        /**
+         * Lands this flight without a response if nobody else is waiting for it.
+         *
+         * @return true if the request can be cancelled
+         */
+        private boolean abandon() {
+            synchronized (this) {
+                if (followers > 0) {
+                    return false;
+                }
+                landed = true;
+            }
+            flights.remove(key, this);
+            return true;
+        }
+    }
+}
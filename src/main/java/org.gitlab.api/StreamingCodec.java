@@ -0,0 +1,31 @@
+package org.gitlab.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a component whose Jackson deserializer and serializer
+ * are generated at compile time by {@code org.gitlab.api.codegen.CodecProcessor},
+ * so that binding the component neither introspects it nor goes through
+ * reflection at runtime. The generated {@code <Component>Codec} classes are
+ * registered with every mapper of {@link JsonRegistry} by the generated
+ * {@code ComponentCodecs} module.
+ *
+ * The codecs are derived from the same Jackson annotations as before, and
+ * the properties are grouped, renamed and ordered like Jackson does: the
+ * fields annotated with {@code @JsonProperty} or auto-detected, the public
+ * getters and the parameters of the creator, i.e. the constructor with
+ * {@code @JsonProperty} parameters, are the properties, {@code @JsonIgnore}
+ * excludes a member, and {@code @JsonDeserialize} and {@code @JsonSerialize}
+ * name the (content) deserializer and serializer of a property. The fields
+ * stay private: each one needs a non-private setter named after it, e.g.
+ * {@code setWebUrl}, unless it is final and set by the creator, and it is
+ * written through its public getter, or else the non-private getter named
+ * after it.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@interface StreamingCodec {
+}
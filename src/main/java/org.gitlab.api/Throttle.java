@@ -0,0 +1,132 @@
+package org.gitlab.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * This class limits the number of requests at the same time, starting the waiting ones in order
+ * as the previous ones complete.
+ */
+final class Throttle {
+    /**
+     * The maximum number of requests at the same time.
+     */
+    private final int permits;
+    /**
+     * The requests waiting to be started.
+     */
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    /**
+     * The futures of the requests being sent and of the results not completed yet.
+     */
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+    /**
+     * The number of requests being sent.
+     */
+    private int running;
+    /**
+     * Whether the requests have been cancelled.
+     */
+    private boolean cancelled;
+
+    /**
+     * Constructs the {@code Throttle} of the given number of requests.
+     *
+     * @param permits the maximum number of requests at the same time
+     */
+    Throttle(int permits) {
+        this.permits = permits;
+    }
+
+    /**
+     * Starts the given request once fewer than the maximum number of requests are being sent.
+     *
+     * @param request the request to start
+     * @param <R>     the type of the result
+     * @return a future of the result of the request
+     */
+    <R> CompletableFuture<R> submit(Supplier<CompletableFuture<R>> request) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (cancelled) {
+                result.cancel(true);
+                return result;
+            }
+            futures.add(result);
+            waiting.addLast(() -> start(request, result));
+        }
+        drain();
+        return result;
+    }
+
+    /**
+     * Starts the waiting requests as long as there are permits left.
+     */
+    private void drain() {
+        while (true) {
+            Runnable start;
+            synchronized (this) {
+                if (running >= permits || waiting.isEmpty()) {
+                    return;
+                }
+                running++;
+                start = waiting.pollFirst();
+            }
+            start.run();
+        }
+    }
+
+    /**
+     * Sends the given request and completes the given result with it.
+     *
+     * @param request the request to send
+     * @param result  the future of the result
+     * @param <R>     the type of the result
+     */
+    private <R> void start(Supplier<CompletableFuture<R>> request, CompletableFuture<R> result) {
+        CompletableFuture<R> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        synchronized (this) {
+            futures.add(future);
+        }
+        CompletableFuture<R> sent = future;
+        sent.whenComplete((value, error) -> {
+            synchronized (this) {
+                running--;
+                futures.remove(sent);
+                futures.remove(result);
+            }
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                result.complete(value);
+            }
+            drain();
+        });
+    }
+
+    /**
+     * Cancels the requests being sent and the waiting ones.
+     */
+    void cancel() {
+        List<CompletableFuture<?>> cancelling;
+        synchronized (this) {
+            cancelled = true;
+            waiting.clear();
+            cancelling = new ArrayList<>(futures);
+            futures.clear();
+        }
+        cancelling.forEach(future -> future.cancel(true));
+    }
+}
@@ -0,0 +1,111 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class collapses the {@link GitlabUser}s embedded in other components,
+ * e.g. the author, assignees and closer of issues and merge requests, or the
+ * owner of projects, into one instance per user id, so that a bulk export of
+ * thousands of issues only keeps one copy of each of the few people involved.
+ *
+ * An embedded user is replaced by the instance seen before with the same id
+ * and the same attributes. If the attributes have changed, e.g. the user has
+ * been renamed, the new instance replaces the old one in this map. The least
+ * recently used users are evicted once the maximum number of entries is
+ * reached. {@link GitlabUser} has no public setters, and an interned user is
+ * never the target of {@code HttpClient.updatingReader}, so sharing an instance
+ * between components is safe.
+ */
+final class UserIdentityMap {
+    /**
+     * The key of this map in the attributes of the Jackson deserialization context.
+     */
+    static final Class<UserIdentityMap> ATTRIBUTE = UserIdentityMap.class;
+    /**
+     * The users in access order.
+     */
+    private final Map<Integer, GitlabUser> users;
+
+    /**
+     * Constructs the {@code UserIdentityMap} with the maximum number of entries.
+     *
+     * @param maxEntries the maximum number of users
+     */
+    UserIdentityMap(int maxEntries) {
+        users = new LinkedHashMap<Integer, GitlabUser>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, GitlabUser> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical instance of the given user.
+     *
+     * @param user the user just deserialized
+     * @return the instance seen before with the same id and attributes, or the given user
+     */
+    synchronized GitlabUser intern(GitlabUser user) {
+        GitlabUser existing = users.get(user.getId());
+        if (existing != null && existing.hasSameAttributes(user)) {
+            return existing;
+        }
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    /**
+     * Returns the number of users in this map.
+     *
+     * @return the number of users
+     */
+    synchronized int size() {
+        return users.size();
+    }
+
+    /**
+     * The class to deserialize an embedded {@link GitlabUser} for Jackson,
+     * interned by the {@link UserIdentityMap} of the client if it has one.
+     */
+    static class Deserializer extends JsonDeserializer<GitlabUser> implements ContextualDeserializer {
+        /**
+         * The bean deserializer of {@link GitlabUser}, or null before contextualization.
+         */
+        private final JsonDeserializer<Object> delegate;
+
+        /**
+         * Constructs the {@code Deserializer} for Jackson to contextualize.
+         */
+        Deserializer() {
+            this(null);
+        }
+
+        private Deserializer(JsonDeserializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            return new Deserializer(ctxt.findRootValueDeserializer(ctxt.constructType(GitlabUser.class)));
+        }
+
+        @Override
+        public GitlabUser deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            GitlabUser user = (GitlabUser) delegate.deserialize(jsonParser, deserializationContext);
+            UserIdentityMap identityMap = (UserIdentityMap) deserializationContext.getAttribute(ATTRIBUTE);
+            return identityMap == null || user == null ? user : identityMap.intern(user);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.gitlab.api;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * This class persists the high watermarks of {@link DeltaSync} in a properties
+ * file, one entry per collection of a project, e.g. {@code issues.42}. A
+ * watermark is the latest {@code updated_at} synced so far together with the
+ * ids of the items updated at that very time, so that the items sharing the
+ * timestamp of the watermark are neither lost nor emitted twice.
+ *
+ * The file is rewritten to a temporary sibling and moved over the previous one
+ * on every update, so a crash never leaves a truncated file behind.
+ */
+final class WatermarkStore {
+    /**
+     * The file of the watermarks.
+     */
+    private final Path file;
+    /**
+     * The watermarks as text by key.
+     */
+    private final Properties properties = new Properties();
+
+    /**
+     * Constructs the {@code WatermarkStore} of the given file, loading it if it exists.
+     *
+     * @param file the file of the watermarks
+     * @throws GitlabException if the file exists but cannot be read
+     */
+    WatermarkStore(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new GitlabException("cannot read watermarks from " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the watermark of the given key.
+     *
+     * @param key the key, e.g. {@code issues.42}
+     * @return the watermark, or {@link Watermark#NONE} if nothing has been synced
+     * @throws GitlabException if the stored watermark is malformed
+     */
+    synchronized Watermark get(String key) {
+        String value = properties.getProperty(key);
+        return value == null ? Watermark.NONE : Watermark.parse(key, value);
+    }
+
+    /**
+     * Replaces the watermark of the given key and writes the file.
+     *
+     * @param key       the key, e.g. {@code issues.42}
+     * @param watermark the new watermark
+     * @throws GitlabException if the file cannot be written
+     */
+    synchronized void put(String key, Watermark watermark) {
+        properties.setProperty(key, watermark.toString());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Gitlab delta sync watermarks: updated_at in epoch millis, then ids");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new GitlabException("cannot write watermarks to " + file, e);
+        }
+    }
+
+    /**
+     * This class represents the watermark of a collection.
+     */
+    static final class Watermark {
+        /**
+         * The watermark of a collection never synced.
+         */
+        static final Watermark NONE = new Watermark(DateUtil.NO_TIMESTAMP, Collections.emptySet());
+
+        /**
+         * The latest updated_at synced in epoch millis, or {@link DateUtil#NO_TIMESTAMP}.
+         */
+        private final long updatedAt;
+        /**
+         * The ids of the items updated at {@link #updatedAt}.
+         */
+        private final Set<Integer> ids;
+
+        /**
+         * Constructs the {@code Watermark}.
+         *
+         * @param updatedAt the latest updated_at synced in epoch millis
+         * @param ids       the ids of the items updated at that time
+         */
+        Watermark(long updatedAt, Set<Integer> ids) {
+            this.updatedAt = updatedAt;
+            this.ids = Collections.unmodifiableSet(new HashSet<>(ids));
+        }
+
+        /**
+         * Returns the latest updated_at synced.
+         *
+         * @return the updated_at in epoch millis, or {@link DateUtil#NO_TIMESTAMP}
+         */
+        long getUpdatedAt() {
+            return updatedAt;
+        }
+
+        /**
+         * Returns the ids of the items updated at {@link #getUpdatedAt()}.
+         *
+         * @return the unmodifiable set of ids
+         */
+        Set<Integer> getIds() {
+            return ids;
+        }
+
+        /**
+         * Parses the text of a watermark, i.e. the updated_at followed by the ids, separated by spaces.
+         *
+         * @param key   the key of the watermark, for the error message
+         * @param value the text of the watermark
+         * @return the watermark
+         * @throws GitlabException if the text is malformed
+         */
+        private static Watermark parse(String key, String value) {
+            String[] tokens = value.trim().split("\\s+");
+            try {
+                Set<Integer> ids = new HashSet<>();
+                for (int i = 1; i < tokens.length; i++) {
+                    ids.add(Integer.parseInt(tokens[i]));
+                }
+                return new Watermark(Long.parseLong(tokens[0]), ids);
+            } catch (NumberFormatException e) {
+                throw new GitlabException("malformed watermark of " + key + ": " + value, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder().append(updatedAt);
+            for (int id : ids) {
+                builder.append(' ').append(id);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,921 @@
+package org.gitlab.api.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This annotation processor generates a streaming Jackson deserializer and
+ * serializer for each class annotated with {@code org.gitlab.api.StreamingCodec},
+ * and one module registering all of them. The properties are derived from the
+ * Jackson annotations of the fields, getters and creator parameters, grouped,
+ * renamed, ignored and ordered the same way Jackson derives them at runtime,
+ * so the annotations stay the single description of the JSON format.
+ *
+ * The generated deserializer reads the properties into locals, constructs the
+ * component through its creator and then sets the properties present in the
+ * JSON, which keeps the field initializers of the absent ones. Updating a
+ * component in place sets the properties and leaves the ones only passed to
+ * the creator alone. The fields stay private: the generated code sets them
+ * through the non-private setters named after them, e.g. {@code setWebUrl},
+ * and the serializer writes every property through its public getter, or the
+ * non-private getter named after its field if there is no public getter that
+ * is not ignored.
+ *
+ * The processor also writes the reflection configuration of GraalVM
+ * native-image for the components, their superclasses and nested classes
+ * (e.g. {@code Query}), the classes named by their Jackson annotations and
+ * the arrays of components, which Jackson introspects even though the
+ * generated codecs do the binding. The configuration is picked up from the
+ * jar of the library without any option.
+ *
+ * This processor is built ahead of the library and is not part of its jar.
+ */
+@SupportedAnnotationTypes(CodecProcessor.ANNOTATION)
+public final class CodecProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "org.gitlab.api.StreamingCodec";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_IGNORE_TYPE = "com.fasterxml.jackson.annotation.JsonIgnoreType";
+    private static final String JSON_DESERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonDeserialize";
+    private static final String JSON_SERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonSerialize";
+    private static final String MODULE = "ComponentCodecs";
+    private static final int MAX_PROPERTIES = 64;
+    private static final String REFLECT_CONFIG = "META-INF/native-image/org.gitlab/java-gitlab-api/reflect-config.json";
+    /**
+     * The binary names of the classes to be registered for reflection, sorted.
+     */
+    private final Set<String> reflected = new TreeSet<>();
+    /**
+     * The binary names of the array classes to be registered, sorted.
+     */
+    private final Set<String> arrays = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        List<TypeElement> components = new ArrayList<>();
+        for (TypeElement annotation : annotations) {
+            components.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)));
+        }
+        if (components.isEmpty()) {
+            return false;
+        }
+        String packageName = packageOf(components.get(0));
+        try {
+            for (TypeElement component : components) {
+                if (component.getNestingKind().isNested() || !packageOf(component).equals(packageName)) {
+                    throw new CodecException(component, "must be a top-level class in " + packageName);
+                }
+                Codec codec = new Codec(component);
+                write(packageName + "." + codec.name, component, codec.generate(packageName));
+                register(component);
+            }
+            write(packageName + "." + MODULE, null, generateModule(packageName, components));
+            writeResource(REFLECT_CONFIG, components, generateReflectConfig());
+        } catch (CodecException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+        }
+        return true;
+    }
+
+    /**
+     * Generates the module registering the codecs of all the components.
+     */
+    private static String generateModule(String packageName, List<TypeElement> components) {
+        Source source = new Source(packageName);
+        source.line("import com.fasterxml.jackson.databind.module.SimpleModule;");
+        source.line("");
+        source.line("/**");
+        source.line(" * Registers the streaming codecs generated for the components.");
+        source.line(" */");
+        source.open("final class %s extends SimpleModule", MODULE);
+        source.open("%s()", MODULE);
+        source.line("super(\"%s\");", MODULE);
+        for (TypeElement component : components) {
+            String name = component.getSimpleName().toString();
+            source.line("addDeserializer(%s.class, new %sCodec.Deserializer());", name, name);
+            source.line("addSerializer(%s.class, new %sCodec.Serializer());", name, name);
+        }
+        source.close();
+        source.close();
+        return source.toString();
+    }
+
+    /**
+     * Generates the native-image reflection configuration of the registered classes.
+     */
+    private String generateReflectConfig() {
+        StringBuilder json = new StringBuilder("[\n");
+        for (String name : reflected) {
+            json.append("  {\"name\": \"").append(name).append("\", \"allDeclaredConstructors\": true, ")
+                    .append("\"allDeclaredFields\": true, \"allDeclaredMethods\": true, ")
+                    .append("\"allPublicMethods\": true},\n");
+        }
+        for (String name : arrays) {
+            json.append("  {\"name\": \"").append(name).append("\"},\n");
+        }
+        json.setLength(json.length() - 2);
+        return json.append("\n]\n").toString();
+    }
+
+    /**
+     * Registers the component, its superclasses and its nested classes for reflection,
+     * and the array of the component.
+     */
+    private void register(TypeElement component) {
+        arrays.add("[L" + binaryName(component) + ";");
+        for (TypeElement nested : ElementFilter.typesIn(component.getEnclosedElements())) {
+            reflected.add(binaryName(nested));
+        }
+        TypeElement type = component;
+        while (!type.getQualifiedName().contentEquals("java.lang.Object")) {
+            reflected.add(binaryName(type));
+            type = (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+        }
+    }
+
+    /**
+     * Registers the class of an annotation value for reflection, e.g. a deserializer.
+     */
+    private void registerValue(Object annotationValue) {
+        if (annotationValue instanceof DeclaredType) {
+            reflected.add(binaryName((TypeElement) ((DeclaredType) annotationValue).asElement()));
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeResource(String path, List<TypeElement> origins, String content) {
+        Element[] elements = origins.toArray(new Element[0]);
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path, elements)
+                .openWriter()) {
+            writer.write(content);
+        } catch (IOException e) {
+            throw new CodecException(null, "cannot write " + path + ": " + e.getMessage());
+        }
+    }
+
+    private void write(String qualifiedName, Element origin, String content) {
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, origin).openWriter()) {
+            writer.write(content);
+        } catch (IOException e) {
+            throw new CodecException(origin, "cannot write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private String packageOf(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * Returns the annotation of the given type on the element, or null.
+     */
+    private static AnnotationMirror annotation(Element element, String type) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(type)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the explicitly set value of an annotation, or null.
+     */
+    private static Object value(AnnotationMirror mirror, String name) {
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the JSON property of the element, or the given default.
+     */
+    private static String jsonName(Element element, String defaultName) {
+        Object name = value(annotation(element, JSON_PROPERTY), "value");
+        return name == null || name.toString().isEmpty() ? defaultName : name.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Returns the name of the property of a getter, lowercasing the leading
+     * uppercase letters like Jackson does, or null if the method is not a getter.
+     */
+    private static String getterName(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        int prefix;
+        if (name.startsWith("get") && method.getReturnType().getKind() != TypeKind.VOID) {
+            prefix = 3;
+        } else if (name.startsWith("is") && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            prefix = 2;
+        } else {
+            return null;
+        }
+        if (name.length() == prefix || !method.getParameters().isEmpty()) {
+            return null;
+        }
+        StringBuilder property = new StringBuilder(name.substring(prefix));
+        for (int i = 0; i < property.length() && Character.isUpperCase(property.charAt(i)); i++) {
+            property.setCharAt(i, Character.toLowerCase(property.charAt(i)));
+        }
+        return property.toString();
+    }
+
+    /**
+     * The ways the value of a property is read.
+     */
+    private enum Kind {
+        INT, LONG, BOOLEAN, STRING, STRINGS, LIST, VALUE, USING
+    }
+
+    /**
+     * This class holds a property of a component, made of the field, the
+     * public getter and the creator parameter sharing its name, like in Jackson.
+     */
+    private static final class Property {
+        private final String implicitName;
+        private String json;
+        private String explicitName;
+        private boolean ignored;
+        private VariableElement field;
+        private ExecutableElement getter;
+        private VariableElement parameter;
+        private String setter;
+        private Kind kind;
+        private String deserializer;
+        private String serializer;
+        private String elementType;
+        private int index;
+
+        private Property(String implicitName) {
+            this.implicitName = implicitName;
+            this.json = implicitName;
+        }
+
+        /**
+         * Returns the name of the property in the generated code.
+         */
+        private String name() {
+            if (field != null) {
+                return field.getSimpleName().toString();
+            }
+            return parameter != null ? parameter.getSimpleName().toString() : implicitName;
+        }
+
+        /**
+         * Returns the element whose type is read from the JSON, or null if the property is only written.
+         */
+        private Element readable() {
+            return field != null ? field : parameter;
+        }
+
+        /**
+         * Returns the annotation of the given type on any of the members, the field first.
+         */
+        private AnnotationMirror annotation(String type) {
+            for (Element member : new Element[]{field, parameter, getter}) {
+                AnnotationMirror mirror = member == null ? null : CodecProcessor.annotation(member, type);
+                if (mirror != null) {
+                    return mirror;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds the members of the given property with the same name.
+         */
+        private void merge(Property other) {
+            if (field != null && other.field != null || parameter != null && other.parameter != null) {
+                throw new CodecException(other.readable(), "duplicate property " + json);
+            }
+            field = field != null ? field : other.field;
+            getter = getter != null ? getter : other.getter;
+            parameter = parameter != null ? parameter : other.parameter;
+        }
+
+        private String local() {
+            return name() + "Value";
+        }
+    }
+
+    /**
+     * This class generates the codec of one component.
+     */
+    private final class Codec {
+        private final TypeElement component;
+        private final String type;
+        private final String name;
+        /**
+         * The properties by JSON name, in the order Jackson writes them apart from the creator parameters.
+         */
+        private final Map<String, Property> properties = new LinkedHashMap<>();
+        private final List<Property> creatorParameters = new ArrayList<>();
+        /**
+         * The properties read from the JSON.
+         */
+        private final List<Property> readable = new ArrayList<>();
+        private String packageName;
+
+        private Codec(TypeElement component) {
+            this.component = component;
+            this.type = component.getSimpleName().toString();
+            this.name = type + "Codec";
+            // like Jackson, the members are grouped by their implicit names first, then renamed
+            Map<String, Property> implicit = new LinkedHashMap<>();
+            for (VariableElement field : fields(component)) {
+                Property property = member(implicit, field.getSimpleName().toString(), field);
+                if (property.field != null) {
+                    throw new CodecException(field, "duplicate property " + property.implicitName);
+                }
+                property.field = field;
+            }
+            for (ExecutableElement getter : getters(component)) {
+                Property property = member(implicit, getterName(getter), getter);
+                if (property.getter == null) {
+                    property.getter = getter;
+                }
+            }
+            List<String> creatorNames = new ArrayList<>();
+            for (VariableElement parameter : findCreator()) {
+                String json = jsonName(parameter, null);
+                if (json == null) {
+                    throw new CodecException(parameter, "creator parameter must have a @JsonProperty name");
+                }
+                member(implicit, json, parameter).parameter = parameter;
+                creatorNames.add(json);
+            }
+            Set<String> ignoredNames = removeIgnored(implicit);
+            rename(implicit);
+            properties.keySet().removeAll(ignoredNames);
+            properties.values().removeIf(property -> ignoredType(property.readable() != null
+                    ? property.readable().asType() : property.getter.getReturnType()));
+            for (String json : creatorNames) {
+                creatorParameters.add(properties.get(json));
+            }
+            for (Property property : properties.values()) {
+                if (property.readable() != null) {
+                    property.index = readable.size();
+                    readable.add(property);
+                    classify(property);
+                } else {
+                    classifySerializer(property);
+                }
+                if (property.field != null) {
+                    findAccessors(property);
+                }
+            }
+            if (readable.size() > MAX_PROPERTIES) {
+                throw new CodecException(component, "cannot have more than " + MAX_PROPERTIES + " properties");
+            }
+        }
+
+        /**
+         * Returns the property of the given implicit name, adding the annotations of the member to it.
+         */
+        private Property member(Map<String, Property> implicit, String implicitName, Element member) {
+            Property property = implicit.computeIfAbsent(implicitName, Property::new);
+            if (annotation(member, JSON_IGNORE) != null) {
+                property.ignored = true;
+            } else if (annotation(member, JSON_PROPERTY) != null) {
+                property.explicitName = jsonName(member, implicitName);
+            }
+            return property;
+        }
+
+        /**
+         * Removes the ignored properties, or only their ignored members if another member is annotated
+         * with {@code @JsonProperty}, and returns the names of the removed properties.
+         */
+        private Set<String> removeIgnored(Map<String, Property> implicit) {
+            Set<String> ignoredNames = new TreeSet<>();
+            for (Iterator<Property> i = implicit.values().iterator(); i.hasNext(); ) {
+                Property property = i.next();
+                if (!property.ignored) {
+                    continue;
+                }
+                if (property.explicitName == null) {
+                    ignoredNames.add(property.implicitName);
+                    i.remove();
+                    continue;
+                }
+                if (property.field != null && annotation(property.field, JSON_IGNORE) != null) {
+                    property.field = null;
+                }
+                if (property.getter != null && annotation(property.getter, JSON_IGNORE) != null) {
+                    property.getter = null;
+                }
+            }
+            return ignoredNames;
+        }
+
+        /**
+         * Moves the properties with explicit names after the others under their JSON names,
+         * merging them into a property of the same name.
+         */
+        private void rename(Map<String, Property> implicit) {
+            List<Property> renamed = new ArrayList<>();
+            for (Property property : implicit.values()) {
+                if (property.explicitName == null) {
+                    properties.put(property.json, property);
+                } else {
+                    renamed.add(property);
+                }
+            }
+            for (Property property : renamed) {
+                property.json = property.explicitName;
+                Property existing = properties.putIfAbsent(property.json, property);
+                if (existing != null) {
+                    existing.merge(property);
+                }
+            }
+        }
+
+        /**
+         * Tests if the type or one of its superclasses is annotated with {@code @JsonIgnoreType}.
+         */
+        private boolean ignoredType(TypeMirror type) {
+            while (type.getKind() == TypeKind.DECLARED) {
+                TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                if (annotation(element, JSON_IGNORE_TYPE) != null) {
+                    return true;
+                }
+                type = element.getSuperclass();
+            }
+            return false;
+        }
+
+        /**
+         * Returns the instance fields of the type and its superclasses, superclasses first.
+         */
+        private List<VariableElement> fields(TypeElement type) {
+            List<VariableElement> fields = new ArrayList<>();
+            TypeMirror superclass = type.getSuperclass();
+            if (superclass.getKind() == TypeKind.DECLARED) {
+                fields.addAll(fields((TypeElement) ((DeclaredType) superclass).asElement()));
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                    fields.add(field);
+                }
+            }
+            return fields;
+        }
+
+        /**
+         * Returns the public getters of the component and its superclasses other than {@code Object},
+         * the component first.
+         */
+        private List<ExecutableElement> getters(TypeElement type) {
+            List<ExecutableElement> getters = new ArrayList<>();
+            Set<String> names = new TreeSet<>();
+            while (!type.getQualifiedName().contentEquals("java.lang.Object")) {
+                for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                    Set<Modifier> modifiers = method.getModifiers();
+                    if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+                            && getterName(method) != null && names.add(method.getSimpleName().toString())) {
+                        getters.add(method);
+                    }
+                }
+                type = (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+            }
+            return getters;
+        }
+
+        /**
+         * Returns the parameters of the constructor with {@code @JsonProperty} parameters,
+         * or else none if there is a no-arg constructor.
+         */
+        private List<? extends VariableElement> findCreator() {
+            boolean noArgs = false;
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(component.getEnclosedElements())) {
+                if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    continue;
+                }
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                if (parameters.isEmpty()) {
+                    noArgs = true;
+                } else if (annotation(parameters.get(0), JSON_PROPERTY) != null) {
+                    return parameters;
+                }
+            }
+            if (!noArgs) {
+                throw new CodecException(component, "must have a non-private creator or no-arg constructor");
+            }
+            return new ArrayList<>();
+        }
+
+        /**
+         * Finds the non-private setter assigning the field of the property and, if the property has no
+         * public getter, the non-private getter reading it, i.e. {@code getX}, {@code isX} or {@code x}
+         * for the field {@code x}. The setters are named after the fields. Ignored methods are skipped.
+         */
+        private void findAccessors(Property property) {
+            String fieldName = property.field.getSimpleName().toString();
+            String suffix = capitalize(fieldName);
+            for (ExecutableElement method : ElementFilter.methodsIn(component.getEnclosedElements())) {
+                String methodName = method.getSimpleName().toString();
+                List<? extends VariableElement> parameters = method.getParameters();
+                if (method.getModifiers().contains(Modifier.PRIVATE)
+                        || method.getModifiers().contains(Modifier.STATIC)
+                        || annotation(method, JSON_IGNORE) != null) {
+                    continue;
+                }
+                if (methodName.equals("set" + suffix) && parameters.size() == 1
+                        && processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(),
+                        property.field.asType())) {
+                    property.setter = methodName;
+                } else if (property.getter == null && parameters.isEmpty() && (methodName.equals(fieldName)
+                        || getterName(method) != null
+                        && methodName.substring(methodName.startsWith("is") ? 2 : 3).equals(suffix))) {
+                    property.getter = method;
+                }
+            }
+            boolean isFinal = property.field.getModifiers().contains(Modifier.FINAL);
+            if (property.setter == null && (!isFinal || property.parameter == null)) {
+                throw new CodecException(property.field, "property field must have a non-private setter set"
+                        + suffix + (isFinal ? " or a creator parameter" : ""));
+            }
+            if (property.getter == null) {
+                throw new CodecException(property.field, "property field must have a non-private getter");
+            }
+        }
+
+        /**
+         * Determines how the property is read from its type and annotations.
+         */
+        private void classify(Property property) {
+            AnnotationMirror deserialize = property.annotation(JSON_DESERIALIZE);
+            registerValue(value(deserialize, "using"));
+            registerValue(value(deserialize, "contentUsing"));
+            classifySerializer(property);
+            property.deserializer = className(value(deserialize, "using"));
+            String contentDeserializer = className(value(deserialize, "contentUsing"));
+            TypeMirror type = property.readable().asType();
+            if (property.deserializer != null) {
+                property.kind = Kind.USING;
+            } else if (type.getKind() == TypeKind.INT) {
+                property.kind = Kind.INT;
+            } else if (type.getKind() == TypeKind.LONG) {
+                property.kind = Kind.LONG;
+            } else if (type.getKind() == TypeKind.BOOLEAN) {
+                property.kind = Kind.BOOLEAN;
+            } else if (type.getKind() == TypeKind.DECLARED) {
+                DeclaredType declared = (DeclaredType) type;
+                String erasure = processingEnv.getTypeUtils().erasure(type).toString();
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (erasure.equals("java.lang.String")) {
+                    property.kind = Kind.STRING;
+                } else if (erasure.equals("java.util.List") && arguments.size() == 1) {
+                    property.elementType = arguments.get(0).toString();
+                    property.kind = contentDeserializer == null && property.elementType.equals("java.lang.String")
+                            ? Kind.STRINGS : Kind.LIST;
+                    property.deserializer = contentDeserializer;
+                } else if (arguments.isEmpty()) {
+                    property.kind = Kind.VALUE;
+                }
+            }
+            if (property.kind == null) {
+                throw new CodecException(property.readable(), "unsupported property type " + type);
+            }
+            if (property.kind != Kind.LIST && contentDeserializer != null) {
+                throw new CodecException(property.readable(), "content deserializer on a non-list property");
+            }
+        }
+
+        /**
+         * Determines the serializer named by the annotations of the property.
+         */
+        private void classifySerializer(Property property) {
+            Object serializer = value(property.annotation(JSON_SERIALIZE), "using");
+            registerValue(serializer);
+            property.serializer = className(serializer);
+        }
+
+        private String className(Object value) {
+            return value == null ? null : value.toString();
+        }
+
+        private String generate(String packageName) {
+            this.packageName = packageName;
+            Source source = new Source(packageName);
+            source.line("import com.fasterxml.jackson.core.JsonGenerator;");
+            source.line("import com.fasterxml.jackson.core.JsonParser;");
+            source.line("import com.fasterxml.jackson.core.JsonToken;");
+            source.line("import com.fasterxml.jackson.databind.DeserializationContext;");
+            source.line("import com.fasterxml.jackson.databind.JsonDeserializer;");
+            source.line("import com.fasterxml.jackson.databind.JsonMappingException;");
+            source.line("import com.fasterxml.jackson.databind.SerializerProvider;");
+            source.line("");
+            source.line("import java.io.IOException;");
+            source.line("");
+            source.line("/**");
+            source.line(" * The streaming codec of {@link %s}, generated from its Jackson annotations.", type);
+            source.line(" */");
+            source.open("final class %s", name);
+            source.open("private %s()", name);
+            source.close();
+            source.line("");
+            generateDeserializer(source);
+            source.line("");
+            generateSerializer(source);
+            source.close();
+            return source.toString();
+        }
+
+        private void generateDeserializer(Source source) {
+            source.open("static final class Deserializer extends ComponentCodec.Deserializer<%s>", type);
+            for (Property property : readable) {
+                if (property.kind == Kind.USING || property.kind == Kind.LIST || property.kind == Kind.VALUE) {
+                    source.line("private JsonDeserializer<?> %sDeserializer;", property.name());
+                }
+            }
+            source.line("");
+            source.open("Deserializer()");
+            source.line("super(%s.class);", type);
+            source.close();
+            source.line("");
+            source.line("@Override");
+            source.open("public void resolve(DeserializationContext context) throws JsonMappingException");
+            for (Property property : readable) {
+                if (property.deserializer != null) {
+                    source.line("%sDeserializer = resolveUsing(context, new %s());",
+                            property.name(), simplify(property.deserializer));
+                } else if (property.kind == Kind.LIST) {
+                    source.line("%sDeserializer = resolveValue(context, %s.class);",
+                            property.name(), simplify(property.elementType));
+                } else if (property.kind == Kind.VALUE) {
+                    source.line("%sDeserializer = resolveValue(context, %s.class);",
+                            property.name(), simplify(erasure(property.readable().asType())));
+                }
+            }
+            source.close();
+            source.line("");
+            source.line("@Override");
+            source.line("@SuppressWarnings(\"unchecked\")");
+            source.open("public %s deserialize(JsonParser parser, DeserializationContext context) throws IOException",
+                    type);
+            source.line("long seen = 0;");
+            for (Property property : readable) {
+                TypeMirror propertyType = property.readable().asType();
+                source.line("%s %s = %s;", simplify(propertyType.toString()), property.local(),
+                        defaultValue(propertyType));
+            }
+            source.open("for (JsonToken token = startObject(parser, context); token == JsonToken.FIELD_NAME; "
+                    + "token = parser.nextToken())");
+            source.line("String field = parser.getCurrentName();");
+            source.line("parser.nextToken();");
+            source.open("switch (field)");
+            for (Property property : readable) {
+                source.line("case \"%s\":", property.json);
+                source.line("    %s = %s;", property.local(), read(property));
+                source.line("    seen |= 1L << %d;", property.index);
+                source.line("    break;");
+            }
+            source.line("default:");
+            source.line("    parser.skipChildren();");
+            source.close();
+            source.close();
+            StringBuilder arguments = new StringBuilder();
+            for (Property parameter : creatorParameters) {
+                arguments.append(arguments.length() == 0 ? "" : ", ").append(parameter.local());
+            }
+            source.line("%s component = new %s(%s);", type, type, arguments);
+            for (Property property : readable) {
+                if (property.parameter == null) {
+                    source.open("if ((seen & 1L << %d) != 0)", property.index);
+                    source.line("component.%s(%s);", property.setter, property.local());
+                    source.close();
+                }
+            }
+            source.line("return component;");
+            source.close();
+            source.line("");
+            source.line("@Override");
+            source.line("@SuppressWarnings(\"unchecked\")");
+            source.open("public %s deserialize(JsonParser parser, DeserializationContext context, %s component) "
+                    + "throws IOException", type, type);
+            source.open("for (JsonToken token = startObject(parser, context); token == JsonToken.FIELD_NAME; "
+                    + "token = parser.nextToken())");
+            source.line("String field = parser.getCurrentName();");
+            source.line("parser.nextToken();");
+            source.open("switch (field)");
+            for (Property property : readable) {
+                if (property.setter != null) {
+                    source.line("case \"%s\":", property.json);
+                    source.line("    component.%s(%s);", property.setter, read(property));
+                    source.line("    break;");
+                }
+            }
+            source.line("default:");
+            source.line("    parser.skipChildren();");
+            source.close();
+            source.close();
+            source.line("return component;");
+            source.close();
+            source.close();
+        }
+
+        private void generateSerializer(Source source) {
+            source.open("static final class Serializer extends ComponentCodec.Serializer<%s>", type);
+            boolean fields = false;
+            for (Property property : properties.values()) {
+                if (property.getter != null && property.serializer != null) {
+                    String serializer = simplify(property.serializer);
+                    source.line("private final %s %sSerializer = new %s();", serializer, property.name(), serializer);
+                    fields = true;
+                }
+            }
+            if (fields) {
+                source.line("");
+            }
+            source.open("Serializer()");
+            source.line("super(%s.class);", type);
+            source.close();
+            source.line("");
+            source.line("@Override");
+            source.open("public void serialize(%s component, JsonGenerator generator, SerializerProvider provider) "
+                    + "throws IOException", type);
+            source.line("generator.writeStartObject(component);");
+            List<Property> ordered = new ArrayList<>(creatorParameters);
+            for (Property property : properties.values()) {
+                if (property.parameter == null) {
+                    ordered.add(property);
+                }
+            }
+            for (Property property : ordered) {
+                if (property.getter != null) {
+                    write(source, property);
+                }
+            }
+            source.line("generator.writeEndObject();");
+            source.close();
+            source.close();
+        }
+
+        private void write(Source source, Property property) {
+            String value = "component." + property.getter.getSimpleName() + "()";
+            TypeMirror type = property.getter.getReturnType();
+            String erasure = erasure(type);
+            if (property.serializer != null) {
+                source.line("generator.writeFieldName(\"%s\");", property.json);
+                source.line("write(%sSerializer, %s, generator, provider);", property.name(), value);
+            } else if (type.getKind() == TypeKind.INT || type.getKind() == TypeKind.LONG) {
+                source.line("generator.writeNumberField(\"%s\", %s);", property.json, value);
+            } else if (type.getKind() == TypeKind.BOOLEAN) {
+                source.line("generator.writeBooleanField(\"%s\", %s);", property.json, value);
+            } else if (erasure.equals("java.lang.String")) {
+                source.line("generator.writeStringField(\"%s\", %s);", property.json, value);
+            } else if (type.toString().equals("java.util.List<java.lang.String>")) {
+                source.line("writeStrings(\"%s\", %s, generator);", property.json, value);
+            } else {
+                source.line("provider.defaultSerializeField(\"%s\", %s, generator);", property.json, value);
+            }
+        }
+
+        private String read(Property property) {
+            switch (property.kind) {
+                case INT:
+                    return "_parseIntPrimitive(parser, context)";
+                case LONG:
+                    return "_parseLongPrimitive(parser, context)";
+                case BOOLEAN:
+                    return "_parseBooleanPrimitive(parser, context)";
+                case STRING:
+                    return "readString(parser, context)";
+                case STRINGS:
+                    return "readStrings(parser, context)";
+                case LIST:
+                    return String.format("(%s) (Object) readList(parser, context, %sDeserializer)",
+                            simplify(property.readable().asType().toString()), property.name());
+                default:
+                    return String.format("(%s) read(parser, context, %sDeserializer)",
+                            simplify(boxed(property.readable().asType())), property.name());
+            }
+        }
+
+        private String defaultValue(TypeMirror type) {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                    return "false";
+                case INT:
+                case LONG:
+                    return "0";
+                default:
+                    return "null";
+            }
+        }
+
+        private String boxed(TypeMirror type) {
+            if (type.getKind().isPrimitive()) {
+                return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+            }
+            return type.toString();
+        }
+
+        private String erasure(TypeMirror type) {
+            return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+
+        /**
+         * Drops the package of the generated code and {@code java.lang} from the qualified names of a type.
+         */
+        private String simplify(String typeName) {
+            return typeName.replace(packageName + ".", "").replace("java.lang.", "");
+        }
+    }
+
+    /**
+     * This class builds the text of a generated source file.
+     */
+    private static final class Source {
+        private final StringBuilder text = new StringBuilder();
+        private int indent;
+
+        private Source(String packageName) {
+            line("// Generated by %s, do not edit.", CodecProcessor.class.getName());
+            line("package %s;", packageName);
+            line("");
+        }
+
+        private void line(String format, Object... arguments) {
+            String line = String.format(format, arguments);
+            if (!line.isEmpty()) {
+                for (int i = 0; i < indent; i++) {
+                    text.append("    ");
+                }
+            }
+            text.append(line).append('\n');
+        }
+
+        private void open(String format, Object... arguments) {
+            line(format + " {", arguments);
+            indent++;
+        }
+
+        private void close() {
+            indent--;
+            line("}");
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * This exception reports a component that cannot have a generated codec.
+     */
+    private static final class CodecException extends RuntimeException {
+        private final transient Element element;
+
+        private CodecException(Element element, String message) {
+            super((element instanceof TypeElement || element == null ? "" : element.getSimpleName() + ": ")
+                    + message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.gitlab.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectIdTest {
+    private static final String SHA1 = "0123456789abcdef00112233445566778899aabb";
+    private static final String SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    void name() {
+        ObjectId id = ObjectId.of(SHA1);
+        assertTrue(id.isCompact());
+        assertEquals(SHA1, id.name());
+        assertEquals(SHA1, id.toString());
+        for (String name : Arrays.asList("0000000000000000000000000000000000000000",
+                "ffffffffffffffffffffffffffffffffffffffff", "8000000000000000800000000000000080000000")) {
+            assertEquals(name, ObjectId.of(name).name());
+        }
+        assertNull(ObjectId.of((String) null));
+    }
+
+    @Test
+    void equality() {
+        ObjectId id = ObjectId.of(SHA1);
+        ObjectId same = ObjectId.of(new String(SHA1.toCharArray()));
+        assertNotSame(id, same);
+        assertEquals(id, same);
+        assertEquals(id.hashCode(), same.hashCode());
+        // each of the words holding the bytes takes part
+        for (int i : new int[]{0, 15, 16, 31, 32, 39}) {
+            char[] chars = SHA1.toCharArray();
+            chars[i] = chars[i] == '0' ? '1' : '0';
+            assertNotEquals(id, ObjectId.of(new String(chars)), String.valueOf(i));
+        }
+        assertNotEquals(id, SHA1);
+        assertNotEquals(id, null);
+    }
+
+    @Test
+    void text() {
+        ObjectId sha256 = ObjectId.of(SHA256);
+        assertFalse(sha256.isCompact());
+        assertEquals(SHA256, sha256.name());
+        assertEquals(ObjectId.of(SHA256), sha256);
+        assertEquals(SHA256.hashCode(), sha256.hashCode());
+
+        // only lowercase hex is held compactly, any other form is kept as it is
+        ObjectId upper = ObjectId.of(SHA1.toUpperCase());
+        assertFalse(upper.isCompact());
+        assertEquals(SHA1.toUpperCase(), upper.name());
+        assertNotEquals(ObjectId.of(SHA1), upper);
+        assertNotEquals(upper, ObjectId.of(SHA1));
+        assertFalse(ObjectId.of(SHA1.substring(1)).isCompact());
+        assertFalse(ObjectId.of(SHA1.substring(1) + "g").isCompact());
+    }
+
+    @Test
+    void order() {
+        List<ObjectId> ids = Arrays.asList(
+                ObjectId.of("0000000000000000000000000000000000000001"),
+                ObjectId.of("00000000000000000000000000000000ffffffff"),
+                ObjectId.of("0000000000000000ffffffffffffffff00000000"),
+                ObjectId.of("7fffffffffffffff000000000000000000000000"),
+                // the first word compares unsigned
+                ObjectId.of("8000000000000000000000000000000000000000"),
+                ObjectId.of("ffffffffffffffffffffffffffffffffffffffff"),
+                // text ids come after the compact ones, in the order of their text
+                ObjectId.of(SHA256),
+                ObjectId.of("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF"),
+                ObjectId.of("abc"));
+        for (int i = 0; i < ids.size(); i++) {
+            for (int j = 0; j < ids.size(); j++) {
+                assertEquals(Integer.signum(Integer.compare(i, j)), Integer.signum(ids.get(i).compareTo(ids.get(j))),
+                        ids.get(i) + " " + ids.get(j));
+            }
+        }
+    }
+
+    @Test
+    void chars() {
+        for (String name : Arrays.asList(SHA1, SHA256, SHA1.toUpperCase(), "abc")) {
+            char[] chars = ("\"id\":\"" + name + "\"").toCharArray();
+            ObjectId id = ObjectId.of(chars, 6, name.length());
+            assertEquals(ObjectId.of(name), id);
+            assertEquals(ObjectId.of(name).isCompact(), id.isCompact());
+            assertEquals(ObjectId.of(name).hashCode(), id.hashCode());
+            assertEquals(name, id.name());
+        }
+    }
+}
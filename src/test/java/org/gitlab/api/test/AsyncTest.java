@@ -0,0 +1,142 @@
+package org.gitlab.api.test;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabBranch;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabMergeRequest;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.GitlabTransport;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncTest {
+    private static final String PROJECT = "{\"id\":1,\"name\":\"project\"}";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).withIssuesPerProject(10)
+                        .withMergeRequestsPerProject(5).withCommitsPerProject(10).build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void clientErrors() {
+        GitlabException e = failure(client.getProjectAsync(404));
+        assertTrue(e.getMessage().contains("404"));
+        GitlabProject project = client.getProject(1);
+        assertTrue(failure(project.getIssueAsync(404)).getMessage().contains("404"));
+        assertTrue(failure(project.getBranchAsync("missing")).getMessage().contains("404"));
+
+        GitlabAPIClient anonymous = new GitlabAPIClient.Builder(server.getEndpoint()).build();
+        assertTrue(failure(anonymous.getProjectAsync(1)).getMessage().contains("401"));
+    }
+
+    @Test
+    void serverErrors() {
+        try (MockGitlabServer failing = new MockGitlabServer.Builder().withErrorRate(1).build()) {
+            GitlabException e = failure(failing.newClientBuilder().build().getProjectAsync(1));
+            assertTrue(e.getMessage().matches("(?s).*50[023].*"), e.getMessage());
+        }
+    }
+
+    @Test
+    void ioErrors() {
+        try (MockGitlabServer disconnecting = new MockGitlabServer.Builder().withDisconnectRate(1).build()) {
+            GitlabException e = failure(disconnecting.newClientBuilder().build().getProjectsQuery().queryAsync());
+            assertTrue(e.getCause() instanceof IOException, String.valueOf(e.getCause()));
+        }
+    }
+
+    @Test
+    void cancelled() throws Exception {
+        MockWebServer stalled = new MockWebServer();
+        GitlabTransport transport = new GitlabTransport.Builder().withMaxRequestsPerHost(1).build();
+        try {
+            stalled.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+            stalled.enqueue(new MockResponse().setBody(PROJECT));
+            stalled.start();
+            HttpUrl url = stalled.url("/");
+            GitlabAPIClient stalledClient = new GitlabAPIClient.Builder(url.scheme() + "://" + url.host() + ":"
+                    + url.port()).withAccessToken("token").withReadTimeout(60000).withTransport(transport).build();
+
+            CompletableFuture<GitlabProject> never = stalledClient.getProjectAsync(1);
+            stalled.takeRequest();
+            assertTrue(never.cancel(true));
+            // the call waiting for a response would otherwise keep the only request slot of the host
+            assertTimeoutPreemptively(TIMEOUT, () -> assertEquals(1, stalledClient.getProjectAsync(1).join().getId()));
+            assertEquals(2, stalled.getRequestCount());
+        } finally {
+            transport.shutdown();
+            stalled.shutdown();
+        }
+    }
+
+    @Test
+    void bound() {
+        GitlabProject project = client.getProjectAsync(1).join();
+        assertEquals(1, project.getId());
+        // the components are bound to the client, and to the project they were fetched from
+        assertEquals(3, project.getIssue(3).getIid());
+
+        GitlabIssue issue = project.getIssueAsync(3).join();
+        assertSame(project, issue.getProject());
+        assertTrue(issue.getRelatedMergeRequestsAsync().join().isEmpty());
+
+        GitlabMergeRequest mergeRequest = project.getMergeRequestAsync(2).join();
+        assertSame(project, mergeRequest.getProject());
+        assertFalse(mergeRequest.getAllParticipantsAsync().join().isEmpty());
+
+        GitlabBranch branch = project.getBranchAsync("main").join();
+        assertSame(project, branch.getProject());
+        assertSame(project, branch.getCommit().getProject());
+
+        GitlabCommit commit = project.getCommitAsync(branch.getCommit().getId()).join();
+        assertSame(project, commit.getProject());
+        assertEquals(branch.getCommit().getParentIds(), commit.getParentIds());
+
+        List<GitlabIssue> issues = project.getIssuesQuery().queryAsync().join();
+        assertEquals(10, issues.size());
+        issues.forEach(each -> assertSame(project, each.getProject()));
+
+        // a component of a query of the client fetches its project through the client
+        GitlabMergeRequest any = client.getMergeRequestsQuery().queryAsync().join().get(0);
+        long before = server.getRequestCount();
+        assertEquals(any.getProjectId(), any.getProject().getId());
+        assertEquals(before + 1, server.getRequestCount());
+        assertEquals(1, client.getCurrentUserAsync().join().getId());
+    }
+
+    private static GitlabException failure(CompletableFuture<?> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertTrue(e.getCause() instanceof GitlabException, String.valueOf(e.getCause()));
+        return (GitlabException) e.getCause();
+    }
+}
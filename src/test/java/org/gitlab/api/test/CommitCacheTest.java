@@ -0,0 +1,193 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabBranch;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitCacheTest {
+    private static final long MAX_WEIGHT = 16 * 1024 * 1024;
+
+    private static MockGitlabServer server;
+    private Path directory;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).withMergeRequestsPerProject(3)
+                        .withCommitsPerProject(30).build())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("commit-cache");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Test
+    void servedWithoutRequests() {
+        GitlabProject project = server.newClientBuilder().withCommitCache(MAX_WEIGHT).build().getProject(1);
+        GitlabCommit head = project.getBranch("main").getCommit();
+
+        long before = server.getRequestCount();
+        GitlabCommit first = project.getCommit(head.getId());
+        GitlabCommit second = project.getCommit(head.getId());
+        assertEquals(0, server.getRequestCount() - before);
+        assertEquals(head.getTitle(), first.getTitle());
+        assertSame(project, first.getProject());
+
+        // every caller has its own copy
+        assertNotSame(first, second);
+        assertEquals(first.getParentIds(), second.getParentIds());
+    }
+
+    @Test
+    void statusFetched() {
+        GitlabProject project = server.newClientBuilder().withCommitCache(MAX_WEIGHT).build().getProject(1);
+        // the commits of lists and branches lack the status
+        List<GitlabCommit> commits = project.getCommitsQuery().query();
+        assertNull(commits.get(0).getStatus());
+        assertNull(project.getBranch("main").getCommit().getStatus());
+
+        // a commit served from a partial entry fetches its status once
+        long before = server.getRequestCount();
+        GitlabCommit partial = project.getCommit(commits.get(0).getId());
+        assertEquals(0, server.getRequestCount() - before);
+        assertEquals(commits.get(0).getTitle(), partial.getTitle());
+        assertNotNull(partial.getStatus());
+        assertEquals(1, server.getRequestCount() - before);
+        assertEquals("success", partial.getStatus());
+        assertEquals(1, server.getRequestCount() - before);
+
+        // the full commit replaced the partial entry, and listing it again does not downgrade it
+        project.getCommitsQuery().query();
+        before = server.getRequestCount();
+        assertEquals("success", project.getCommit(commits.get(0).getId()).getStatus());
+        assertEquals(0, server.getRequestCount() - before);
+
+        // a commit fetched by SHA is full right away
+        GitlabProject other = server.newClientBuilder().withCommitCache(MAX_WEIGHT).build().getProject(1);
+        before = server.getRequestCount();
+        GitlabCommit fetched = other.getCommit(commits.get(1).getId());
+        assertEquals("success", fetched.getStatus());
+        assertEquals("success", other.getCommit(commits.get(1).getId()).getStatus());
+        assertEquals(1, server.getRequestCount() - before);
+    }
+
+    @Test
+    void fedByMergeRequests() {
+        GitlabAPIClient client = server.newClientBuilder().withCommitCache(MAX_WEIGHT).build();
+        GitlabProject project = client.getProject(1);
+        List<GitlabCommit> commits = project.getMergeRequest(3).getAllCommits();
+        assertEquals(3, commits.size());
+        GitlabProject other = client.getProject(2);
+        List<GitlabCommit> otherCommits = other.getMergeRequest(2).getAllCommitsAsync().join();
+        assertEquals(2, otherCommits.size());
+
+        long before = server.getRequestCount();
+        for (GitlabCommit commit : commits) {
+            assertEquals(commit.getTitle(), project.getCommit(commit.getId()).getTitle());
+        }
+        for (GitlabCommit commit : otherCommits) {
+            assertEquals(commit.getTitle(), other.getCommitAsync(commit.getId()).join().getTitle());
+        }
+        assertEquals(0, server.getRequestCount() - before);
+    }
+
+    @Test
+    void keyedByProject() {
+        GitlabAPIClient client = server.newClientBuilder().withCommitCache(MAX_WEIGHT).build();
+        GitlabProject project = client.getProject(1);
+        String sha = project.getBranch("main").getCommit().getId();
+        long before = server.getRequestCount();
+        project.getCommit(sha);
+        assertEquals(0, server.getRequestCount() - before);
+        assertThrows(RuntimeException.class, () -> client.getProject(2).getCommit(sha));
+    }
+
+    @Test
+    void persisted() throws IOException {
+        Path file = directory.resolve("commits");
+        GitlabAPIClient client = server.newClientBuilder().withCommitCache(MAX_WEIGHT, file).build();
+        GitlabProject fetching = client.getProject(2);
+        List<GitlabCommit> commits = fetching.getCommitsQuery().query();
+        String full = fetching.getCommit(commits.get(0).getId()).getStatus();
+        client.saveCommitCache();
+        assertTrue(Files.exists(file));
+        assertEquals(commits.size() - 1, Files.readAllLines(file).stream()
+                .filter(line -> line.startsWith("2\tpartial\t")).count());
+
+        GitlabProject project = server.newClientBuilder().withCommitCache(MAX_WEIGHT, file).build().getProject(2);
+        long before = server.getRequestCount();
+        List<GitlabCommit> cached = new ArrayList<>();
+        for (GitlabCommit commit : commits) {
+            GitlabCommit each = project.getCommit(commit.getId());
+            assertEquals(commit.getCommittedDate(), each.getCommittedDate());
+            assertEquals(commit.getParentIds(), each.getParentIds());
+            cached.add(each);
+        }
+        // the full entry kept its status, the partial ones still fetch it
+        assertEquals(full, cached.get(0).getStatus());
+        assertEquals(0, server.getRequestCount() - before);
+        assertEquals("success", cached.get(1).getStatus());
+        assertEquals(1, server.getRequestCount() - before);
+    }
+
+    @Test
+    void evicted() {
+        GitlabProject project = server.newClientBuilder().withCommitCache(2048).build().getProject(1);
+        List<GitlabCommit> commits = project.getCommitsQuery().query();
+        long before = server.getRequestCount();
+        // the most recently cached commit is kept, the first ones are evicted
+        project.getCommit(commits.get(commits.size() - 1).getId());
+        assertEquals(0, server.getRequestCount() - before);
+        project.getCommit(commits.get(0).getId());
+        assertEquals(1, server.getRequestCount() - before);
+    }
+
+    @Test
+    void notCachedByDefault() {
+        GitlabProject project = server.newClientBuilder().build().getProject(1);
+        GitlabBranch branch = project.getBranch("main");
+        long before = server.getRequestCount();
+        project.getCommit(branch.getCommit().getId());
+        assertEquals(1, server.getRequestCount() - before);
+        assertThrows(IllegalArgumentException.class, () -> server.newClientBuilder().withCommitCache(-1));
+    }
+}
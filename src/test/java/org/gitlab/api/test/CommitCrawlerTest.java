@@ -0,0 +1,116 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.CommitCrawler;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitCrawlerTest {
+    private static final int COMMITS = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private static MockGitlabServer server;
+    private static GitlabProject project;
+    private static List<GitlabCommit> expected;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(1).withCommitsPerProject(COMMITS).build())
+                .build();
+        project = server.newClientBuilder().build().getProject(1);
+        expected = new ArrayList<>();
+        project.getCommitsQuery().withPagination(Pagination.of(1, 100)).stream().forEach(expected::add);
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void crawlAll() {
+        for (int concurrency : new int[]{1, 8}) {
+            long before = server.getRequestCount();
+            List<GitlabCommit> crawled;
+            try (Stream<GitlabCommit> stream = CommitCrawler.of(template()).withConcurrency(concurrency).stream()) {
+                crawled = stream.collect(Collectors.toList());
+            }
+            long requests = server.getRequestCount() - before;
+            assertEquals(COMMITS, crawled.size());
+            assertEquals(new HashSet<>(ids(expected)), new HashSet<>(ids(crawled)));
+            assertOrdered(crawled);
+            crawled.forEach(commit -> assertSame(project, commit.getProject()));
+            // about a request per page, plus the samples of the dense windows and the empty edges of history
+            assertTrue(requests < 3 * COMMITS / PAGE_SIZE, String.valueOf(requests));
+        }
+    }
+
+    @Test
+    void range() {
+        ZonedDateTime since = expected.get(700).getCommittedDate();
+        ZonedDateTime until = expected.get(100).getCommittedDate();
+        List<String> inRange = expected.stream()
+                .filter(commit -> !commit.getCommittedDate().isBefore(since)
+                        && !commit.getCommittedDate().isAfter(until))
+                .map(GitlabCommit::getId).collect(Collectors.toList());
+        List<GitlabCommit> crawled;
+        // the range of the crawler replaces the one of the template
+        try (Stream<GitlabCommit> stream = CommitCrawler.of(template().withSince(until)).withSince(since)
+                .withUntil(until).stream()) {
+            crawled = stream.collect(Collectors.toList());
+        }
+        assertEquals(new HashSet<>(inRange), new HashSet<>(ids(crawled)));
+        assertEquals(inRange.size(), crawled.size());
+        assertOrdered(crawled);
+    }
+
+    @Test
+    void closeEarly() {
+        long before = server.getRequestCount();
+        List<GitlabCommit> newest;
+        try (Stream<GitlabCommit> stream = CommitCrawler.of(template()).withConcurrency(2).stream()) {
+            newest = stream.limit(5).collect(Collectors.toList());
+        }
+        assertEquals(ids(expected.subList(0, 5)), ids(newest));
+        // only a few windows ahead of the streamed one are requested, far fewer than the pages of the history
+        long requests = server.getRequestCount() - before;
+        assertTrue(requests < COMMITS / PAGE_SIZE / 2, String.valueOf(requests));
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CommitCrawler.of(template()).withConcurrency(0));
+        ZonedDateTime now = ZonedDateTime.now();
+        assertThrows(IllegalArgumentException.class, () -> CommitCrawler.of(template()).withSince(now)
+                .withUntil(now.minusDays(1)).stream());
+    }
+
+    private static GitlabCommit.ProjectQuery template() {
+        return project.getCommitsQuery().withPagination(Pagination.of(1, PAGE_SIZE));
+    }
+
+    private static void assertOrdered(List<GitlabCommit> commits) {
+        for (int i = 1; i < commits.size(); i++) {
+            assertFalse(commits.get(i).getCommittedDate().isAfter(commits.get(i - 1).getCommittedDate()));
+        }
+    }
+
+    private static List<String> ids(List<GitlabCommit> commits) {
+        return commits.stream().map(GitlabCommit::getId).collect(Collectors.toList());
+    }
+}
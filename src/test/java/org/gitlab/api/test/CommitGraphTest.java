@@ -0,0 +1,141 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.CommitGraph;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitGraphTest {
+    private static MockGitlabServer server;
+    private static List<GitlabCommit> commits;
+    private static Map<String, List<String>> parents;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(1).withCommitsPerProject(200).build())
+                .build();
+        GitlabProject project = server.newClientBuilder().build().getProject(1);
+        commits = new ArrayList<>();
+        project.getCommitsQuery().stream().forEach(commits::add);
+        parents = new HashMap<>();
+        commits.forEach(commit -> parents.put(commit.getId(), commit.getParentIds()));
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void matchesWalks() {
+        for (boolean bitmaps : new boolean[]{false, true}) {
+            long before = server.getRequestCount();
+            CommitGraph graph = new CommitGraph.Builder().withCommits(commits).withReachabilityBitmaps(bitmaps)
+                    .build();
+            assertEquals(commits.size(), graph.size());
+            Random random = new Random(42);
+            for (int i = 0; i < 300; i++) {
+                String first = commits.get(random.nextInt(commits.size())).getId();
+                String second = commits.get(random.nextInt(commits.size())).getId();
+                Set<String> firstAncestors = ancestors(first);
+                Set<String> secondAncestors = ancestors(second);
+                assertEquals(secondAncestors.contains(first), graph.isAncestor(first, second));
+                assertEquals(firstAncestors.contains(second), graph.isAncestor(second, first));
+
+                Set<String> common = new HashSet<>(firstAncestors);
+                common.retainAll(secondAncestors);
+                Set<String> best = new HashSet<>(common);
+                common.forEach(base -> ancestors(base).stream().filter(a -> !a.equals(base)).forEach(best::remove));
+                assertEquals(best, new HashSet<>(graph.mergeBases(first, second)));
+
+                Set<String> between = new HashSet<>(secondAncestors);
+                between.removeAll(firstAncestors);
+                List<String> actual = graph.commitsBetween(first, second);
+                assertEquals(between, new HashSet<>(actual));
+                assertEquals(between.size(), actual.size());
+                // every commit comes before its parents
+                for (int k = 0; k < actual.size(); k++) {
+                    for (String parent : parents.get(actual.get(k))) {
+                        assertFalse(actual.subList(0, k).contains(parent));
+                    }
+                }
+            }
+            assertEquals(before, server.getRequestCount());
+        }
+    }
+
+    @Test
+    void generations() {
+        CommitGraph graph = new CommitGraph.Builder().withCommits(commits).build();
+        for (GitlabCommit commit : commits) {
+            int expected = 1;
+            for (String parent : commit.getParentIds()) {
+                expected = Math.max(expected, graph.getGeneration(parent) + 1);
+            }
+            assertEquals(expected, graph.getGeneration(commit.getId()));
+        }
+    }
+
+    @Test
+    void partialHistory() {
+        // the newest commits only, whose oldest parents were not fetched
+        List<GitlabCommit> newest = commits.subList(0, 20);
+        CommitGraph graph = new CommitGraph.Builder().withCommits(newest).withCommits(newest).build();
+        Set<String> known = new HashSet<>();
+        newest.forEach(commit -> {
+            known.add(commit.getId());
+            known.addAll(commit.getParentIds());
+        });
+        assertEquals(known.size(), graph.size());
+        String head = newest.get(0).getId();
+        String oldest = newest.get(19).getId();
+        assertTrue(graph.isAncestor(oldest, head));
+        assertEquals(oldest, graph.mergeBase(head, oldest));
+        // parents that were not fetched have no known history, so they are only excluded if reached from oldest
+        Map<String, List<String>> fetched = new HashMap<>();
+        newest.forEach(commit -> fetched.put(commit.getId(), commit.getParentIds()));
+        Set<String> between = ancestors(head, fetched);
+        between.removeAll(ancestors(oldest, fetched));
+        assertEquals(between, new HashSet<>(graph.commitsBetween(oldest, head)));
+        assertTrue(between.size() >= 19);
+        assertTrue(graph.commitsBetween(head, oldest).isEmpty());
+        String unfetched = commits.get(150).getId();
+        assertFalse(graph.contains(unfetched));
+        assertThrows(IllegalArgumentException.class, () -> graph.isAncestor(unfetched, head));
+        assertThrows(IllegalArgumentException.class, () -> graph.mergeBase(head, "main"));
+    }
+
+    private static Set<String> ancestors(String sha) {
+        return ancestors(sha, parents);
+    }
+
+    private static Set<String> ancestors(String sha, Map<String, List<String>> parents) {
+        Set<String> ancestors = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(sha);
+        while (!queue.isEmpty()) {
+            String next = queue.poll();
+            if (ancestors.add(next)) {
+                queue.addAll(parents.getOrDefault(next, new ArrayList<>()));
+            }
+        }
+        return ancestors;
+    }
+}
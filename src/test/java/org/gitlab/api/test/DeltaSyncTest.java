@@ -0,0 +1,174 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.DeltaSync;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabMergeRequest;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSyncTest {
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+    private Path dir;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).withIssuesPerProject(40)
+                        .withMergeRequestsPerProject(60).build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("delta-sync");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void fullThenIncremental() {
+        for (int pageSize : new int[]{100, 3}) {
+            Path file = dir.resolve("sync").resolve(pageSize + ".properties");
+            Recorder recorder = new Recorder();
+            DeltaSync sync = new DeltaSync.Builder(client, file).withProjects(1, 2).withPageSize(pageSize)
+                    .withListener(recorder).build();
+            assertEquals(200, sync.run());
+            assertEquals(80, recorder.issues.size());
+            assertEquals(120, recorder.mergeRequests.size());
+            assertEquals(issueIds(), new HashSet<>(recorder.issues));
+            assertEquals(mergeRequestIds(), new HashSet<>(recorder.mergeRequests));
+            assertTrue(Files.exists(file));
+
+            long before = server.getRequestCount();
+            Recorder again = new Recorder();
+            assertEquals(0, new DeltaSync.Builder(client, file).withProjects(1, 2)
+                    .withPageSize(Math.max(pageSize, 10)).withListener(again).build().run());
+            assertEquals(before + 4, server.getRequestCount());
+            assertTrue(again.issues.isEmpty() && again.mergeRequests.isEmpty());
+        }
+    }
+
+    @Test
+    void fromWatermark() throws IOException {
+        List<GitlabMergeRequest> mergeRequests = new ArrayList<>();
+        client.getProject(1).getMergeRequestsQuery().withOrderBy("updated_at").withSort("asc").stream()
+                .forEach(mergeRequests::add);
+        GitlabMergeRequest middle = mergeRequests.get(30);
+        long watermark = middle.getUpdatedAt().toInstant().toEpochMilli();
+        Path file = dir.resolve("watermarks.properties");
+        Files.write(file, Collections.singletonList("merge_requests.1=" + watermark + " " + middle.getId()),
+                StandardCharsets.UTF_8);
+
+        Recorder recorder = new Recorder();
+        new DeltaSync.Builder(client, file).withProjects(1).withIssues(false).withPageSize(5)
+                .withListener(recorder).build().run();
+        Set<Integer> expected = mergeRequests.stream()
+                .filter(mergeRequest -> mergeRequest.getUpdatedAt().toInstant().toEpochMilli() >= watermark)
+                .map(GitlabMergeRequest::getId).filter(id -> id != middle.getId()).collect(Collectors.toSet());
+        assertEquals(expected, new HashSet<>(recorder.mergeRequests));
+        assertEquals(expected.size(), recorder.mergeRequests.size());
+        assertTrue(recorder.issues.isEmpty());
+    }
+
+    @Test
+    void resumeAfterFailure() {
+        Path file = dir.resolve("watermarks.properties");
+        Set<Integer> synced = new HashSet<>();
+        DeltaSync.Listener failing = new DeltaSync.Listener() {
+            @Override
+            public void onIssueUpsert(GitlabIssue issue) {
+                if (synced.size() == 25) {
+                    throw new IllegalStateException("listener failed");
+                }
+                synced.add(issue.getId());
+            }
+        };
+        DeltaSync.Builder builder = new DeltaSync.Builder(client, file).withProjects(1).withMergeRequests(false)
+                .withPageSize(10);
+        assertThrows(IllegalStateException.class, () -> builder.withListener(failing).build().run());
+        assertEquals(25, synced.size());
+
+        Recorder recorder = new Recorder();
+        builder.withListener(recorder).build().run();
+        // the run resumes from the last saved watermark, emitting again the page being processed
+        assertTrue(recorder.issues.size() >= 15 && recorder.issues.size() < 25, recorder.issues.toString());
+        assertEquals(recorder.issues.size(), new HashSet<>(recorder.issues).size());
+        synced.addAll(recorder.issues);
+        assertEquals(40, synced.size());
+    }
+
+    @Test
+    void invalidBuilder() {
+        DeltaSync.Builder builder = new DeltaSync.Builder(client, dir.resolve("watermarks.properties"));
+        assertThrows(IllegalArgumentException.class, () -> builder.withPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.withPageSize(101));
+        assertThrows(IllegalArgumentException.class, () -> builder.withProjects(1, 0));
+    }
+
+    private static Set<Integer> issueIds() {
+        Set<Integer> ids = new HashSet<>();
+        for (int projectId = 1; projectId <= 2; projectId++) {
+            client.getProject(projectId).getIssuesQuery().stream().forEach(issue -> ids.add(issue.getId()));
+        }
+        return ids;
+    }
+
+    private static Set<Integer> mergeRequestIds() {
+        Set<Integer> ids = new HashSet<>();
+        for (int projectId = 1; projectId <= 2; projectId++) {
+            client.getProject(projectId).getMergeRequestsQuery().stream()
+                    .forEach(mergeRequest -> ids.add(mergeRequest.getId()));
+        }
+        return ids;
+    }
+
+    private static class Recorder implements DeltaSync.Listener {
+        private final List<Integer> issues = new ArrayList<>();
+        private final List<Integer> mergeRequests = new ArrayList<>();
+
+        @Override
+        public void onIssueUpsert(GitlabIssue issue) {
+            issues.add(issue.getId());
+        }
+
+        @Override
+        public void onMergeRequestUpsert(GitlabMergeRequest mergeRequest) {
+            mergeRequests.add(mergeRequest.getId());
+        }
+    }
+}
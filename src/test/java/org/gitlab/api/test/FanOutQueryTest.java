@@ -0,0 +1,111 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.FanOutQuery;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabMergeRequest;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutQueryTest {
+    private static final Comparator<GitlabMergeRequest> RECENTLY_UPDATED =
+            Comparator.comparing(GitlabMergeRequest::getUpdatedAt).reversed();
+
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+    private static List<GitlabProject> projects;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(6).withIssuesPerProject(10)
+                        .withMergeRequestsPerProject(30).build())
+                .build();
+        client = server.newClientBuilder().build();
+        projects = new ArrayList<>();
+        for (int id = 1; id <= 6; id++) {
+            projects.add(client.getProject(id));
+        }
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void mergeAll() {
+        List<GitlabMergeRequest> expected = new ArrayList<>();
+        projects.forEach(project -> project.getMergeRequestsQuery().stream().forEach(expected::add));
+        expected.sort(RECENTLY_UPDATED);
+
+        for (int concurrency : new int[]{1, 4}) {
+            List<GitlabMergeRequest> merged;
+            try (Stream<GitlabMergeRequest> stream = FanOutQuery.of(projects, template(5), RECENTLY_UPDATED)
+                    .withConcurrency(concurrency).stream()) {
+                merged = stream.collect(Collectors.toList());
+            }
+            assertEquals(updatedAts(expected), updatedAts(merged));
+            assertEquals(expected.stream().map(GitlabMergeRequest::getId).sorted().collect(Collectors.toList()),
+                    merged.stream().map(GitlabMergeRequest::getId).sorted().collect(Collectors.toList()));
+            merged.forEach(mergeRequest -> assertEquals(mergeRequest.getProjectId(),
+                    mergeRequest.getProject().getId()));
+        }
+    }
+
+    @Test
+    void topFetchesOnlyNeededPages() {
+        List<GitlabMergeRequest> expected = new ArrayList<>();
+        projects.forEach(project -> project.getMergeRequestsQuery().stream().forEach(expected::add));
+        expected.sort(RECENTLY_UPDATED);
+
+        long before = server.getRequestCount();
+        List<GitlabMergeRequest> top = FanOutQuery.of(projects, template(5), RECENTLY_UPDATED).top(10);
+        // a first page of every project, and at most a page more for every 5 results taken
+        assertTrue(server.getRequestCount() - before <= 6 + 2, String.valueOf(server.getRequestCount() - before));
+        assertEquals(updatedAts(expected.subList(0, 10)), updatedAts(top));
+        assertTrue(FanOutQuery.of(projects, template(5), RECENTLY_UPDATED).top(0).isEmpty());
+    }
+
+    @Test
+    void issues() {
+        Comparator<GitlabIssue> oldest = Comparator.comparing(GitlabIssue::getCreatedAt);
+        List<GitlabIssue> top = FanOutQuery.of(projects, projects.get(0).getIssuesQuery()
+                .withOrderBy("created_at").withSort("asc").withPagination(Pagination.of(1, 3)), oldest).top(20);
+        List<GitlabIssue> expected = new ArrayList<>();
+        projects.forEach(project -> project.getIssuesQuery().stream().forEach(expected::add));
+        expected.sort(oldest);
+        assertEquals(expected.subList(0, 20).stream().map(GitlabIssue::getCreatedAt).collect(Collectors.toList()),
+                top.stream().map(GitlabIssue::getCreatedAt).collect(Collectors.toList()));
+    }
+
+    @Test
+    void invalidArguments() {
+        FanOutQuery<GitlabMergeRequest> query = FanOutQuery.of(projects, template(5), RECENTLY_UPDATED);
+        assertThrows(IllegalArgumentException.class, () -> query.withConcurrency(0));
+        assertThrows(IllegalArgumentException.class, () -> query.top(-1));
+    }
+
+    private static GitlabMergeRequest.ProjectQuery template(int pageSize) {
+        return projects.get(0).getMergeRequestsQuery().withOrderBy("updated_at").withSort("desc")
+                .withPagination(Pagination.of(1, pageSize));
+    }
+
+    private static List<ZonedDateTime> updatedAts(List<GitlabMergeRequest> mergeRequests) {
+        return mergeRequests.stream().map(GitlabMergeRequest::getUpdatedAt).collect(Collectors.toList());
+    }
+}
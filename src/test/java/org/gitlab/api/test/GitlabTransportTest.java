@@ -0,0 +1,102 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.GitlabTransport;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitlabTransportTest {
+
+    @Test
+    void builder() {
+        GitlabTransport transport = new GitlabTransport.Builder()
+                .withMaxIdleConnections(20)
+                .withKeepAlive(60000)
+                .withMaxRequests(128)
+                .withMaxRequestsPerHost(16)
+                .build();
+        assertEquals(20, transport.getMaxIdleConnections());
+        assertEquals(60000, transport.getKeepAlive());
+        assertEquals(128, transport.getMaxRequests());
+        assertEquals(16, transport.getMaxRequestsPerHost());
+        assertEquals(0, transport.getConnectionCount());
+        assertThrows(IllegalArgumentException.class, () -> new GitlabTransport.Builder().withMaxIdleConnections(-1));
+        assertThrows(IllegalArgumentException.class, () -> new GitlabTransport.Builder().withKeepAlive(0));
+        assertThrows(IllegalArgumentException.class, () -> new GitlabTransport.Builder().withMaxRequests(0));
+        assertThrows(IllegalArgumentException.class, () -> new GitlabTransport.Builder().withMaxRequestsPerHost(0));
+    }
+
+    @Test
+    void sharedByClients() {
+        GitlabTransport transport = new GitlabTransport.Builder().build();
+        GitlabAPIClient first = new GitlabAPIClient.Builder("https://gitlab.com")
+                .withAccessToken("first")
+                .withTransport(transport)
+                .build();
+        GitlabAPIClient second = new GitlabAPIClient.Builder("https://gitlab.com")
+                .withAccessToken("second")
+                .withTransport(transport)
+                .build();
+        assertSame(transport, first.getTransport());
+        assertSame(transport, second.getTransport());
+        assertNull(new GitlabAPIClient.Builder("https://gitlab.com").build().getTransport());
+    }
+
+    @Test
+    void connectionPoolShared() {
+        GitlabTransport transport = new GitlabTransport.Builder().build();
+        try (MockGitlabServer server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).build())
+                .build()) {
+            GitlabAPIClient first = server.newClientBuilder().withTransport(transport).build();
+            GitlabAPIClient second = server.newClientBuilder().withTransport(transport).build();
+            GitlabAPIClient anonymous = new GitlabAPIClient.Builder(server.getEndpoint())
+                    .withAccessToken("unknown")
+                    .withTransport(transport)
+                    .build();
+            for (int i = 0; i < 3; i++) {
+                assertEquals(1, first.getProject(1).getId());
+                assertEquals(2, second.getProject(2).getId());
+            }
+            // each client keeps its own authentication on the shared connection
+            assertThrows(GitlabException.class, () -> anonymous.getProject(1));
+            assertEquals(1, transport.getConnectionCount());
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    void dispatcherShared() {
+        GitlabTransport transport = new GitlabTransport.Builder().withMaxRequestsPerHost(1).build();
+        try (MockGitlabServer server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).build())
+                .withLatency(150)
+                .build()) {
+            GitlabAPIClient first = server.newClientBuilder().withTransport(transport).build();
+            GitlabAPIClient second = server.newClientBuilder().withTransport(transport).build();
+            long start = System.nanoTime();
+            List<CompletableFuture<GitlabProject>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(first.getProjectAsync(1));
+                futures.add(second.getProjectAsync(2));
+            }
+            futures.forEach(CompletableFuture::join);
+            // one request per host at a time across both clients
+            long elapsed = System.nanoTime() - start;
+            assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(4 * 150), String.valueOf(elapsed));
+        } finally {
+            transport.shutdown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonBindingTest {
+    private static MockGitlabServer server;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).withIssuesPerProject(20).build())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void accelerated() {
+        GitlabAPIClient plain = server.newClientBuilder().build();
+        GitlabAPIClient accelerated = server.newClientBuilder().withBytecodeAccessors(true).withWarmUp(true).build();
+        GitlabProject expected = plain.getProject(1);
+        GitlabProject actual = accelerated.getProject(1);
+        assertEquals(expected.getNameWithNamespace(), actual.getNameWithNamespace());
+        assertEquals(expected.getOwner().getUsername(), actual.getOwner().getUsername());
+        assertEquals(expected.getLastActivityAt(), actual.getLastActivityAt());
+
+        List<GitlabIssue> expectedIssues = plain.getIssuesQuery().withPagination(Pagination.of(1, 40)).query();
+        List<GitlabIssue> actualIssues = accelerated.getIssuesQuery().withPagination(Pagination.of(1, 40)).query();
+        assertEquals(expectedIssues.size(), actualIssues.size());
+        for (int i = 0; i < expectedIssues.size(); i++) {
+            assertEquals(expectedIssues.get(i), actualIssues.get(i));
+            assertEquals(expectedIssues.get(i).getTitle(), actualIssues.get(i).getTitle());
+            assertEquals(expectedIssues.get(i).getLabels(), actualIssues.get(i).getLabels());
+            assertEquals(expectedIssues.get(i).getCreatedAt(), actualIssues.get(i).getCreatedAt());
+            assertEquals(expectedIssues.get(i).getAuthor().getName(), actualIssues.get(i).getAuthor().getName());
+        }
+
+        GitlabCommit expectedCommit = expected.getBranch("main").getCommit();
+        GitlabCommit actualCommit = actual.getBranch("main").getCommit();
+        assertEquals(expectedCommit.getId(), actualCommit.getId());
+        assertEquals(expectedCommit.getParentIds(), actualCommit.getParentIds());
+        assertEquals(expectedCommit.getCommittedDate(), actualCommit.getCommittedDate());
+    }
+
+    @Test
+    void warmUp() {
+        GitlabAPIClient client = server.newClientBuilder().withWarmUp(true).build();
+        assertEquals(2, client.getProject(2).getId());
+    }
+}
@@ -0,0 +1,79 @@
+package org.gitlab.api.test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListResponseTest {
+    private static final String PROJECT_LIST = "[{\"id\":1,\"name\":\"one\"}]";
+
+    private MockWebServer server;
+    private GitlabAPIClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        HttpUrl url = server.url("/");
+        client = new GitlabAPIClient.Builder(url.scheme() + "://" + url.host() + ":" + url.port())
+                .withAccessToken("token")
+                .build();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void elements() {
+        server.enqueue(new MockResponse().setBody("[{\"id\":1,\"name\":\"one\"},null,{\"id\":2,\"name\":\"two\"}]"));
+        List<GitlabProject> projects = client.getProjectsQuery().query();
+        // null elements are skipped
+        assertEquals(2, projects.size());
+        assertEquals("two", projects.get(1).getName());
+        // the components are bound to the client
+        server.enqueue(new MockResponse().setBody("[]"));
+        assertTrue(projects.get(0).getIssuesQuery().query().isEmpty());
+    }
+
+    @Test
+    void nullBody() {
+        server.enqueue(new MockResponse().setBody("null"));
+        assertTrue(client.getProjectsQuery().query().isEmpty());
+    }
+
+    @Test
+    void notArray() {
+        server.enqueue(new MockResponse().setBody("{\"message\":\"not a list\"}"));
+        GitlabException e = assertThrows(GitlabException.class, () -> client.getProjectsQuery().query());
+        assertTrue(e.getCause() instanceof MismatchedInputException, String.valueOf(e.getCause()));
+    }
+
+    @Test
+    void malformedElement() throws InterruptedException {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"id\":1,\"name\":\"one\"},{\"id\":2,\"name\":},{\"id\":3,\"name\":\"three\"}]"));
+        server.enqueue(new MockResponse().setBody(PROJECT_LIST));
+        GitlabException e = assertThrows(GitlabException.class, () -> client.getProjectsQuery().query());
+        assertTrue(e.getCause() instanceof JsonProcessingException, String.valueOf(e.getCause()));
+
+        // the body has been closed, so the connection is reused by the next request
+        assertEquals(1, client.getProjectsQuery().query().size());
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+    }
+}
@@ -0,0 +1,218 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.GitlabTransport;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageIteratorTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(12).withIssuesPerProject(25).build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void lazy() {
+        GitlabProject project = client.getProject(1);
+        long before = server.getRequestCount();
+        Iterator<GitlabIssue> issues = project.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream()
+                .iterator();
+        assertEquals(before, server.getRequestCount());
+        for (int page = 1; page <= 3; page++) {
+            for (int i = 0; i < (page < 3 ? 10 : 5); i++) {
+                assertTrue(issues.hasNext());
+                issues.next();
+                // one request per page, sent when the first component of the page is consumed
+                assertEquals(before + page, server.getRequestCount());
+            }
+        }
+        assertFalse(issues.hasNext());
+        assertEquals(before + 3, server.getRequestCount());
+    }
+
+    @Test
+    void nextPage() {
+        // X-Next-Page of offset pagination
+        GitlabProject project = client.getProject(2);
+        long before = server.getRequestCount();
+        List<GitlabIssue> issues = project.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream()
+                .collect(Collectors.toList());
+        assertEquals(before + 3, server.getRequestCount());
+        assertEquals(project.getIssuesQuery().withPagination(Pagination.of(1, 100)).query(), issues);
+
+        // a later starting page is followed as well
+        assertEquals(15, project.getIssuesQuery().withPagination(Pagination.of(2, 10)).stream().count());
+    }
+
+    @Test
+    void linkNext() {
+        // Link rel="next" of keyset pagination, which has no X-Next-Page
+        long before = server.getRequestCount();
+        List<GitlabProject> projects = client.getProjectsQuery().withPagination(Pagination.keyset("id", 5)).stream()
+                .collect(Collectors.toList());
+        assertEquals(before + 3, server.getRequestCount());
+        assertEquals(12, projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            assertEquals(i + 1, projects.get(i).getId());
+        }
+    }
+
+    @Test
+    void iterator() {
+        long before = server.getRequestCount();
+        List<Integer> iids = new ArrayList<>();
+        for (GitlabIssue issue : client.getProject(3).getIssuesQuery().withPagination(Pagination.of(1, 20))) {
+            iids.add(issue.getIid());
+        }
+        assertEquals(before + 3, server.getRequestCount());
+        assertEquals(25, iids.size());
+        assertEquals(25, iids.stream().distinct().count());
+        Iterator<GitlabIssue> empty = client.getProject(3).getIssuesQuery().withPagination(Pagination.of(3, 20))
+                .iterator();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    void closedMidPage() {
+        GitlabTransport transport = new GitlabTransport.Builder().withMaxRequestsPerHost(1).build();
+        try (MockGitlabServer slow = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(1).withIssuesPerProject(25).build())
+                .withLatency(1000)
+                .build()) {
+            GitlabAPIClient slowClient = slow.newClientBuilder().withTransport(transport).build();
+            GitlabProject project = slowClient.getProject(1);
+            Stream<GitlabIssue> stream = project.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream();
+            Iterator<GitlabIssue> issues = stream.iterator();
+            for (int i = 0; i < 10; i++) {
+                issues.next();
+            }
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                // waits for the second page until the stream is closed
+                CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(issues::hasNext);
+                Thread.sleep(100);
+                long closedAt = System.nanoTime();
+                stream.close();
+                assertFalse(waiting.join());
+                assertTrue(System.nanoTime() - closedAt < TimeUnit.MILLISECONDS.toNanos(500));
+
+                // the cancelled call no longer takes the only request slot of the host
+                long start = System.nanoTime();
+                slowClient.getProjectAsync(1).join();
+                long elapsed = System.nanoTime() - start;
+                assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(1500), String.valueOf(elapsed));
+            });
+            assertFalse(issues.hasNext());
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    void parallelInPageOrder() {
+        try (MockGitlabServer jittery = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(4).withIssuesPerProject(25).build())
+                .withLatency(20)
+                .withJitter(200)
+                .build()) {
+            GitlabAPIClient jitteryClient = jittery.newClientBuilder().build();
+            List<Integer> expected = jitteryClient.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream()
+                    .map(GitlabIssue::getId).collect(Collectors.toList());
+            assertEquals(100, expected.size());
+            assertEquals(1, jittery.getMaxConcurrentCount());
+
+            List<Integer> ids = jitteryClient.getIssuesQuery().withPagination(Pagination.of(1, 10))
+                    .queryAllParallel(3).map(GitlabIssue::getId).collect(Collectors.toList());
+            assertEquals(expected, ids);
+            // the pages after the first one were fetched concurrently, but never more than 3 at a time
+            assertEquals(3, jittery.getMaxConcurrentCount());
+        }
+    }
+
+    @Test
+    void parallelWithoutTotalPages() {
+        try (MockGitlabServer uncounted = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(4).withIssuesPerProject(25).build())
+                .withLatency(20)
+                .withJitter(50)
+                .withMaxCountedItems(50)
+                .build()) {
+            GitlabAPIClient uncountedClient = uncounted.newClientBuilder().build();
+            long before = uncounted.getRequestCount();
+            List<Integer> ids = uncountedClient.getIssuesQuery().withPagination(Pagination.of(1, 10))
+                    .queryAllParallel(4).map(GitlabIssue::getId).collect(Collectors.toList());
+            // the pages are fetched one by one following X-Next-Page
+            assertEquals(1, uncounted.getMaxConcurrentCount());
+            assertEquals(before + 10, uncounted.getRequestCount());
+            assertEquals(uncountedClient.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream()
+                    .map(GitlabIssue::getId).collect(Collectors.toList()), ids);
+        }
+    }
+
+    @Test
+    void parallelClosed() {
+        GitlabTransport transport = new GitlabTransport.Builder().withMaxRequestsPerHost(3).build();
+        try (MockGitlabServer slow = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(4).withIssuesPerProject(25).build())
+                .withLatency(1000)
+                .build()) {
+            GitlabAPIClient slowClient = slow.newClientBuilder().withTransport(transport).build();
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                Stream<GitlabIssue> stream = slowClient.getIssuesQuery().withPagination(Pagination.of(1, 10))
+                        .queryAllParallel(3);
+                Iterator<GitlabIssue> issues = stream.iterator();
+                // the first page is fetched, then the next 3 pages take all the request slots of the host
+                issues.next();
+                Thread.sleep(100);
+                stream.close();
+                // only the rest of the first page is handed out
+                int rest = 0;
+                while (issues.hasNext()) {
+                    issues.next();
+                    rest++;
+                }
+                assertEquals(9, rest);
+
+                // the cancelled calls no longer take the request slots of the host
+                long start = System.nanoTime();
+                CompletableFuture.allOf(slowClient.getProjectAsync(1), slowClient.getProjectAsync(2),
+                        slowClient.getProjectAsync(3)).join();
+                long elapsed = System.nanoTime() - start;
+                assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(1500), String.valueOf(elapsed));
+            });
+        } finally {
+            transport.shutdown();
+        }
+    }
+}
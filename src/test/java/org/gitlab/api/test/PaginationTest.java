@@ -31,6 +31,22 @@ class PaginationTest {
         assertThrows(IllegalArgumentException.class, () -> Pagination.of(-1, -1));
     }
 
+    @Test
+    void keyset() {
+        Pagination pagination = Pagination.keyset("id", 50);
+        assertTrue(pagination.isKeyset());
+        assertEquals("id", pagination.getOrderBy());
+        assertEquals(50, pagination.getPageSize());
+        assertEquals(1, pagination.getPageNumber());
+        assertFalse(Pagination.of(1, 5).isKeyset());
+        assertNull(Pagination.getDefaultPagination().getOrderBy());
+        assertDoesNotThrow(() -> {
+            Pagination.keyset(null, 100);
+        });
+        assertThrows(IllegalArgumentException.class, () -> Pagination.keyset("id", 0));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.keyset("id", 101));
+    }
+
     @Test
     void getPageNumber() {
         Pagination defaultPagination = Pagination.getDefaultPagination();
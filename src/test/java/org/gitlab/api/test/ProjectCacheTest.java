@@ -0,0 +1,99 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabMergeRequest;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectCacheTest {
+    private static MockGitlabServer server;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(3).withIssuesPerProject(20).build())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void lazyProjects() {
+        GitlabAPIClient client = server.newClientBuilder().withProjectCache(10, 60000).build();
+        List<GitlabIssue> issues = client.getIssuesQuery().withPagination(Pagination.of(1, 100)).query();
+        assertEquals(60, issues.size());
+        long before = server.getRequestCount();
+        for (GitlabIssue issue : issues) {
+            assertEquals(issue.getProjectId(), issue.getProject().getId());
+        }
+        assertEquals(before + 3, server.getRequestCount());
+        assertEquals(1, client.getProject(1).getId());
+        assertEquals(before + 3, server.getRequestCount());
+        assertNotSame(client.getProject(1), client.getProject(1));
+    }
+
+    @Test
+    void notCached() {
+        GitlabAPIClient client = server.newClientBuilder().build();
+        List<GitlabIssue> issues = client.getIssuesQuery().withPagination(Pagination.of(1, 100)).query();
+        long before = server.getRequestCount();
+        issues.forEach(GitlabIssue::getProject);
+        assertEquals(before + 60, server.getRequestCount());
+    }
+
+    @Test
+    void expired() throws InterruptedException {
+        GitlabAPIClient client = server.newClientBuilder().withProjectCache(10, 1).build();
+        long before = server.getRequestCount();
+        client.getProject(2);
+        Thread.sleep(5);
+        client.getProject(2);
+        assertEquals(before + 2, server.getRequestCount());
+    }
+
+    @Test
+    void neverExpired() {
+        GitlabAPIClient client = server.newClientBuilder().withProjectCache(10, Long.MAX_VALUE).build();
+        long before = server.getRequestCount();
+        client.getProject(3);
+        client.getProject(3);
+        assertEquals(before + 1, server.getRequestCount());
+    }
+
+    @Test
+    void resolved() {
+        GitlabAPIClient client = server.newClientBuilder().build();
+        long before = server.getRequestCount();
+        List<GitlabIssue> issues = client.getIssuesQuery().withProjectsResolved(true)
+                .withPagination(Pagination.of(1, 30)).stream().collect(Collectors.toList());
+        assertEquals(60, issues.size());
+        issues.forEach(issue -> assertEquals(issue.getProjectId(), issue.getProject().getId()));
+        assertTrue(server.getRequestCount() - before <= 2 + 2 * 3);
+        List<GitlabMergeRequest> mergeRequests = client.getMergeRequestsQuery().withProjectsResolved(true)
+                .queryAsync().join();
+        before = server.getRequestCount();
+        mergeRequests.forEach(mergeRequest -> assertNotNull(mergeRequest.getProject()));
+        assertEquals(before, server.getRequestCount());
+    }
+
+    @Test
+    void builder() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GitlabAPIClient.Builder("https://gitlab.com").withProjectCache(-1, 1000));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GitlabAPIClient.Builder("https://gitlab.com").withProjectCache(10, 0));
+    }
+}
@@ -0,0 +1,171 @@
+package org.gitlab.api.test;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final String PROJECT = "{\"id\":1,\"name\":\"project\"}";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void notPacedByDefault() {
+        GitlabAPIClient client = newClientBuilder().build();
+        // the quota is used up for a minute, but nobody asked to wait for it
+        server.enqueue(limited(100, 0, "60"));
+        server.enqueue(limited(100, 0, "60"));
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            long start = System.nanoTime();
+            client.getProject(1);
+            client.getProject(1);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        });
+    }
+
+    @Test
+    void burstThenPaced() {
+        GitlabAPIClient client = newClientBuilder().withRateLimited(true).build();
+        // 10 requests per second with a burst of 2, i.e. a tenth of the limit
+        for (int i = 0; i < 8; i++) {
+            server.enqueue(limited(20, 10, "1"));
+        }
+        long first = timed(() -> {
+            for (int i = 0; i < 3; i++) {
+                client.getProject(1);
+            }
+        });
+        long paced = timed(() -> {
+            for (int i = 0; i < 5; i++) {
+                client.getProject(1);
+            }
+        });
+        assertTrue(first < TimeUnit.MILLISECONDS.toNanos(300), String.valueOf(first));
+        assertTrue(paced >= TimeUnit.MILLISECONDS.toNanos(400), String.valueOf(paced));
+    }
+
+    @Test
+    void pacedAsync() {
+        GitlabAPIClient client = newClientBuilder().withRateLimited(true).build();
+        for (int i = 0; i < 8; i++) {
+            server.enqueue(limited(20, 10, "1"));
+        }
+        client.getProject(1);
+        long paced = timed(() -> {
+            List<CompletableFuture<GitlabProject>> futures = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                futures.add(client.getProjectAsync(1));
+            }
+            // none of the requests waits in the calling thread
+            futures.forEach(CompletableFuture::join);
+        });
+        assertTrue(paced >= TimeUnit.MILLISECONDS.toNanos(400), String.valueOf(paced));
+        assertEquals(8, server.getRequestCount());
+    }
+
+    @Test
+    void waitsForEpochReset() {
+        GitlabAPIClient client = newClientBuilder().withRateLimited(true).build();
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 2;
+        server.enqueue(limited(100, 0, String.valueOf(reset)));
+        // the next window has not been seen yet
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            client.getProject(1);
+            long exhausted = timed(() -> client.getProject(1));
+            long reopened = timed(() -> client.getProject(1));
+            assertTrue(exhausted >= TimeUnit.MILLISECONDS.toNanos(900), String.valueOf(exhausted));
+            assertTrue(reopened < TimeUnit.MILLISECONDS.toNanos(500), String.valueOf(reopened));
+        });
+    }
+
+    @Test
+    void ignoresInvalidHeaders() {
+        GitlabAPIClient client = newClientBuilder().withRateLimited(true).build();
+        server.enqueue(new MockResponse().setBody(PROJECT).setHeader("RateLimit-Limit", "many")
+                .setHeader("RateLimit-Remaining", "0").setHeader("RateLimit-Reset", "60"));
+        server.enqueue(new MockResponse().setBody(PROJECT).setHeader("RateLimit-Remaining", "0")
+                .setHeader("RateLimit-Reset", "60"));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            for (int i = 0; i < 3; i++) {
+                client.getProject(1);
+            }
+        });
+    }
+
+    @Test
+    void mockServer() {
+        MockDataset dataset = new MockDataset.Builder().withProjects(1).build();
+        try (MockGitlabServer limited = new MockGitlabServer.Builder().withDataset(dataset).withRateLimit(10, 1)
+                .build()) {
+            GitlabAPIClient unpaced = limited.newClientBuilder().build();
+            assertThrows(GitlabException.class, () -> {
+                for (int i = 0; i < 20; i++) {
+                    unpaced.getProject(1);
+                }
+            });
+            assertTrue(limited.getRateLimitedCount() > 0);
+        }
+        try (MockGitlabServer limited = new MockGitlabServer.Builder().withDataset(dataset).withRateLimit(10, 1)
+                .build()) {
+            GitlabAPIClient paced = limited.newClientBuilder().withRateLimited(true).build();
+            long elapsed = timed(() -> {
+                for (int i = 0; i < 20; i++) {
+                    assertEquals(1, paced.getProject(1).getId());
+                }
+            });
+            assertEquals(0, limited.getRateLimitedCount());
+            assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(900), String.valueOf(elapsed));
+        }
+    }
+
+    private GitlabAPIClient.Builder newClientBuilder() {
+        HttpUrl url = server.url("/");
+        return new GitlabAPIClient.Builder(url.scheme() + "://" + url.host() + ":" + url.port())
+                .withAccessToken("token");
+    }
+
+    private static MockResponse limited(int limit, int remaining, String reset) {
+        return new MockResponse().setBody(PROJECT)
+                .setHeader("RateLimit-Limit", limit)
+                .setHeader("RateLimit-Remaining", remaining)
+                .setHeader("RateLimit-Reset", reset);
+    }
+
+    private static long timed(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+}
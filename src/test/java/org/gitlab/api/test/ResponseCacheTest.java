@@ -0,0 +1,111 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private static MockGitlabServer server;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(2).withIssuesPerProject(30).build())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void revalidated() {
+        GitlabAPIClient client = server.newClientBuilder().withResponseCache(10).build();
+        long requests = server.getRequestCount();
+        long notModified = server.getNotModifiedCount();
+        GitlabProject first = client.getProject(1);
+        GitlabProject second = client.getProject(1);
+        assertEquals(2, server.getRequestCount() - requests);
+        // the second request carried the ETag of the first response
+        assertEquals(1, server.getNotModifiedCount() - notModified);
+        assertEquals(first, second);
+        assertEquals(first.getDescription(), second.getDescription());
+        // the copy served from the cache is bound to the client
+        assertEquals(7, second.getIssue(7).getIid());
+    }
+
+    @Test
+    void copiesNotShared() {
+        GitlabAPIClient client = server.newClientBuilder().withResponseCache(10).build();
+        GitlabProject first = client.getProject(2);
+        String description = first.getDescription();
+        first.withDescription("changed");
+        GitlabProject second = client.getProject(2);
+        GitlabProject third = client.getProject(2);
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(description, second.getDescription());
+        second.withDescription("changed again");
+        assertEquals(description, third.getDescription());
+    }
+
+    @Test
+    void lists() {
+        GitlabAPIClient client = server.newClientBuilder().withResponseCache(10).build();
+        GitlabProject project = client.getProject(1);
+        long notModified = server.getNotModifiedCount();
+        List<GitlabIssue> first = project.getIssuesQuery().withPagination(Pagination.of(1, 20)).query();
+        first.get(0).withTitle("changed");
+        List<GitlabIssue> second = project.getIssuesQuery().withPagination(Pagination.of(1, 20)).query();
+        assertEquals(1, server.getNotModifiedCount() - notModified);
+        assertEquals(20, second.size());
+        assertEquals(first, second);
+        assertNotSame(first.get(0), second.get(0));
+        assertNotEquals("changed", second.get(0).getTitle());
+
+        // the next page of a cached page is still followed
+        assertEquals(30, project.getIssuesQuery().withPagination(Pagination.of(1, 20)).stream().count());
+    }
+
+    @Test
+    void async() {
+        GitlabAPIClient client = server.newClientBuilder().withResponseCache(10).build();
+        long notModified = server.getNotModifiedCount();
+        GitlabProject first = client.getProjectAsync(1).join();
+        GitlabProject second = client.getProjectAsync(1).join();
+        assertEquals(1, server.getNotModifiedCount() - notModified);
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+    }
+
+    @Test
+    void evicted() {
+        GitlabAPIClient client = server.newClientBuilder().withResponseCache(1).build();
+        long notModified = server.getNotModifiedCount();
+        client.getProject(1);
+        client.getProject(2);
+        client.getProject(1);
+        assertEquals(0, server.getNotModifiedCount() - notModified);
+    }
+
+    @Test
+    void notCachedByDefault() {
+        GitlabAPIClient client = server.newClientBuilder().build();
+        long notModified = server.getNotModifiedCount();
+        client.getProject(1);
+        client.getProject(1);
+        assertEquals(0, server.getNotModifiedCount() - notModified);
+        assertThrows(IllegalArgumentException.class, () -> server.newClientBuilder().withResponseCache(-1));
+    }
+}
@@ -0,0 +1,166 @@
+package org.gitlab.api.test;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+    private static final String PROJECT = "{\"id\":1,\"name\":\"project\"}";
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void none() {
+        assertEquals(0, RetryPolicy.none().getMaxRetries());
+        GitlabAPIClient client = new GitlabAPIClient.Builder("https://gitlab.com").build();
+        assertSame(RetryPolicy.none(), client.getRetryPolicy());
+        assertTrue(client.getRetryCounts().isEmpty());
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        assertThrows(GitlabException.class, () -> newClient(RetryPolicy.none()).getProject(1));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void builder() {
+        RetryPolicy policy = new RetryPolicy.Builder()
+                .withMaxRetries(5)
+                .withBaseDelay(100)
+                .withMaxDelay(1000)
+                .withMaxTotalDelay(5000)
+                .build();
+        assertEquals(5, policy.getMaxRetries());
+        assertEquals(100, policy.getBaseDelay());
+        assertEquals(1000, policy.getMaxDelay());
+        assertEquals(5000, policy.getMaxTotalDelay());
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy.Builder().withMaxRetries(-1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy.Builder().withBaseDelay(0));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy.Builder().withMaxDelay(0));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy.Builder().withMaxTotalDelay(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy.Builder().withBaseDelay(2000).withMaxDelay(1000).build());
+        assertThrows(NullPointerException.class,
+                () -> new GitlabAPIClient.Builder("https://gitlab.com").withRetryPolicy(null));
+    }
+
+    @Test
+    void serverErrors() {
+        GitlabAPIClient client = newClient(fastPolicy(5));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        assertEquals(1, client.getProject(1).getId());
+        assertEquals(3, server.getRequestCount());
+        assertEquals(Collections.singletonMap("GET /projects/:id", 2L), client.getRetryCounts());
+
+        // client errors other than 429 are final
+        server.enqueue(new MockResponse().setResponseCode(404));
+        assertThrows(GitlabException.class, () -> client.getProject(2));
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    void ioErrors() {
+        GitlabAPIClient client = newClient(fastPolicy(5));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        assertEquals(1, client.getProject(1).getId());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(Long.valueOf(1), client.getRetryCounts().get("GET /projects/:id"));
+    }
+
+    @Test
+    void maxRetries() {
+        GitlabAPIClient client = newClient(fastPolicy(2));
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        GitlabException e = assertThrows(GitlabException.class, () -> client.getProject(1));
+        assertTrue(e.getMessage().contains("500"));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(Long.valueOf(2), client.getRetryCounts().get("GET /projects/:id"));
+    }
+
+    @Test
+    void retryAfter() {
+        GitlabAPIClient client = newClient(fastPolicy(5));
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        long start = System.nanoTime();
+        assertEquals(1, client.getProjectAsync(1).join().getId());
+        assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void totalDelay() {
+        GitlabAPIClient client = newClient(new RetryPolicy.Builder().withMaxRetries(5).withBaseDelay(1)
+                .withMaxDelay(5).withMaxTotalDelay(500).build());
+        // waiting as long as Retry-After asks would exceed the retry budget
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "2"));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        long start = System.nanoTime();
+        GitlabException e = assertThrows(GitlabException.class, () -> client.getProject(1));
+        assertTrue(e.getMessage().contains("429"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, server.getRequestCount());
+        assertTrue(client.getRetryCounts().isEmpty());
+    }
+
+    @Test
+    void idempotentOnly() {
+        GitlabAPIClient client = newClient(fastPolicy(5));
+        server.enqueue(new MockResponse().setBody(PROJECT));
+        GitlabProject project = client.getProject(1);
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        GitlabIssue issue = project.newIssue("title");
+        assertThrows(GitlabException.class, issue::create);
+        assertEquals(2, server.getRequestCount());
+        assertFalse(client.getRetryCounts().containsKey("POST /projects/:id/issues"));
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(204));
+        issue.delete();
+        assertEquals(4, server.getRequestCount());
+        assertEquals(Long.valueOf(1), client.getRetryCounts().get("DELETE /projects/:id/issues/:id"));
+    }
+
+    private GitlabAPIClient newClient(RetryPolicy policy) {
+        HttpUrl url = server.url("/");
+        return new GitlabAPIClient.Builder(url.scheme() + "://" + url.host() + ":" + url.port())
+                .withAccessToken("token")
+                .withRetryPolicy(policy)
+                .build();
+    }
+
+    private static RetryPolicy fastPolicy(int maxRetries) {
+        return new RetryPolicy.Builder().withMaxRetries(maxRetries).withBaseDelay(1).withMaxDelay(5).build();
+    }
+}
@@ -0,0 +1,135 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.GitlabUser;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int CALLERS = 16;
+
+    private static MockGitlabServer server;
+    private static ExecutorService threads;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withUsers(10).withProjects(2).build())
+                .withLatency(300)
+                .build();
+        threads = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterAll
+    static void teardown() {
+        threads.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void coalesced() throws Exception {
+        GitlabAPIClient client = server.newClientBuilder().withRequestCoalescing(true).build();
+        long before = server.getRequestCount();
+        List<GitlabProject> projects = concurrently(() -> client.getProject(1));
+        long sent = server.getRequestCount() - before;
+        assertTrue(sent <= 2, String.valueOf(sent));
+        assertEquals(CALLERS, sent + client.getCoalescedRequestCount());
+
+        // every caller has its own copy
+        assertEquals(CALLERS, distinct(projects));
+        String description = projects.get(1).getDescription();
+        projects.get(0).withDescription("changed");
+        projects.subList(1, CALLERS).forEach(project -> assertEquals(description, project.getDescription()));
+
+        before = server.getRequestCount();
+        List<List<GitlabUser>> users = concurrently(() -> client.getUsersQuery().query());
+        assertTrue(server.getRequestCount() - before <= 2);
+        users.forEach(list -> assertEquals(users.get(0).size(), list.size()));
+        assertNotSame(users.get(0).get(0), users.get(1).get(0));
+    }
+
+    @Test
+    void coalescedAsync() {
+        GitlabAPIClient client = server.newClientBuilder().withRequestCoalescing(true).build();
+        long before = server.getRequestCount();
+        List<CompletableFuture<GitlabProject>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(client.getProjectAsync(2));
+        }
+        List<GitlabProject> projects = new ArrayList<>();
+        futures.forEach(future -> projects.add(future.join()));
+        assertEquals(1, server.getRequestCount() - before);
+        assertEquals(CALLERS, distinct(projects));
+        projects.forEach(project -> assertEquals(2, project.getId()));
+        // later calls are not served by the landed request
+        client.getProject(2);
+        assertEquals(2, server.getRequestCount() - before);
+    }
+
+    @Test
+    void failures() throws Exception {
+        GitlabAPIClient client = server.newClientBuilder().withRequestCoalescing(true).build();
+        List<Future<GitlabProject>> futures = submit(() -> client.getProject(404));
+        for (Future<GitlabProject> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertTrue(e.getCause() instanceof GitlabException, e.getCause().toString());
+        }
+    }
+
+    @Test
+    void notCoalescedByDefault() throws Exception {
+        GitlabAPIClient client = server.newClientBuilder().build();
+        long before = server.getRequestCount();
+        concurrently(() -> client.getProject(1));
+        assertEquals(CALLERS, server.getRequestCount() - before);
+        assertEquals(0, client.getCoalescedRequestCount());
+    }
+
+    private static <T> List<T> concurrently(Supplier<T> call) throws Exception {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : submit(call)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static <T> List<Future<T>> submit(Supplier<T> call) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(threads.submit(() -> {
+                ready.countDown();
+                start.await();
+                return call.get();
+            }));
+        }
+        ready.await();
+        start.countDown();
+        return futures;
+    }
+
+    private static int distinct(List<?> values) {
+        IdentityHashMap<Object, Boolean> identities = new IdentityHashMap<>();
+        values.forEach(value -> identities.put(value, true));
+        return identities.size();
+    }
+}
@@ -0,0 +1,181 @@
+package org.gitlab.api.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabBranch;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabMergeRequest;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.GitlabUser;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCodecTest {
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withUsers(5).withProjects(1).withMergeRequestsPerProject(30)
+                        .build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void deserialize() throws IOException {
+        GitlabProject project = client.getProject(1);
+        JsonNode projectJson = get("/projects/1");
+        assertEquals(projectJson.get("name").asText(), project.getName());
+        assertEquals(projectJson.get("owner").get("username").asText(), project.getOwner().getUsername());
+        assertEquals(texts(projectJson.get("tag_list")), project.getTagList());
+
+        List<GitlabMergeRequest> mergeRequests = project.getMergeRequestsQuery()
+                .withPagination(Pagination.of(1, 30)).query();
+        JsonNode json = get("/projects/1/merge_requests?per_page=30");
+        assertEquals(json.size(), mergeRequests.size());
+        for (int i = 0; i < mergeRequests.size(); i++) {
+            GitlabMergeRequest mergeRequest = mergeRequests.get(i);
+            JsonNode expected = json.get(i);
+            assertEquals(expected.get("iid").asInt(), mergeRequest.getIid());
+            assertEquals(expected.get("title").asText(), mergeRequest.getTitle());
+            assertEquals(expected.get("source_branch").asText(), mergeRequest.getSourceBranch());
+            assertEquals(expected.get("target_branch").asText(), mergeRequest.getTargetBranch());
+            assertEquals(texts(expected.get("labels")), mergeRequest.getLabels());
+            assertEquals(expected.get("author").get("id").asInt(), mergeRequest.getAuthor().getId());
+            assertEquals(expected.get("assignees").size(), mergeRequest.getAssignees().size());
+            assertEquals(ZonedDateTime.parse(expected.get("created_at").asText()), mergeRequest.getCreatedAt());
+        }
+
+        JsonNode branches = get("/projects/1/repository/branches");
+        for (JsonNode expected : branches) {
+            GitlabBranch branch = project.getBranch(expected.get("name").asText());
+            assertEquals(expected.get("protected").asBoolean(), branch.isProtected());
+            assertEquals(expected.get("commit").get("id").asText(), branch.getCommit().getId());
+            assertEquals(texts(expected.get("commit").get("parent_ids")), branch.getCommit().getParentIds());
+        }
+
+        List<GitlabUser> users = client.getUsersQuery().query();
+        JsonNode usersJson = get("/users");
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(usersJson.get(i).get("username").asText(), users.get(i).getUsername());
+            assertEquals(ZonedDateTime.parse(usersJson.get(i).get("created_at").asText()), users.get(i).getCreatedAt());
+        }
+    }
+
+    @Test
+    void serialize() throws IOException {
+        List<GitlabMergeRequest> mergeRequests = client.getMergeRequestsQuery().query();
+        long before = server.getRequestCount();
+        for (GitlabMergeRequest mergeRequest : mergeRequests) {
+            JsonNode serialized = new ObjectMapper().readTree(mergeRequest.toJsonString());
+            assertEquals(mergeRequest.getIid(), serialized.get("iid").asInt());
+            assertEquals(mergeRequest.getSourceBranch(), serialized.get("source_branch").asText());
+            assertEquals(mergeRequest.getLabels(), texts(serialized.get("labels")));
+            assertEquals(mergeRequest.getAuthor().getUsername(), serialized.get("author").get("username").asText());
+            assertFalse(serialized.has("project"));
+        }
+        assertEquals(before, server.getRequestCount());
+    }
+
+    @Test
+    void sameAsJackson() throws IOException {
+        // the generated serializers write the same properties in the same order as Jackson through reflection
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        GitlabProject project = client.getProject(1);
+        long before = server.getRequestCount();
+        assertEquals(mapper.writeValueAsString(project), project.toJsonString());
+        assertEquals(mapper.writeValueAsString(project.getOwner()), project.getOwner().toJsonString());
+        for (GitlabMergeRequest mergeRequest : project.getMergeRequestsQuery()
+                .withPagination(Pagination.of(1, 5)).query()) {
+            assertEquals(mapper.writeValueAsString(mergeRequest), mergeRequest.toJsonString());
+        }
+        for (GitlabIssue issue : project.getIssuesQuery().withPagination(Pagination.of(1, 5)).query()) {
+            assertEquals(mapper.writeValueAsString(issue), issue.toJsonString());
+        }
+        for (GitlabBranch branch : project.getBranchesQuery().query()) {
+            assertEquals(mapper.writeValueAsString(branch), branch.toJsonString());
+        }
+        for (GitlabCommit commit : project.getCommitsQuery().withPagination(Pagination.of(1, 5)).query()) {
+            assertEquals(mapper.writeValueAsString(commit), commit.toJsonString());
+        }
+        // the getters issuing requests are ignored by both
+        assertEquals(before + 4, server.getRequestCount());
+    }
+
+    @Test
+    void commitIds() throws IOException {
+        List<GitlabCommit> commits = client.getProject(1).getCommitsQuery().withPagination(Pagination.of(1, 50))
+                .query();
+        JsonNode json = get("/projects/1/repository/commits?per_page=50");
+        assertEquals(json.size(), commits.size());
+        for (int i = 0; i < commits.size(); i++) {
+            GitlabCommit commit = commits.get(i);
+            assertEquals(json.get(i).get("id").asText(), commit.getId());
+            assertEquals(texts(json.get(i).get("parent_ids")), commit.getParentIds());
+            JsonNode serialized = new ObjectMapper().readTree(commit.toJsonString());
+            assertEquals(commit.getId(), serialized.get("id").asText());
+            assertEquals(commit.getParentIds(), texts(serialized.get("parent_ids")));
+        }
+        // the ids are held compactly, every caller gets its own list of them
+        List<String> parentIds = commits.get(1).getParentIds();
+        parentIds.add("0");
+        assertNotEquals(parentIds, commits.get(1).getParentIds());
+        assertEquals(commits.get(1).getParentIds(), commits.get(1).getParentIds());
+    }
+
+    @Test
+    void nativeImageConfiguration() throws IOException {
+        List<String> names = new ArrayList<>();
+        try (InputStream in = GitlabAPIClient.class.getResourceAsStream(
+                "/META-INF/native-image/org.gitlab/java-gitlab-api/reflect-config.json")) {
+            new ObjectMapper().readTree(in).forEach(entry -> names.add(entry.get("name").asText()));
+        }
+        for (Class<?> type : Arrays.asList(GitlabProject.class, GitlabProject.Query.class, GitlabIssue.Query.class,
+                GitlabMergeRequest.ProjectQuery.class, GitlabBranch.class, GitlabUser[].class)) {
+            assertTrue(names.contains(type.getName()), type.getName());
+        }
+        assertTrue(names.contains("org.gitlab.api.DateUtil$EpochDeserializer"));
+        assertTrue(names.contains("org.gitlab.api.DateUtil$OffsetSerializer"));
+        assertTrue(names.contains("org.gitlab.api.ObjectId$Deserializer"));
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> texts = new ArrayList<>();
+        array.forEach(node -> texts.add(node.asText()));
+        return texts;
+    }
+
+    private static JsonNode get(String tailUrl) throws IOException {
+        Request request = new Request.Builder().url(server.getEndpoint() + "/api/v4" + tailUrl)
+                .header("PRIVATE-TOKEN", "mock-token").build();
+        try (Response response = new OkHttpClient().newCall(request).execute()) {
+            return new ObjectMapper().readTree(response.body().byteStream());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.gitlab.api.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampTest {
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withProjects(1).withIssuesPerProject(50).build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void zoned() throws IOException {
+        GitlabProject project = client.getProject(1);
+        List<GitlabIssue> issues = project.getIssuesQuery().withPagination(Pagination.of(1, 50)).query();
+        JsonNode json = get("/projects/1/issues?per_page=50");
+        assertEquals(json.size(), issues.size());
+        for (int i = 0; i < issues.size(); i++) {
+            GitlabIssue issue = issues.get(i);
+            assertEquals(parse(json.get(i).get("created_at")), issue.getCreatedAt());
+            assertEquals(parse(json.get(i).get("updated_at")), issue.getUpdatedAt());
+            assertEquals(parse(json.get(i).get("closed_at")), issue.getClosedAt());
+        }
+        assertEquals(parse(get("/projects/1").get("last_activity_at")), project.getLastActivityAt());
+        for (GitlabIssue issue : issues) {
+            JsonNode serialized = new ObjectMapper().readTree(issue.toJsonString());
+            assertEquals(issue.getCreatedAt().truncatedTo(ChronoUnit.SECONDS), parse(serialized.get("created_at")));
+            assertEquals(issue.getClosedAt() == null, serialized.get("closed_at").isNull());
+        }
+    }
+
+    @Test
+    void offset() throws IOException {
+        List<GitlabCommit> commits = client.getProject(1).getCommitsQuery()
+                .withPagination(Pagination.of(1, 100)).query();
+        JsonNode json = get("/projects/1/repository/commits?per_page=100");
+        assertEquals(json.size(), commits.size());
+        for (int i = 0; i < commits.size(); i++) {
+            assertEquals(parse(json.get(i).get("committed_date")), commits.get(i).getCommittedDate());
+            assertEquals(parse(json.get(i).get("authored_date")), commits.get(i).getAuthoredDate());
+        }
+    }
+
+    private static ZonedDateTime parse(JsonNode timestamp) {
+        return timestamp.isNull() ? null : ZonedDateTime.parse(timestamp.asText());
+    }
+
+    private static JsonNode get(String tailUrl) throws IOException {
+        Request request = new Request.Builder().url(server.getEndpoint() + "/api/v4" + tailUrl)
+                .header("PRIVATE-TOKEN", "mock-token").build();
+        try (Response response = new OkHttpClient().newCall(request).execute()) {
+            return new ObjectMapper().readTree(response.body().byteStream());
+        }
+    }
+}
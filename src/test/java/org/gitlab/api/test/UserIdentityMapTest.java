@@ -0,0 +1,70 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabUser;
+import org.gitlab.api.test.mock.MockDataset;
+import org.gitlab.api.test.mock.MockGitlabServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdentityMapTest {
+    private static MockGitlabServer server;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder().withUsers(5).withProjects(2).withIssuesPerProject(30).build())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void interned() {
+        GitlabAPIClient client = server.newClientBuilder().withUserIdentityMap(100).build();
+        List<GitlabIssue> issues = client.getIssuesQuery().stream().collect(Collectors.toList());
+        assertEquals(60, issues.size());
+        Map<Integer, GitlabUser> authors = new HashMap<>();
+        for (GitlabIssue issue : issues) {
+            GitlabUser author = authors.computeIfAbsent(issue.getAuthor().getId(), id -> issue.getAuthor());
+            assertSame(author, issue.getAuthor());
+            for (GitlabUser assignee : issue.getAssignees()) {
+                if (authors.containsKey(assignee.getId())) {
+                    assertSame(authors.get(assignee.getId()), assignee);
+                }
+            }
+        }
+        assertTrue(authors.size() < issues.size());
+        assertSame(client.getProject(1).getOwner(), client.getProject(1).getOwner());
+    }
+
+    @Test
+    void notInterned() {
+        GitlabAPIClient client = server.newClientBuilder().build();
+        List<GitlabIssue> issues = client.getIssuesQuery().stream().collect(Collectors.toList());
+        GitlabIssue first = issues.get(0);
+        GitlabIssue same = issues.stream().skip(1)
+                .filter(issue -> issue.getAuthor().getId() == first.getAuthor().getId())
+                .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(first.getAuthor(), same.getAuthor());
+        assertNotSame(first.getAuthor(), same.getAuthor());
+    }
+
+    @Test
+    void builder() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GitlabAPIClient.Builder("https://gitlab.com").withUserIdentityMap(-1));
+    }
+}
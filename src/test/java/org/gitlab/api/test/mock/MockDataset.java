@@ -0,0 +1,1077 @@
+package org.gitlab.api.test.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class is a synthetic, in-memory Gitlab instance with users, projects,
+ * issues, merge requests, branches and commits, shaped like the JSON of the
+ * Gitlab API. The same seed always produces the same dataset.
+ *
+ * Each resource is kept as its serialized JSON together with the fields the
+ * {@link MockGitlabServer} filters and sorts on.
+ *
+ * Datasets too large to generate on every run, e.g. 100k projects with
+ * millions of issues, can be written once to gzip-compressed NDJSON with
+ * {@link Builder#writeTo(Path)}, or {@link MockDatasetGenerator} from the
+ * command line, and read back with {@link #load(Path)}.
+ *
+ * To get a instance of dataset, use {@code MockDataset.Builder}.
+ */
+public final class MockDataset {
+    /**
+     * The mapper to build the JSON of the resources.
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    /**
+     * The time of the first resource.
+     */
+    private static final long BASE_TIME = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+    /**
+     * The format of timestamps of most resources, e.g. 2020-12-14T01:34:24.852Z
+     */
+    private static final DateTimeFormatter ZONED = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    /**
+     * The format of timestamps of commits, e.g. 2020-12-02T04:06:57.000+00:00
+     */
+    private static final DateTimeFormatter OFFSET = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
+    private static final String[] FIRST_NAMES = {"Kelly", "Ravi", "Mei", "Jonas", "Amara", "Diego", "Sofia", "Tomasz",
+            "Aiko", "Noah", "Fatima", "Lucas", "Priya", "Erik", "Hana", "Omar"};
+    private static final String[] LAST_NAMES = {"Zhang", "Patel", "Chen", "Schmidt", "Okafor", "Garcia", "Rossi",
+            "Nowak", "Sato", "Miller", "Haddad", "Silva", "Iyer", "Larsen", "Kim", "Farouk"};
+    private static final String[] LABELS = {"bug", "feature", "documentation", "performance", "security",
+            "priority::1", "priority::2", "priority::3", "needs-review", "good first issue"};
+    private static final String[] WORDS = {"pagination", "query", "client", "timeout", "cache", "parser", "branch",
+            "commit", "merge", "request", "issue", "project", "token", "header", "retry", "stream", "page", "user",
+            "label", "pipeline", "fix", "support", "handle", "update", "remove", "add", "keep", "avoid", "empty",
+            "large", "missing", "invalid", "slow", "concurrent", "default", "response"};
+    /**
+     * The buffer size of the NDJSON files.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ZoneOffset[] ZONE_OFFSETS = {ZoneOffset.UTC, ZoneOffset.ofHours(-5), ZoneOffset.ofHours(1),
+            ZoneOffset.ofHours(8), ZoneOffset.ofHoursMinutes(5, 30)};
+
+    final List<Item> users = new ArrayList<>();
+    final List<Item> projects = new ArrayList<>();
+    final Map<Long, List<Item>> issues = new LinkedHashMap<>();
+    final Map<Long, List<Item>> mergeRequests = new LinkedHashMap<>();
+    final Map<Long, List<Item>> branches = new LinkedHashMap<>();
+    final Map<Long, List<Item>> commits = new LinkedHashMap<>();
+
+    /**
+     * Construct an empty {@link MockDataset}, to be filled by {@link #add(Collection, long, ObjectNode)}.
+     */
+    private MockDataset() {
+    }
+
+    /**
+     * Read the dataset from the NDJSON files written by {@link Builder#writeTo(Path)}.
+     *
+     * Every resource is kept in memory as its serialized JSON, which takes
+     * roughly 1.5 KB per issue or merge request and 1 KB per commit.
+     *
+     * @param directory the directory of the NDJSON files
+     * @return the dataset
+     * @throws IOException if the files cannot be read
+     */
+    public static MockDataset load(Path directory) throws IOException {
+        MockDataset dataset = new MockDataset();
+        // the projects come first, so that the resources of every project have a list to go to
+        Collection[] order = {Collection.USERS, Collection.PROJECTS, Collection.ISSUES, Collection.MERGE_REQUESTS,
+                Collection.BRANCHES, Collection.COMMITS};
+        for (Collection collection : order) {
+            Path file = directory.resolve(collection.fileName);
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                continue;
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    ObjectNode node = (ObjectNode) MAPPER.readTree(line);
+                    if (collection.addsProjectId()) {
+                        long projectId = node.remove("project_id").asLong();
+                        dataset.add(collection, projectId, node, bytes(node));
+                    } else {
+                        // the line is the JSON as is
+                        dataset.add(collection, node.path("project_id").asLong(), node,
+                                line.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+        return dataset;
+    }
+
+    /**
+     * Add a resource to this dataset.
+     *
+     * @param collection the collection of the resource
+     * @param projectId  the id of the project of the resource, or 0 for users and projects
+     * @param node       the JSON of the resource
+     */
+    private void add(Collection collection, long projectId, ObjectNode node) {
+        add(collection, projectId, node, bytes(node));
+    }
+
+    /**
+     * Add a resource to this dataset.
+     *
+     * @param collection the collection of the resource
+     * @param projectId  the id of the project of the resource, or 0 for users and projects
+     * @param node       the JSON of the resource
+     * @param json       the serialized JSON of the resource
+     */
+    private void add(Collection collection, long projectId, ObjectNode node, byte[] json) {
+        Item item = collection.toItem(node, json);
+        switch (collection) {
+            case USERS:
+                users.add(item);
+                break;
+            case PROJECTS:
+                projects.add(item);
+                issues.putIfAbsent(item.id, new ArrayList<>());
+                mergeRequests.putIfAbsent(item.id, new ArrayList<>());
+                branches.putIfAbsent(item.id, new ArrayList<>());
+                commits.putIfAbsent(item.id, new ArrayList<>());
+                break;
+            case ISSUES:
+                issues.computeIfAbsent(projectId, id -> new ArrayList<>()).add(item);
+                break;
+            case MERGE_REQUESTS:
+                mergeRequests.computeIfAbsent(projectId, id -> new ArrayList<>()).add(item);
+                break;
+            case BRANCHES:
+                branches.computeIfAbsent(projectId, id -> new ArrayList<>()).add(item);
+                break;
+            default:
+                commits.computeIfAbsent(projectId, id -> new ArrayList<>()).add(item);
+        }
+    }
+
+    /**
+     * Returns the number of users.
+     *
+     * @return the number of users
+     */
+    public int getUserCount() {
+        return users.size();
+    }
+
+    /**
+     * Returns the number of projects.
+     *
+     * @return the number of projects
+     */
+    public int getProjectCount() {
+        return projects.size();
+    }
+
+    /**
+     * Returns the ids of the projects in ascending order.
+     *
+     * @return the ids of the projects
+     */
+    public List<Long> getProjectIds() {
+        List<Long> ids = new ArrayList<>();
+        projects.forEach(project -> ids.add(project.id));
+        return ids;
+    }
+
+    /**
+     * Returns the number of issues of all projects.
+     *
+     * @return the number of issues
+     */
+    public int getIssueCount() {
+        return issues.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Returns the number of issues of the project.
+     *
+     * @param projectId the project id
+     * @return the number of issues
+     */
+    public int getIssueCount(long projectId) {
+        return issues.getOrDefault(projectId, Collections.emptyList()).size();
+    }
+
+    /**
+     * Returns the number of merge requests of the project.
+     *
+     * @param projectId the project id
+     * @return the number of merge requests
+     */
+    public int getMergeRequestCount(long projectId) {
+        return mergeRequests.getOrDefault(projectId, Collections.emptyList()).size();
+    }
+
+    /**
+     * Returns the number of branches of the project.
+     *
+     * @param projectId the project id
+     * @return the number of branches
+     */
+    public int getBranchCount(long projectId) {
+        return branches.getOrDefault(projectId, Collections.emptyList()).size();
+    }
+
+    /**
+     * Returns the number of commits of the project.
+     *
+     * @param projectId the project id
+     * @return the number of commits
+     */
+    public int getCommitCount(long projectId) {
+        return commits.getOrDefault(projectId, Collections.emptyList()).size();
+    }
+
+    /**
+     * This class represents a resource of the dataset.
+     */
+    static final class Item {
+        /**
+         * The id, or 0 for branches.
+         */
+        final long id;
+        /**
+         * The internal id of issues and merge requests, or 0.
+         */
+        final long iid;
+        /**
+         * The name of branches, the SHA of commits, the path with namespace of projects or the username of users.
+         */
+        final String key;
+        /**
+         * The state of issues and merge requests, or null.
+         */
+        final String state;
+        /**
+         * The creation time in milliseconds, i.e. the committed date of commits.
+         */
+        final long createdAt;
+        /**
+         * The last update time in milliseconds.
+         */
+        final long updatedAt;
+        /**
+         * The id of the author of issues and merge requests, or of the owner of projects, or 0.
+         */
+        final long userId;
+        /**
+         * The serialized JSON.
+         */
+        final byte[] json;
+
+        /**
+         * Constructs the {@code Item}.
+         */
+        Item(long id, long iid, String key, String state, long createdAt, long updatedAt, long userId, byte[] json) {
+            this.id = id;
+            this.iid = iid;
+            this.key = key;
+            this.state = state;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.userId = userId;
+            this.json = json;
+        }
+    }
+
+    /**
+     * This is an Enum class to represent the collections of resources, each
+     * of which is kept in its own NDJSON file.
+     */
+    enum Collection {
+        USERS("users"),
+        PROJECTS("projects"),
+        ISSUES("issues"),
+        MERGE_REQUESTS("merge_requests"),
+        BRANCHES("branches"),
+        COMMITS("commits");
+
+        /**
+         * The name of the NDJSON file of the collection.
+         */
+        private final String fileName;
+
+        Collection(String name) {
+            this.fileName = name + ".ndjson.gz";
+        }
+
+        /**
+         * Returns whether the JSON of the resources lacks the project id, which is
+         * then added as the first field in the NDJSON file.
+         *
+         * @return true for branches and commits
+         */
+        private boolean addsProjectId() {
+            return this == BRANCHES || this == COMMITS;
+        }
+
+        /**
+         * Returns the {@link Item} of the JSON of a resource of this collection.
+         *
+         * @param node the JSON of the resource
+         * @param json the serialized JSON of the resource
+         * @return the item
+         */
+        private Item toItem(ObjectNode node, byte[] json) {
+            switch (this) {
+                case USERS:
+                    long userCreatedAt = parseTime(node.path("created_at").asText());
+                    return new Item(node.path("id").asLong(), 0, node.path("username").asText(),
+                            node.path("state").asText(), userCreatedAt, userCreatedAt, 0, json);
+                case PROJECTS:
+                    return new Item(node.path("id").asLong(), 0, node.path("path_with_namespace").asText(), null,
+                            parseTime(node.path("created_at").asText()),
+                            parseTime(node.path("last_activity_at").asText()), node.path("owner").path("id").asLong(),
+                            json);
+                case ISSUES:
+                case MERGE_REQUESTS:
+                    return new Item(node.path("id").asLong(), node.path("iid").asLong(), null,
+                            node.path("state").asText(), parseTime(node.path("created_at").asText()),
+                            parseTime(node.path("updated_at").asText()), node.path("author").path("id").asLong(),
+                            json);
+                case BRANCHES:
+                    long headAt = parseTime(node.path("commit").path("committed_date").asText());
+                    return new Item(0, 0, node.path("name").asText(), null, headAt, headAt, 0, json);
+                default:
+                    long committedAt = parseTime(node.path("committed_date").asText());
+                    return new Item(0, 0, node.path("id").asText(), null, committedAt, committedAt, 0, json);
+            }
+        }
+    }
+
+    /**
+     * This interface receives the resources in the order they are generated or read.
+     */
+    @FunctionalInterface
+    private interface Sink {
+        /**
+         * Receive a resource.
+         *
+         * @param collection the collection of the resource
+         * @param projectId  the id of the project of the resource, or 0 for users and projects
+         * @param node       the JSON of the resource
+         * @throws IOException if the resource cannot be written
+         */
+        void accept(Collection collection, long projectId, ObjectNode node) throws IOException;
+    }
+
+    /**
+     * This class generates the resources from the seed, always in the same
+     * order, and hands them out one by one, so that a project only needs its
+     * branch heads in memory however long its history is.
+     *
+     * The resources of each project are generated before the project itself,
+     * i.e. commits, branches, issues and merge requests, then the project.
+     */
+    private static final class Generator {
+        /**
+         * The golden ratio increment to derive the seed of each project.
+         */
+        private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+        private final Builder builder;
+        private final List<ObjectNode> userNodes;
+        private final Random random;
+        private final MessageDigest digest;
+
+        /**
+         * Constructs the {@code Generator} of the users.
+         *
+         * @param builder the builder
+         */
+        private Generator(Builder builder) {
+            this(builder, new ArrayList<>(), new Random(builder.seed));
+        }
+
+        /**
+         * Constructs the {@code Generator} of a project. Each project has a seed
+         * of its own, so that the projects can be generated in any order, or at
+         * the same time, with the same result.
+         *
+         * @param builder   the builder
+         * @param userNodes the users generated by {@link #generateUsers(Sink)}
+         * @param projectId the project id
+         */
+        private Generator(Builder builder, List<ObjectNode> userNodes, long projectId) {
+            this(builder, userNodes, new Random(builder.seed + projectId * SEED_INCREMENT));
+        }
+
+        private Generator(Builder builder, List<ObjectNode> userNodes, Random random) {
+            this.builder = builder;
+            this.userNodes = userNodes;
+            this.random = random;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Generate the users.
+         *
+         * @param sink the sink of the users
+         * @return the users, to be shared read-only by the generators of the projects
+         * @throws IOException if the sink cannot write
+         */
+        private List<ObjectNode> generateUsers(Sink sink) throws IOException {
+            for (int id = 1; id <= builder.users; id++) {
+                sink.accept(Collection.USERS, 0, user(id));
+            }
+            return userNodes;
+        }
+
+        /**
+         * Generate a project, i.e. its commits, branches, issues and merge
+         * requests, then the project itself.
+         *
+         * @param projectId the project id
+         * @param sink      the sink of the resources
+         * @throws IOException if the sink cannot write
+         */
+        private void generateProject(long projectId, Sink sink) throws IOException {
+            long createdAt = BASE_TIME + TimeUnit.HOURS.toMillis(projectId) + random.nextInt(3600000);
+            String namespace = "group-" + (projectId % 10);
+            String path = "project-" + projectId;
+            int commitCount = builder.commitsPerProject;
+            int branchCount = commitCount == 0 ? 0 : builder.branchesPerProject;
+            // only the heads of the branches are kept
+            int[] heads = new int[branchCount];
+            Map<Integer, ObjectNode> headNodes = new HashMap<>();
+            for (int b = 0; b < branchCount; b++) {
+                heads[b] = b == 0 ? commitCount : 1 + random.nextInt(commitCount);
+                headNodes.put(heads[b], null);
+            }
+            long committedAt = createdAt;
+            String previous = null;
+            for (int k = 1; k <= commitCount; k++) {
+                committedAt += TimeUnit.MINUTES.toMillis(10 + random.nextInt(360));
+                ObjectNode commit = commit(projectId, namespace, path, k, previous, committedAt);
+                previous = commit.get("id").asText();
+                if (headNodes.containsKey(k)) {
+                    headNodes.put(k, commit.deepCopy());
+                }
+                sink.accept(Collection.COMMITS, projectId, commit);
+            }
+            for (int b = 0; b < branchCount; b++) {
+                String name = b == 0 ? "main" : "feature-" + b;
+                sink.accept(Collection.BRANCHES, projectId, branch(namespace, path, name,
+                        headNodes.get(heads[b]).deepCopy()));
+            }
+            long lastActivity = committedAt;
+            long issueCreatedAt = createdAt;
+            int openIssues = 0;
+            for (int iid = 1; iid <= builder.issuesPerProject; iid++) {
+                issueCreatedAt += TimeUnit.MINUTES.toMillis(30 + random.nextInt(2880));
+                long id = (projectId - 1) * builder.issuesPerProject + iid;
+                ObjectNode issue = issue(id, projectId, namespace, path, iid, issueCreatedAt);
+                openIssues += "opened".equals(issue.get("state").asText()) ? 1 : 0;
+                lastActivity = Math.max(lastActivity, parseTime(issue.get("updated_at").asText()));
+                sink.accept(Collection.ISSUES, projectId, issue);
+            }
+            long mergeRequestCreatedAt = createdAt;
+            for (int iid = 1; iid <= builder.mergeRequestsPerProject; iid++) {
+                mergeRequestCreatedAt += TimeUnit.MINUTES.toMillis(60 + random.nextInt(4320));
+                long id = (projectId - 1) * builder.mergeRequestsPerProject + iid;
+                ObjectNode mergeRequest = mergeRequest(id, projectId, namespace, path, iid, mergeRequestCreatedAt,
+                        commitCount);
+                lastActivity = Math.max(lastActivity, parseTime(mergeRequest.get("updated_at").asText()));
+                sink.accept(Collection.MERGE_REQUESTS, projectId, mergeRequest);
+            }
+            sink.accept(Collection.PROJECTS, 0, project(projectId, namespace, path, createdAt, lastActivity,
+                    openIssues));
+        }
+
+        private ObjectNode user(long id) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String username = (first.charAt(0) + last).toLowerCase() + id;
+            long createdAt = BASE_TIME - TimeUnit.DAYS.toMillis(365) + TimeUnit.HOURS.toMillis(id);
+            ObjectNode user = MAPPER.createObjectNode();
+            user.put("id", id);
+            user.put("name", first + " " + last);
+            user.put("username", username);
+            user.put("state", "active");
+            user.put("avatar_url", "https://secure.gravatar.com/avatar/" + sha1("avatar-" + id) + "?s=80&d=identicon");
+            user.put("web_url", "https://gitlab.example.com/" + username);
+            userNodes.add(user.deepCopy());
+            user.put("created_at", zoned(createdAt));
+            user.put("bio", "");
+            user.put("bio_html", "");
+            user.putNull("location");
+            user.put("public_email", username + "@example.com");
+            user.put("skype", "");
+            user.put("linkedin", "");
+            user.put("twitter", "");
+            user.put("website_url", "");
+            user.put("organization", "Example Org");
+            user.put("job_title", "Engineer");
+            user.put("bot", false);
+            return user;
+        }
+
+        private ObjectNode project(long id, String namespace, String path, long createdAt, long lastActivity,
+                                   int openIssues) {
+            ObjectNode owner = randomUser();
+            ObjectNode project = MAPPER.createObjectNode();
+            project.put("id", id);
+            project.put("description", sentence(8));
+            project.put("name", path);
+            project.put("name_with_namespace", namespace + " / " + path);
+            project.put("path", path);
+            project.put("path_with_namespace", namespace + "/" + path);
+            project.put("created_at", zoned(createdAt));
+            project.put("default_branch", "main");
+            ArrayNode tags = project.putArray("tag_list");
+            for (int i = random.nextInt(3); i > 0; i--) {
+                tags.add(WORDS[random.nextInt(WORDS.length)]);
+            }
+            project.put("ssh_url_to_repo", "git@gitlab.example.com:" + namespace + "/" + path + ".git");
+            project.put("http_url_to_repo", "https://gitlab.example.com/" + namespace + "/" + path + ".git");
+            project.put("web_url", "https://gitlab.example.com/" + namespace + "/" + path);
+            project.put("readme_url", "https://gitlab.example.com/" + namespace + "/" + path
+                    + "/-/blob/main/README.md");
+            project.put("avatar_url", (String) null);
+            project.put("forks_count", random.nextInt(10));
+            project.put("star_count", random.nextInt(50));
+            project.put("last_activity_at", zoned(lastActivity));
+            ObjectNode ns = project.putObject("namespace");
+            ns.put("id", 1000 + id % 10);
+            ns.put("name", namespace);
+            ns.put("path", namespace);
+            ns.put("kind", "group");
+            ns.put("full_path", namespace);
+            project.put("archived", false);
+            project.put("visibility", random.nextInt(4) == 0 ? "private" : "public");
+            project.set("owner", owner);
+            project.put("issues_enabled", true);
+            project.put("merge_requests_enabled", true);
+            project.put("wiki_enabled", true);
+            project.put("jobs_enabled", true);
+            project.put("snippets_enabled", true);
+            project.put("creator_id", owner.get("id").asLong());
+            project.put("open_issues_count", openIssues);
+            project.put("public_jobs", true);
+            project.put("merge_method", "merge");
+            return project;
+        }
+
+        private ObjectNode issue(long id, long projectId, String namespace, String path, long iid, long createdAt) {
+            ObjectNode author = randomUser();
+            boolean closed = random.nextInt(10) < 3;
+            long updatedAt = createdAt + TimeUnit.MINUTES.toMillis(random.nextInt(43200));
+            ObjectNode issue = MAPPER.createObjectNode();
+            issue.put("id", id);
+            issue.put("iid", iid);
+            issue.put("project_id", projectId);
+            issue.put("title", title());
+            issue.put("description", sentence(20 + random.nextInt(40)));
+            issue.put("state", closed ? "closed" : "opened");
+            issue.put("created_at", zoned(createdAt));
+            issue.put("updated_at", zoned(updatedAt));
+            issue.put("closed_at", closed ? zoned(updatedAt) : null);
+            issue.set("closed_by", closed ? randomUser() : null);
+            issue.set("labels", labels());
+            issue.set("assignees", assignees());
+            issue.set("author", author);
+            issue.put("user_notes_count", random.nextInt(20));
+            issue.put("merge_requests_count", random.nextInt(3));
+            issue.put("upvotes", random.nextInt(5));
+            issue.put("downvotes", random.nextInt(2));
+            issue.put("due_date", (String) null);
+            issue.put("confidential", false);
+            issue.put("web_url", "https://gitlab.example.com/" + namespace + "/" + path + "/-/issues/" + iid);
+            issue.put("has_tasks", false);
+            ObjectNode references = issue.putObject("references");
+            references.put("short", "#" + iid);
+            references.put("relative", "#" + iid);
+            references.put("full", namespace + "/" + path + "#" + iid);
+            return issue;
+        }
+
+        private ObjectNode mergeRequest(long id, long projectId, String namespace, String path, long iid,
+                                        long createdAt, int commitCount) {
+            ObjectNode author = randomUser();
+            int roll = random.nextInt(10);
+            String state = roll < 5 ? "merged" : roll < 7 ? "closed" : "opened";
+            long updatedAt = createdAt + TimeUnit.MINUTES.toMillis(random.nextInt(20160));
+            ObjectNode mergeRequest = MAPPER.createObjectNode();
+            mergeRequest.put("id", id);
+            mergeRequest.put("iid", iid);
+            mergeRequest.put("project_id", projectId);
+            mergeRequest.put("title", title());
+            mergeRequest.put("description", sentence(15 + random.nextInt(30)));
+            mergeRequest.put("state", state);
+            mergeRequest.put("created_at", zoned(createdAt));
+            mergeRequest.put("updated_at", zoned(updatedAt));
+            mergeRequest.set("merged_by", "merged".equals(state) ? randomUser() : null);
+            mergeRequest.put("merged_at", "merged".equals(state) ? zoned(updatedAt) : null);
+            mergeRequest.set("closed_by", "closed".equals(state) ? randomUser() : null);
+            mergeRequest.put("closed_at", "closed".equals(state) ? zoned(updatedAt) : null);
+            mergeRequest.put("target_branch", "main");
+            mergeRequest.put("source_branch", "feature-" + iid);
+            mergeRequest.put("user_notes_count", random.nextInt(20));
+            mergeRequest.put("upvotes", random.nextInt(5));
+            mergeRequest.put("downvotes", random.nextInt(2));
+            mergeRequest.set("author", author);
+            mergeRequest.set("assignees", assignees());
+            mergeRequest.put("source_project_id", projectId);
+            mergeRequest.put("target_project_id", projectId);
+            mergeRequest.set("labels", labels());
+            mergeRequest.put("work_in_progress", false);
+            mergeRequest.put("merge_status", "can_be_merged");
+            mergeRequest.put("sha", commitCount == 0 ? sha1("mr-" + id)
+                    : sha1("project-" + projectId + "-commit-" + (1 + random.nextInt(commitCount))));
+            mergeRequest.put("should_remove_source_branch", true);
+            mergeRequest.put("reference", "!" + iid);
+            mergeRequest.put("web_url", "https://gitlab.example.com/" + namespace + "/" + path + "/-/merge_requests/"
+                    + iid);
+            mergeRequest.put("squash", false);
+            mergeRequest.put("has_conflicts", false);
+            return mergeRequest;
+        }
+
+        private ObjectNode commit(long projectId, String namespace, String path, int k, String previous,
+                                  long committedAt) {
+            ObjectNode author = randomUser();
+            String name = author.get("name").asText();
+            String email = author.get("username").asText() + "@example.com";
+            ZoneOffset offset = ZONE_OFFSETS[(int) (author.get("id").asLong() % ZONE_OFFSETS.length)];
+            String title = title();
+            ObjectNode commit = MAPPER.createObjectNode();
+            String sha = sha1("project-" + projectId + "-commit-" + k);
+            commit.put("id", sha);
+            commit.put("short_id", sha.substring(0, 8));
+            commit.put("created_at", offset(committedAt, offset));
+            ArrayNode parents = commit.putArray("parent_ids");
+            if (previous != null) {
+                parents.add(previous);
+            }
+            if (k > 3 && k % 7 == 0) {
+                parents.add(sha1("project-" + projectId + "-commit-" + (k - 3)));
+            }
+            commit.put("title", title);
+            commit.put("message", title + "\n\n" + sentence(10 + random.nextInt(20)) + "\n");
+            commit.put("author_name", name);
+            commit.put("author_email", email);
+            commit.put("authored_date", offset(committedAt - random.nextInt(7200000), offset));
+            commit.put("committer_name", name);
+            commit.put("committer_email", email);
+            commit.put("committed_date", offset(committedAt, offset));
+            commit.putObject("trailers");
+            commit.put("web_url", "https://gitlab.example.com/" + namespace + "/" + path + "/-/commit/" + sha);
+            return commit;
+        }
+
+        private ObjectNode branch(String namespace, String path, String name, ObjectNode head) {
+            ObjectNode branch = MAPPER.createObjectNode();
+            branch.put("name", name);
+            branch.set("commit", head);
+            branch.put("merged", false);
+            branch.put("protected", "main".equals(name));
+            branch.put("developers_can_push", false);
+            branch.put("developers_can_merge", false);
+            branch.put("can_push", true);
+            branch.put("default", "main".equals(name));
+            branch.put("web_url", "https://gitlab.example.com/" + namespace + "/" + path + "/-/tree/" + name);
+            return branch;
+        }
+
+        private String sha1(String text) {
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(40);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        }
+
+        private ObjectNode randomUser() {
+            return userNodes.get(random.nextInt(userNodes.size())).deepCopy();
+        }
+
+        private ArrayNode assignees() {
+            ArrayNode assignees = MAPPER.createArrayNode();
+            for (int i = random.nextInt(3); i > 0; i--) {
+                assignees.add(randomUser());
+            }
+            return assignees;
+        }
+
+        private ArrayNode labels() {
+            ArrayNode labels = MAPPER.createArrayNode();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                labels.add(LABELS[random.nextInt(LABELS.length)]);
+            }
+            return labels;
+        }
+
+        private String title() {
+            String sentence = sentence(3 + random.nextInt(6));
+            return Character.toUpperCase(sentence.charAt(0)) + sentence.substring(1, sentence.length() - 1);
+        }
+
+        private String sentence(int words) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < words; i++) {
+                builder.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            return builder.append('.').toString();
+        }
+    }
+
+    /**
+     * Format the time like most resources of the Gitlab API do, e.g. 2020-12-14T01:34:24.852Z
+     *
+     * @param millis the time in milliseconds
+     * @return the formatted time
+     */
+    static String zoned(long millis) {
+        return ZONED.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * Format the time like commits of the Gitlab API do, e.g. 2020-12-02T04:06:57.000+00:00
+     *
+     * @param millis the time in milliseconds
+     * @param offset the offset of the committer
+     * @return the formatted time
+     */
+    static String offset(long millis, ZoneOffset offset) {
+        return OFFSET.format(OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), offset));
+    }
+
+    /**
+     * Parse a timestamp in either format of the Gitlab API.
+     *
+     * @param text the timestamp
+     * @return the time in milliseconds
+     */
+    static long parseTime(String text) {
+        return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Serialize the JSON node.
+     *
+     * @param node the JSON node
+     * @return the serialized JSON
+     */
+    static byte[] bytes(ObjectNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This class collects the NDJSON lines of some resources, e.g. those of a
+     * project, as a separate gzip member per collection. As the files are
+     * concatenations of such members, the chunks can be compressed at the same
+     * time and written in order.
+     */
+    private static final class Chunk implements Sink {
+        private final Map<Collection, ByteArrayOutputStream> buffers = new EnumMap<>(Collection.class);
+        private final Map<Collection, GZIPOutputStream> streams = new EnumMap<>(Collection.class);
+
+        @Override
+        public void accept(Collection collection, long projectId, ObjectNode node) throws IOException {
+            GZIPOutputStream stream = streams.get(collection);
+            if (stream == null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                // the fastest level is several times faster than the default one, for files a little larger
+                stream = new GZIPOutputStream(buffer, BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+                buffers.put(collection, buffer);
+                streams.put(collection, stream);
+            }
+            ObjectNode line = node;
+            if (collection.addsProjectId()) {
+                line = MAPPER.createObjectNode().put("project_id", projectId);
+                line.setAll(node);
+            }
+            stream.write(bytes(line));
+            stream.write('\n');
+        }
+
+        /**
+         * Complete the gzip members of this chunk.
+         *
+         * @throws IOException if the members cannot be completed
+         */
+        private void finish() throws IOException {
+            for (GZIPOutputStream stream : streams.values()) {
+                stream.close();
+            }
+        }
+
+        /**
+         * Write the gzip members of this chunk to the files of the collections.
+         *
+         * @param files the files of the collections
+         * @throws IOException if the files cannot be written
+         */
+        private void writeTo(Map<Collection, OutputStream> files) throws IOException {
+            finish();
+            for (Map.Entry<Collection, ByteArrayOutputStream> entry : buffers.entrySet()) {
+                entry.getValue().writeTo(files.get(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * This {@code Builder} is used to build {@link MockDataset} instance.
+     */
+    public static final class Builder {
+        private long seed = 42;
+        private int users = 50;
+        private int projects = 10;
+        private int issuesPerProject = 50;
+        private int mergeRequestsPerProject = 20;
+        private int branchesPerProject = 5;
+        private int commitsPerProject = 100;
+
+        /**
+         * Sets the seed of the random generator to the builder.
+         *
+         * @param seed the seed
+         * @return {@code Builder} with seed
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the number of users to the builder.
+         *
+         * @param users the number of users
+         * @return {@code Builder} with users
+         * @throws IllegalArgumentException if users is not positive
+         */
+        public Builder withUsers(int users) {
+            if (users < 1) {
+                throw new IllegalArgumentException("cannot have non-positive users");
+            }
+            this.users = users;
+            return this;
+        }
+
+        /**
+         * Sets the number of projects to the builder.
+         *
+         * @param projects the number of projects
+         * @return {@code Builder} with projects
+         * @throws IllegalArgumentException if projects is negative
+         */
+        public Builder withProjects(int projects) {
+            this.projects = checkNonNegative(projects);
+            return this;
+        }
+
+        /**
+         * Sets the number of issues of each project to the builder.
+         *
+         * @param issuesPerProject the number of issues
+         * @return {@code Builder} with issuesPerProject
+         * @throws IllegalArgumentException if issuesPerProject is negative
+         */
+        public Builder withIssuesPerProject(int issuesPerProject) {
+            this.issuesPerProject = checkNonNegative(issuesPerProject);
+            return this;
+        }
+
+        /**
+         * Sets the number of merge requests of each project to the builder.
+         *
+         * @param mergeRequestsPerProject the number of merge requests
+         * @return {@code Builder} with mergeRequestsPerProject
+         * @throws IllegalArgumentException if mergeRequestsPerProject is negative
+         */
+        public Builder withMergeRequestsPerProject(int mergeRequestsPerProject) {
+            this.mergeRequestsPerProject = checkNonNegative(mergeRequestsPerProject);
+            return this;
+        }
+
+        /**
+         * Sets the number of branches of each project to the builder, the first of which is main.
+         *
+         * @param branchesPerProject the number of branches
+         * @return {@code Builder} with branchesPerProject
+         * @throws IllegalArgumentException if branchesPerProject is negative
+         */
+        public Builder withBranchesPerProject(int branchesPerProject) {
+            this.branchesPerProject = checkNonNegative(branchesPerProject);
+            return this;
+        }
+
+        /**
+         * Sets the number of commits of each project to the builder.
+         *
+         * @param commitsPerProject the number of commits
+         * @return {@code Builder} with commitsPerProject
+         * @throws IllegalArgumentException if commitsPerProject is negative
+         */
+        public Builder withCommitsPerProject(int commitsPerProject) {
+            this.commitsPerProject = checkNonNegative(commitsPerProject);
+            return this;
+        }
+
+        /**
+         * Returns the {@link MockDataset} instance generated in memory from this builder.
+         *
+         * @return a {@link MockDataset} instance
+         */
+        public MockDataset build() {
+            MockDataset dataset = new MockDataset();
+            try {
+                List<ObjectNode> userNodes = new Generator(this).generateUsers(dataset::add);
+                for (long id = 1; id <= projects; id++) {
+                    new Generator(this, userNodes, id).generateProject(id, dataset::add);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return dataset;
+        }
+
+        /**
+         * Write the dataset of this builder to a gzip-compressed NDJSON file per
+         * collection, e.g. issues.ndjson.gz, without keeping it in memory.
+         *
+         * Each line is the JSON of a resource as returned by the Gitlab API,
+         * except that the lines of branches and commits start with the id of
+         * their project, i.e. {@code {"project_id":1,...}}.
+         *
+         * @param directory the directory of the NDJSON files, created if absent
+         * @throws IOException if the files cannot be written
+         */
+        public void writeTo(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            Map<Collection, OutputStream> files = new EnumMap<>(Collection.class);
+            int threads = Runtime.getRuntime().availableProcessors();
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "mock-dataset-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                for (Collection collection : Collection.values()) {
+                    files.put(collection, new BufferedOutputStream(
+                            Files.newOutputStream(directory.resolve(collection.fileName)), BUFFER_SIZE));
+                }
+                Chunk users = new Chunk();
+                List<ObjectNode> userNodes = new Generator(this).generateUsers(users);
+                users.writeTo(files);
+                // the projects are generated and compressed at the same time, but written in order
+                Deque<Future<Chunk>> pending = new ArrayDeque<>();
+                for (long id = 1; id <= projects; id++) {
+                    long projectId = id;
+                    pending.addLast(executor.submit(() -> {
+                        Chunk chunk = new Chunk();
+                        new Generator(this, userNodes, projectId).generateProject(projectId, chunk);
+                        chunk.finish();
+                        return chunk;
+                    }));
+                    if (pending.size() >= threads * 2) {
+                        await(pending.pollFirst()).writeTo(files);
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    await(pending.pollFirst()).writeTo(files);
+                }
+            } finally {
+                executor.shutdownNow();
+                IOException failure = null;
+                for (OutputStream file : files.values()) {
+                    try {
+                        file.close();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        }
+
+        /**
+         * Wait for a chunk being generated.
+         *
+         * @param future the generation of the chunk
+         * @return the chunk
+         * @throws IOException if the chunk cannot be generated, or interrupted while waiting
+         */
+        private static Chunk await(Future<Chunk> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private static int checkNonNegative(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("cannot have negative count");
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.gitlab.api.test.mock;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a {@link MockDataset} to gzip-compressed NDJSON files from the
+ * command line, so that large datasets are generated once and then loaded by
+ * {@link MockDataset#load(Path)}, e.g.
+ *
+ * {@code java -cp ... org.gitlab.api.test.mock.MockDatasetGenerator --projects 100000 --issues 30 target/dataset}
+ */
+public final class MockDatasetGenerator {
+    /**
+     * This class is not instantiatable
+     */
+    private MockDatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        MockDataset.Builder builder = new MockDataset.Builder();
+        Path directory = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    directory = Paths.get(arg);
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(arg + " needs a value");
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--seed":
+                        builder.withSeed(Long.parseLong(value));
+                        break;
+                    case "--users":
+                        builder.withUsers(Integer.parseInt(value));
+                        break;
+                    case "--projects":
+                        builder.withProjects(Integer.parseInt(value));
+                        break;
+                    case "--issues":
+                        builder.withIssuesPerProject(Integer.parseInt(value));
+                        break;
+                    case "--merge-requests":
+                        builder.withMergeRequestsPerProject(Integer.parseInt(value));
+                        break;
+                    case "--branches":
+                        builder.withBranchesPerProject(Integer.parseInt(value));
+                        break;
+                    case "--commits":
+                        builder.withCommitsPerProject(Integer.parseInt(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown option " + arg);
+                }
+            }
+            if (directory == null) {
+                throw new IllegalArgumentException("missing the output directory");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: MockDatasetGenerator [--seed n] [--users n] [--projects n] [--issues n]"
+                    + " [--merge-requests n] [--branches n] [--commits n] directory");
+            System.exit(2);
+            return;
+        }
+        long start = System.nanoTime();
+        builder.writeTo(directory);
+        System.out.printf("written to %s in %d ms%n", directory.toAbsolutePath(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
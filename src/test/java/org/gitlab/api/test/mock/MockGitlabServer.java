@@ -0,0 +1,943 @@
+package org.gitlab.api.test.mock;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import org.gitlab.api.GitlabAPIClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This class is a local stand-in for the Gitlab API, serving a
+ * {@link MockDataset} over HTTP, so that the client can be tested and
+ * benchmarked offline and reproducibly.
+ *
+ * The read-only endpoints of projects, issues, merge requests, branches,
+ * commits and users are served with the same pagination, rate limit and ETag
+ * headers as Gitlab. Responses can be delayed by a fixed latency plus a random
+ * jitter, and a fraction of requests can be failed with a 5xx response or a
+ * dropped connection. All the randomness comes from the seed, so a run can be
+ * repeated exactly with the same sequence of requests.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/api/README.html#pagination
+ *
+ * To get a instance of server, use {@code MockGitlabServer.Builder}.
+ */
+public final class MockGitlabServer implements AutoCloseable {
+    /**
+     * The API namespace of the endpoints.
+     */
+    private static final String API_NAMESPACE = "/api/v4";
+    /**
+     * The default number of items per page.
+     */
+    private static final int DEFAULT_PER_PAGE = 20;
+    /**
+     * The maximum number of items per page.
+     */
+    private static final int MAX_PER_PAGE = 100;
+    /**
+     * Like Gitlab, the total headers are omitted by default when there are more items than this.
+     */
+    private static final int DEFAULT_MAX_COUNTED_ITEMS = 10000;
+    /**
+     * The status codes of the injected errors.
+     */
+    private static final int[] ERROR_CODES = {500, 502, 503};
+    /**
+     * The body of an empty list.
+     */
+    private static final byte[] EMPTY_LIST = {'[', ']'};
+
+    private final MockDataset dataset;
+    private final String token;
+    private final int latency;
+    private final int jitter;
+    private final double errorRate;
+    private final double disconnectRate;
+    private final int rateLimit;
+    private final int rateLimitWindow;
+    private final int maxCountedItems;
+    private final Random random;
+    private final MockWebServer server = new MockWebServer();
+    /**
+     * The issues of all projects.
+     */
+    private final List<MockDataset.Item> allIssues;
+    /**
+     * The merge requests of all projects.
+     */
+    private final List<MockDataset.Item> allMergeRequests;
+    /**
+     * The sorted copies of each collection of the dataset, keyed by the identity of the collection.
+     */
+    private final Map<List<MockDataset.Item>, Map<Sort, List<MockDataset.Item>>> sortedViews =
+            new IdentityHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    /**
+     * The number of requests being served, including their latency.
+     */
+    private final AtomicInteger servingCount = new AtomicInteger();
+    private final AtomicInteger maxServingCount = new AtomicInteger();
+    /**
+     * The start of the current rate limit window in milliseconds.
+     */
+    private long windowStart;
+    /**
+     * The number of requests in the current rate limit window.
+     */
+    private int windowCount;
+
+    /**
+     * Construct the {@link MockGitlabServer} based on the {@link Builder} and start it.
+     *
+     * @param builder the builder
+     * @throws UncheckedIOException if the server cannot be started
+     */
+    private MockGitlabServer(Builder builder) {
+        this.dataset = builder.dataset == null ? new MockDataset.Builder().withSeed(builder.seed).build()
+                : builder.dataset;
+        this.token = builder.token;
+        this.latency = builder.latency;
+        this.jitter = builder.jitter;
+        this.errorRate = builder.errorRate;
+        this.disconnectRate = builder.disconnectRate;
+        this.rateLimit = builder.rateLimit;
+        this.rateLimitWindow = builder.rateLimitWindow;
+        this.maxCountedItems = builder.maxCountedItems;
+        this.random = new Random(builder.seed);
+        this.allIssues = flatten(dataset.issues);
+        this.allMergeRequests = flatten(dataset.mergeRequests);
+        for (List<MockDataset.Item> items : Arrays.asList(dataset.users, dataset.projects, allIssues,
+                allMergeRequests)) {
+            sortedViews.put(items, new ConcurrentHashMap<>());
+        }
+        for (Map<Long, List<MockDataset.Item>> byProject : Arrays.asList(dataset.issues, dataset.mergeRequests,
+                dataset.branches, dataset.commits)) {
+            byProject.values().forEach(items -> sortedViews.put(items, new ConcurrentHashMap<>()));
+        }
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return MockGitlabServer.this.dispatch(request);
+            }
+        });
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the endpoint of this server, e.g. http://127.0.0.1:54321
+     *
+     * @return the endpoint
+     */
+    public String getEndpoint() {
+        HttpUrl url = server.url("/");
+        return url.scheme() + "://" + url.host() + ":" + url.port();
+    }
+
+    /**
+     * Returns a new {@link GitlabAPIClient.Builder} for this server with the access token of this server.
+     *
+     * @return the {@link GitlabAPIClient.Builder}
+     */
+    public GitlabAPIClient.Builder newClientBuilder() {
+        return new GitlabAPIClient.Builder(getEndpoint()).withAccessToken(token);
+    }
+
+    /**
+     * Returns the dataset served by this server.
+     *
+     * @return the dataset
+     */
+    public MockDataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Returns the number of requests received so far.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Returns the number of requests failed on purpose so far, i.e. 5xx responses and dropped connections.
+     *
+     * @return the number of injected errors
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * Returns the number of requests rejected with 429 so far.
+     *
+     * @return the number of rate limited requests
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    /**
+     * Returns the number of requests answered with 304 Not Modified so far.
+     *
+     * @return the number of not modified responses
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * Returns the highest number of requests served at the same time so far, counting each request from its arrival
+     * to the end of its latency.
+     *
+     * @return the highest number of concurrent requests
+     */
+    public int getMaxConcurrentCount() {
+        return maxServingCount.get();
+    }
+
+    /**
+     * Shuts down this server.
+     */
+    @Override
+    public void close() {
+        try {
+            server.shutdown();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the response of the request.
+     *
+     * @param request the recorded request
+     * @return the response
+     */
+    private MockResponse dispatch(RecordedRequest request) {
+        requestCount.incrementAndGet();
+        maxServingCount.accumulateAndGet(servingCount.incrementAndGet(), Math::max);
+        try {
+            long delay = latency + (jitter > 0 ? random.nextInt(jitter + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            servingCount.decrementAndGet();
+        }
+        MockResponse response = new MockResponse().setHeader("Content-Type", "application/json");
+        if (!isAuthorized(request)) {
+            return message(response, 401, "401 Unauthorized");
+        }
+        if (rateLimit > 0 && !acquire(response)) {
+            rateLimitedCount.incrementAndGet();
+            return message(response, 429, "Retry later");
+        }
+        double roll = random.nextDouble();
+        if (roll < disconnectRate) {
+            errorCount.incrementAndGet();
+            return response.setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        }
+        if (roll < disconnectRate + errorRate) {
+            errorCount.incrementAndGet();
+            return message(response, ERROR_CODES[random.nextInt(ERROR_CODES.length)], "Injected error");
+        }
+        if (!"GET".equals(request.getMethod())) {
+            return message(response, 405, "405 Method Not Allowed");
+        }
+        HttpUrl url = request.getRequestUrl();
+        String path = url.encodedPath();
+        if (!path.startsWith(API_NAMESPACE + "/")) {
+            return message(response, 404, "404 Not Found");
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.substring(API_NAMESPACE.length() + 1).split("/")) {
+            segments.add(decode(segment));
+        }
+        try {
+            MockResponse routed = route(response, url, segments);
+            if (routed == null) {
+                return message(response, 404, "404 Not Found");
+            }
+            return conditional(request, routed);
+        } catch (IllegalArgumentException e) {
+            return message(response, 400, "400 Bad request - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the response of the resource at the path segments.
+     *
+     * @param response the response to fill in
+     * @param url      the request url
+     * @param segments the decoded path segments after the API namespace
+     * @return the response, or null if the resource does not exist
+     */
+    private MockResponse route(MockResponse response, HttpUrl url, List<String> segments) {
+        String root = segments.get(0);
+        int size = segments.size();
+        if ("user".equals(root) && size == 1) {
+            return single(response, dataset.users.isEmpty() ? null : dataset.users.get(0));
+        }
+        if ("users".equals(root)) {
+            if (size == 1) {
+                return list(response, url, dataset.users, Sort.ID_ASC);
+            }
+            MockDataset.Item user = findUser(segments.get(1));
+            if (size == 2) {
+                return single(response, user);
+            }
+            if (size == 3 && "projects".equals(segments.get(2)) && user != null) {
+                List<MockDataset.Item> owned = dataset.projects.stream().filter(p -> p.userId == user.id)
+                        .collect(Collectors.toList());
+                return list(response, url, owned, Sort.CREATED_DESC);
+            }
+            return null;
+        }
+        if ("issues".equals(root) && size == 1) {
+            return list(response, url, allIssues, Sort.CREATED_DESC);
+        }
+        if ("merge_requests".equals(root) && size == 1) {
+            return list(response, url, allMergeRequests, Sort.CREATED_DESC);
+        }
+        if (!"projects".equals(root)) {
+            return null;
+        }
+        if (size == 1) {
+            return list(response, url, dataset.projects, Sort.CREATED_DESC);
+        }
+        MockDataset.Item project = findProject(segments.get(1));
+        if (project == null) {
+            return null;
+        }
+        if (size == 2) {
+            return single(response, project);
+        }
+        List<String> rest = segments.subList(2, size);
+        switch (rest.get(0)) {
+            case "users":
+                return rest.size() == 1 ? list(response, url, dataset.users, Sort.ID_ASC) : null;
+            case "issues":
+                return routeIssues(response, url, dataset.issues.get(project.id), rest);
+            case "merge_requests":
+                return routeMergeRequests(response, url, dataset.mergeRequests.get(project.id),
+                        dataset.commits.get(project.id), rest);
+            case "repository":
+                return routeRepository(response, url, project, rest);
+            default:
+                return null;
+        }
+    }
+
+    private MockResponse routeIssues(MockResponse response, HttpUrl url, List<MockDataset.Item> issues,
+                                     List<String> rest) {
+        if (rest.size() == 1) {
+            return list(response, url, issues, Sort.CREATED_DESC);
+        }
+        MockDataset.Item issue = findByIid(issues, rest.get(1));
+        if (issue == null) {
+            return null;
+        }
+        if (rest.size() == 2) {
+            return single(response, issue);
+        }
+        if (rest.size() == 3 && ("related_merge_requests".equals(rest.get(2)) || "closed_by".equals(rest.get(2)))) {
+            return list(response, url, Collections.emptyList(), Sort.CREATED_DESC);
+        }
+        return null;
+    }
+
+    private MockResponse routeMergeRequests(MockResponse response, HttpUrl url, List<MockDataset.Item> mergeRequests,
+                                            List<MockDataset.Item> commits, List<String> rest) {
+        if (rest.size() == 1) {
+            return list(response, url, mergeRequests, Sort.CREATED_DESC);
+        }
+        MockDataset.Item mergeRequest = findByIid(mergeRequests, rest.get(1));
+        if (mergeRequest == null) {
+            return null;
+        }
+        if (rest.size() == 2) {
+            return single(response, mergeRequest);
+        }
+        if (rest.size() != 3) {
+            return null;
+        }
+        switch (rest.get(2)) {
+            case "participants":
+                MockDataset.Item author = findUser(String.valueOf(mergeRequest.userId));
+                return list(response, url, author == null ? Collections.emptyList()
+                        : Collections.singletonList(author), Sort.ID_ASC);
+            case "commits":
+                // the merge request of iid n has the first n commits of its project
+                return list(response, url, commits.subList(0, (int) Math.min(mergeRequest.iid, commits.size())),
+                        Sort.CREATED_DESC);
+            case "closes_issues":
+                return list(response, url, Collections.emptyList(), Sort.CREATED_DESC);
+            default:
+                return null;
+        }
+    }
+
+    private MockResponse routeRepository(MockResponse response, HttpUrl url, MockDataset.Item project,
+                                         List<String> rest) {
+        if (rest.size() < 2) {
+            return null;
+        }
+        if ("branches".equals(rest.get(1))) {
+            List<MockDataset.Item> branches = dataset.branches.get(project.id);
+            if (rest.size() == 2) {
+                return list(response, url, branches, Sort.KEY_ASC);
+            }
+            String name = String.join("/", rest.subList(2, rest.size()));
+            return single(response, branches.stream().filter(b -> b.key.equals(name)).findFirst().orElse(null));
+        }
+        if ("commits".equals(rest.get(1))) {
+            List<MockDataset.Item> commits = dataset.commits.get(project.id);
+            if (rest.size() == 2) {
+                return list(response, url, commits, Sort.CREATED_DESC);
+            }
+            if (rest.size() == 3) {
+                String ref = rest.get(2);
+                return commits.stream().filter(c -> c.key.startsWith(ref)).findFirst()
+                        .map(commit -> response.setResponseCode(200).setBody(new Buffer().write(detail(commit))))
+                        .orElse(null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the response of a single item.
+     *
+     * @param response the response to fill in
+     * @param item     the item, or null if not found
+     * @return the response, or null if not found
+     */
+    private static MockResponse single(MockResponse response, MockDataset.Item item) {
+        return item == null ? null : response.setResponseCode(200).setBody(new Buffer().write(item.json));
+    }
+
+    /**
+     * Returns the JSON of a single commit, which unlike the commits of lists has the status of its latest pipeline.
+     *
+     * @param commit the commit
+     * @return the serialized JSON with the status
+     */
+    private static byte[] detail(MockDataset.Item commit) {
+        try {
+            ObjectNode node = (ObjectNode) MockDataset.MAPPER.readTree(commit.json);
+            node.put("status", "success");
+            return MockDataset.MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the response of a page of the items matching the query parameters, with the pagination headers.
+     *
+     * @param response    the response to fill in
+     * @param url         the request url
+     * @param items       all the items of the collection
+     * @param defaultSort the order of the items if not specified
+     * @return the response
+     */
+    private MockResponse list(MockResponse response, HttpUrl url, List<MockDataset.Item> items, Sort defaultSort) {
+        boolean keyset = "keyset".equals(url.queryParameter("pagination"));
+        List<MockDataset.Item> ordered = sort(items, keyset ? Sort.ID_ASC : Sort.of(url, defaultSort));
+        int perPage = Math.min(MAX_PER_PAGE, parseInt(url.queryParameter("per_page"), DEFAULT_PER_PAGE));
+        if (perPage < 1) {
+            perPage = DEFAULT_PER_PAGE;
+        }
+        List<MockDataset.Item> pageItems;
+        if (keyset) {
+            long idAfter = parseInt(url.queryParameter("id_after"), 0);
+            List<MockDataset.Item> after = ordered.stream().filter(item -> item.id > idAfter).filter(filter(url))
+                    .limit(perPage + 1).collect(Collectors.toList());
+            pageItems = after.subList(0, Math.min(perPage, after.size()));
+            if (after.size() > perPage) {
+                HttpUrl next = url.newBuilder().setQueryParameter("id_after",
+                        String.valueOf(pageItems.get(pageItems.size() - 1).id)).build();
+                response.setHeader("Link", "<" + next + ">; rel=\"next\"");
+            }
+        } else {
+            List<MockDataset.Item> matched = ordered.stream().filter(filter(url)).collect(Collectors.toList());
+            int page = Math.max(1, parseInt(url.queryParameter("page"), 1));
+            int total = matched.size();
+            int totalPages = Math.max(1, (total + perPage - 1) / perPage);
+            int from = Math.min(total, (page - 1) * perPage);
+            pageItems = matched.subList(from, Math.min(total, from + perPage));
+            response.setHeader("X-Page", page);
+            response.setHeader("X-Per-Page", perPage);
+            response.setHeader("X-Next-Page", page < totalPages ? String.valueOf(page + 1) : "");
+            response.setHeader("X-Prev-Page", page > 1 ? String.valueOf(page - 1) : "");
+            List<String> links = new ArrayList<>();
+            if (page > 1) {
+                links.add(link(url, page - 1, "prev"));
+            }
+            if (page < totalPages) {
+                links.add(link(url, page + 1, "next"));
+            }
+            links.add(link(url, 1, "first"));
+            if (total <= maxCountedItems) {
+                response.setHeader("X-Total", total);
+                response.setHeader("X-Total-Pages", totalPages);
+                links.add(link(url, totalPages, "last"));
+            }
+            response.setHeader("Link", String.join(", ", links));
+        }
+        Buffer body = new Buffer().writeByte('[');
+        for (int i = 0; i < pageItems.size(); i++) {
+            if (i > 0) {
+                body.writeByte(',');
+            }
+            body.write(pageItems.get(i).json);
+        }
+        return response.setResponseCode(200).setBody(body.writeByte(']'));
+    }
+
+    /**
+     * Returns the items in the given order. The orders of the collections of
+     * the dataset are cached, as the dataset never changes.
+     *
+     * @param items the items
+     * @param sort  the order
+     * @return the ordered items
+     */
+    private List<MockDataset.Item> sort(List<MockDataset.Item> items, Sort sort) {
+        if (!sortedViews.containsKey(items)) {
+            List<MockDataset.Item> ordered = new ArrayList<>(items);
+            ordered.sort(sort.comparator);
+            return ordered;
+        }
+        return sortedViews.get(items).computeIfAbsent(sort, key -> {
+            List<MockDataset.Item> ordered = new ArrayList<>(items);
+            ordered.sort(key.comparator);
+            return Collections.unmodifiableList(ordered);
+        });
+    }
+
+    /**
+     * Returns the predicate of the filters in the query parameters.
+     *
+     * @param url the request url
+     * @return the predicate
+     */
+    private static Predicate<MockDataset.Item> filter(HttpUrl url) {
+        Predicate<MockDataset.Item> predicate = item -> true;
+        String state = url.queryParameter("state");
+        if (state != null && !"all".equals(state)) {
+            predicate = predicate.and(item -> state.equals(item.state));
+        }
+        long createdAfter = parseTime(url, "created_after", "since");
+        long createdBefore = parseTime(url, "created_before", "until");
+        long updatedAfter = parseTime(url, "updated_after", "last_activity_after");
+        long updatedBefore = parseTime(url, "updated_before", "last_activity_before");
+        if (createdAfter >= 0) {
+            predicate = predicate.and(item -> item.createdAt >= createdAfter);
+        }
+        if (createdBefore >= 0) {
+            predicate = predicate.and(item -> item.createdAt <= createdBefore);
+        }
+        if (updatedAfter >= 0) {
+            predicate = predicate.and(item -> item.updatedAt >= updatedAfter);
+        }
+        if (updatedBefore >= 0) {
+            predicate = predicate.and(item -> item.updatedAt <= updatedBefore);
+        }
+        String authorId = url.queryParameter("author_id");
+        if (authorId != null) {
+            long id = parseInt(authorId, -1);
+            predicate = predicate.and(item -> item.userId == id);
+        }
+        String search = url.queryParameter("search");
+        if (search != null) {
+            predicate = predicate.and(item -> item.key != null && item.key.contains(search));
+        }
+        return predicate;
+    }
+
+    /**
+     * Respond 304 if the If-None-Match header of the request matches the ETag of the response.
+     *
+     * @param request  the recorded request
+     * @param response the response of the resource
+     * @return the response itself with the ETag header, or a 304 response
+     */
+    private MockResponse conditional(RecordedRequest request, MockResponse response) {
+        String etag = "W/\"" + md5(response.getBody().clone().readByteArray()) + "\"";
+        response.setHeader("ETag", etag);
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            notModifiedCount.incrementAndGet();
+            response.setResponseCode(304).setBody(new Buffer());
+        }
+        return response;
+    }
+
+    /**
+     * Take a request from the current rate limit window and set the rate limit headers.
+     *
+     * @param response the response to fill in
+     * @return true if the request is within the limit
+     */
+    private synchronized boolean acquire(MockResponse response) {
+        long now = System.currentTimeMillis();
+        long window = TimeUnit.SECONDS.toMillis(rateLimitWindow);
+        if (now - windowStart >= window) {
+            windowStart = now - now % window;
+            windowCount = 0;
+        }
+        windowCount++;
+        long reset = windowStart + window;
+        response.setHeader("RateLimit-Limit", rateLimit);
+        response.setHeader("RateLimit-Observed", windowCount);
+        response.setHeader("RateLimit-Remaining", Math.max(0, rateLimit - windowCount));
+        response.setHeader("RateLimit-Reset", TimeUnit.MILLISECONDS.toSeconds(reset + 999));
+        response.setHeader("RateLimit-ResetTime", DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(OffsetDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(reset - now))));
+        if (windowCount <= rateLimit) {
+            return true;
+        }
+        response.setHeader("Retry-After", TimeUnit.MILLISECONDS.toSeconds(reset - now + 999));
+        return false;
+    }
+
+    private boolean isAuthorized(RecordedRequest request) {
+        return token.equals(request.getHeader("PRIVATE-TOKEN"))
+                || ("Bearer " + token).equals(request.getHeader("Authorization"));
+    }
+
+    private MockDataset.Item findUser(String idOrUsername) {
+        long id = parseInt(idOrUsername, -1);
+        if (id > 0 && id <= dataset.users.size()) {
+            return dataset.users.get((int) id - 1);
+        }
+        return dataset.users.stream().filter(user -> user.key.equals(idOrUsername)).findFirst().orElse(null);
+    }
+
+    private MockDataset.Item findProject(String idOrPath) {
+        long id = parseInt(idOrPath, -1);
+        return dataset.projects.stream().filter(project -> project.id == id || project.key.equals(idOrPath))
+                .findFirst().orElse(null);
+    }
+
+    private static MockDataset.Item findByIid(List<MockDataset.Item> items, String iid) {
+        long value = parseInt(iid, -1);
+        return items.stream().filter(item -> item.iid == value).findFirst().orElse(null);
+    }
+
+    private static List<MockDataset.Item> flatten(Map<Long, List<MockDataset.Item>> items) {
+        return items.values().stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private static MockResponse message(MockResponse response, int code, String message) {
+        return response.setResponseCode(code).setBody("{\"message\":\"" + message + "\"}");
+    }
+
+    private static String link(HttpUrl url, int page, String rel) {
+        return "<" + url.newBuilder().setQueryParameter("page", String.valueOf(page)).build() + ">; rel=\"" + rel
+                + "\"";
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parse the time of the first present query parameter.
+     *
+     * @param url   the request url
+     * @param names the names of the query parameters
+     * @return the time in milliseconds, or -1 if absent
+     * @throws IllegalArgumentException if the time is invalid
+     */
+    private static long parseTime(HttpUrl url, String... names) {
+        for (String name : names) {
+            String value = url.queryParameter(name);
+            if (value != null) {
+                try {
+                    return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException(name + " is invalid");
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(String segment) {
+        try {
+            return URLDecoder.decode(segment, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String md5(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(bytes);
+            StringBuilder hex = new StringBuilder(32);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This is an Enum class to represent the orders of the items.
+     */
+    private enum Sort {
+        ID_ASC(Comparator.comparingLong(item -> item.id)),
+        KEY_ASC(Comparator.comparing(item -> item.key)),
+        CREATED_ASC(Comparator.<MockDataset.Item>comparingLong(item -> item.createdAt).thenComparingLong(i -> i.id)),
+        CREATED_DESC(CREATED_ASC.comparator.reversed()),
+        UPDATED_ASC(Comparator.<MockDataset.Item>comparingLong(item -> item.updatedAt).thenComparingLong(i -> i.id)),
+        UPDATED_DESC(UPDATED_ASC.comparator.reversed()),
+        ID_DESC(ID_ASC.comparator.reversed()),
+        KEY_DESC(KEY_ASC.comparator.reversed());
+
+        private final Comparator<MockDataset.Item> comparator;
+
+        Sort(Comparator<MockDataset.Item> comparator) {
+            this.comparator = comparator;
+        }
+
+        /**
+         * Returns the order of the order_by and sort query parameters.
+         *
+         * @param url         the request url
+         * @param defaultSort the order if order_by is absent
+         * @return the order
+         */
+        private static Sort of(HttpUrl url, Sort defaultSort) {
+            String orderBy = url.queryParameter("order_by");
+            String sort = url.queryParameter("sort");
+            if (orderBy == null) {
+                if (sort == null) {
+                    return defaultSort;
+                }
+                orderBy = defaultSort == ID_ASC ? "id" : defaultSort == KEY_ASC ? "name" : "created_at";
+            }
+            boolean ascending = "asc".equals(sort != null ? sort : "desc");
+            switch (orderBy) {
+                case "id":
+                    return ascending ? ID_ASC : ID_DESC;
+                case "name":
+                case "path":
+                case "username":
+                    return ascending ? KEY_ASC : KEY_DESC;
+                case "created_at":
+                    return ascending ? CREATED_ASC : CREATED_DESC;
+                case "updated_at":
+                case "last_activity_at":
+                    return ascending ? UPDATED_ASC : UPDATED_DESC;
+                default:
+                    throw new IllegalArgumentException("order_by does not have a valid value");
+            }
+        }
+    }
+
+    /**
+     * This {@code Builder} is used to build {@link MockGitlabServer} instance.
+     */
+    public static final class Builder {
+        private MockDataset dataset;
+        private long seed = 42;
+        private String token = "mock-token";
+        private int latency;
+        private int jitter;
+        private double errorRate;
+        private double disconnectRate;
+        private int rateLimit;
+        private int rateLimitWindow = 60;
+        private int maxCountedItems = DEFAULT_MAX_COUNTED_ITEMS;
+
+        /**
+         * Sets the dataset to serve, instead of the default dataset of the seed.
+         *
+         * @param dataset the dataset
+         * @return {@code Builder} with dataset
+         */
+        public Builder withDataset(MockDataset dataset) {
+            this.dataset = dataset;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the default dataset, the jitter and the injected errors.
+         *
+         * @param seed the seed
+         * @return {@code Builder} with seed
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the access token accepted by the server.
+         *
+         * @param token the access token
+         * @return {@code Builder} with token
+         */
+        public Builder withAccessToken(String token) {
+            this.token = token;
+            return this;
+        }
+
+        /**
+         * Sets the fixed delay before each response.
+         *
+         * @param latency the latency in milliseconds
+         * @return {@code Builder} with latency
+         * @throws IllegalArgumentException if latency is negative
+         */
+        public Builder withLatency(int latency) {
+            if (latency < 0) {
+                throw new IllegalArgumentException("cannot have negative latency");
+            }
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the maximum random delay added to the latency of each response.
+         *
+         * @param jitter the jitter in milliseconds
+         * @return {@code Builder} with jitter
+         * @throws IllegalArgumentException if jitter is negative
+         */
+        public Builder withJitter(int jitter) {
+            if (jitter < 0) {
+                throw new IllegalArgumentException("cannot have negative jitter");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of requests failed with 500, 502 or 503.
+         *
+         * @param errorRate the error rate in [0,1]
+         * @return {@code Builder} with errorRate
+         * @throws IllegalArgumentException if errorRate is not in [0,1]
+         */
+        public Builder withErrorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("cannot have error rate out of [0,1]");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of requests whose connection is dropped without a response.
+         *
+         * @param disconnectRate the disconnect rate in [0,1]
+         * @return {@code Builder} with disconnectRate
+         * @throws IllegalArgumentException if disconnectRate is not in [0,1]
+         */
+        public Builder withDisconnectRate(double disconnectRate) {
+            if (disconnectRate < 0 || disconnectRate > 1) {
+                throw new IllegalArgumentException("cannot have disconnect rate out of [0,1]");
+            }
+            this.disconnectRate = disconnectRate;
+            return this;
+        }
+
+        /**
+         * Sets the number of requests allowed in each fixed window, beyond which requests are rejected with 429.
+         *
+         * @param limit         the number of requests allowed in a window, or 0 for no limit
+         * @param windowSeconds the length of a window in seconds
+         * @return {@code Builder} with rateLimit
+         * @throws IllegalArgumentException if limit is negative or windowSeconds is not positive
+         */
+        public Builder withRateLimit(int limit, int windowSeconds) {
+            if (limit < 0 || windowSeconds < 1) {
+                throw new IllegalArgumentException("cannot have negative limit or non-positive window");
+            }
+            this.rateLimit = limit;
+            this.rateLimitWindow = windowSeconds;
+            return this;
+        }
+
+        /**
+         * Sets the number of items beyond which the X-Total and X-Total-Pages headers and the last page link are
+         * omitted, like Gitlab does for more than 10,000 items.
+         *
+         * @param maxCountedItems the maximum number of counted items
+         * @return {@code Builder} with maxCountedItems
+         * @throws IllegalArgumentException if maxCountedItems is negative
+         */
+        public Builder withMaxCountedItems(int maxCountedItems) {
+            if (maxCountedItems < 0) {
+                throw new IllegalArgumentException("cannot have negative max counted items");
+            }
+            this.maxCountedItems = maxCountedItems;
+            return this;
+        }
+
+        /**
+         * Returns the started {@link MockGitlabServer} instance built from this builder.
+         *
+         * @return a started {@link MockGitlabServer} instance
+         * @throws IllegalArgumentException if the error rate and the disconnect rate add up to more than 1
+         */
+        public MockGitlabServer build() {
+            if (errorRate + disconnectRate > 1) {
+                throw new IllegalArgumentException("cannot have error rate and disconnect rate add up to more than 1");
+            }
+            return new MockGitlabServer(this);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.gitlab.api.test.mock;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabCommit;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.RetryPolicy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockGitlabServerTest {
+    private static MockGitlabServer server;
+    private static GitlabAPIClient client;
+
+    @BeforeAll
+    static void setup() {
+        server = new MockGitlabServer.Builder()
+                .withDataset(new MockDataset.Builder()
+                        .withProjects(5)
+                        .withIssuesPerProject(45)
+                        .withCommitsPerProject(30)
+                        .build())
+                .build();
+        client = server.newClientBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        server.close();
+    }
+
+    @Test
+    void dataset() {
+        MockDataset first = new MockDataset.Builder().withSeed(7).withProjects(2).build();
+        MockDataset second = new MockDataset.Builder().withSeed(7).withProjects(2).build();
+        assertEquals(2, first.getProjectCount());
+        assertEquals(100, first.getIssueCount());
+        for (int i = 0; i < first.users.size(); i++) {
+            assertArrayEquals(first.users.get(i).json, second.users.get(i).json);
+        }
+        assertArrayEquals(first.commits.get(2L).get(99).json, second.commits.get(2L).get(99).json);
+        assertThrows(IllegalArgumentException.class, () -> new MockDataset.Builder().withUsers(0));
+        assertThrows(IllegalArgumentException.class, () -> new MockDataset.Builder().withProjects(-1));
+    }
+
+    @Test
+    void ndjson() throws IOException {
+        MockDataset.Builder builder = new MockDataset.Builder().withSeed(3).withProjects(3).withCommitsPerProject(20);
+        Path directory = Files.createTempDirectory("mock-dataset");
+        try {
+            builder.writeTo(directory);
+            MockDataset generated = builder.build();
+            MockDataset loaded = MockDataset.load(directory);
+            assertEquals(generated.getProjectIds(), loaded.getProjectIds());
+            assertEquals(generated.getIssueCount(), loaded.getIssueCount());
+            for (long id : generated.getProjectIds()) {
+                assertEquals(20, loaded.getCommitCount(id));
+                assertEquals(generated.getBranchCount(id), loaded.getBranchCount(id));
+                assertArrayEquals(generated.commits.get(id).get(19).json, loaded.commits.get(id).get(19).json);
+                assertArrayEquals(generated.branches.get(id).get(0).json, loaded.branches.get(id).get(0).json);
+                assertArrayEquals(generated.mergeRequests.get(id).get(3).json,
+                        loaded.mergeRequests.get(id).get(3).json);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void pagination() {
+        List<GitlabProject> projects = client.getProjectsQuery().withPagination(Pagination.of(1, 2)).query();
+        assertEquals(2, projects.size());
+        assertEquals(5, client.getProjectsQuery().withPagination(Pagination.of(1, 2)).stream().count());
+        assertEquals(5, client.getProjectsQuery().withPagination(Pagination.keyset("id", 2)).stream().count());
+        GitlabProject project = client.getProject(3);
+        List<GitlabIssue> issues = project.getIssuesQuery().withPagination(Pagination.of(1, 10)).stream()
+                .collect(Collectors.toList());
+        assertEquals(45, issues.size());
+        assertEquals(45, issues.stream().map(GitlabIssue::getIid).distinct().count());
+        assertEquals(5 * 45, client.getIssuesQuery().queryAllParallel(4).count());
+        assertEquals(30, project.getCommitsQuery().withPagination(Pagination.of(1, 100)).query().size());
+    }
+
+    @Test
+    void single() {
+        GitlabProject project = client.getProject(2);
+        assertEquals(2, project.getId());
+        assertEquals(project, client.getProject(project.getNameWithNamespace().split(" / ")[0], project.getPath()));
+        assertEquals(7, project.getIssue(7).getIid());
+        assertEquals("main", project.getBranch("main").getName());
+        GitlabCommit head = project.getBranch("main").getCommit();
+        assertEquals(head.getId(), project.getCommit(head.getShortId()).getId());
+        assertEquals(1, client.getCurrentUser().getId());
+        GitlabException e = assertThrows(GitlabException.class, () -> client.getProject(404));
+        assertTrue(e.getMessage().contains("404"));
+    }
+
+    @Test
+    void unauthorized() {
+        GitlabAPIClient anonymous = new GitlabAPIClient.Builder(server.getEndpoint()).build();
+        assertThrows(GitlabException.class, () -> anonymous.getProject(1));
+    }
+
+    @Test
+    void injectedErrors() {
+        try (MockGitlabServer flaky = new MockGitlabServer.Builder()
+                .withDataset(server.getDataset())
+                .withErrorRate(0.3)
+                .withDisconnectRate(0.1)
+                .build()) {
+            GitlabAPIClient retrying = flaky.newClientBuilder()
+                    .withRetryPolicy(new RetryPolicy.Builder().withMaxRetries(10).withBaseDelay(1).withMaxDelay(5)
+                            .build())
+                    .build();
+            for (int id = 1; id <= 5; id++) {
+                assertEquals(id, retrying.getProject(id).getId());
+            }
+            assertTrue(flaky.getErrorCount() > 0);
+            assertEquals(flaky.getRequestCount() - 5, flaky.getErrorCount());
+        }
+    }
+
+    @Test
+    void headers() throws IOException {
+        try (MockGitlabServer limited = new MockGitlabServer.Builder()
+                .withDataset(server.getDataset())
+                .withLatency(20)
+                .withRateLimit(3, 60)
+                .build()) {
+            OkHttpClient http = new OkHttpClient();
+            String url = limited.getEndpoint() + "/api/v4/projects/1/issues?per_page=10&page=2";
+            String etag;
+            long start = System.nanoTime();
+            try (Response response = http.newCall(new Request.Builder().url(url)
+                    .header("PRIVATE-TOKEN", "mock-token").build()).execute()) {
+                assertTrue(System.nanoTime() - start >= 20000000);
+                assertEquals(200, response.code());
+                assertEquals("2", response.header("X-Page"));
+                assertEquals("45", response.header("X-Total"));
+                assertEquals("5", response.header("X-Total-Pages"));
+                assertEquals("3", response.header("X-Next-Page"));
+                assertEquals("1", response.header("X-Prev-Page"));
+                assertTrue(response.header("Link").contains("rel=\"next\""));
+                assertEquals("3", response.header("RateLimit-Limit"));
+                assertEquals("2", response.header("RateLimit-Remaining"));
+                etag = response.header("ETag");
+                assertNotNull(etag);
+            }
+            try (Response response = http.newCall(new Request.Builder().url(url).header("PRIVATE-TOKEN", "mock-token")
+                    .header("If-None-Match", etag).build()).execute()) {
+                assertEquals(304, response.code());
+            }
+            http.newCall(new Request.Builder().url(url).header("PRIVATE-TOKEN", "mock-token").build()).execute()
+                    .close();
+            try (Response response = http.newCall(new Request.Builder().url(url)
+                    .header("PRIVATE-TOKEN", "mock-token").build()).execute()) {
+                assertEquals(429, response.code());
+                assertNotNull(response.header("Retry-After"));
+            }
+            assertEquals(1, limited.getRateLimitedCount());
+            assertEquals(1, limited.getNotModifiedCount());
+        }
+    }
+}